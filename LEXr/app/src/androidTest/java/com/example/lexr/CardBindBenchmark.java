@@ -0,0 +1,94 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CardBindBenchmark times CardPagerAdapter.onBindViewHolder() on a device, paging through decks
+ * of 1k, 10k and 100k cards on the main thread as ViewPager2 does. androidx.benchmark writes the
+ * results as JSON to the device's additional test output, pulled to
+ * app/build/outputs/connected_android_test_additional_output/ by ./gradlew connectedAndroidTest.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CardBindBenchmark {
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    /**
+     * Pages through a deck of 1k cards.
+     * Time complexity: O(1) per run, plus O(c) once to build the c cards.
+     */
+    @Test
+    @UiThreadTest
+    public void bind1k() {
+        bind(1_000);
+    }
+
+    /**
+     * Pages through a deck of 10k cards.
+     * Time complexity: O(1) per run, plus O(c) once to build the c cards.
+     */
+    @Test
+    @UiThreadTest
+    public void bind10k() {
+        bind(10_000);
+    }
+
+    /**
+     * Pages through a deck of 100k cards.
+     * Time complexity: O(1) per run, plus O(c) once to build the c cards.
+     */
+    @Test
+    @UiThreadTest
+    public void bind100k() {
+        bind(100_000);
+    }
+
+    /**
+     * Binds the cards of a deck one after another into a single holder.
+     * Time complexity: O(1) per run, plus O(c) once to build the c cards.
+     *
+     * @param count The number of cards in the deck.
+     */
+    private void bind(int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            Card card = new Card("Palabra" + c,
+                    new ArrayList<>(Arrays.asList("Forma" + c + "a", "Forma" + c + "b", "Forma" + c + "c")), "Word " + c);
+            card.setId(c + 1);
+            cards.add(card);
+        }
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), R.style.Theme_MyApplication);
+        CardPagerAdapter adapter = new CardPagerAdapter(cards);
+        CardPagerAdapter.CardViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+
+        BenchmarkState state = benchmarkRule.getState();
+        int position = 0;
+        while (state.keepRunning()) {
+            adapter.onBindViewHolder(holder, position);
+            position = position + 1 < count ? position + 1 : 0;
+        }
+    }
+}
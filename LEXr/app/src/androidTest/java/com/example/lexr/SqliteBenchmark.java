@@ -0,0 +1,137 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SqliteBenchmark times the SQLite persistence layer on a device with 10k cards: importing the
+ * seed decks into an empty database, loading a deck from it, and writing a batch of card updates.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SqliteBenchmark {
+
+    private static final String DATABASE = "benchmark.db";
+    private static final int DECKS = 10;
+    private static final int CARDS_PER_DECK = 1_000;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Context context;
+
+    @Before
+    public void deleteDatabase() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE);
+    }
+
+    @After
+    public void deleteDatabaseAfter() {
+        context.deleteDatabase(DATABASE);
+    }
+
+    /**
+     * Imports the seed decks into an empty database, as on the app's first start.
+     * Time complexity: O(n) per run, where n is the number of cards.
+     */
+    @Test
+    public void importSeedDecks() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            context.deleteDatabase(DATABASE);
+            LexrDatabase database = new LexrDatabase(context, DATABASE);
+            state.resumeTiming();
+
+            new DeckManager(new SqliteDeckSource(database, new GeneratedDeckSource()));
+
+            state.pauseTiming();
+            database.close();
+            state.resumeTiming();
+        }
+    }
+
+    /**
+     * Loads one deck from the database, as the first visit to a deck does.
+     * Time complexity: O(c) per run, where c is the number of cards in the deck.
+     */
+    @Test
+    public void loadDeck() {
+        LexrDatabase database = new LexrDatabase(context, DATABASE);
+        SqliteDeckSource source = new SqliteDeckSource(database, new GeneratedDeckSource());
+        new DeckManager(source);  // Imports the seed decks once
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new DeckManager(source).getDeckByName("Deck3");
+        }
+        database.close();
+    }
+
+    /**
+     * Writes the difficulty of every card in a deck in one batch.
+     * Time complexity: O(c) per run, where c is the number of cards in the deck.
+     */
+    @Test
+    public void writeBatchedUpdates() {
+        LexrDatabase database = new LexrDatabase(context, DATABASE);
+        List<Card> cards = new DeckManager(new SqliteDeckSource(database, new GeneratedDeckSource()))
+                .getDeckByName("Deck7").getCards();
+        BenchmarkState state = benchmarkRule.getState();
+        int level = 1;
+        while (state.keepRunning()) {
+            level = level % ReviewScheduler.MAX_DIFFICULTY + 1;
+            CardWriteQueue writeQueue = new CardWriteQueue(database);
+            for (Card card : cards) {
+                card.setDifficultyLevel(level);
+                writeQueue.enqueue(card);
+            }
+            writeQueue.close();  // All updates are written in one batch
+        }
+        database.close();
+    }
+
+    /**
+     * Generates decks of synthetic cards without touching the disk.
+     */
+    private static class GeneratedDeckSource implements DeckSource {
+
+        @Override
+        public List<DeckManifest> loadManifests() {
+            List<DeckManifest> manifests = new ArrayList<>();
+            for (int d = 0; d < DECKS; d++) {
+                manifests.add(new DeckManifest("Deck" + d, "Deck" + d, CARDS_PER_DECK));
+            }
+            return manifests;
+        }
+
+        @Override
+        public void loadCards(DeckManifest manifest, CardSink sink) {
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                Card card = new Card(manifest.getName() + "_" + c,
+                        Arrays.asList("Forma" + c + "a", "Forma" + c + "b", "Forma" + c + "c"), "Word " + c);
+                if (!sink.accept(card)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.view.Window;
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ActivityMetrics times every activity of the app for Metrics: from its onCreate() to the first
+ * frame it draws, under Metrics.STARTUP_PREFIX + its class name, and, on Android 7.0 and up,
+ * the duration of each frame drawn while it is resumed, under Metrics.FRAME.
+ * Registered by LexrApplication; while Metrics is disabled it adds no listener at all.
+ */
+public class ActivityMetrics implements Application.ActivityLifecycleCallbacks {
+
+    private final Map<Activity, Object> frameListeners = new HashMap<>();  // By resumed activity; main thread only
+    private HandlerThread frameThread;  // Receives frame metrics, started on first use
+
+    /**
+     * Starts timing an activity; called from its super.onCreate().
+     * Time complexity: O(1).
+     */
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
+        final long start = Metrics.start();
+        if (start == Metrics.NOT_TIMED) {
+            return;  // Disabled; nothing to remove later
+        }
+        final String name = Metrics.STARTUP_PREFIX + activity.getClass().getSimpleName();
+        final View decor = activity.getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean drawn;  // Only the first frame counts
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                Metrics.stop(name, start);  // O(1)
+                final ViewTreeObserver.OnDrawListener self = this;
+                decor.post(() -> decor.getViewTreeObserver().removeOnDrawListener(self));  // Not allowed during onDraw()
+            }
+        });
+    }
+
+    /**
+     * Starts recording frame durations while the activity is in front, on Android 7.0 and up.
+     * Time complexity: O(1).
+     */
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        if (Metrics.isEnabled() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            frameListeners.put(activity, addFrameListener(activity.getWindow()));
+        }
+    }
+
+    /**
+     * Stops recording frame durations.
+     * Time complexity: O(1).
+     */
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+        Object listener = frameListeners.remove(activity);
+        if (listener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            activity.getWindow().removeOnFrameMetricsAvailableListener(
+                    (Window.OnFrameMetricsAvailableListener) listener);
+        }
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+
+    /**
+     * Records the total duration of every frame of a window, on a background thread.
+     * Time complexity: O(1).
+     */
+    @RequiresApi(Build.VERSION_CODES.N)
+    private Window.OnFrameMetricsAvailableListener addFrameListener(Window window) {
+        if (frameThread == null) {
+            frameThread = new HandlerThread("FrameMetrics");
+            frameThread.start();
+        }
+        Window.OnFrameMetricsAvailableListener listener = (w, frameMetrics, dropCount) ->
+                Metrics.record(Metrics.FRAME, frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION) / 1000);
+        window.addOnFrameMetricsAvailableListener(listener, new Handler(frameThread.getLooper()));
+        return listener;
+    }
+}
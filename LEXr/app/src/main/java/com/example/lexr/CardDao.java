@@ -0,0 +1,212 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CardDao reads and writes rows of the cards table.
+ * Writes reuse one prepared statement per call; callers wrap them in a transaction so a
+ * whole batch is committed at once.
+ */
+public class CardDao {
+
+    private final SQLiteDatabase db;  // The open app database
+
+    /**
+     * Constructor for the CardDao class.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param db The open app database.
+     */
+    public CardDao(SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Inserts the cards of a deck in order and assigns each card its row id.
+     * Time complexity: O(c log n), where c is the number of cards inserted and n the cards in the table.
+     *
+     * @param deckName The lookup name of the deck owning the cards.
+     * @param cards    The cards to insert, in deck order.
+     */
+    public void insertCards(String deckName, List<Card> cards) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + LexrDatabase.TABLE_CARDS + " ("
+                + LexrDatabase.CARD_DECK + ", " + LexrDatabase.CARD_POSITION + ", "
+                + LexrDatabase.CARD_WORD + ", " + LexrDatabase.CARD_CONJUGATES + ", "
+                + LexrDatabase.CARD_TRANSLATION + ", " + LexrDatabase.CARD_DIFFICULTY + ", "
+                + LexrDatabase.CARD_FAVORITE + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+        try {
+            for (int i = 0; i < cards.size(); i++) {
+                Card card = cards.get(i);
+                insert.bindString(1, deckName);
+                insert.bindLong(2, i);
+                insert.bindString(3, card.getWord());
+                insert.bindString(4, TextDeckSource.joinConjugates(card.getConjugates()));
+                insert.bindString(5, card.getTranslation());
+                insert.bindLong(6, card.getDifficultyLevel());
+                insert.bindLong(7, card.isFavorite() ? 1 : 0);
+                card.setId(insert.executeInsert());  // The row id becomes the card id O(log n)
+            }
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Streams the cards of a deck in order with a single query.
+     * Time complexity: O(log n + c), where c is the number of cards in the deck (deck index scan).
+     *
+     * @param deckName The lookup name of the deck.
+     * @param sink     Receives each card as it is read.
+     */
+    public void loadCards(String deckName, DeckSource.CardSink sink) {
+        Cursor cursor = db.query(LexrDatabase.TABLE_CARDS,
+                new String[] {LexrDatabase.CARD_ID, LexrDatabase.CARD_WORD, LexrDatabase.CARD_CONJUGATES,
+                        LexrDatabase.CARD_TRANSLATION, LexrDatabase.CARD_DIFFICULTY, LexrDatabase.CARD_FAVORITE},
+                LexrDatabase.CARD_DECK + " = ?", new String[] {deckName},
+                null, null, LexrDatabase.CARD_POSITION);
+        try {
+            while (cursor.moveToNext()) {
+                Card card = new Card(cursor.getString(1),
+                        TextDeckSource.parseConjugates(cursor.getString(2)), cursor.getString(3));
+                card.setId(cursor.getLong(0));
+                card.setDifficultyLevel(cursor.getInt(4));
+                card.setFavorite(cursor.getInt(5) != 0);
+                if (!sink.accept(card)) {
+                    return;  // The sink asked to stop reading O(1)
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Streams the saved review state of the cards of a deck that were reviewed before.
+     * Time complexity: O(log n + c), where c is the number of cards in the deck (deck index scan).
+     *
+     * @param deckName The lookup name of the deck.
+     * @param sink     Receives the state of each reviewed card.
+     */
+    public void loadReviews(String deckName, ReviewSource.ReviewSink sink) {
+        Cursor cursor = db.query(LexrDatabase.TABLE_CARDS,
+                new String[] {LexrDatabase.CARD_ID, LexrDatabase.CARD_DUE_AT, LexrDatabase.CARD_INTERVAL_DAYS,
+                        LexrDatabase.CARD_EASE, LexrDatabase.CARD_REPETITIONS, LexrDatabase.CARD_LAPSES},
+                LexrDatabase.CARD_DECK + " = ? AND " + LexrDatabase.CARD_DUE_AT + " != 0", new String[] {deckName},
+                null, null, null);
+        try {
+            while (cursor.moveToNext()) {
+                sink.accept(cursor.getLong(0), cursor.getLong(1), cursor.getInt(2),
+                        cursor.getFloat(3), cursor.getInt(4), cursor.getInt(5));
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Saves the review state of several cards.
+     * Time complexity: O(u log n), where u is the number of updates and n the cards in the table.
+     *
+     * @param updates The review states to save.
+     */
+    public void updateReviews(Collection<ReviewUpdate> updates) {
+        SQLiteStatement update = db.compileStatement("UPDATE " + LexrDatabase.TABLE_CARDS + " SET "
+                + LexrDatabase.CARD_DUE_AT + " = ?, " + LexrDatabase.CARD_INTERVAL_DAYS + " = ?, "
+                + LexrDatabase.CARD_EASE + " = ?, " + LexrDatabase.CARD_REPETITIONS + " = ?, "
+                + LexrDatabase.CARD_LAPSES + " = ? WHERE " + LexrDatabase.CARD_ID + " = ?");
+        try {
+            for (ReviewUpdate review : updates) {
+                update.bindLong(1, review.dueAt);
+                update.bindLong(2, review.intervalDays);
+                update.bindDouble(3, review.ease);
+                update.bindLong(4, review.repetitions);
+                update.bindLong(5, review.lapses);
+                update.bindLong(6, review.id);
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+        }
+    }
+
+    /**
+     * Saves the favorite status and difficulty level of several cards.
+     * Time complexity: O(u log n), where u is the number of updates and n the cards in the table.
+     *
+     * @param updates The card states to save.
+     */
+    public void updateCards(Collection<CardUpdate> updates) {
+        SQLiteStatement update = db.compileStatement("UPDATE " + LexrDatabase.TABLE_CARDS + " SET "
+                + LexrDatabase.CARD_FAVORITE + " = ?, " + LexrDatabase.CARD_DIFFICULTY + " = ? WHERE "
+                + LexrDatabase.CARD_ID + " = ?");
+        try {
+            for (CardUpdate card : updates) {
+                update.bindLong(1, card.favorite ? 1 : 0);
+                update.bindLong(2, card.difficultyLevel);
+                update.bindLong(3, card.id);
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+        }
+    }
+
+    /**
+     * A copy of the persisted fields of a card, taken on the thread that changed the card
+     * so it can be written later from a background thread.
+     */
+    public static class CardUpdate {
+        final long id;                // Id of the card to update
+        final boolean favorite;       // Favorite status to save
+        final int difficultyLevel;    // Difficulty level to save
+
+        /**
+         * Copies the persisted fields of a card.
+         * Time complexity: O(1) - Copying a constant number of fields.
+         *
+         * @param card The card to copy.
+         */
+        public CardUpdate(Card card) {
+            this.id = card.getId();
+            this.favorite = card.isFavorite();
+            this.difficultyLevel = card.getDifficultyLevel();
+        }
+    }
+
+    /**
+     * A copy of the review state of a card, taken while its scheduler is locked
+     * so it can be written later from a background thread.
+     */
+    public static class ReviewUpdate {
+        final long id;            // Id of the reviewed card
+        final long dueAt;         // Time the card is next due
+        final int intervalDays;   // Current interval in days
+        final float ease;         // Current ease
+        final int repetitions;    // Passed reviews in a row
+        final int lapses;         // Times the card was forgotten after being learned
+
+        /**
+         * Copies the state of a review record.
+         * Time complexity: O(1) - Copying a constant number of fields.
+         *
+         * @param record The record to copy.
+         */
+        public ReviewUpdate(ReviewRecord record) {
+            this.id = record.getCard().getId();
+            this.dueAt = record.getDueAt();
+            this.intervalDays = record.getIntervalDays();
+            this.ease = record.getEase();
+            this.repetitions = record.getRepetitions();
+            this.lapses = record.getLapses();
+        }
+    }
+}
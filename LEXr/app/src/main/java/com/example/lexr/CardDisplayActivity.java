@@ -2,34 +2,47 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
 import android.os.Bundle;
+import android.view.View;
 import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.viewpager2.widget.ViewPager2;
 import com.example.lexr.CardPagerAdapter;
 import com.example.lexr.Deck;
 import com.example.lexr.Deck;
 import java.util.List;
+import java.util.Random;
 
 /**
  * CardDisplayActivity handles the display of vocabulary cards using a ViewPager.
  * Users can swipe through the cards to see the word, conjugates, and translations.
+ * The deck is loaded on a background thread while a progress bar is shown, and the card pages
+ * are inflated in the background meanwhile by the shared CardViewPool.
+ * Cards due for review come first, in the order the ReviewScheduler gives them.
  */
-public class CardDisplayActivity extends AppCompatActivity {
+public class CardDisplayActivity extends AppCompatActivity implements DeckLoadTask.Callback<Deck> {
+
+    // Optional long extra: the id of the card to show first, e.g., one found from a sentence word
+    static final String EXTRA_CARD_ID = "cardId";
 
     // Fields to store the current deck, the ViewPager, and the adapter for card display
-    private Deck currentDeck;         // The current deck being displayed
+    private Deck currentDeck;         // The current deck being displayed, null until loaded
     private ViewPager2 viewPager;     // The ViewPager that handles swiping through cards
     private CardPagerAdapter adapter; // Adapter to supply card data to the ViewPager
     private Button shuffleButton;
-    private List<Card> originalOrder;
+    private ProgressBar loadingProgress;  // Shown while the deck loads
+    private DeckLoadTask<Deck> loadTask;  // The deck load in progress, cancelled if the screen goes away
+    private List<Card> sessionCards;      // This screen's order of the deck; the deck itself is never reordered
+    private final Random random = new Random();  // Shuffles the session order
     /**
-     * Called when the activity is created. It sets up the UI and initializes the deck and adapter.
-     * Time complexity: O(n) - The time complexity of this method depends on the size of the deck (n),
-     * as it involves fetching the deck and setting up the adapter with the cards.
+     * Called when the activity is created. It sets up the UI and starts loading the deck.
+     * Time complexity: O(1) - The deck is loaded on a background thread; see onLoaded().
      *
      * @param savedInstanceState Bundle containing the activity's previously saved state (if any).
      */
@@ -38,25 +51,88 @@ public class CardDisplayActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_card_display);
 
+        viewPager = findViewById(R.id.viewPager);
+        CardViewPool.getInstance(this).attach(viewPager);  // Pages inflate in the background while the deck loads
+        loadingProgress = findViewById(R.id.loadingProgress);
+        shuffleButton = findViewById(R.id.shuffleButton);
+        shuffleButton.setEnabled(false);  // Nothing to shuffle until the deck is loaded
+
         String deckName = getIntent().getStringExtra("deckName");
-        currentDeck = DeckManager.getInstance().getDeckByName(deckName);
+        loadTask = DeckManager.loadDeckAsync(deckName, ContextCompat.getMainExecutor(this), this);
+    }
 
-        viewPager = findViewById(R.id.viewPager);
-        originalOrder = currentDeck.getCards(); // Save the original order of the deck
-        adapter = new CardPagerAdapter(currentDeck.getCards());
+    /**
+     * Shows how much of the deck has been read.
+     * Time complexity: O(1).
+     *
+     * @param loaded The number of cards read so far.
+     * @param total  The number of cards in the deck.
+     */
+    @Override
+    public void onProgress(int loaded, int total) {
+        loadingProgress.setMax(total);
+        loadingProgress.setProgress(loaded);
+    }
+
+    /**
+     * Shows the loaded deck in review order, opening on the card asked for by EXTRA_CARD_ID if any,
+     * and counts each card's page as it is shown.
+     * Time complexity: O(n log n) to order the n cards by due time; the adapter only binds the visible pages.
+     *
+     * @param deck The loaded deck, or null if it does not exist.
+     */
+    @Override
+    public void onLoaded(Deck deck) {
+        loadingProgress.setVisibility(View.GONE);
+        if (deck == null) {
+            Toast.makeText(this, "Deck not found", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        currentDeck = deck;
+        sessionCards = DeckManager.getInstance().getReviewScheduler().reviewOrder(currentDeck.getCards()); // Due cards first O(n log n)
+        final CardStateStore states = DeckManager.getInstance().getCardStateStore();
+        adapter = new CardPagerAdapter(sessionCards, states); // Cards open on the side they were left on
         viewPager.setAdapter(adapter);
+        if (states != null) {
+            viewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+                @Override
+                public void onPageSelected(int position) {
+                    states.increment(adapter.getCards().get(position).getId(), CardStateStore.COUNTER_VIEWS); // O(1)
+                }
+            });
+        }
+        long cardId = getIntent().getLongExtra(EXTRA_CARD_ID, 0);
+        for (int i = 0; cardId != 0 && i < sessionCards.size(); i++) {
+            if (sessionCards.get(i).getId() == cardId) {
+                viewPager.setCurrentItem(i, false); // Open on the requested card O(n)
+                break;
+            }
+        }
 
-        shuffleButton = findViewById(R.id.shuffleButton);
+        shuffleButton.setEnabled(true);
         shuffleButton.setOnClickListener(v -> {
-            currentDeck.shuffleDeck(); // Shuffle the deck
-            adapter.notifyDataSetChanged(); // Refresh the adapter
+            sessionCards = currentDeck.weightedCards(random); // Hard cards and favorites first, this session only O(n k)
+            adapter.submitCards(sessionCards); // Only pages showing a different card are rebound
         });
     }
 
+    /**
+     * Tells the user the deck could not be read and closes the screen.
+     * Time complexity: O(1).
+     *
+     * @param error The reason the load failed.
+     */
+    @Override
+    public void onLoadFailed(Exception error) {
+        Toast.makeText(this, "Unable to load deck", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        // Restore the original order of the deck when the activity is destroyed
-        currentDeck.setCards(originalOrder);
+        loadTask.cancel();  // No callback reaches this screen after it is destroyed
+        CardViewPool.getInstance(this).release(viewPager);  // The next card screen rebinds these pages
     }
 }
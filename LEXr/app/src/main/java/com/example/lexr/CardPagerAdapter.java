@@ -2,40 +2,224 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * CardPagerAdapter is a RecyclerView adapter that binds vocabulary cards to the view for display.
  * It supports flipping cards and marking them as favorites.
+ * New card lists are diffed against the current one on a background thread, and only the
+ * resulting moves, inserts and removals are dispatched, so pages already showing a card are
+ * not rebound. Cards are matched by identity, and each card's id is its stable item id.
+ * A single card can also be inserted or removed in place, e.g., as favorites are marked, which
+ * notifies just that page without copying or diffing the list.
+ * The conjugate text of the pages around the bound one is joined and measured in the background
+ * by a CardTextCache, so swiping through a deck builds no strings on the main thread.
+ * In a pager attached to a CardViewPool, pages come from the pool's prewarmed views and holders
+ * recycled by other card screens, so they are not inflated on the main thread either.
  */
 public class CardPagerAdapter extends RecyclerView.Adapter<CardPagerAdapter.CardViewHolder> {
 
-    private final List<com.example.lexr.Card> cardList;  // List of cards to be displayed
+    private static final Executor DIFFER = createDiffer();  // Computes diffs for every card adapter
+
+    private final Executor diffExecutor;  // Computes this adapter's diffs
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());  // Delivers finished diffs
+    private List<com.example.lexr.Card> cards;  // The displayed cards; only changed on the main thread
+    private boolean ownsCards;  // Whether cards is this adapter's own copy, which may be edited in place
+    private List<com.example.lexr.Card> pendingCards;  // The list being diffed, or null if none is
+    private int generation;  // Counts submitted lists, so the result of an outdated diff is dropped
+    private final CardTextCache texts;  // Conjugate text of the cards, rendered ahead of their pages
+    private final CardStateStore states;  // Flip state and counters of the cards by id, or null
 
     /**
      * Constructor for the adapter, taking a list of cards.
-     * Time complexity: O(1) - Assigning a reference to the card list is a constant time operation.
+     * Time complexity: O(1) - The first list is shown without diffing.
      *
-     * @param cardList The list of Card objects to be displayed in the RecyclerView.
+     * @param cardList The list of Card objects to be displayed; must not be changed afterwards.
      */
     public CardPagerAdapter(List<com.example.lexr.Card> cardList) {
-        this.cardList = cardList;  // Initialize the list of cards
+        this(cardList, null, null);
+    }
+
+    /**
+     * Constructor for the adapter, showing each card on the side recorded in a state store.
+     * Time complexity: O(1) - The first list is shown without diffing.
+     *
+     * @param cardList The list of Card objects to be displayed; must not be changed afterwards.
+     * @param states   Records which side each card shows and how often it was flipped, or null.
+     */
+    public CardPagerAdapter(List<com.example.lexr.Card> cardList, CardStateStore states) {
+        this(cardList, null, states);
+    }
+
+    /**
+     * Constructor for the adapter with the executor diffs are computed on.
+     * Time complexity: O(1) - The first list is shown without diffing.
+     *
+     * @param cardList     The list of Card objects to be displayed; must not be changed afterwards.
+     * @param diffExecutor Computes diffs and renders card text, or null for the shared background threads.
+     */
+    CardPagerAdapter(List<com.example.lexr.Card> cardList, Executor diffExecutor) {
+        this(cardList, diffExecutor, null);
+    }
+
+    /**
+     * Constructor for the adapter with the executor diffs are computed on and a state store.
+     * Time complexity: O(1) - The first list is shown without diffing.
+     *
+     * @param cardList     The list of Card objects to be displayed; must not be changed afterwards.
+     * @param diffExecutor Computes diffs and renders card text, or null for the shared background threads.
+     * @param states       Records which side each card shows and how often it was flipped, or null.
+     */
+    CardPagerAdapter(List<com.example.lexr.Card> cardList, Executor diffExecutor, CardStateStore states) {
+        this.states = states;
+        this.diffExecutor = diffExecutor != null ? diffExecutor : DIFFER;
+        texts = diffExecutor != null
+                ? new CardTextCache(CardTextCache.DEFAULT_CAPACITY, CardTextCache.DEFAULT_PREFETCH, diffExecutor)
+                : new CardTextCache();  // Renders on its shared background thread
+        setHasStableIds(true);  // A card keeps its page across moves
+        cards = cardList;  // Shown right away, nothing to diff against O(1)
+    }
+
+    /**
+     * Replaces the cards being displayed, e.g., with a shuffled view of the same deck.
+     * The diff runs in the background and the minimal updates are dispatched on the main thread.
+     * Deck snapshots and views never change, so they can be submitted as they are; a list that
+     * does change, such as the live favorites, must be copied first.
+     * Time complexity: O(1) on the calling thread; O(n + d^2) in the background, where d is the
+     * number of differences, plus rebinding only pages that now show a different card.
+     *
+     * @param cardList The list of Card objects to display; must not be changed afterwards.
+     */
+    public void submitCards(final List<com.example.lexr.Card> cardList) {
+        final int submitted = ++generation;
+        final List<com.example.lexr.Card> oldCards = cards;  // Not edited in place while the diff runs
+        pendingCards = cardList;
+        diffExecutor.execute(() -> {
+            final DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new CardDiff(oldCards, cardList));  // O(n + d^2)
+            mainHandler.post(() -> {
+                if (submitted != generation) {
+                    return;  // A newer list or edit replaced this one O(1)
+                }
+                cards = cardList;
+                ownsCards = false;
+                pendingCards = null;
+                diff.dispatchUpdatesTo(CardPagerAdapter.this);  // Only the changed pages O(d)
+            });
+        });
+    }
+
+    /**
+     * Shows a card at a position, e.g., one just marked as a favorite, notifying only its page.
+     * While a submitted list is still being diffed, the card is inserted into that list instead
+     * and the list is diffed again.
+     * Time complexity: O(1) at the end of the list, plus shifting the cards after position;
+     * O(n) the first time, to copy a list the adapter does not own, or while a diff is pending.
+     *
+     * @param position The position to insert the card at.
+     * @param card     The card to show.
+     */
+    public void insertCard(int position, com.example.lexr.Card card) {
+        if (pendingCards != null) {
+            List<com.example.lexr.Card> updated = new ArrayList<>(pendingCards);  // O(n)
+            updated.add(position, card);
+            submitCards(updated);
+            return;
+        }
+        editableCards().add(position, card);
+        notifyItemInserted(position);  // Binds only the new page if it is laid out O(1)
+    }
+
+    /**
+     * Drops the card at a position, e.g., one just unmarked as a favorite, notifying only its page.
+     * While a submitted list is still being diffed, the card is removed from that list instead
+     * and the list is diffed again.
+     * Time complexity: O(1) at the end of the list, plus shifting the cards after position;
+     * O(n) the first time, to copy a list the adapter does not own, or while a diff is pending.
+     *
+     * @param position The position of the card to drop.
+     */
+    public void removeCard(int position) {
+        if (pendingCards != null) {
+            List<com.example.lexr.Card> updated = new ArrayList<>(pendingCards);  // O(n)
+            updated.remove(position);
+            submitCards(updated);
+            return;
+        }
+        editableCards().remove(position);
+        notifyItemRemoved(position);  // O(1)
+    }
+
+    /**
+     * Returns the displayed list for an edit in place, copying it first if a caller handed it in.
+     * Time complexity: O(1); O(n) the first time after a list is submitted.
+     */
+    private List<com.example.lexr.Card> editableCards() {
+        if (!ownsCards) {
+            cards = new ArrayList<>(cards);  // Submitted lists must not change O(n)
+            ownsCards = true;
+        }
+        return cards;
+    }
+
+    /**
+     * Returns the list of cards currently displayed.
+     * Time complexity: O(1).
+     *
+     * @return The displayed cards.
+     */
+    public List<com.example.lexr.Card> getCards() {
+        return cards;
+    }
+
+    /**
+     * Returns the stable id of the card at a position: its store id, or its identity if it has none.
+     * Time complexity: O(1).
+     *
+     * @param position The position of the card.
+     * @return The card's stable id.
+     */
+    @Override
+    public long getItemId(int position) {
+        com.example.lexr.Card card = cards.get(position);
+        return card.getId() != 0 ? card.getId() : -System.identityHashCode(card) - 1L;  // Never clashes with store ids
+    }
+
+    /**
+     * Returns the cache holding the conjugate text of the displayed cards.
+     * Time complexity: O(1).
+     *
+     * @return The text cache.
+     */
+    CardTextCache getTextCache() {
+        return texts;
     }
 
     /**
      * Called when RecyclerView needs a new ViewHolder of the given type to represent an item.
-     * Inflates the layout for individual card items.
-     * Time complexity: O(1) - Inflating the layout and creating a new ViewHolder happens in constant time.
+     * Takes a prewarmed card_item view from the pager's CardViewPool, or inflates one if the
+     * pager has no CardViewPool.
+     * Time complexity: O(1) - A prewarmed view is taken; inflating the layout is also constant time.
      *
      * @param parent   The parent ViewGroup into which the new view will be added.
      * @param viewType The view type of the new View.
@@ -44,23 +228,37 @@ public class CardPagerAdapter extends RecyclerView.Adapter<CardPagerAdapter.Card
     @NonNull
     @Override
     public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        // Inflate the card_item layout to create the view for each card
-        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.card_item, parent, false);
-        return new CardViewHolder(view);  // Return a new ViewHolder for the card
+        RecyclerView.RecycledViewPool pool = parent instanceof RecyclerView
+                ? ((RecyclerView) parent).getRecycledViewPool() : null;
+        View view = pool instanceof CardViewPool
+                ? ((CardViewPool) pool).obtain(parent)  // Inflated in the background O(1)
+                : LayoutInflater.from(parent.getContext()).inflate(R.layout.card_item, parent, false);
+        return new CardViewHolder(view, texts, states);  // Return a new ViewHolder for the card
     }
 
     /**
      * Called by RecyclerView to display data at a specific position.
-     * Binds the card data to the ViewHolder.
-     * Time complexity: O(1) - Accessing the card list and binding the data for each card is constant time.
+     * Binds the card data to the ViewHolder and renders the text of the next pages in the background.
+     * The holder may have been created for another card screen's adapter, so it is handed this
+     * adapter's text cache and state store first. The first bind also sets up the text cache to
+     * precompute conjugate layouts with the holder's conjugates view's text metrics.
+     * Time complexity: O(p) - Binding reads cached text; p is the prefetch distance.
      *
      * @param holder   The ViewHolder that should be updated to represent the card.
      * @param position The position of the item within the card list.
      */
     @Override
     public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
-        com.example.lexr.Card card = cardList.get(position);  // Get the card at the given position O(1)
-        holder.bind(card);  // Bind the card data to the ViewHolder O(1)
+        long start = Metrics.start();  // O(1), nothing more while metrics are off
+        if (!texts.hasRenderer() && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            // Every holder inflates the same layout, so one set of text metrics fits them all
+            final PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(holder.conjugatesView);
+            texts.setRenderer(text -> PrecomputedTextCompat.create(text, params));
+        }
+        holder.setOwner(texts, states);  // O(1)
+        holder.bind(cards.get(position));  // Bind the card data to the ViewHolder O(1)
+        texts.prefetch(cards, position);  // Have the pages around this one ready O(p)
+        Metrics.stop(Metrics.CARD_BIND, start);  // O(1)
     }
 
     /**
@@ -71,12 +269,63 @@ public class CardPagerAdapter extends RecyclerView.Adapter<CardPagerAdapter.Card
      */
     @Override
     public int getItemCount() {
-        return cardList.size();  // Return the total number of cards O(1)
+        return cards.size();  // Return the total number of cards O(1)
+    }
+
+    /**
+     * Creates the single daemon thread that diffs card lists for every adapter.
+     * The thread exits when idle, so it costs nothing when no list is being diffed.
+     * Time complexity: O(1).
+     */
+    private static Executor createDiffer() {
+        ThreadPoolExecutor differ = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "CardDiffer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        differ.allowCoreThreadTimeOut(true);
+        return differ;
+    }
+
+    /**
+     * Compares two card lists. Cards are the same item only if they are the same object;
+     * a card's own fields are bound from it, so the same card never needs rebinding.
+     */
+    private static class CardDiff extends DiffUtil.Callback {
+        private final List<com.example.lexr.Card> oldCards;
+        private final List<com.example.lexr.Card> newCards;
+
+        CardDiff(List<com.example.lexr.Card> oldCards, List<com.example.lexr.Card> newCards) {
+            this.oldCards = oldCards;
+            this.newCards = newCards;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldCards.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newCards.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return oldCards.get(oldPosition) == newCards.get(newPosition);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return oldCards.get(oldPosition) == newCards.get(newPosition);
+        }
     }
 
     /**
      * ViewHolder class for individual card items in the RecyclerView.
      * It holds references to the views for each card's content and handles user interactions.
+     * The listeners are registered once and act on whichever card is bound.
      */
     public static class CardViewHolder extends RecyclerView.ViewHolder {
 
@@ -85,65 +334,153 @@ public class CardPagerAdapter extends RecyclerView.Adapter<CardPagerAdapter.Card
         private final TextView conjugatesView;
         private final TextView translationView;  // TextViews for displaying card data
         private final ImageView favoriteIcon;  // ImageView to represent the favorite icon
+        private CardTextCache texts;  // Cached conjugate text of the cards, from the adapter binding this holder
+        private CardStateStore states;  // Flip state of the cards by id, or null
+        private com.example.lexr.Card card;  // The card currently bound, null before the first bind
+        private boolean showingTable;  // Whether the conjugates view shows the full conjugation table
 
         /**
          * Constructor for the CardViewHolder.
-         * Finds the views in the item layout and assigns them to fields.
+         * Finds the views in the item layout, assigns them to fields and registers the listeners.
          * Time complexity: O(1) - Finding views by their IDs is a constant time operation.
          *
          * @param itemView The View representing the card item.
+         * @param texts    The cache holding the conjugate text of the cards.
+         * @param states   Records which side each card shows, or null.
          */
-        public CardViewHolder(@NonNull View itemView) {
+        public CardViewHolder(@NonNull View itemView, CardTextCache texts, CardStateStore states) {
             super(itemView);  // Call the superclass constructor
+            this.texts = texts;
+            this.states = states;
 
             // Find the views in the card_item layout and initialize them
             wordView = itemView.findViewById(R.id.cardWord);
             conjugatesView = itemView.findViewById(R.id.cardConjugates);
             translationView = itemView.findViewById(R.id.cardTranslation);
             favoriteIcon = itemView.findViewById(R.id.favoriteIcon);
+
+            favoriteIcon.setOnClickListener(v -> toggleFavorite());  // Toggle the bound card's favorite status
+            itemView.setOnClickListener(v -> flip());  // Flip the card over
+            conjugatesView.setOnLongClickListener(v -> toggleTable());  // Show the full conjugation table
+        }
+
+        /**
+         * Hands the holder the text cache and state store of the adapter binding it, since a
+         * pooled holder can move between card screens.
+         * Time complexity: O(1).
+         *
+         * @param texts  The cache holding the conjugate text of the cards.
+         * @param states Records which side each card shows, or null.
+         */
+        void setOwner(CardTextCache texts, CardStateStore states) {
+            this.texts = texts;
+            this.states = states;
         }
 
         /**
-         * Binds the card data to the views and sets up interaction listeners.
-         * Time complexity: O(m) - Where m is the number of conjugates for a card (for joining the conjugates string).
+         * Binds the card data to the views.
+         * The conjugate text comes from the cache, so binding a prefetched card builds no strings.
+         * Time complexity: O(1) - All text is cached; O(m) to join the conjugates of a card not prefetched.
          *
          * @param card The Card object to bind to the views.
          */
         public void bind(com.example.lexr.Card card) {
+            this.card = card;
+            showingTable = false;
             // Set the word, conjugates, and translation to their respective TextViews
             wordView.setText(card.getWord());  // Set the word on the card O(1)
-            conjugatesView.setText(String.join(", ", card.getConjugates()));  // Join and display conjugates O(m) where m is the number of conjugates
+            setConjugates(texts.getConjugates(card));  // Cached joined conjugates O(1)
             translationView.setText(card.getTranslation());  // Set the translation text O(1)
-            translationView.setVisibility(View.GONE);  // Hide the translation initially (card starts unflipped) O(1)
+            long id = card.getId();
+            showSide(states != null && states.isKnown(id) ? states.isFlipped(id) : card.isFlipped());  // The side it was left on O(1)
+            showFavorite(card.isFavorite());  // Filled or empty star O(1)
+        }
 
-            // Set the favorite icon state based on whether the card is marked as favorite
-            if (card.isFavorite()) {
-                favoriteIcon.setImageResource(R.drawable.ic_star_filled);  // Display a filled star if the card is a favorite O(1)
-            } else {
-                favoriteIcon.setImageResource(R.drawable.ic_star_outline);  // Display an empty star if the card is not a favorite O(1)
+        /**
+         * Marks or unmarks the bound card as a favorite.
+         * Time complexity: O(1).
+         */
+        private void toggleFavorite() {
+            if (card == null) {
+                return;
             }
+            card.setFavorite(!card.isFavorite());  // Toggle the favorite status O(1)
+            showFavorite(card.isFavorite());
+        }
 
-            // Set up a click listener on the favorite icon to toggle the card's favorite status
-            favoriteIcon.setOnClickListener(v -> {
-                if (card.isFavorite()) {
-                    card.setFavorite(false);  // Unmark the card as favorite O(1)
-                    favoriteIcon.setImageResource(R.drawable.ic_star_outline);  // Change the icon to an empty star O(1)
-                } else {
-                    card.setFavorite(true);  // Mark the card as favorite O(1)
-                    favoriteIcon.setImageResource(R.drawable.ic_star_filled);  // Change the icon to a filled star O(1)
+        /**
+         * Shows the translation in place of the conjugates, or the other way round, and records
+         * the side so the card keeps it when its page is recycled or the app restarts.
+         * Time complexity: O(1).
+         */
+        private void flip() {
+            if (card == null) {
+                return;
+            }
+            boolean flipped = translationView.getVisibility() == View.GONE;  // Turning to the translation O(1)
+            showSide(flipped);
+            card.setFlipped(flipped);
+            if (states != null) {
+                states.setFlipped(card.getId(), flipped);  // A write into the mapped state file O(1)
+                if (flipped) {
+                    states.increment(card.getId(), CardStateStore.COUNTER_FLIPS);
                 }
-            });
+            }
+        }
 
-            // Set up a click listener on the entire itemView to implement flip card functionality
-            itemView.setOnClickListener(v -> {
-                if (translationView.getVisibility() == View.GONE) {  // If the translation is hidden, flip the card to show it O(1)
-                    translationView.setVisibility(View.VISIBLE);  // Show the translation O(1)
-                    conjugatesView.setVisibility(View.GONE);  // Hide the conjugates when the card is flipped O(1)
-                } else {  // If the translation is visible, flip the card back O(1)
-                    translationView.setVisibility(View.GONE);  // Hide the translation O(1)
-                    conjugatesView.setVisibility(View.VISIBLE);  // Show the conjugates again O(1)
-                }
-            });
+        /**
+         * Shows either the translation or the conjugates.
+         * Time complexity: O(1).
+         *
+         * @param flipped True to show the translation.
+         */
+        private void showSide(boolean flipped) {
+            translationView.setVisibility(flipped ? View.VISIBLE : View.GONE);
+            conjugatesView.setVisibility(flipped ? View.GONE : View.VISIBLE);
+        }
+
+        /**
+         * Switches between the bound card's conjugates and its full conjugation table.
+         * Time complexity: O(t), where t is the size of the table.
+         *
+         * @return True if the long-press was handled; nouns have no table.
+         */
+        private boolean toggleTable() {
+            if (card == null) {
+                return false;
+            }
+            if (showingTable) {
+                showingTable = false;
+                setConjugates(texts.getConjugates(card));  // Back to the cached text O(1)
+                return true;
+            }
+            ConjugationEngine.Table table = DeckManager.getInstance().conjugate(card);
+            if (table == null) {
+                return false;  // Nouns have no table O(1)
+            }
+            showingTable = true;
+            conjugatesView.setText(table.toString());  // O(t)
+            return true;
+        }
+
+        /**
+         * Shows conjugate text, using its precomputed layout if it has one.
+         * Time complexity: O(1).
+         */
+        private void setConjugates(CharSequence text) {
+            if (text instanceof PrecomputedTextCompat) {
+                TextViewCompat.setPrecomputedText(conjugatesView, (PrecomputedTextCompat) text);  // Measured in the background
+            } else {
+                conjugatesView.setText(text);
+            }
+        }
+
+        /**
+         * Shows a filled star for a favorite and an empty one otherwise.
+         * Time complexity: O(1).
+         */
+        private void showFavorite(boolean favorite) {
+            favoriteIcon.setImageResource(favorite ? R.drawable.ic_star_filled : R.drawable.ic_star_outline);
         }
     }
 }
@@ -0,0 +1,247 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+import java.util.ArrayDeque;
+
+/**
+ * CardViewPool is the view pool shared by every screen paging through cards.
+ * Card pages recycled on one screen are rebound on the next instead of being inflated again, and
+ * card_item views are inflated ahead of time on AsyncLayoutInflater's background thread, so the
+ * pages of the first swipes after a deck opens are ready without inflating on the main thread.
+ * Views are inflated with the application context, so pooled pages never keep a closed screen alive.
+ * The pool also sets how many pages a ViewPager2 lays out beyond the current one and how many
+ * it keeps bound ahead; prewarming covers both.
+ * A pool is used on the main thread only.
+ */
+public class CardViewPool extends RecyclerView.RecycledViewPool {
+
+    public static final int DEFAULT_OFFSCREEN_PAGES = 1;  // Pages laid out on each side of the current one
+    public static final int DEFAULT_PREFETCH_PAGES = 2;   // Bound pages kept after leaving the screen
+
+    private static CardViewPool instance;  // Shared by the card screens, created on first use
+
+    private final Context context;          // Themed application context the views are inflated with
+    private final ViewGroup inflateParent;  // Gives inflated views their layout params; never holds children
+    private final AsyncLayoutInflater asyncInflater;
+    private final ArrayDeque<View> ready = new ArrayDeque<>();  // Inflated views not yet in a page
+    private final AsyncLayoutInflater.OnInflateFinishedListener onInflated = this::onInflated;
+    private int offscreenPages = DEFAULT_OFFSCREEN_PAGES;
+    private int prefetchPages = DEFAULT_PREFETCH_PAGES;
+    private int pending;            // Inflations queued on the background thread
+    private int synchronousInflations;  // Views inflated on the main thread because none was ready
+
+    /**
+     * Returns the pool shared by the card screens, creating it on first use.
+     * Time complexity: O(1).
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The shared pool.
+     */
+    public static CardViewPool getInstance(Context context) {
+        if (instance == null) {
+            instance = new CardViewPool(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a pool; screens use the shared one from getInstance().
+     * Must be called on the main thread, where inflated views are delivered.
+     * Time complexity: O(1).
+     *
+     * @param context Any context; only the application context is kept.
+     */
+    CardViewPool(Context context) {
+        this.context = new ContextThemeWrapper(context.getApplicationContext(), R.style.Theme_MyApplication);
+        inflateParent = new FrameLayout(this.context);
+        asyncInflater = new AsyncLayoutInflater(this.context);
+        setMaxRecycledViews(0, getPrewarmCount());  // Card pages are the adapter's only view type
+    }
+
+    /**
+     * Sets the pages a pager lays out on each side of the current one, e.g., more for fast swiping
+     * on devices with memory to spare. Applies to pagers attached afterwards.
+     * Time complexity: O(1).
+     *
+     * @param pages The number of pages, at least 1.
+     * @return This pool.
+     * @throws IllegalArgumentException If pages is less than 1.
+     */
+    public CardViewPool setOffscreenPages(int pages) {
+        if (pages < 1) {
+            throw new IllegalArgumentException("Offscreen pages must be at least 1: " + pages);
+        }
+        offscreenPages = pages;
+        setMaxRecycledViews(0, getPrewarmCount());
+        return this;
+    }
+
+    /**
+     * Sets the bound pages a pager keeps after they leave the screen, which RecyclerView also
+     * prefetches between frames; 0 turns prefetching off. Applies to pagers attached afterwards.
+     * Time complexity: O(1).
+     *
+     * @param pages The number of pages, at least 0.
+     * @return This pool.
+     * @throws IllegalArgumentException If pages is negative.
+     */
+    public CardViewPool setPrefetchPages(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("Prefetch pages must not be negative: " + pages);
+        }
+        prefetchPages = pages;
+        setMaxRecycledViews(0, getPrewarmCount());
+        return this;
+    }
+
+    /**
+     * Returns the number of views a pager can hold at once: the laid out pages, the ones kept
+     * bound, and the page prefetched for the next swipe.
+     * Time complexity: O(1).
+     *
+     * @return The number of views prewarmed.
+     */
+    public int getPrewarmCount() {
+        return 2 * offscreenPages + 1 + prefetchPages + 1;
+    }
+
+    /**
+     * Makes a pager use this pool and its page settings, and starts inflating the views it
+     * will need in the background. Call before the pager gets its adapter, e.g., while the deck loads.
+     * Time complexity: O(w) on the calling thread, where w is getPrewarmCount(), to queue the inflations.
+     *
+     * @param pager The pager showing CardPagerAdapter pages.
+     */
+    public void attach(ViewPager2 pager) {
+        pager.setOffscreenPageLimit(offscreenPages);
+        RecyclerView recyclerView = (RecyclerView) pager.getChildAt(0);  // ViewPager2's own RecyclerView
+        recyclerView.setRecycledViewPool(this);
+        recyclerView.setItemViewCacheSize(prefetchPages);
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            layoutManager.setItemPrefetchEnabled(prefetchPages > 0);
+        }
+        prewarm(getPrewarmCount());
+    }
+
+    /**
+     * Inflates card_item views in the background until this many are ready or queued.
+     * Time complexity: O(w) on the calling thread, where w is the number of views queued.
+     *
+     * @param count The number of views to have ready.
+     */
+    public void prewarm(int count) {
+        for (int queued = ready.size() + pending; queued < count; queued++) {
+            pending++;
+            asyncInflater.inflate(R.layout.card_item, inflateParent, onInflated);  // O(1), inflated off the main thread
+        }
+    }
+
+    /**
+     * Returns a card_item view for a new page: a prewarmed one if ready, otherwise one inflated
+     * now. Either way another is queued, so the next page is likely ready too.
+     * Time complexity: O(1) for a prewarmed view; inflating one is proportional to the layout.
+     *
+     * @param parent The RecyclerView the page is for.
+     * @return A view not yet in any page.
+     */
+    @NonNull
+    View obtain(@NonNull ViewGroup parent) {
+        View view = ready.pollFirst();  // O(1)
+        if (view == null) {
+            synchronousInflations++;
+            view = LayoutInflater.from(context).inflate(R.layout.card_item, parent, false);
+        }
+        prewarm(getPrewarmCount());  // Top up in the background O(1)
+        return view;
+    }
+
+    /**
+     * Returns the number of card views inflated on the main thread because none was ready.
+     * Time complexity: O(1).
+     *
+     * @return The count since the pool was created.
+     */
+    public int getSynchronousInflations() {
+        return synchronousInflations;
+    }
+
+    /**
+     * Returns the number of prewarmed views waiting for a page.
+     * Time complexity: O(1).
+     *
+     * @return The number of ready views.
+     */
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    /**
+     * Returns a closing screen's pages to the pool, so the next card screen rebinds them.
+     * Call from onDestroy(); the pager shows nothing afterwards.
+     * Time complexity: O(p), where p is the number of pages the pager holds.
+     *
+     * @param pager A pager attached to this pool.
+     */
+    public void release(ViewPager2 pager) {
+        pager.setAdapter(null);  // Recycles every page into this pool O(p)
+    }
+
+    /**
+     * Drops the prewarmed views and recycled pages of the shared pool, if it was created,
+     * e.g., when the app goes to the background and the system asks for memory back.
+     * Time complexity: O(w), where w is the number of views held.
+     */
+    public static void trim() {
+        if (instance != null) {
+            instance.ready.clear();
+            instance.dropRecycled();
+        }
+    }
+
+    /**
+     * Keeps the recycled pages. RecyclerView clears a pool when the last pager using it lets go
+     * of its adapter, which is exactly when the pages should wait for the next card screen; they
+     * were inflated with the application context, so they keep no screen alive. Use trim() to
+     * drop them.
+     * Time complexity: O(1).
+     */
+    @Override
+    public void clear() {
+    }
+
+    /**
+     * Drops the recycled pages.
+     * Time complexity: O(w), where w is the number of pages held.
+     */
+    private void dropRecycled() {
+        super.clear();
+    }
+
+    /**
+     * Keeps a view inflated in the background until a page needs it.
+     * Time complexity: O(1).
+     */
+    private void onInflated(@NonNull View view, int resid, @Nullable ViewGroup parent) {
+        pending--;
+        if (ready.size() < getPrewarmCount()) {
+            ready.addLast(view);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.database.sqlite.SQLiteDatabase;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CardWriteQueue saves card changes and review records to the database off the main thread.
+ * Changes are collected for a short delay and written in one transaction, and several
+ * changes to the same card in that window are merged into a single update.
+ */
+public class CardWriteQueue implements CardWriter {
+
+    static final long FLUSH_DELAY_MS = 250;  // How long changes are collected before writing
+
+    private final LexrDatabase database;             // The app database
+    private final ScheduledExecutorService executor; // Single background thread doing all writes
+    private final Object lock = new Object();        // Guards pending, pendingReviews and flushScheduled
+    private Map<Long, CardDao.CardUpdate> pending = new LinkedHashMap<>();  // Latest state per card id
+    private Map<Long, CardDao.ReviewUpdate> pendingReviews = new LinkedHashMap<>();  // Latest review per card id
+    private boolean flushScheduled;                  // Whether a flush is already queued
+
+    /**
+     * Constructor for the CardWriteQueue class.
+     * Time complexity: O(1) - Creating the executor does not start a thread yet.
+     *
+     * @param database The app database to write to.
+     */
+    public CardWriteQueue(LexrDatabase database) {
+        this.database = database;
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    /**
+     * Queues the current favorite status and difficulty level of a card to be saved.
+     * Safe to call from the main thread; it never touches the database.
+     * Time complexity: O(1) - A map insert and at most one scheduled task.
+     *
+     * @param card The card that changed.
+     */
+    @Override
+    public void enqueue(Card card) {
+        CardDao.CardUpdate update = new CardDao.CardUpdate(card);  // Copy the state on the calling thread O(1)
+        synchronized (lock) {
+            pending.put(update.id, update);  // A newer change replaces an unsaved older one O(1)
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues the current state of a review record to be saved.
+     * Safe to call from the main thread; it never touches the database.
+     * Time complexity: O(1) - A map insert and at most one scheduled task.
+     *
+     * @param record The record of the card that was reviewed.
+     */
+    @Override
+    public void enqueueReview(ReviewRecord record) {
+        CardDao.ReviewUpdate update = new CardDao.ReviewUpdate(record);  // Copy the state on the calling thread O(1)
+        synchronized (lock) {
+            pendingReviews.put(update.id, update);  // A newer review replaces an unsaved older one O(1)
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues a flush unless one is queued already. Called with the lock held.
+     * Time complexity: O(1).
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.schedule(this::writePending, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes every queued change now and waits for the write to finish.
+     * Time complexity: O(u log n), where u is the number of queued updates.
+     */
+    public void flush() {
+        try {
+            executor.submit(this::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to save cards", e.getCause());
+        }
+    }
+
+    /**
+     * Writes the queued changes and stops the background thread.
+     * Time complexity: O(u log n), where u is the number of queued updates.
+     */
+    public void close() {
+        flush();
+        executor.shutdown();
+    }
+
+    /**
+     * Takes the queued changes and writes them in a single transaction.
+     * Runs on the background thread only.
+     * Time complexity: O(u log n), where u is the number of queued updates.
+     */
+    private void writePending() {
+        Map<Long, CardDao.CardUpdate> batch;
+        Map<Long, CardDao.ReviewUpdate> reviewBatch;
+        synchronized (lock) {
+            batch = pending;
+            reviewBatch = pendingReviews;
+            pending = new LinkedHashMap<>();  // Changes made while writing go to the next batch O(1)
+            pendingReviews = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty() && reviewBatch.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            CardDao cards = new CardDao(db);
+            cards.updateCards(batch.values());
+            cards.updateReviews(reviewBatch.values());
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
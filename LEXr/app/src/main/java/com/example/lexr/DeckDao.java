@@ -0,0 +1,105 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DeckDao reads and writes rows of the decks table.
+ * Callers that write several decks wrap the calls in a single transaction.
+ */
+public class DeckDao {
+
+    private final SQLiteDatabase db;  // The open app database
+
+    /**
+     * Constructor for the DeckDao class.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param db The open app database.
+     */
+    public DeckDao(SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Inserts a deck row.
+     * Time complexity: O(log d), where d is the number of decks (primary key insert).
+     *
+     * @param manifest  The id and metadata of the deck.
+     * @param position  The display position of the deck.
+     * @param cardCount The number of cards in the deck.
+     */
+    public void insertDeck(DeckManifest manifest, int position, int cardCount) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + LexrDatabase.TABLE_DECKS + " ("
+                + LexrDatabase.DECK_NAME + ", " + LexrDatabase.DECK_POSITION + ", "
+                + LexrDatabase.DECK_CARD_COUNT + ", " + LexrDatabase.DECK_LANGUAGE + ", "
+                + LexrDatabase.DECK_TITLE + ", " + LexrDatabase.DECK_DIFFICULTY + ", "
+                + LexrDatabase.DECK_ACTIVE + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+        try {
+            insert.bindString(1, manifest.getName());
+            insert.bindLong(2, position);
+            insert.bindLong(3, cardCount);
+            insert.bindString(4, manifest.getLanguage());
+            insert.bindString(5, manifest.getDeckName());
+            insert.bindLong(6, manifest.getDifficultyRating());
+            insert.bindLong(7, manifest.isActive() ? 1 : 0);
+            insert.executeInsert();
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Counts the decks in the database.
+     * Time complexity: O(d), where d is the number of decks.
+     *
+     * @return The number of deck rows.
+     */
+    public long countDecks() {
+        SQLiteStatement count = db.compileStatement("SELECT COUNT(*) FROM " + LexrDatabase.TABLE_DECKS);
+        try {
+            return count.simpleQueryForLong();
+        } finally {
+            count.close();
+        }
+    }
+
+    /**
+     * Reads the manifests of all decks in display order, with the number of favorites in each.
+     * The favorite counts are answered from the favorite index, not by reading every card.
+     * Time complexity: O(d log f), where d is the number of decks and f the number of favorites.
+     *
+     * @return The manifests of all decks with their metadata; each manifest's file is the deck id.
+     */
+    public List<DeckManifest> loadManifests() {
+        List<DeckManifest> manifests = new ArrayList<>();
+        Cursor cursor = db.rawQuery("SELECT d." + LexrDatabase.DECK_NAME + ", d." + LexrDatabase.DECK_CARD_COUNT
+                + ", d." + LexrDatabase.DECK_LANGUAGE + ", d." + LexrDatabase.DECK_TITLE
+                + ", d." + LexrDatabase.DECK_DIFFICULTY + ", d." + LexrDatabase.DECK_ACTIVE
+                + ", (SELECT COUNT(*) FROM " + LexrDatabase.TABLE_CARDS + " c WHERE c." + LexrDatabase.CARD_FAVORITE
+                + " = 1 AND c." + LexrDatabase.CARD_DECK + " = d." + LexrDatabase.DECK_NAME + ")"
+                + " FROM " + LexrDatabase.TABLE_DECKS + " d ORDER BY d." + LexrDatabase.DECK_POSITION, null);
+        try {
+            while (cursor.moveToNext()) {
+                String name = cursor.getString(0);
+                DeckManifest manifest = new DeckManifest(name, name, cursor.getInt(1), cursor.getInt(6));
+                manifest.setLanguage(cursor.getString(2));
+                manifest.setDeckName(cursor.getString(3));
+                manifest.setDifficultyRating(cursor.getInt(4));
+                manifest.setActive(cursor.getInt(5) != 0);
+                manifests.add(manifest);
+            }
+        } finally {
+            cursor.close();
+        }
+        return manifests;
+    }
+}
@@ -2,27 +2,33 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
 import android.os.Bundle;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.viewpager2.widget.ViewPager2;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * FavoriteCardsActivity is an activity that displays a user's favorite cards using a ViewPager2.
  * The favorite cards are retrieved from all the available decks and displayed for the user.
  */
-public class FavoriteCardsActivity extends AppCompatActivity {
+public class FavoriteCardsActivity extends AppCompatActivity
+        implements FavoritesIndex.Listener, DeckLoadTask.Callback<DeckManager> {
 
     private ViewPager2 favoriteViewPager;  // ViewPager2 widget to swipe between favorite cards
     private CardPagerAdapter adapter;      // Adapter to manage the display of cards in ViewPager2
+    private FavoritesIndex favoritesIndex; // Index of favorite cards this screen is showing, null until loaded
+    private DeckLoadTask<DeckManager> loadTask;  // Startup of DeckManager, cancelled if the screen goes away
 
     /**
-     * Called when the activity is first created. Sets up the ViewPager and loads favorite cards.
-     * Time complexity: O(n * m) - where n is the number of decks and m is the average number of cards per deck. This is due to retrieving favorite cards from all decks.
+     * Called when the activity is first created. Starts DeckManager on its background loader
+     * if it is not running yet; the favorites are shown in onLoaded().
+     * Time complexity: O(1) - Nothing is read on the main thread.
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down, this Bundle contains the saved state data.
      */
@@ -33,17 +39,92 @@ public class FavoriteCardsActivity extends AppCompatActivity {
 
         // Initialize the ViewPager for displaying favorite cards
         favoriteViewPager = findViewById(R.id.favoriteViewPager);  // O(1)
+        CardViewPool.getInstance(this).attach(favoriteViewPager);  // Shares card pages with the deck screen O(w)
 
-        // Retrieve favorite cards from the DeckManager
-        List<Card> favoriteCards = DeckManager.getInstance().getFavoriteCards();  // O(n * m) where n is the number of decks and m is the number of cards per deck
+        loadTask = DeckManager.getInstanceAsync(ContextCompat.getMainExecutor(this), this);  // O(1)
+    }
+
+    /**
+     * DeckManager startup does not report progress.
+     *
+     * @param loaded The number of cards read so far.
+     * @param total  The number of cards expected.
+     */
+    @Override
+    public void onProgress(int loaded, int total) {
+    }
 
-        // Set up the adapter for the ViewPager if there are any favorite cards
-        if (!favoriteCards.isEmpty()) {
-            adapter = new CardPagerAdapter(favoriteCards);  // Initialize the adapter with favorite cards O(1)
-            favoriteViewPager.setAdapter(adapter);  // Set the adapter to the ViewPager O(1)
-        } else {
+    /**
+     * Sets up the ViewPager over a snapshot of the favorites list.
+     * Time complexity: O(k), where k is the number of favorites - The favorites are already indexed by DeckManager.
+     *
+     * @param manager The started DeckManager.
+     */
+    @Override
+    public void onLoaded(DeckManager manager) {
+        // Retrieve the live favorites list from the DeckManager
+        favoritesIndex = manager.getFavoritesIndex();  // O(1)
+        List<Card> favoriteCards = new ArrayList<>(favoritesIndex.getCards());  // O(k) - the adapter needs a list that does not change
+
+        // Set up the adapter and listen for cards being marked or unmarked while the screen is open
+        adapter = new CardPagerAdapter(favoriteCards, manager.getCardStateStore());  // Initialize the adapter with favorite cards O(1)
+        favoriteViewPager.setAdapter(adapter);  // Set the adapter to the ViewPager O(1)
+        favoritesIndex.addListener(this);  // O(1)
+
+        if (favoriteCards.isEmpty()) {
             // Optionally display a message if no favorite cards are selected
             Toast.makeText(this, "No favorite cards selected", Toast.LENGTH_SHORT).show();  // O(1)
         }
     }
+
+    /**
+     * Tells the user the decks could not be read and closes the screen.
+     * Time complexity: O(1).
+     *
+     * @param error The reason DeckManager could not start.
+     */
+    @Override
+    public void onLoadFailed(Exception error) {
+        Toast.makeText(this, "Unable to load decks", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+
+    /**
+     * Stops the pending startup and listening to the favorites index when the screen goes away,
+     * and returns its pages to the shared CardViewPool.
+     * Time complexity: O(l + p), where l is the number of favorites listeners and p the number of pages.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        loadTask.cancel();  // No callback reaches this screen after it is destroyed
+        CardViewPool.getInstance(this).release(favoriteViewPager);  // The next card screen rebinds these pages
+        if (favoritesIndex != null) {
+            favoritesIndex.removeListener(this);
+        }
+    }
+
+    /**
+     * Shows a card that was just marked as a favorite, binding only that page.
+     * Time complexity: O(1) - A single insert at the end, where new favorites go.
+     *
+     * @param position The position the card was inserted at.
+     * @param card     The card that was added.
+     */
+    @Override
+    public void onFavoriteInserted(int position, Card card) {
+        adapter.insertCard(position, card);
+    }
+
+    /**
+     * Drops a card that was just unmarked, e.g. with its star on this screen.
+     * Time complexity: O(1) - A single removal notification, plus shifting the later favorites.
+     *
+     * @param position The position the card was removed from.
+     * @param card     The card that was removed.
+     */
+    @Override
+    public void onFavoriteRemoved(int position, Card card) {
+        adapter.removeCard(position);
+    }
 }
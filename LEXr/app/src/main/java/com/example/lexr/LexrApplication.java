@@ -0,0 +1,70 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.app.Application;
+import android.content.pm.ApplicationInfo;
+import androidx.core.content.ContextCompat;
+import java.io.File;
+
+/**
+ * LexrApplication sets up app-wide state before any activity starts.
+ * It points DeckManager at the app database, so favorites and difficulty levels are saved
+ * and restored even when Android recreates an activity after process death, and gives it the
+ * file keeping each card's flip state and view counts. Cards defined in several decks are
+ * merged into one shared card in the background, so each is reviewed and marked as a favorite
+ * once. Matching game answers are recorded in
+ * the app files directory by GameHistory. Debuggable builds record Metrics from the start;
+ * other builds only once they are turned on from the Metrics debug screen.
+ */
+public class LexrApplication extends Application {
+
+    /**
+     * Called when the app process starts, before any activity is created.
+     * Time complexity: O(1) - Nothing is read yet; decks are loaded and merged on DeckManager's background loader.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        Metrics.setEnabled((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0);
+        registerActivityLifecycleCallbacks(new ActivityMetrics());  // Adds no listener while Metrics is off
+        LexrDatabase database = new LexrDatabase(this, LexrDatabase.DATABASE_NAME);
+        DeckSource builtInDecks = TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS);
+        File stateFile = new File(getFilesDir(), CardStateStore.FILE_NAME);  // Opened with DeckManager, off the main thread
+        DeckManager.initialize(new SqliteDeckSource(database, builtInDecks), new CardWriteQueue(database), stateFile);
+        // Share one card per distinct card across decks, e.g., "Correr" in SpanishDeck1 and SpanishDeck3
+        DeckManager.mergeDuplicatesAsync(ContextCompat.getMainExecutor(this), new DeckLoadTask.Callback<DeckMerger.Report>() {
+            @Override
+            public void onProgress(int loaded, int total) {
+            }
+
+            @Override
+            public void onLoaded(DeckMerger.Report report) {
+                // The favorites index was updated before this runs; screens see the shared cards
+            }
+
+            @Override
+            public void onLoadFailed(Exception error) {
+                // The decks keep their own copies of shared cards until the next start
+            }
+        });
+        GameHistory.initialize(getFilesDir());  // Matching game answers, opened on the first game
+    }
+
+    /**
+     * Drops the pooled card pages once no screen is visible and the system asks for memory back.
+     * Time complexity: O(w), where w is the number of pooled views.
+     *
+     * @param level The kind of trim, e.g., TRIM_MEMORY_UI_HIDDEN.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            CardViewPool.trim();  // Prewarmed again when a card screen opens
+        }
+    }
+}
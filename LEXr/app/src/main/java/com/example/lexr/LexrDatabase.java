@@ -0,0 +1,109 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * LexrDatabase is the SQLite database holding every deck and card, including the user's
+ * favorites, difficulty levels and review schedules so they survive process death.
+ * Decks and cards are read and written through DeckDao and CardDao.
+ */
+public class LexrDatabase extends SQLiteOpenHelper {
+
+    public static final String DATABASE_NAME = "lexr.db";  // File name of the app database
+    private static final int DATABASE_VERSION = 1;          // Bump when the schema changes
+
+    // Decks table
+    static final String TABLE_DECKS = "decks";
+    static final String DECK_NAME = "name";
+    static final String DECK_POSITION = "position";
+    static final String DECK_CARD_COUNT = "card_count";
+    static final String DECK_LANGUAGE = "language";
+    static final String DECK_TITLE = "title";
+    static final String DECK_DIFFICULTY = "difficulty";
+    static final String DECK_ACTIVE = "active";
+
+    // Cards table; conjugates are stored in one column so a deck loads with a single query
+    static final String TABLE_CARDS = "cards";
+    static final String CARD_ID = "_id";
+    static final String CARD_DECK = "deck_name";
+    static final String CARD_POSITION = "position";
+    static final String CARD_WORD = "word";
+    static final String CARD_CONJUGATES = "conjugates";
+    static final String CARD_TRANSLATION = "translation";
+    static final String CARD_DIFFICULTY = "difficulty";
+    static final String CARD_FAVORITE = "favorite";
+    // Review schedule of the card; a due time of 0 means the card was never reviewed
+    static final String CARD_DUE_AT = "due_at";
+    static final String CARD_INTERVAL_DAYS = "interval_days";
+    static final String CARD_EASE = "ease";
+    static final String CARD_REPETITIONS = "repetitions";
+    static final String CARD_LAPSES = "lapses";
+
+    /**
+     * Constructor for the LexrDatabase class.
+     * The database file is only opened on first use.
+     * Time complexity: O(1) - No disk access happens here.
+     *
+     * @param context The context used to locate the database file.
+     * @param name    The file name of the database, or an absolute path.
+     */
+    public LexrDatabase(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+    }
+
+    /**
+     * Creates the tables and their indexes the first time the database is opened.
+     * Time complexity: O(1) - A constant number of statements.
+     *
+     * @param db The database being created.
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_DECKS + " ("
+                + DECK_NAME + " TEXT PRIMARY KEY, "
+                + DECK_POSITION + " INTEGER NOT NULL, "
+                + DECK_CARD_COUNT + " INTEGER NOT NULL, "
+                + DECK_LANGUAGE + " TEXT NOT NULL, "
+                + DECK_TITLE + " TEXT NOT NULL, "
+                + DECK_DIFFICULTY + " INTEGER NOT NULL DEFAULT 1, "
+                + DECK_ACTIVE + " INTEGER NOT NULL DEFAULT 1)");
+        db.execSQL("CREATE TABLE " + TABLE_CARDS + " ("
+                + CARD_ID + " INTEGER PRIMARY KEY, "
+                + CARD_DECK + " TEXT NOT NULL, "
+                + CARD_POSITION + " INTEGER NOT NULL, "
+                + CARD_WORD + " TEXT NOT NULL, "
+                + CARD_CONJUGATES + " TEXT NOT NULL, "
+                + CARD_TRANSLATION + " TEXT NOT NULL, "
+                + CARD_DIFFICULTY + " INTEGER NOT NULL DEFAULT 1, "
+                + CARD_FAVORITE + " INTEGER NOT NULL DEFAULT 0, "
+                + CARD_DUE_AT + " INTEGER NOT NULL DEFAULT 0, "
+                + CARD_INTERVAL_DAYS + " INTEGER NOT NULL DEFAULT 0, "
+                + CARD_EASE + " REAL NOT NULL DEFAULT 0, "
+                + CARD_REPETITIONS + " INTEGER NOT NULL DEFAULT 0, "
+                + CARD_LAPSES + " INTEGER NOT NULL DEFAULT 0)");
+        // Loading a deck reads its cards in order by deck name
+        db.execSQL("CREATE INDEX cards_by_deck ON " + TABLE_CARDS + " (" + CARD_DECK + ", " + CARD_POSITION + ")");
+        // Counting and listing favorites only touches favorite rows
+        db.execSQL("CREATE INDEX cards_by_favorite ON " + TABLE_CARDS + " (" + CARD_FAVORITE + ", " + CARD_DECK + ")");
+    }
+
+    /**
+     * Upgrades the schema. There is only one version so far.
+     * Time complexity: O(1).
+     *
+     * @param db         The database being upgraded.
+     * @param oldVersion The schema version on disk.
+     * @param newVersion The schema version of the app.
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // No older schema versions exist yet
+    }
+}
@@ -2,7 +2,7 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
 import android.content.Intent;
@@ -15,6 +15,7 @@ import android.util.Log;
  * MainActivity is the main entry point of the app, which allows users to select different decks or
  * play games like Matching Game and Sentence Matching.
  * It handles the user's interaction with buttons to navigate to various activities in the app.
+ * A long press on the "Spanish Verbs" title opens the Metrics debug screen.
  */
 public class MainActivity extends AppCompatActivity {
 
@@ -78,6 +79,12 @@ public class MainActivity extends AppCompatActivity {
             Intent intent = new Intent(MainActivity.this, FavoriteCardsActivity.class);
             startActivity(intent);  // O(1)
         });
+
+        // Hidden entry to the Metrics debug screen
+        findViewById(R.id.verbsHeader).setOnLongClickListener(v -> {
+            startActivity(new Intent(MainActivity.this, MetricsActivity.class));  // O(1)
+            return true;
+        });
     }
 
     /**
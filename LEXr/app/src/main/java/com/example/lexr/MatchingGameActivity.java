@@ -2,7 +2,7 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
 import android.os.Bundle;
@@ -12,31 +12,52 @@ import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 /**
  * MatchingGameActivity handles a simple matching game where the user matches Spanish words
  * to their correct English translations. It keeps track of the user's correct and incorrect answers
- * and the time taken to complete the game.
+ * and the time taken to complete the game. By default the words of the bundled sentences are asked
+ * one by one, in sentence order; given a deck, its cards are asked instead, drawn by a
+ * WeightedCardSampler so hard cards and favorites are asked more often. The wrong choices are
+ * picked by a DistractorEngine.
+ * Every answer, with its response time, is recorded in the app's GameHistory, and the summary
+ * shows statistics across all games played.
  */
-public class MatchingGameActivity extends AppCompatActivity {
+public class MatchingGameActivity extends AppCompatActivity implements DeckLoadTask.Callback<Deck> {
+
+    static final String SENTENCE_DECK = "Sentences";     // Played from the bundled sentence corpus, and when no deck is given
+    static final int SENTENCES_PER_GAME = 3;             // Sentences whose words are asked in a sentence game
+    static final int ROUND_SIZE = 10;                    // Questions per deck game
+    private static final int DISTRACTORS = 2;            // Wrong choices per question, one per extra button
+    private static final int TREND_SESSIONS = 10;        // Recent games the accuracy trend is taken over
+    private static final int WEAK_WORDS = 3;             // Words to practice shown in the summary
+    private static final int WEAK_WORD_ATTEMPTS = 3;     // Answers a word needs before it is judged
 
     // UI elements for displaying Spanish words and English translation choices
     private TextView spanishWordTextView;
     private Button englishWordButton1, englishWordButton2, englishWordButton3;
 
-    // Lists containing the sentences in Spanish, the correct English translations, and multiple-choice options
-    private List<List<String>> allSpanishSentences;
-    private List<List<String>> allCorrectEnglishWords;
-    private List<List<List<String>>> allEnglishChoices;
+    // The questions of this game: what is shown, and the engine item of the correct answer
+    private final List<String> prompts = new ArrayList<>();
+    private final List<Integer> answerItems = new ArrayList<>();
+    private final List<Card> answerCards = new ArrayList<>();  // The card asked by each deck question
+    private DistractorEngine distractors;     // Picks the wrong choices
+    private final Random random = new Random();
+    private DeckLoadTask<Deck> loadTask;      // The deck load in progress, if playing a deck
+    private DeckLoadTask<List<SentencePair>> sentenceTask;  // The sentence load in progress, if playing sentences
+    private DeckLoadTask<AnswerStats> statsTask;  // The statistics update after the last question
+    private GameHistory history;              // Records every answer, or null if not set up
+    private String deckName;                  // The deck played
+    private long session;                     // This game in the history: its start, in ms since the epoch
 
     // Game state variables
-    private int currentSentenceIndex = 0; // Tracks which sentence is currently being processed
-    private int currentWordIndex = 0;     // Tracks which word in the sentence is currently being matched
+    private int currentQuestionIndex = 0; // Tracks which question is currently being answered
     private int correctAnswers = 0;       // Tracks the number of correct answers
     private int incorrectAnswers = 0;     // Tracks the number of incorrect answers
     private List<String> incorrectWords;  // Stores the list of words answered incorrectly
@@ -44,11 +65,13 @@ public class MatchingGameActivity extends AppCompatActivity {
     // Variables for timing the game
     private long startTime;  // Game start time
     private long endTime;    // Game end time
+    private long questionShownAt;  // When the current question was shown, for its response time
 
     /**
-     * onCreate is called when the activity is first created. It initializes the UI components,
-     * sets up the Spanish sentences and their corresponding translations, and starts the game timer.
-     * Time complexity: O(1) - Initializing the UI elements and starting the timer is constant time.
+     * onCreate is called when the activity is first created. It initializes the UI components
+     * and starts loading the chosen deck or the sentences on a background thread; the timer starts
+     * once the questions are ready.
+     * Time complexity: O(1) - The questions are loaded on a background thread.
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down, this Bundle contains the saved state data.
      */
@@ -57,9 +80,6 @@ public class MatchingGameActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_matching_game);
 
-        // Start the timer when the activity is created
-        startTime = SystemClock.elapsedRealtime(); // O(1)
-
         // Initialize UI components
         spanishWordTextView = findViewById(R.id.spanishWordTextView); // O(1)
         englishWordButton1 = findViewById(R.id.englishWordButton1);   // O(1)
@@ -71,75 +91,208 @@ public class MatchingGameActivity extends AppCompatActivity {
         englishWordButton1.setVisibility(View.VISIBLE);  // O(1)
         englishWordButton2.setVisibility(View.VISIBLE);  // O(1)
         englishWordButton3.setVisibility(View.VISIBLE);  // O(1)
-
-        // Initialize Spanish sentences from decks 1, 2, or 3
-        allSpanishSentences = Arrays.asList(
-                Arrays.asList("Yo", "hablo", "español."),
-                Arrays.asList("Ellos", "comen", "pan."),
-                Arrays.asList("Nosotros", "vivimos", "aquí.")
-        ); // O(1)
-
-        // Correct English translations corresponding to each word in the Spanish sentences
-        allCorrectEnglishWords = Arrays.asList(
-                Arrays.asList("I", "speak", "Spanish"),
-                Arrays.asList("They", "eat", "bread"),
-                Arrays.asList("We", "live", "here")
-        ); // O(1)
-
-        // Choices for English translations for each word in the sentences
-        allEnglishChoices = Arrays.asList(
-                Arrays.asList(
-                        Arrays.asList("I", "You", "He"),
-                        Arrays.asList("speak", "eat", "run"),
-                        Arrays.asList("Spanish", "French", "English")
-                ),
-                Arrays.asList(
-                        Arrays.asList("They", "Us", "We"),
-                        Arrays.asList("eat", "drink", "sleep"),
-                        Arrays.asList("bread", "milk", "water")
-                ),
-                Arrays.asList(
-                        Arrays.asList("We", "You", "They"),
-                        Arrays.asList("live", "eat", "drink"),
-                        Arrays.asList("here", "there", "everywhere")
-                )
-        ); // O(1)
+        setButtonsEnabled(false); // O(1) - Until the questions are ready
 
         // Initialize the list to track incorrect words
         incorrectWords = new ArrayList<>(); // O(1)
 
-        // Load the first Spanish word in the current sentence
-        loadSpanishWord(); // O(n), where n is the number of choices to shuffle
-
         // Set up button click listeners to check if the user's answers are correct
         setUpButtonClickListeners(); // O(1)
+
+        history = GameHistory.getInstance(); // O(1)
+
+        // Build the questions from the chosen deck or from the sentence corpus
+        deckName = getIntent().getStringExtra("deckName");
+        if (deckName == null) {
+            deckName = SENTENCE_DECK;
+        }
+        if (deckName.equals(SENTENCE_DECK)) {
+            startSentenceGame(); // O(1), see onSentencesLoaded()
+        } else {
+            loadTask = DeckManager.loadDeckAsync(deckName, ContextCompat.getMainExecutor(this), this); // See onLoaded()
+        }
+    }
+
+    /**
+     * Nothing is shown while the deck loads; the buttons stay disabled.
+     * Time complexity: O(1).
+     *
+     * @param loaded The number of cards read so far.
+     * @param total  The number of cards in the deck.
+     */
+    @Override
+    public void onProgress(int loaded, int total) {
+    }
+
+    /**
+     * Builds the questions from the loaded deck: each card's word, with its translation as the answer.
+     * Time complexity: O(c), where c is the number of cards in the deck, to index the answers.
+     *
+     * @param deck The loaded deck, or null if it does not exist.
+     */
+    @Override
+    public void onLoaded(Deck deck) {
+        if (deck == null || deck.getCards().isEmpty()) {
+            Toast.makeText(this, "Deck not found", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int first = builder.addDeck(deck); // O(c)
+        distractors = builder.build();     // O(c)
+        List<Card> cards = deck.getCards(); // Snapshot in deck order O(1)
+        // Hard cards and favorites are asked more often; see WeightedCardSampler
+        for (int position : new WeightedCardSampler(cards).draw(ROUND_SIZE, random)) { // O(c + r k)
+            prompts.add(cards.get(position).getWord());
+            answerItems.add(first + position); // Card i of the deck is item first + i
+            answerCards.add(cards.get(position));
+        }
+        startGame(); // O(1)
+    }
+
+    /**
+     * Tells the user the deck could not be read and closes the screen.
+     * Time complexity: O(1).
+     *
+     * @param error The reason the load failed.
+     */
+    @Override
+    public void onLoadFailed(Exception error) {
+        Toast.makeText(this, "Unable to load deck", Toast.LENGTH_SHORT).show();
+        finish();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (loadTask != null) {
+            loadTask.cancel();  // No callback reaches this screen after it is destroyed
+        }
+        if (sentenceTask != null) {
+            sentenceTask.cancel();
+        }
+        if (statsTask != null) {
+            statsTask.cancel();
+        }
+        if (history != null && endTime == 0) {
+            history.flush();  // Keep the answers of an unfinished game
+        }
     }
 
     /**
-     * Loads the current Spanish word from the sentence and sets the corresponding English word choices
-     * as buttons. If all sentences have been processed, it shows a summary of the game.
-     * Time complexity: O(n) - Where n is the number of choices to shuffle.
+     * Reads the first sentences of the bundled corpus on the background loader.
+     * Time complexity: O(1) on the main thread.
+     */
+    private void startSentenceGame() {
+        sentenceTask = DeckManager.loadSentencesAsync(getFilesDir(), SENTENCE_DECK, SENTENCES_PER_GAME,
+                ContextCompat.getMainExecutor(this), new DeckLoadTask.Callback<List<SentencePair>>() {
+                    @Override
+                    public void onProgress(int loaded, int total) {
+                    }
+
+                    @Override
+                    public void onLoaded(List<SentencePair> sentences) {
+                        onSentencesLoaded(sentences); // O(w)
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception error) {
+                        Toast.makeText(MatchingGameActivity.this, "Unable to load sentences", Toast.LENGTH_SHORT).show();
+                        finish();
+                    }
+                });
+    }
+
+    /**
+     * Builds the questions from the loaded sentences: each Spanish word in sentence order,
+     * with its English word as the answer and other words of the sentences as the wrong choices.
+     * Time complexity: O(w), where w is the number of words in the sentences.
+     *
+     * @param sentences The sentences, glossed word by word.
+     */
+    private void onSentencesLoaded(List<SentencePair> sentences) {
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int item = builder.addSentenceWords(SENTENCE_DECK, sentences); // O(w)
+        distractors = builder.build(); // O(w)
+        for (SentencePair sentence : sentences) {
+            if (sentence.getEnglishWords().isEmpty()) {
+                continue; // Not glossed, so no word has an answer
+            }
+            for (String word : sentence.getSpanishWords()) {
+                prompts.add(word);
+                answerItems.add(item++); // Words were added in the same order
+            }
+        }
+        if (prompts.isEmpty()) {
+            Toast.makeText(this, "Unable to load sentences", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        startGame(); // O(1)
+    }
+
+    /**
+     * Starts the timer and the session in the history, and shows the first question.
+     * Time complexity: O(1).
+     */
+    private void startGame() {
+        startTime = SystemClock.elapsedRealtime(); // O(1) - Start the timer once the questions are ready
+        session = System.currentTimeMillis(); // O(1)
+        if (history != null) {
+            history.startSession(session, deckName); // O(1), written in the background
+        }
+        setButtonsEnabled(true); // O(1)
+        loadSpanishWord(); // O(k), where k is the number of choices
+    }
+
+    /**
+     * Enables or disables the three answer buttons.
+     * Time complexity: O(1).
+     */
+    private void setButtonsEnabled(boolean enabled) {
+        englishWordButton1.setEnabled(enabled); // O(1)
+        englishWordButton2.setEnabled(enabled); // O(1)
+        englishWordButton3.setEnabled(enabled); // O(1)
+    }
+
+    /**
+     * Loads the current Spanish prompt and sets the correct answer and generated wrong choices
+     * as buttons. If all questions have been answered, it shows a summary of the game.
+     * Time complexity: O(k) - Where k is the number of choices to pick and shuffle.
      */
     private void loadSpanishWord() {
-        if (currentSentenceIndex >= allSpanishSentences.size()) { // O(1)
-            // End the game when all sentences are completed
+        if (currentQuestionIndex >= prompts.size()) { // O(1)
+            // End the game when all questions are answered
             endTime = SystemClock.elapsedRealtime(); // O(1)
-            showSummary(); // O(1)
+            setButtonsEnabled(false); // O(1)
+            finishSession(); // O(1) - The summary is shown once the history is updated
             return;
         }
 
-        // Display the current Spanish word
-        List<String> currentSentence = allSpanishSentences.get(currentSentenceIndex); // O(1)
-        spanishWordTextView.setText(currentSentence.get(currentWordIndex)); // O(1)
+        // Display the current Spanish prompt
+        spanishWordTextView.setText(prompts.get(currentQuestionIndex)); // O(1)
 
-        // Get the English word choices for the current word and shuffle them
-        List<String> choices = new ArrayList<>(allEnglishChoices.get(currentSentenceIndex).get(currentWordIndex)); // O(1)
-        Collections.shuffle(choices); // O(n), where n is the number of choices
+        // Pick wrong choices close to the correct answer and shuffle them in with it
+        List<String> choices = distractors.choices(answerItems.get(currentQuestionIndex), DISTRACTORS, random); // O(k^2), k choices
 
-        // Set the shuffled choices to the buttons
-        englishWordButton1.setText(choices.get(0)); // O(1)
-        englishWordButton2.setText(choices.get(1)); // O(1)
-        englishWordButton3.setText(choices.get(2)); // O(1)
+        // Set the shuffled choices to the buttons; a tiny deck may not fill all three
+        setChoice(englishWordButton1, choices, 0); // O(1)
+        setChoice(englishWordButton2, choices, 1); // O(1)
+        setChoice(englishWordButton3, choices, 2); // O(1)
+        questionShownAt = SystemClock.elapsedRealtime(); // O(1) - The response time starts now
+    }
+
+    /**
+     * Shows a choice on a button, or hides the button if there are fewer choices.
+     * Time complexity: O(1).
+     */
+    private void setChoice(Button button, List<String> choices, int index) {
+        if (index < choices.size()) {
+            button.setText(choices.get(index)); // O(1)
+            button.setVisibility(View.VISIBLE); // O(1)
+        } else {
+            button.setVisibility(View.GONE); // O(1)
+        }
     }
 
     /**
@@ -155,42 +308,78 @@ public class MatchingGameActivity extends AppCompatActivity {
     /**
      * Checks if the selected English word matches the correct translation. If correct,
      * it increments the correct answers; otherwise, it records the incorrect word.
-     * After each answer, it moves to the next word or sentence.
-     * Time complexity: O(1) - Checking the answer and updating the state are constant time operations.
+     * The answer and its response time are recorded in the history, and a deck card's answer is
+     * graded in the ReviewScheduler. After each answer, it moves to the next question.
+     * Time complexity: O(log n) - Rescheduling the card among the n tracked cards; the rest is constant time.
      *
      * @param view The button clicked by the user.
      */
     private void checkAnswer(View view) {
         Button clickedButton = (Button) view; // O(1)
         String selectedEnglishWord = clickedButton.getText().toString(); // O(1)
+        long latencyMs = SystemClock.elapsedRealtime() - questionShownAt; // O(1)
+        String prompt = prompts.get(currentQuestionIndex); // O(1)
 
         // Check if the selected word matches the correct word
-        if (selectedEnglishWord.equals(allCorrectEnglishWords.get(currentSentenceIndex).get(currentWordIndex))) { // O(1)
+        boolean correct = selectedEnglishWord.equals(distractors.getAnswer(answerItems.get(currentQuestionIndex))); // O(1)
+        if (history != null) {
+            history.record(session, prompt, selectedEnglishWord, correct, latencyMs); // O(1), written in the background
+        }
+        if (currentQuestionIndex < answerCards.size()) {
+            DeckManager.getInstance().getReviewScheduler().review(answerCards.get(currentQuestionIndex),
+                    correct ? ReviewScheduler.GRADE_GOOD : ReviewScheduler.GRADE_AGAIN); // O(log n), saved in the background
+        }
+        if (correct) {
             correctAnswers++; // O(1)
             Toast.makeText(this, "Correct!", Toast.LENGTH_SHORT).show(); // O(1)
         } else {
             incorrectAnswers++; // O(1)
-            incorrectWords.add(allSpanishSentences.get(currentSentenceIndex).get(currentWordIndex)); // O(1)
+            incorrectWords.add(prompt); // O(1)
             Toast.makeText(this, "Incorrect! Try again.", Toast.LENGTH_SHORT).show(); // O(1)
         }
 
-        currentWordIndex++; // O(1)
-        if (currentWordIndex < allSpanishSentences.get(currentSentenceIndex).size()) { // O(1)
-            loadSpanishWord(); // O(n), where n is the number of choices
-        } else {
-            // Move to the next sentence after completing the current one
-            currentWordIndex = 0; // O(1)
-            currentSentenceIndex++; // O(1)
-            loadSpanishWord(); // O(n)
+        // Move to the next question
+        currentQuestionIndex++; // O(1)
+        loadSpanishWord(); // O(k), where k is the number of choices
+    }
+
+    /**
+     * Writes this game's answers and updates the statistics in the background, then shows
+     * the summary with them. Without a history, or if it fails, the summary shows this game only.
+     * Time complexity: O(1) on the main thread.
+     */
+    private void finishSession() {
+        if (history == null) {
+            showSummary(null); // O(k)
+            return;
         }
+        statsTask = history.finishSessionAsync(ContextCompat.getMainExecutor(this), new DeckLoadTask.Callback<AnswerStats>() {
+            @Override
+            public void onProgress(int loaded, int total) {
+            }
+
+            @Override
+            public void onLoaded(AnswerStats stats) {
+                showSummary(stats); // O(k + w log w)
+            }
+
+            @Override
+            public void onLoadFailed(Exception error) {
+                showSummary(null); // O(k)
+            }
+        });
     }
 
     /**
      * Shows a summary of the game including the total correct and incorrect answers,
-     * the time taken to complete the game, and a list of incorrectly translated words.
-     * Time complexity: O(k), where k is the number of incorrect words to display.
+     * the time taken to complete the game, and a list of incorrectly translated words,
+     * followed by the accuracy, median response time, trend and weakest words of all games.
+     * Time complexity: O(k + w log w), where k is the number of incorrect words to display
+     * and w is the number of words in the history.
+     *
+     * @param stats The statistics of all games, or null to show this game only.
      */
-    private void showSummary() {
+    private void showSummary(AnswerStats stats) {
         // Calculate the total time taken for the game
         long totalTimeTaken = endTime - startTime; // O(1)
         long secondsTaken = totalTimeTaken / 1000; // O(1)
@@ -207,6 +396,23 @@ public class MatchingGameActivity extends AppCompatActivity {
             summary.append("Incorrect Words: ").append(incorrectWords).append("\n"); // O(k), where k is the number of incorrect words
         }
 
+        // Add the statistics of all games played
+        if (stats != null && stats.getAnswerCount() > 0) { // O(1)
+            summary.append("\nAll Games: ").append(Math.round(stats.getAccuracy() * 100)).append("% correct over ")
+                    .append(stats.getAnswerCount()).append(" answers\n"); // O(1)
+            summary.append("Median Response: ").append(String.format(Locale.US, "%.1f", stats.getLatencyPercentile(50) / 1000.0))
+                    .append(" seconds\n"); // O(1)
+            double trend = stats.getAccuracyTrend(TREND_SESSIONS); // O(1) for a fixed number of games
+            if (stats.getSessionCount() > 1) {
+                summary.append("Trend: ").append(String.format(Locale.US, "%+.1f", trend * 100))
+                        .append(" points per game\n"); // O(1)
+            }
+            List<AnswerStats.WordStats> weakest = stats.getWeakestWords(WEAK_WORDS, WEAK_WORD_ATTEMPTS); // O(w log w)
+            if (!weakest.isEmpty()) {
+                summary.append("Words to Practice: ").append(weakest).append("\n"); // O(1)
+            }
+        }
+
         // Display the summary in a dialog.
         androidx.appcompat.app.AlertDialog.Builder builder = new androidx.appcompat.app.AlertDialog.Builder(this); // O(1)
         builder.setTitle("Game Summary"); // O(1)
@@ -0,0 +1,90 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * MetricsActivity is the debug screen of Metrics: it shows every histogram recorded so far and
+ * lets the user turn recording on or off, clear the histograms, or export them to a file in the
+ * app's external files directory, e.g., to pull from a low-end device with adb.
+ */
+public class MetricsActivity extends AppCompatActivity {
+
+    private TextView reportTextView;  // Shows Metrics.report()
+    private Button toggleButton;      // Turns recording on or off
+
+    /**
+     * Sets up the buttons and shows the current histograms.
+     * Time complexity: O(h log h), where h is the number of histograms.
+     *
+     * @param savedInstanceState If the activity is being re-initialized after previously being shut down, this Bundle contains the saved state data.
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics);
+
+        reportTextView = findViewById(R.id.metricsReportTextView); // O(1)
+        toggleButton = findViewById(R.id.metricsToggleButton);     // O(1)
+        Button resetButton = findViewById(R.id.metricsResetButton);   // O(1)
+        Button exportButton = findViewById(R.id.metricsExportButton); // O(1)
+
+        toggleButton.setOnClickListener(v -> {
+            Metrics.setEnabled(!Metrics.isEnabled()); // O(1)
+            showReport(); // O(h log h)
+        });
+        resetButton.setOnClickListener(v -> {
+            Metrics.reset(); // O(h)
+            showReport(); // O(1)
+        });
+        exportButton.setOnClickListener(v -> export()); // O(h log h)
+    }
+
+    /**
+     * Refreshes the histograms each time the screen comes back, e.g., after visiting a deck.
+     * Time complexity: O(h log h), where h is the number of histograms.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    /**
+     * Shows the histograms and the state of recording.
+     * Time complexity: O(h log h), where h is the number of histograms.
+     */
+    private void showReport() {
+        toggleButton.setText(Metrics.isEnabled() ? "Turn Off" : "Turn On"); // O(1)
+        reportTextView.setText(Metrics.report()); // O(h log h)
+    }
+
+    /**
+     * Writes the histograms to a timestamped file and tells the user where it is.
+     * Time complexity: O(h log h), where h is the number of histograms; the file is a few lines.
+     */
+    private void export() {
+        File directory = getExternalFilesDir(null);
+        if (directory == null) {
+            directory = getFilesDir();  // No external storage mounted
+        }
+        File file = new File(directory, "metrics-" + System.currentTimeMillis() + ".tsv");
+        try {
+            Metrics.export(file); // O(h log h)
+            Toast.makeText(this, "Exported to " + file.getPath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Toast.makeText(this, "Unable to export metrics", Toast.LENGTH_SHORT).show();
+        }
+    }
+}
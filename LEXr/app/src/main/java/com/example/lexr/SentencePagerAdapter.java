@@ -2,7 +2,7 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
 import android.view.LayoutInflater;
@@ -10,26 +10,68 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * SentencePagerAdapter is a custom adapter for a RecyclerView that displays a list of words
  * in the form of a ViewPager. It helps in showing Spanish words in a sentence for the matching game.
+ * Each word is identified by its text and which occurrence of that text it is in the sentence
+ * (e.g., the second "en"), so when the words change only the pages of words that moved,
+ * appeared or disappeared are updated, and the diff runs on a background thread.
  */
 public class SentencePagerAdapter extends RecyclerView.Adapter<SentencePagerAdapter.WordViewHolder> {
 
-    // List of words (Spanish words) to be displayed
-    private List<String> words;
+    // Words are the same item if they have the same text and occurrence; the text is all that is shown
+    private static final DiffUtil.ItemCallback<WordItem> WORD_DIFF = new DiffUtil.ItemCallback<WordItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull WordItem oldWord, @NonNull WordItem newWord) {
+            return oldWord.occurrence == newWord.occurrence && oldWord.word.equals(newWord.word);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull WordItem oldWord, @NonNull WordItem newWord) {
+            return true;  // Same text, so the page already shows it
+        }
+    };
+
+    // Holds the displayed words and diffs new ones
+    private final AsyncListDiffer<WordItem> differ;
+    // Told when a word is tapped, may be null
+    private OnWordClickListener wordClickListener;
 
     /**
      * Constructor to initialize the adapter with a list of words.
-     * Time complexity: O(1) - Assigning a reference to the list of words is constant time.
+     * Time complexity: O(n) - Where n is the number of words, to number repeated words.
      *
      * @param words The list of words to display in the ViewPager.
      */
     public SentencePagerAdapter(List<String> words) {
-        this.words = words; // O(1)
+        this(words, null);
+    }
+
+    /**
+     * Constructor with the executor diffs are computed on.
+     * Time complexity: O(n) - Where n is the number of words.
+     *
+     * @param words        The list of words to display in the ViewPager.
+     * @param diffExecutor Computes diffs, or null for the shared background pool.
+     */
+    SentencePagerAdapter(List<String> words, Executor diffExecutor) {
+        AsyncDifferConfig.Builder<WordItem> config = new AsyncDifferConfig.Builder<>(WORD_DIFF);
+        if (diffExecutor != null) {
+            config.setBackgroundThreadExecutor(diffExecutor);
+        }
+        differ = new AsyncListDiffer<>(this, config.build());
+        setHasStableIds(true);  // A word keeps its page across moves
+        differ.submitList(toItems(words)); // Shown right away, nothing to diff against O(n)
     }
 
     /**
@@ -46,7 +88,15 @@ public class SentencePagerAdapter extends RecyclerView.Adapter<SentencePagerAdap
     public WordViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         // Inflate the layout for a single word item from XML
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.word_item, parent, false); // O(1)
-        return new WordViewHolder(view); // O(1)
+        final WordViewHolder holder = new WordViewHolder(view); // O(1)
+        // One listener per page for its lifetime; it reads the word bound at tap time
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (wordClickListener != null && position != RecyclerView.NO_POSITION) {
+                wordClickListener.onWordClick(differ.getCurrentList().get(position).word); // O(1)
+            }
+        });
+        return holder;
     }
 
     /**
@@ -59,9 +109,11 @@ public class SentencePagerAdapter extends RecyclerView.Adapter<SentencePagerAdap
      */
     @Override
     public void onBindViewHolder(@NonNull WordViewHolder holder, int position) {
+        long start = Metrics.start(); // O(1), nothing more while metrics are off
         // Get the word at the current position and set it to the TextView
-        String word = words.get(position); // O(1)
+        String word = differ.getCurrentList().get(position).word; // O(1)
         holder.wordTextView.setText(word); // O(1)
+        Metrics.stop(Metrics.SENTENCE_BIND, start); // O(1)
     }
 
     /**
@@ -72,20 +124,85 @@ public class SentencePagerAdapter extends RecyclerView.Adapter<SentencePagerAdap
      */
     @Override
     public int getItemCount() {
-        return words.size(); // O(1)
+        return differ.getCurrentList().size(); // O(1)
     }
 
     /**
-     * Updates the list of words and notifies the adapter that the data has changed.
+     * Returns the stable id of the word at a position, from its text and occurrence.
+     * Time complexity: O(1) - String hash codes are cached.
+     *
+     * @param position The position of the word.
+     * @return The word's stable id.
+     */
+    @Override
+    public long getItemId(int position) {
+        WordItem item = differ.getCurrentList().get(position);
+        return ((long) item.word.hashCode() << 32) | item.occurrence; // O(1)
+    }
+
+    /**
+     * Updates the list of words, dispatching only the moves, inserts and removals between
+     * the old and new words once the background diff finishes.
      * This method allows the ViewPager to be refreshed with a new set of words.
-     * Time complexity: O(n) - Where n is the number of words. Updating the reference is O(1),
-     * but notifying the adapter and re-binding the views is O(n) because it reprocesses the data set.
+     * Time complexity: O(n) on the calling thread to number the words, where n is the number of words;
+     * the diff runs in the background and only changed pages are rebound.
      *
      * @param newWords The new list of words to be displayed.
      */
     public void updateWords(List<String> newWords) {
-        this.words = newWords; // O(1)
-        notifyDataSetChanged(); // O(n), where n is the number of words to refresh
+        differ.submitList(toItems(newWords)); // O(n)
+    }
+
+    /**
+     * Sets the listener told when a word page is tapped, e.g., to open the word's card.
+     * Time complexity: O(1).
+     *
+     * @param listener The listener, or null to ignore taps.
+     */
+    public void setOnWordClickListener(OnWordClickListener listener) {
+        this.wordClickListener = listener;
+    }
+
+    /**
+     * Numbers the occurrences of each word so repeated words are told apart.
+     * Time complexity: O(n) - One hash lookup per word.
+     */
+    private static List<WordItem> toItems(List<String> words) {
+        List<WordItem> items = new ArrayList<>(words.size());
+        Map<String, Integer> seen = new HashMap<>();
+        for (String word : words) {
+            Integer count = seen.get(word);
+            int occurrence = count == null ? 0 : count;
+            seen.put(word, occurrence + 1);
+            items.add(new WordItem(word, occurrence));
+        }
+        return items;
+    }
+
+    /**
+     * A word of the sentence and which occurrence of that word it is.
+     */
+    static final class WordItem {
+        final String word;     // The word shown on the page
+        final int occurrence;  // 0 for the first time the word appears in the sentence, 1 for the second, ...
+
+        WordItem(String word, int occurrence) {
+            this.word = word;
+            this.occurrence = occurrence;
+        }
+    }
+
+    /**
+     * Listener told when a word of the sentence is tapped.
+     */
+    public interface OnWordClickListener {
+
+        /**
+         * Called when a word page is tapped.
+         *
+         * @param word The word as shown, including any punctuation.
+         */
+        void onWordClick(String word);
     }
 
     /**
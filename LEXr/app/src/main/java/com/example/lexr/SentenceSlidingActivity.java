@@ -2,39 +2,51 @@ package com.example.lexr;
 /*
  * @author Daniel Sanchez
  * @version demo
- * @date last modified 9/29/2024 DRS
+ * @date last modified 10/17/2026 DRS
  * CS 458 Team demo: Kyle, Zoe, Daniel
  */
+import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.viewpager2.widget.ViewPager2;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * SentenceMatchingActivity handles a sentence matching game where users match Spanish words
  * to complete English sentences. The user can go through multiple sentences, and the game
- * progresses with the "Next Sentence" button.
+ * progresses with the "Next Sentence" button. Sentences are read from an on-disk SentenceCorpus,
+ * imported from the bundled text once, a page at a time on DeckManager's loader, so neither the
+ * import nor a page read blocks the main thread and only one page is held in memory.
  */
 public class SentenceSlidingActivity extends AppCompatActivity {
 
+    // Sentences read from the corpus at a time
+    private static final int PAGE_SENTENCES = SentenceCorpus.DEFAULT_PAGE_SIZE;
+
     // UI elements for displaying the words and sentences
     private ViewPager2 wordViewPager;
     private SentencePagerAdapter adapter;
     private TextView englishSentenceTextView;
     private Button nextSentenceButton;
-    // Lists of English sentences and their corresponding Spanish words
-    private List<String> englishSentences;
-    private List<List<String>> spanishWords;
+    // The page of aligned English sentences and Spanish words holding the current sentence
+    private List<SentencePair> page = Collections.emptyList();
+    // Index of the first sentence of the page, and whether it is the last page of the corpus
+    private int pageStart = 0;
+    private boolean lastPage;
+    // The read of the next page, cancelled if the screen goes away
+    private DeckLoadTask<List<SentencePair>> sentenceTask;
     // Tracks the current sentence index
     private int currentSentenceIndex = 0;
     // Indicates the type of deck (regular or hard version)
     private String deckType;
+    // The lookup of the last tapped word, cancelled if another word is tapped or the screen goes away
+    private DeckLoadTask<List<Card>> lookupTask;
 
     /**
      * onCreate is called when the activity is first created. It initializes the UI components,
@@ -57,66 +69,125 @@ public class SentenceSlidingActivity extends AppCompatActivity {
         englishSentenceTextView = findViewById(R.id.englishSentenceTextView); // O(1)
         nextSentenceButton = findViewById(R.id.nextSentenceButton);    // O(1)
 
-        // Load sentences and words based on the selected deck type
-        if (deckType.equals("Sentences")) {
-            loadSimpleSentences(); // O(1) - Load the simple sentences deck
+        // Start with no words; the sentences are bound once the first page is read
+        adapter = new SentencePagerAdapter(Collections.<String>emptyList()); // O(1)
+        wordViewPager.setAdapter(adapter); // O(1)
+        // Tapping a word opens its card, e.g., "hablo" opens Hablar
+        adapter.setOnWordClickListener(this::openCardFor); // O(1)
+        nextSentenceButton.setVisibility(View.GONE); // O(1) - Shown with the first sentence
+        // Set up the click listener for the "Next Sentence" button to show the next sentence
+        nextSentenceButton.setOnClickListener(v -> showSentence(currentSentenceIndex + 1)); // O(1)
+
+        // Read the first page of the selected deck type in the background
+        loadPage(currentSentenceIndex); // O(1) on the main thread
+    }
+
+    /**
+     * Cancels the page read and word lookup still running when the activity is destroyed.
+     * Time complexity: O(1).
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (lookupTask != null) {
+            lookupTask.cancel(); // O(1)
+        }
+        if (sentenceTask != null) {
+            sentenceTask.cancel(); // O(1)
         }
+    }
 
-        // Load the first sentence and its corresponding words
-        loadSentence(currentSentenceIndex); // O(1)
-        // Set up the ViewPager with the Spanish words of the first sentence
-        adapter = new SentencePagerAdapter(spanishWords.get(currentSentenceIndex)); // O(1)
-        wordViewPager.setAdapter(adapter); // O(1)
-        // Set up the click listener for the "Next Sentence" button to load the next sentence
-        nextSentenceButton.setOnClickListener(v -> {
-            // Move to the next sentence
-            currentSentenceIndex++; // O(1)
-
-            // Check if more sentences are available
-            if (currentSentenceIndex < englishSentences.size()) { // O(1)
-                // Load the next sentence and update the adapter with new Spanish words
-                loadSentence(currentSentenceIndex);  // O(1)
-                adapter.updateWords(spanishWords.get(currentSentenceIndex)); // O(n), where n is the number of words
-            } else {
-                // If all sentences are completed, show a completion message
-                Toast.makeText(this, "You have completed all sentences!", Toast.LENGTH_LONG).show(); // O(1)
-                nextSentenceButton.setVisibility(View.GONE); // O(1) - Hide the "Next Sentence" button
-            }
-        });
+    /**
+     * Looks up the card a tapped word is a form of and opens it in its deck.
+     * Time complexity: O(1) on the main thread; the lookup runs on DeckManager's loader.
+     *
+     * @param word The tapped word, e.g., "hablo".
+     */
+    private void openCardFor(final String word) {
+        if (lookupTask != null) {
+            lookupTask.cancel(); // Only the latest tap counts O(1)
+        }
+        lookupTask = DeckManager.lookupFormAsync(word, ContextCompat.getMainExecutor(this),
+                new DeckLoadTask.Callback<List<Card>>() {
+                    @Override
+                    public void onProgress(int loaded, int total) {
+                    }
+
+                    @Override
+                    public void onLoaded(List<Card> cards) {
+                        Deck deck = cards.isEmpty() ? null
+                                : DeckManager.getInstance().getConjugationIndex().getDeck(cards.get(0)); // O(1)
+                        if (deck == null) {
+                            Toast.makeText(SentenceSlidingActivity.this, "No card for " + word, Toast.LENGTH_SHORT).show();
+                            return;
+                        }
+                        Intent intent = new Intent(SentenceSlidingActivity.this, CardDisplayActivity.class);
+                        intent.putExtra("deckName", deck.getId()); // O(1)
+                        intent.putExtra(CardDisplayActivity.EXTRA_CARD_ID, cards.get(0).getId()); // O(1)
+                        startActivity(intent); // O(1)
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception error) {
+                        Toast.makeText(SentenceSlidingActivity.this, "Unable to look up " + word, Toast.LENGTH_SHORT).show();
+                    }
+                });
     }
 
     /**
-     * Loads a predefined set of simple sentences in English and their corresponding Spanish words.
-     * This is used for the regular "Sentences" deck.
-     * Time complexity: O(1) - Simple initialization of lists.
+     * Reads a page of sentences of the deck type on DeckManager's loader, importing the bundled
+     * "sentences/<deckType>.tsv" into the app's files directory the first time it is used, and
+     * shows its first sentence once it is read.
+     * Time complexity: O(1) on the main thread; O(p) on the loader for the p sentences of the page.
+     *
+     * @param from The index of the first sentence of the page.
      */
-    private void loadSimpleSentences() {
-        // List of simple English sentences
-        englishSentences = Arrays.asList(
-                "I speak Spanish with my friend in the park.",
-                "They eat bread and drink water while talking.",
-                "We live in a big house near the mountains."
-        ); // O(1)
-
-        // Corresponding Spanish words for each sentence
-        spanishWords = new ArrayList<>(); // O(1)
-        spanishWords.add(Arrays.asList("Yo", "hablo", "español", "con", "mi", "amigo", "en", "el", "parque.")); // O(1)
-        spanishWords.add(Arrays.asList("Ellos", "comen", "pan", "y", "beben", "agua", "mientras", "hablan.")); // O(1)
-        spanishWords.add(Arrays.asList("Nosotros", "vivimos", "en", "una", "casa", "grande", "cerca", "de", "las", "montañas.")); // O(1)
+    private void loadPage(final int from) {
+        sentenceTask = DeckManager.loadSentencesAsync(getFilesDir(), deckType, from, PAGE_SENTENCES,
+                ContextCompat.getMainExecutor(this), new DeckLoadTask.Callback<List<SentencePair>>() {
+                    @Override
+                    public void onProgress(int loaded, int total) {
+                    }
+
+                    @Override
+                    public void onLoaded(List<SentencePair> sentences) {
+                        page = sentences; // O(1)
+                        pageStart = from; // O(1)
+                        lastPage = sentences.size() < PAGE_SENTENCES; // O(1) - A short page ends the corpus
+                        showSentence(from); // O(n)
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception error) {
+                        Toast.makeText(SentenceSlidingActivity.this, "Unable to load sentences", Toast.LENGTH_SHORT).show();
+                        finish();
+                    }
+                });
     }
 
     /**
-     * Loads the next sentence and displays the corresponding Spanish words in the ViewPager.
-     * This method updates the displayed English sentence and makes the "Next Sentence" button visible.
-     * Time complexity: O(1) - Loading and updating the UI with the new sentence and words is constant time.
+     * Shows a sentence and its Spanish words in the ViewPager, reading the next page first if
+     * the sentence is past the current one, or tells the user all sentences are done.
+     * Time complexity: O(n) to submit the n words of the sentence; only changed pages are rebound.
      *
      * @param sentenceIndex The index of the sentence to be displayed.
      */
-    private void loadSentence(int sentenceIndex) {
-        // Display the English sentence for the given index
-        englishSentenceTextView.setText(englishSentences.get(sentenceIndex)); // O(1)
-
-        // Make the "Next Sentence" button visible in case it was hidden
-        nextSentenceButton.setVisibility(View.VISIBLE); // O(1)
+    private void showSentence(int sentenceIndex) {
+        currentSentenceIndex = sentenceIndex; // O(1)
+        if (sentenceIndex < pageStart + page.size()) {
+            SentencePair sentence = page.get(sentenceIndex - pageStart); // O(1), already read
+            // Display the English sentence and update the adapter with its Spanish words
+            englishSentenceTextView.setText(sentence.getEnglish()); // O(1)
+            adapter.updateWords(sentence.getSpanishWords()); // O(n)
+            // Make the "Next Sentence" button visible in case it was hidden
+            nextSentenceButton.setVisibility(View.VISIBLE); // O(1)
+        } else if (!lastPage) {
+            nextSentenceButton.setVisibility(View.GONE); // O(1) - Until the next page is read
+            loadPage(sentenceIndex); // O(1) on the main thread
+        } else {
+            // If all sentences are completed, show a completion message
+            Toast.makeText(this, "You have completed all sentences!", Toast.LENGTH_LONG).show(); // O(1)
+            nextSentenceButton.setVisibility(View.GONE); // O(1) - Hide the "Next Sentence" button
+        }
     }
 }
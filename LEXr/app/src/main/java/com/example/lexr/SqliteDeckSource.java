@@ -0,0 +1,104 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import android.database.sqlite.SQLiteDatabase;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SqliteDeckSource reads decks from the app database.
+ * On first use an empty database is filled from a seed source (the built-in deck files),
+ * after which favorites, difficulty levels and review schedules saved by CardWriteQueue are
+ * read back with the cards.
+ */
+public class SqliteDeckSource implements ReviewSource {
+
+    private final LexrDatabase database;  // The app database
+    private final DeckSource seed;        // Fills the database the first time it is opened
+
+    /**
+     * Constructor for the SqliteDeckSource class.
+     * Time complexity: O(1) - The database is not opened until manifests are loaded.
+     *
+     * @param database The app database.
+     * @param seed     The source copied into the database when it holds no decks.
+     */
+    public SqliteDeckSource(LexrDatabase database, DeckSource seed) {
+        this.database = database;
+        this.seed = seed;
+    }
+
+    /**
+     * Reads the manifests of all decks, copying the seed decks in first if the database is empty.
+     * Time complexity: O(d log f) normally, where d is the number of decks and f the number of favorites;
+     * O(s log s) on first run, where s is the number of seed cards.
+     *
+     * @return The manifests of all decks, with their favorite counts.
+     * @throws IOException If the seed decks cannot be read.
+     */
+    @Override
+    public List<DeckManifest> loadManifests() throws IOException {
+        SQLiteDatabase db = database.getWritableDatabase();
+        DeckDao decks = new DeckDao(db);
+        if (decks.countDecks() == 0) {
+            importSeed(db);  // First run: copy the seed decks into the database
+        }
+        return decks.loadManifests();
+    }
+
+    /**
+     * Streams the cards of a deck from the database with one query.
+     * Time complexity: O(log n + c), where c is the number of cards in the deck.
+     *
+     * @param manifest The manifest of the deck to load.
+     * @param sink     Receives each card as it is read.
+     */
+    @Override
+    public void loadCards(DeckManifest manifest, CardSink sink) {
+        new CardDao(database.getReadableDatabase()).loadCards(manifest.getFile(), sink);
+    }
+
+    /**
+     * Streams the saved review state of the reviewed cards of a deck with one query.
+     * Time complexity: O(log n + c), where c is the number of cards in the deck.
+     *
+     * @param manifest The manifest of the deck.
+     * @param sink     Receives the state of each reviewed card.
+     */
+    @Override
+    public void loadReviews(DeckManifest manifest, ReviewSink sink) {
+        new CardDao(database.getReadableDatabase()).loadReviews(manifest.getFile(), sink);
+    }
+
+    /**
+     * Copies every seed deck into the database in one transaction, so a run killed part way
+     * leaves the database empty and the next run imports every deck again.
+     * Time complexity: O(s log s), where s is the number of seed cards.
+     *
+     * @param db The writable database.
+     * @throws IOException If the seed decks cannot be read.
+     */
+    private void importSeed(SQLiteDatabase db) throws IOException {
+        DeckDao decks = new DeckDao(db);
+        CardDao cards = new CardDao(db);
+        List<DeckManifest> manifests = seed.loadManifests();
+        db.beginTransaction();
+        try {
+            for (int position = 0; position < manifests.size(); position++) {
+                DeckManifest manifest = manifests.get(position);
+                final List<Card> deckCards = new ArrayList<>(manifest.getCardCount());
+                seed.loadCards(manifest, card -> deckCards.add(card));  // Only one deck is held in memory O(c)
+                decks.insertDeck(manifest, position, deckCards.size());
+                cards.insertCards(manifest.getName(), deckCards);
+            }
+            db.setTransactionSuccessful();  // countDecks() stays 0 until every deck is in
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
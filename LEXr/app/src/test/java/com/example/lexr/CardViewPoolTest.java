@@ -0,0 +1,128 @@
+package com.example.lexr;
+
+import android.os.Looper;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.List;
+
+import static com.example.lexr.PagerTestFixtures.*;
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Swipes through cards in ViewPager2s attached to a CardViewPool and checks that the pages come
+ * from views inflated in the background, that pages released by one pager are reused by another,
+ * that trimming drops them, and that the page settings reach the pager.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CardViewPoolTest {
+
+    private static final int SWIPES = 20;
+
+    private CardViewPool pool;
+
+    @Before
+    public void createPool() {
+        pool = new CardViewPool(RuntimeEnvironment.getApplication());
+    }
+
+    @Test
+    public void firstSwipesDoNotInflateOnTheMainThread() throws InterruptedException {
+        ViewPager2 pager = pager();
+        awaitPrewarm();
+        assertEquals(pool.getPrewarmCount(), pool.getReadyCount());
+
+        CountingCardAdapter adapter = new CountingCardAdapter(cards(50));
+        pager.setAdapter(adapter);
+        layout(pager);
+        for (int page = 1; page <= SWIPES; page++) {
+            pager.setCurrentItem(page, false);
+            layout(pager);
+            assertEquals(page, pager.getCurrentItem());
+        }
+
+        assertTrue(adapter.creates > 0);
+        assertTrue(adapter.creates <= pool.getPrewarmCount());
+        assertEquals(0, pool.getSynchronousInflations());
+    }
+
+    @Test
+    public void pagesReleasedByOneScreenAreReusedByTheNext() throws InterruptedException {
+        ViewPager2 first = pager();
+        awaitPrewarm();
+        first.setAdapter(new CountingCardAdapter(cards(50)));
+        layout(first);
+        for (int page = 1; page <= SWIPES; page++) {
+            first.setCurrentItem(page, false);
+            layout(first);
+        }
+        pool.release(first);  // The deck screen closes
+        assertTrue(pool.getRecycledViewCount(0) > 0);
+
+        ViewPager2 second = pager();
+        CountingCardAdapter favorites = new CountingCardAdapter(cards(10));
+        second.setAdapter(favorites);
+        layout(second);
+
+        assertTrue(favorites.binds > 0);
+        assertEquals(0, favorites.creates);  // Every page was a holder the first pager released
+        assertEquals(0, pool.getSynchronousInflations());
+    }
+
+    @Test
+    public void pageSettingsReachThePager() {
+        pool.setOffscreenPages(2).setPrefetchPages(0);
+        ViewPager2 pager = pager();
+        RecyclerView recyclerView = (RecyclerView) pager.getChildAt(0);
+
+        assertEquals(2, pager.getOffscreenPageLimit());
+        assertSame(pool, recyclerView.getRecycledViewPool());
+        assertFalse(recyclerView.getLayoutManager().isItemPrefetchEnabled());
+        assertEquals(2 * 2 + 1 + 0 + 1, pool.getPrewarmCount());
+    }
+
+    @Test
+    public void trimDropsPooledPages() {
+        CardViewPool shared = CardViewPool.getInstance(RuntimeEnvironment.getApplication());
+        ViewPager2 pager = new ViewPager2(RuntimeEnvironment.getApplication());
+        shared.attach(pager);
+        pager.setAdapter(new CountingCardAdapter(cards(10)));
+        layout(pager);
+        shared.release(pager);
+        assertTrue(shared.getRecycledViewCount(0) > 0);
+
+        CardViewPool.trim();
+        assertEquals(0, shared.getRecycledViewCount(0));
+        assertEquals(0, shared.getReadyCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void offscreenPagesMustBePositive() {
+        pool.setOffscreenPages(0);
+    }
+
+    private ViewPager2 pager() {
+        ViewPager2 pager = new ViewPager2(RuntimeEnvironment.getApplication());
+        pool.attach(pager);
+        ((RecyclerView) pager.getChildAt(0)).setItemAnimator(null);
+        return pager;
+    }
+
+    /**
+     * Waits for the background inflations to be delivered to the main looper.
+     */
+    private void awaitPrewarm() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getReadyCount() < pool.getPrewarmCount() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.lexr;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.lexr.PagerTestFixtures.*;
+import static org.junit.Assert.*;
+
+/**
+ * Lays out CardPagerAdapter and SentencePagerAdapter in a ViewPager2 and counts bind calls,
+ * comparing a full notifyDataSetChanged() refresh against the dispatched diff and single-card
+ * edits, and checks that rebinding card pages reuses their cached text.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagerAdapterDiffTest {
+
+    private ViewPager2 pager;
+
+    @Before
+    public void createPager() {
+        pager = new ViewPager2(RuntimeEnvironment.getApplication());
+        pager.setOffscreenPageLimit(2);  // Lay out a few pages around the current one
+        ((RecyclerView) pager.getChildAt(0)).setItemAnimator(null);
+    }
+
+    @Test
+    public void cardChangesOffscreenDoNotRebindVisiblePages() {
+        List<Card> cards = cards(30);
+        CountingCardAdapter adapter = new CountingCardAdapter(cards);
+        pager.setAdapter(adapter);
+        layout(pager);
+        assertTrue(adapter.binds > 0);
+
+        adapter.binds = 0;
+        adapter.notifyDataSetChanged();  // What every shuffle used to do
+        layout(pager);
+        int fullBinds = adapter.binds;
+
+        adapter.binds = 0;
+        List<Card> withoutOne = new ArrayList<>(cards);
+        withoutOne.remove(20);
+        adapter.submitCards(withoutOne);
+        layout(pager);
+
+        assertEquals(29, adapter.getItemCount());
+        assertEquals(0, adapter.binds);
+        assertTrue(fullBinds > adapter.binds);
+    }
+
+    @Test
+    public void movedCardsKeepTheirPages() {
+        Deck deck = new Deck("SpanishDeck1", "Spanish", "Spanish Verbs 1");
+        deck.setCards(cards(30));
+        CountingCardAdapter adapter = new CountingCardAdapter(deck.getCards());
+        pager.setAdapter(adapter);
+        layout(pager);
+
+        adapter.binds = 0;
+        List<Card> swapped = new ArrayList<>(deck.getCards());
+        Collections.swap(swapped, 0, 1);  // Both cards stay on laid out pages
+        adapter.submitCards(swapped);
+        layout(pager);
+
+        assertEquals(0, adapter.binds);
+        assertSame(swapped.get(0), adapter.getCards().get(0));
+        assertEquals(2, adapter.getItemId(0));
+    }
+
+    @Test
+    public void singleCardEditsBindOnlyTheirPage() {
+        List<Card> favorites = cards(2);
+        CountingCardAdapter adapter = new CountingCardAdapter(favorites);
+        pager.setAdapter(adapter);
+        layout(pager);
+
+        adapter.binds = 0;
+        Card marked = cards(3).get(2);
+        adapter.insertCard(2, marked);  // Lands on a laid out page
+        layout(pager);
+        assertEquals(1, adapter.binds);
+        assertEquals(3, adapter.getItemCount());
+        assertSame(marked, adapter.getCards().get(2));
+        assertEquals(2, favorites.size());  // The list handed in is left alone
+
+        adapter.binds = 0;
+        adapter.removeCard(0);
+        layout(pager);
+        assertEquals(2, adapter.getItemCount());
+        assertSame(marked, adapter.getCards().get(1));
+        assertTrue(adapter.binds <= 1);  // At most the page scrolled into view
+    }
+
+    @Test
+    public void editsWhileADiffIsPendingApplyToTheSubmittedList() {
+        List<Card> cards = cards(5);
+        CountingCardAdapter adapter = new CountingCardAdapter(cards);
+        pager.setAdapter(adapter);
+        layout(pager);
+
+        List<Card> reversed = new ArrayList<>(cards);
+        Collections.reverse(reversed);
+        adapter.submitCards(reversed);  // Its result is still waiting on the main looper
+        adapter.removeCard(0);
+        layout(pager);
+
+        assertEquals(reversed.subList(1, 5), adapter.getCards());
+    }
+
+    @Test
+    public void sentenceUpdatesOnlyBindNewWords() {
+        CountingSentenceAdapter adapter = new CountingSentenceAdapter(
+                Arrays.asList("Yo", "hablo", "español", "con", "mi", "amigo", "en", "el", "parque."));
+        pager.setAdapter(adapter);
+        layout(pager);
+
+        adapter.binds = 0;
+        adapter.notifyDataSetChanged();  // What every sentence used to do
+        layout(pager);
+        int fullBinds = adapter.binds;
+
+        adapter.binds = 0;
+        adapter.updateWords(Arrays.asList("Yo", "hablo", "español", "con", "mi", "amigo", "en", "el", "parque", "hoy."));
+        layout(pager);
+
+        assertEquals(10, adapter.getItemCount());
+        assertEquals(0, adapter.binds);  // Only offscreen words changed
+        assertTrue(fullBinds > adapter.binds);
+    }
+
+    @Test
+    public void repeatedWordsHaveDistinctIds() {
+        SentencePagerAdapter adapter = new SentencePagerAdapter(
+                Arrays.asList("Nosotros", "vivimos", "en", "una", "casa", "en", "las", "montañas."), DIRECT);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < adapter.getItemCount(); i++) {
+            ids.add(adapter.getItemId(i));
+        }
+        assertEquals(8, ids.size());
+    }
+
+    @Test
+    public void rebindingReusesCachedCardText() {
+        List<Card> cards = cards(30);
+        CountingCardAdapter adapter = new CountingCardAdapter(cards);
+        final int[] renders = new int[1];
+        adapter.getTextCache().setRenderer(text -> {
+            renders[0]++;
+            return text;
+        });
+        pager.setAdapter(adapter);
+        layout(pager);
+        int firstRenders = renders[0];
+        assertTrue(firstRenders > adapter.binds);  // Pages ahead were rendered before being bound
+        assertTrue(adapter.getTextCache().isCached(cards.get(adapter.binds)));
+
+        adapter.binds = 0;
+        adapter.notifyDataSetChanged();
+        layout(pager);
+
+        assertTrue(adapter.binds > 0);
+        assertEquals(firstRenders, renders[0]);  // Every rebind reused cached text
+    }
+}
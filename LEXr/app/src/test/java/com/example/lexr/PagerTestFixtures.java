@@ -0,0 +1,92 @@
+package com.example.lexr;
+
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.viewpager2.widget.ViewPager2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Cards, layout and counting adapters shared by the Robolectric tests of the card and sentence
+ * pagers.
+ */
+final class PagerTestFixtures {
+
+    static final Executor DIRECT = Runnable::run;  // Diffs run inline; results still post to the main looper
+
+    private PagerTestFixtures() {
+    }
+
+    /**
+     * Delivers posted diff results, then measures and lays out the pager as a phone screen.
+     */
+    static void layout(ViewPager2 pager) {
+        shadowOf(Looper.getMainLooper()).idle();  // Deliver posted diff results
+        pager.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        pager.layout(0, 0, 1080, 1920);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    /**
+     * Builds cards "Palabra1" to "Palabra" + count, with ids 1 to count.
+     */
+    static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Card card = new Card("Palabra" + i, Arrays.asList("Forma" + i), "Word " + i);
+            card.setId(i);
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Card adapter counting the pages it creates and binds.
+     */
+    static class CountingCardAdapter extends CardPagerAdapter {
+        int creates;
+        int binds;
+
+        CountingCardAdapter(List<Card> cards) {
+            super(cards, DIRECT);
+        }
+
+        @NonNull
+        @Override
+        public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            creates++;
+            return super.onCreateViewHolder(parent, viewType);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
+            binds++;
+            super.onBindViewHolder(holder, position);
+        }
+    }
+
+    /**
+     * Sentence adapter counting the word pages it binds.
+     */
+    static class CountingSentenceAdapter extends SentencePagerAdapter {
+        int binds;
+
+        CountingSentenceAdapter(List<String> words) {
+            super(words, DIRECT);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull WordViewHolder holder, int position) {
+            binds++;
+            super.onBindViewHolder(holder, position);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the SQLite persistence layer on the JVM against a database file in a temporary
+ * directory. Insert, load and update throughput is measured on a device by SqliteBenchmark.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SqlitePersistenceTest {
+
+    private static final int DECKS = 3;
+    private static final int CARDS_PER_DECK = 100;
+
+    private File databaseFile;
+
+    @Before
+    public void createDatabaseFile() throws IOException {
+        databaseFile = File.createTempFile("lexr", ".db");
+        assertTrue(databaseFile.delete());  // Let SQLite create the file
+    }
+
+    @After
+    public void deleteDatabaseFile() {
+        RuntimeEnvironment.getApplication().deleteDatabase(databaseFile.getAbsolutePath());
+    }
+
+    @Test
+    public void favoritesAndDifficultySurviveReopen() {
+        LexrDatabase database = openDatabase();
+        CardWriteQueue writeQueue = new CardWriteQueue(database);
+        DeckManager manager = new DeckManager(
+                new SqliteDeckSource(database, TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS)), writeQueue);
+        Card hablar = manager.getDeckByName("SpanishDeck1").getCards().get(0);
+        Card amo = manager.getDeckByName("LatinDeck").getCards().get(0);
+        hablar.setFavorite(true);
+        amo.setDifficultyLevel(4);
+        writeQueue.close();
+        database.close();
+
+        database = openDatabase();
+        DeckManager reopened = new DeckManager(new SqliteDeckSource(database, new GeneratedDeckSource(0, 0)));
+        assertTrue("decks holding favorites load at startup", reopened.isDeckLoaded("SpanishDeck1"));
+        assertFalse(reopened.isDeckLoaded("LatinDeck"));
+        assertEquals(Collections.singletonList("Hablar"), words(reopened.getFavoriteCards()));
+        Card reopenedAmo = reopened.getDeckByName("LatinDeck").getCards().get(0);
+        assertEquals(4, reopenedAmo.getDifficultyLevel());
+        assertEquals(Arrays.asList("Amo", "Amas", "Amat"), reopenedAmo.getConjugates());
+        database.close();
+    }
+
+    @Test
+    public void seedDecksAreImportedAndBatchedUpdatesKept() {
+        LexrDatabase database = openDatabase();
+        SqliteDeckSource source = new SqliteDeckSource(database, new GeneratedDeckSource(DECKS, CARDS_PER_DECK));
+        DeckManager manager = new DeckManager(source);  // Empty database: imports the generated decks
+        int loaded = 0;
+        for (int d = 0; d < DECKS; d++) {
+            loaded += manager.getDeckByName("Deck" + d).getCards().size();
+        }
+        assertEquals(DECKS * CARDS_PER_DECK, loaded);
+
+        CardWriteQueue writeQueue = new CardWriteQueue(database);
+        for (Card card : manager.getDeckByName("Deck1").getCards()) {
+            card.setDifficultyLevel(3);
+            writeQueue.enqueue(card);
+        }
+        writeQueue.close();  // All updates are written in one batch
+        database.close();
+
+        database = openDatabase();
+        DeckManager reopened = new DeckManager(new SqliteDeckSource(database, new GeneratedDeckSource(0, 0)));
+        List<Card> cards = reopened.getDeckByName("Deck1").getCards();
+        assertEquals(CARDS_PER_DECK, cards.size());
+        for (Card card : cards) {
+            assertEquals(3, card.getDifficultyLevel());
+        }
+        assertEquals(1, reopened.getDeckByName("Deck2").getCards().get(0).getDifficultyLevel());
+        database.close();
+    }
+
+    @Test
+    public void reviewSchedulesSurviveReopen() {
+        LexrDatabase database = openDatabase();
+        CardWriteQueue writeQueue = new CardWriteQueue(database);
+        DeckManager manager = new DeckManager(
+                new SqliteDeckSource(database, new GeneratedDeckSource(DECKS, CARDS_PER_DECK)), writeQueue);
+        List<Card> cards = manager.getDeckByName("Deck1").getCards();
+        ReviewScheduler scheduler = manager.getReviewScheduler();
+        ReviewRecord learned = scheduler.review(cards.get(0), ReviewScheduler.GRADE_GOOD);
+        learned = scheduler.review(cards.get(0), ReviewScheduler.GRADE_GOOD);  // Due in 6 days
+        ReviewRecord forgotten = scheduler.review(cards.get(1), ReviewScheduler.GRADE_AGAIN);
+        writeQueue.close();
+        database.close();
+
+        database = openDatabase();
+        DeckManager reopened = new DeckManager(new SqliteDeckSource(database, new GeneratedDeckSource(0, 0)));
+        List<Card> reopenedCards = reopened.getDeckByName("Deck1").getCards();
+        ReviewScheduler reopenedScheduler = reopened.getReviewScheduler();
+        ReviewRecord restored = reopenedScheduler.getRecord(reopenedCards.get(0));
+        assertEquals(learned.getDueAt(), restored.getDueAt());
+        assertEquals(6, restored.getIntervalDays());
+        assertEquals(learned.getEase(), restored.getEase(), 1e-6f);
+        assertEquals(2, restored.getRepetitions());
+        assertEquals(forgotten.getDueAt(), reopenedScheduler.getRecord(reopenedCards.get(1)).getDueAt());
+
+        List<Card> order = reopenedScheduler.reviewOrder(reopenedCards);
+        assertEquals(CARDS_PER_DECK, order.size());
+        assertSame(reopenedCards.get(2), order.get(0));  // Never reviewed, so due now
+        assertEquals(reopenedCards.subList(0, 2), order.subList(CARDS_PER_DECK - 2, CARDS_PER_DECK));  // Not due yet
+        database.close();
+    }
+
+    private LexrDatabase openDatabase() {
+        return new LexrDatabase(RuntimeEnvironment.getApplication(), databaseFile.getAbsolutePath());
+    }
+
+    private static List<String> words(List<Card> cards) {
+        List<String> words = new ArrayList<>();
+        for (Card card : cards) {
+            words.add(card.getWord());
+        }
+        return words;
+    }
+
+    /**
+     * Generates decks of synthetic cards without touching the disk.
+     */
+    private static class GeneratedDeckSource implements DeckSource {
+        private final int decks;
+        private final int cardsPerDeck;
+
+        GeneratedDeckSource(int decks, int cardsPerDeck) {
+            this.decks = decks;
+            this.cardsPerDeck = cardsPerDeck;
+        }
+
+        @Override
+        public List<DeckManifest> loadManifests() {
+            List<DeckManifest> manifests = new ArrayList<>();
+            for (int d = 0; d < decks; d++) {
+                manifests.add(new DeckManifest("Deck" + d, "Deck" + d, cardsPerDeck));
+            }
+            return manifests;
+        }
+
+        @Override
+        public void loadCards(DeckManifest manifest, CardSink sink) {
+            for (int c = 0; c < cardsPerDeck; c++) {
+                Card card = new Card(manifest.getName() + "_" + c,
+                        Arrays.asList("Forma" + c + "a", "Forma" + c + "b", "Forma" + c + "c"), "Word " + c);
+                if (!sink.accept(card)) {
+                    return;
+                }
+            }
+        }
+    }
+}
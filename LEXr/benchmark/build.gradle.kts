@@ -0,0 +1,38 @@
+// JMH benchmarks of the deck and card core, at 1k, 10k and 100k cards.
+// The core module is plain Java, so it runs on the desktop JVM like its unit tests do; activities,
+// adapters and SQLite are benchmarked on a device by the androidx.benchmark tests in
+// app/src/androidTest instead.
+//
+//   ./gradlew :benchmark:jmh
+//
+// writes build/results/jmh/results.json, to be kept per build and compared for regressions.
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+// Same source encoding as the core module, whatever the platform default
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    jmh(project(":core"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    benchmarkMode.add("avgt")
+    timeUnit.set("us")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.add("-Xmx2g")  // Room for 100k card decks
+}
@@ -0,0 +1,98 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * AnswerStatsBenchmark times AnswerStats over a log of a million answers in sessions of 10 over
+ * 2,000 words: aggregating the whole log, resuming from saved statistics, and the median and
+ * trend queries the game summary shows.
+ */
+@State(Scope.Benchmark)
+public class AnswerStatsBenchmark {
+
+    static final int ANSWERS = 1_000_000;
+
+    private File directory;     // Holds the log and the saved statistics
+    private File logFile;       // The answer log
+    private File snapshotFile;  // Statistics saved over the whole log
+    private File missingFile;   // No saved statistics, so the whole log is read
+    private AnswerStats stats;  // Aggregated once for the query benchmark
+
+    /**
+     * Writes the log and saves its statistics.
+     * Time complexity: O(a), where a is the number of answers.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = File.createTempFile("answers", "");
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        logFile = new File(directory, GameHistory.LOG_FILE);
+        snapshotFile = new File(directory, GameHistory.SNAPSHOT_FILE);
+        missingFile = new File(directory, "missing");
+        Random random = new Random(42);
+        try (AnswerLog log = new AnswerLog(logFile, 256)) {
+            for (int i = 0; i < ANSWERS; i++) {
+                long session = i / 10;
+                if (i % 10 == 0) {
+                    log.startSession(session, "SpanishDeck" + (1 + session % 3));
+                }
+                int word = random.nextInt(2_000);
+                int latency = (int) Math.max(100, 1_500 + random.nextGaussian() * 500);
+                log.record(session, 1_700_000_000_000L + i * 2_000L, "Palabra" + word, "Word " + word,
+                        random.nextInt(100) < 60 + word % 40, latency);
+            }
+        }
+        stats = AnswerStats.load(logFile, missingFile);
+        stats.save(snapshotFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Aggregates every answer of the log.
+     */
+    @Benchmark
+    public AnswerStats aggregateLog() throws IOException {
+        return AnswerStats.load(logFile, missingFile);
+    }
+
+    /**
+     * Loads the saved statistics, which cover the whole log.
+     */
+    @Benchmark
+    public AnswerStats resumeFromSnapshot() throws IOException {
+        return AnswerStats.load(logFile, snapshotFile);
+    }
+
+    /**
+     * Answers the median response time and the accuracy trend of the last ten games.
+     */
+    @Benchmark
+    public double medianAndTrend() {
+        return stats.getLatencyPercentile(50) + stats.getAccuracyTrend(10);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CardSearchIndexBenchmark times CardSearchIndex over 100k cards whose words share prefixes and
+ * trigrams: building the index, and answering prefix, translation, fuzzy and missing queries.
+ */
+@State(Scope.Benchmark)
+public class CardSearchIndexBenchmark {
+
+    static final int CARDS = 100_000;
+    static final int LIMIT = 20;  // Results asked for, as the search screen does
+
+    @Param({"ba", "bado", "to kale", "badoka", "badokx", "xyz"})
+    public String query;  // Short prefix, longer prefix, translation, exact, misspelled, missing
+
+    private final List<Card> cards = new ArrayList<>(CARDS);
+    private CardSearchIndex index;  // Built once for the query benchmark
+
+    /**
+     * Builds the cards and an index over them.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() {
+        String[] parts = {"ba", "do", "ka", "le", "mi", "no", "pu", "re", "si", "tu"};
+        StringBuilder stem = new StringBuilder();
+        for (int c = 0; c < CARDS; c++) {
+            stem.setLength(0);
+            int n = c;
+            do {
+                stem.append(parts[n % parts.length]);  // Spells the number as syllables
+                n /= parts.length;
+            } while (n > 0);
+            cards.add(new Card(stem + "ar", new ArrayList<>(Arrays.asList(stem + "o", stem + "as", stem + "a")),
+                    "To " + stem + " " + c));
+        }
+        index = build();
+    }
+
+    /**
+     * Indexes every card.
+     */
+    @Benchmark
+    public CardSearchIndex build() {
+        CardSearchIndex built = new CardSearchIndex();
+        for (Card card : cards) {
+            built.add(card);
+        }
+        return built;
+    }
+
+    /**
+     * Answers one query.
+     */
+    @Benchmark
+    public List<Card> search() {
+        return index.search(query, LIMIT);
+    }
+}
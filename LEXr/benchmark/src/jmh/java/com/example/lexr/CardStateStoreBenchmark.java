@@ -0,0 +1,62 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * CardStateStoreBenchmark times CardStateStore recording a flip and counting it, as a card
+ * screen does on every flip, over a file holding 10k cards.
+ */
+@State(Scope.Benchmark)
+public class CardStateStoreBenchmark {
+
+    static final int CARDS = 10_000;
+
+    private File file;              // The state file, deleted after the run
+    private CardStateStore store;   // Open over the file
+    private int next;               // The next update
+
+    /**
+     * Opens a store and records every card once, so the file is at its final size.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("card-state", ".bin");
+        if (!file.delete()) {
+            throw new IOException("Cannot replace " + file);
+        }
+        store = new CardStateStore(file);
+        for (int id = 1; id <= CARDS; id++) {
+            store.setFlipped(id, false);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        file.delete();
+    }
+
+    /**
+     * Flips a card and counts the flip.
+     */
+    @Benchmark
+    public int flipAndCount() {
+        int i = next++;
+        int id = 1 + i % CARDS;
+        store.setFlipped(id, (i & 1) == 0);
+        return store.increment(id, CardStateStore.COUNTER_FLIPS);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CardTextCacheBenchmark times binding the conjugates of a card from a CardTextCache whose pages
+ * are prefetched, against joining the conjugates on every bind as CardPagerAdapter used to.
+ * Run with -prof gc to see that a bind from the cache allocates nothing.
+ */
+@State(Scope.Benchmark)
+public class CardTextCacheBenchmark {
+
+    static final int CARDS = 200;
+
+    private final List<Card> cards = new ArrayList<>(CARDS);
+    private CardTextCache cache;  // Prefetches inline, on the benchmark thread
+    private int position;         // The page bound next
+
+    /**
+     * Builds the cards and renders every one of them into the cache.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 1; i <= CARDS; i++) {
+            cards.add(new Card("Palabra" + i, Arrays.asList("Forma" + i + "a", "Forma" + i + "b", "Forma" + i + "c"),
+                    "Word " + i));
+        }
+        cache = new CardTextCache(CardTextCache.DEFAULT_CAPACITY, CardTextCache.DEFAULT_PREFETCH, Runnable::run);
+        for (int i = 0; i < CARDS; i++) {
+            bindCached();
+        }
+    }
+
+    /**
+     * Binds the next page from the cache and prefetches around it.
+     */
+    @Benchmark
+    public CharSequence bindCached() {
+        int bound = position++ % CARDS;
+        CharSequence text = cache.getConjugates(cards.get(bound));
+        cache.prefetch(cards, bound);
+        return text;
+    }
+
+    /**
+     * Joins the conjugates of the next page, as every bind did before the cache.
+     */
+    @Benchmark
+    public String joinConjugates() {
+        return String.join(CardTextCache.SEPARATOR, cards.get(position++ % CARDS).getConjugates());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CompactCardStoreBenchmark times CompactCardStore compacting 100k cards that repeat 2,000 words,
+ * as a large deck does. Compacting changes the cards, so they are rebuilt, untimed, before every
+ * run. Run with -prof gc to see what compacting allocates.
+ */
+@State(Scope.Benchmark)
+public class CompactCardStoreBenchmark {
+
+    static final int CARDS = 100_000;
+    static final int DISTINCT_WORDS = 2_000;  // Decks repeat words and translations
+
+    private List<Card> cards;  // Rebuilt before each run
+
+    /**
+     * Builds the cards the way the deck parser does, with fresh strings and lists for every card.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        cards = new ArrayList<>(CARDS);
+        for (int c = 0; c < CARDS; c++) {
+            int w = c % DISTINCT_WORDS;
+            List<String> conjugates = new ArrayList<>(3);
+            conjugates.add("Forma" + w + "a");
+            conjugates.add("Forma" + w + "b");
+            conjugates.add("Forma" + w + "c");
+            cards.add(new Card("Palabra" + w, conjugates, "To Word " + w));
+        }
+    }
+
+    /**
+     * Compacts the cards as one deck, as DeckManager does when it publishes a deck.
+     */
+    @Benchmark
+    public CompactCardStore compactCards() {
+        CompactCardStore store = new CompactCardStore();
+        store.compact(cards);
+        return store;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ConjugationEngineBenchmark times a verb set of 10k regular and stem-changing verbs kept as
+ * stem and paradigm id: building it, generating one table, and storing every form of every table
+ * instead. The engine caches a single table and the verbs are cycled, so every table is
+ * generated. Run with -prof gc to compare what the generated set and the stored tables allocate.
+ */
+@State(Scope.Benchmark)
+public class ConjugationEngineBenchmark {
+
+    static final int VERBS = 10_000;
+
+    private final String[] verbs = new String[VERBS];
+    private ConjugationEngine engine;  // Built once for the generate benchmark
+    private int next;                  // The next verb to conjugate
+
+    /**
+     * Names the verbs and builds an engine over them.
+     * Time complexity: O(v), where v is the number of verbs.
+     */
+    @Setup
+    public void setUp() {
+        for (int v = 0; v < VERBS; v++) {
+            verbs[v] = "pens" + v + "ar";
+        }
+        engine = build();
+    }
+
+    /**
+     * Lists every verb with its paradigm, one in ten stem-changing.
+     */
+    @Benchmark
+    public ConjugationEngine build() {
+        ConjugationEngine.Builder builder = new ConjugationEngine.Builder().setCacheSize(1);
+        for (int v = 0; v < VERBS; v++) {
+            builder.add(ConjugationEngine.SPANISH, verbs[v], v % 10 == 0 ? "ar-ie" : "", "");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Generates the table of one verb.
+     */
+    @Benchmark
+    public ConjugationEngine.Table conjugate() {
+        return engine.conjugate(ConjugationEngine.SPANISH, verbs[next++ % VERBS]);
+    }
+
+    /**
+     * Generates every table and stores each of its forms as its own string.
+     */
+    @Benchmark
+    public String[][] storeEveryForm() {
+        String[][] stored = new String[VERBS][];
+        for (int v = 0; v < VERBS; v++) {
+            ConjugationEngine.Table table = engine.conjugate(ConjugationEngine.SPANISH, verbs[v]);
+            String[] forms = new String[ConjugationEngine.TENSES * ConjugationEngine.PERSONS];
+            for (int cell = 0; cell < forms.length; cell++) {
+                forms[cell] = new String(table.get(cell / ConjugationEngine.PERSONS, cell % ConjugationEngine.PERSONS));
+            }
+            stored[v] = forms;
+        }
+        return stored;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ConjugationIndexBenchmark times ConjugationIndex over a full conjugation table of 60 forms per
+ * verb and 10k verbs against a HashMap of strings: building each, and looking a form up in each.
+ * Run with -prof gc to compare what the two builds allocate.
+ */
+@State(Scope.Benchmark)
+public class ConjugationIndexBenchmark {
+
+    static final int VERBS = 10_000;
+    static final int FORMS_PER_VERB = 60;
+    static final int PROBES = 10_000;
+    private static final String[] ENDINGS = {"o", "as", "a", "amos", "áis", "an"};
+
+    private final List<Card> verbs = new ArrayList<>(VERBS);
+    private final String[] probes = new String[PROBES];  // Forms looked up, spread over the verbs
+    private ConjugationIndex index;                      // Built once for the lookup benchmarks
+    private Map<String, List<Card>> map;                 // Built once for the lookup benchmarks
+    private int next;                                    // The next probe
+
+    /**
+     * Builds the verbs, both indexes over them and the forms to look up.
+     * Time complexity: O(v f), where v is the number of verbs and f the forms per verb.
+     */
+    @Setup
+    public void setUp() {
+        for (int v = 0; v < VERBS; v++) {
+            String stem = "habl" + Integer.toString(v, 36);
+            List<String> forms = new ArrayList<>(FORMS_PER_VERB);
+            for (int tense = 0; tense < FORMS_PER_VERB / ENDINGS.length; tense++) {
+                for (String ending : ENDINGS) {
+                    forms.add(stem + (tense == 0 ? "" : "ar" + (char) ('a' + tense)) + ending);
+                }
+            }
+            verbs.add(new Card(stem + "ar", forms, "To Speak " + v));
+        }
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = verbs.get((i * 7919) % VERBS).getConjugates().get(i % FORMS_PER_VERB);
+        }
+        index = buildIndex();
+        map = buildMap();
+    }
+
+    /**
+     * Indexes every form of every verb.
+     */
+    @Benchmark
+    public ConjugationIndex buildIndex() {
+        ConjugationIndex built = new ConjugationIndex();
+        for (Card card : verbs) {
+            built.add(null, card);
+        }
+        return built;
+    }
+
+    /**
+     * Maps every form of every verb to its cards in a HashMap of strings.
+     */
+    @Benchmark
+    public Map<String, List<Card>> buildMap() {
+        Map<String, List<Card>> built = new HashMap<>();
+        for (Card card : verbs) {
+            for (String form : card.getConjugates()) {
+                String key = ConjugationIndex.key(form);
+                List<Card> owners = built.get(key);
+                if (owners == null) {
+                    owners = new ArrayList<>(1);
+                    built.put(key, owners);
+                }
+                owners.add(card);
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Looks one form up in the index.
+     */
+    @Benchmark
+    public List<Card> lookupIndex() {
+        return index.lookup(probes[next++ % PROBES]);
+    }
+
+    /**
+     * Looks one form up in the HashMap, normalizing it the same way.
+     */
+    @Benchmark
+    public List<Card> lookupMap() {
+        return map.get(ConjugationIndex.key(probes[next++ % PROBES]));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DeckBenchmark times the deck operations behind the app's screens on a synthetic deck of
+ * 1k, 10k and 100k cards: loading it from deck files, finding it by name, listing the
+ * favorites (one card in ten) and shuffling it for a game.
+ */
+@State(Scope.Benchmark)
+public class DeckBenchmark {
+
+    static final String DECK = "BenchmarkDeck";  // Name of the synthetic deck
+    static final int FAVORITE_EVERY = 10;        // Every tenth card is a favorite
+
+    @Param({"1000", "10000", "100000"})
+    public int cards;  // Cards in the deck
+
+    private File directory;      // The synthetic deck files
+    private DeckSource source;   // Reads them
+    private DeckManager manager; // Has the deck loaded, with its favorites
+    private Deck deck;           // The loaded deck
+    private final Random random = new Random(42);
+
+    /**
+     * Writes the deck files and loads the deck once for the benchmarks that need it loaded.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = File.createTempFile("benchmark", "");
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        try (PrintWriter manifest = open(TextDeckSource.MANIFEST_FILE)) {
+            manifest.println(DECK + "\t" + DECK + ".tsv\t" + cards);
+        }
+        try (PrintWriter deckFile = open(DECK + ".tsv")) {
+            for (int c = 0; c < cards; c++) {
+                deckFile.println("Palabra" + c + "\tForma" + c + "a;Forma" + c + "b;Forma" + c + "c\tWord " + c);
+            }
+        }
+        source = TextDeckSource.fromDirectory(directory);
+        manager = new DeckManager(source);
+        deck = manager.getDeckByName(DECK);
+        List<Card> loaded = deck.getCards();
+        for (int c = 0; c < loaded.size(); c += FAVORITE_EVERY) {
+            loaded.get(c).setFavorite(true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Starts a manager on the deck files and reads the deck, as on the first visit to it.
+     */
+    @Benchmark
+    public Deck loadDeck() {
+        return new DeckManager(source).getDeckByName(DECK);
+    }
+
+    /**
+     * Finds the loaded deck by name, as every screen opening it does.
+     */
+    @Benchmark
+    public Deck getDeckByName() {
+        return manager.getDeckByName(DECK);
+    }
+
+    /**
+     * Lists the favorite cards, as the favorites screen does.
+     */
+    @Benchmark
+    public List<Card> getFavoriteCards() {
+        return manager.getFavoriteCards();
+    }
+
+    /**
+     * Shuffles the deck, as the card screen and the matching game do.
+     */
+    @Benchmark
+    public Deck.CardView shuffleDeck() {
+        return deck.shuffledCards(random);
+    }
+
+    private PrintWriter open(String name) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, name)), StandardCharsets.UTF_8));
+    }
+}
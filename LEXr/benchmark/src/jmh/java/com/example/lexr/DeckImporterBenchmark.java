@@ -0,0 +1,59 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DeckImporterBenchmark times DeckImporter reading a 500k-row CSV deck from a local file, with
+ * quoted translations and a difficulty column, parsed in chunks on the importer's workers.
+ */
+@State(Scope.Benchmark)
+public class DeckImporterBenchmark {
+
+    static final int ROWS = 500_000;
+
+    private File file;  // The CSV deck, deleted after the run
+
+    /**
+     * Writes the CSV deck.
+     * Time complexity: O(r), where r is the number of rows.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("deck", ".csv");
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.println("word,conjugates,translation,difficulty");
+            for (int r = 0; r < ROWS; r++) {
+                writer.println("palabra" + r + ",forma" + r + "a;forma" + r + "b;forma" + r + "c,\"word, " + r + "\"," + (r % 5 + 1));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Imports every row into an empty deck.
+     */
+    @Benchmark
+    public DeckImporter.Result importFile() throws IOException {
+        return DeckImporter.importFile(file, new Deck("Spanish"), null);
+    }
+}
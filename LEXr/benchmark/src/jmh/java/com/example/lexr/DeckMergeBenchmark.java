@@ -0,0 +1,58 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DeckMergeBenchmark times DeckMerger merging ten 50k-card decks, each sharing half its cards
+ * with the next, as merging overlapping packs does. A merge changes the decks it merges, so the
+ * decks are rebuilt, untimed, before every merge; a merge takes long enough for that to be accurate.
+ */
+@State(Scope.Benchmark)
+public class DeckMergeBenchmark {
+
+    static final int DECKS = 10;             // Decks merged at once
+    static final int CARDS_PER_DECK = 50_000;
+
+    private List<Deck> decks;  // Rebuilt before each merge
+
+    /**
+     * Builds the decks, with separate Card objects for the shared content.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        decks = new ArrayList<>(DECKS);
+        for (int d = 0; d < DECKS; d++) {
+            Card[] cards = new Card[CARDS_PER_DECK];
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                int word = d * CARDS_PER_DECK / 2 + c;
+                cards[c] = new Card("Palabra" + word,
+                        Arrays.asList("Forma" + word + "a", "Forma" + word + "b", "Forma" + word + "c"), "Word " + word);
+            }
+            Deck deck = new Deck("Spanish");
+            deck.setCards(Arrays.asList(cards));
+            decks.add(deck);
+        }
+    }
+
+    /**
+     * Merges the decks into shared canonical cards.
+     */
+    @Benchmark
+    public DeckMerger.Report mergeTenDecks() {
+        return new DeckMerger().merge(decks);
+    }
+}
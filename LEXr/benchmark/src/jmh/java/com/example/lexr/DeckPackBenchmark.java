@@ -0,0 +1,99 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DeckPackBenchmark times opening a library of four 50k-card decks from a deck pack, which maps
+ * the file and reads one card, against parsing every card of the same decks from text.
+ */
+@State(Scope.Benchmark)
+public class DeckPackBenchmark {
+
+    static final int DECKS = 4;
+    static final int CARDS_PER_DECK = 50_000;
+
+    private File directory;  // The text library and its pack
+    private File pack;       // The library converted to a deck pack
+
+    /**
+     * Writes the text library and converts it to a pack.
+     * Time complexity: O(d c), where d is the number of decks and c the cards per deck.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = File.createTempFile("packs", "");
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        try (PrintWriter manifest = open(TextDeckSource.MANIFEST_FILE)) {
+            for (int d = 0; d < DECKS; d++) {
+                manifest.println("Deck" + d + "\tDeck" + d + ".tsv\t" + CARDS_PER_DECK);
+                try (PrintWriter cards = open("Deck" + d + ".tsv")) {
+                    for (int c = 0; c < CARDS_PER_DECK; c++) {
+                        cards.println("Palabra" + d + "_" + c + "\tForma" + c + "a;Forma" + c + "b;Forma" + c + "c\tWord " + c);
+                    }
+                }
+            }
+        }
+        pack = new File(directory, "library.pack");
+        DeckPackWriter.convert(TextDeckSource.fromDirectory(directory), pack);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Parses every card of the text library, as the text source does on first use of each deck.
+     */
+    @Benchmark
+    public int parseText() throws IOException {
+        TextDeckSource source = TextDeckSource.fromDirectory(directory);
+        final int[] count = new int[1];
+        for (DeckManifest manifest : source.loadManifests()) {
+            source.loadCards(manifest, card -> ++count[0] > 0);
+        }
+        return count[0];
+    }
+
+    /**
+     * Maps the pack and reads its manifests and the last card.
+     */
+    @Benchmark
+    public Card openPack() throws IOException {
+        try (DeckPackReader reader = new DeckPackReader(pack)) {
+            int cards = 0;
+            for (DeckManifest manifest : reader.loadManifests()) {
+                cards += manifest.getCardCount();
+            }
+            return reader.getCard(cards - 1);
+        }
+    }
+
+    private PrintWriter open(String name) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, name)), StandardCharsets.UTF_8));
+    }
+}
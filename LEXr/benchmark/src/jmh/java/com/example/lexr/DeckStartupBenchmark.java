@@ -0,0 +1,95 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DeckStartupBenchmark times starting DeckManager on a library of five decks, lazily from the
+ * manifests as the app does, against reading every deck up front. Run with -prof gc to compare
+ * the memory each allocates.
+ */
+@State(Scope.Benchmark)
+public class DeckStartupBenchmark {
+
+    static final int DECKS = 5;  // Decks in the library
+
+    @Param({"1000", "10000"})
+    public int cardsPerDeck;  // Cards in each deck
+
+    private File directory;     // The synthetic deck files
+    private DeckSource source;  // Reads them
+
+    /**
+     * Writes the manifest and the deck files.
+     * Time complexity: O(d c), where d is the number of decks and c the cards per deck.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = File.createTempFile("startup", "");
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        try (PrintWriter manifest = open(TextDeckSource.MANIFEST_FILE)) {
+            for (int d = 0; d < DECKS; d++) {
+                manifest.println("Deck" + d + "\tDeck" + d + ".tsv\t" + cardsPerDeck);
+                try (PrintWriter cards = open("Deck" + d + ".tsv")) {
+                    for (int c = 0; c < cardsPerDeck; c++) {
+                        cards.println("Palabra" + d + "_" + c + "\tForma" + c + "a;Forma" + c + "b;Forma" + c + "c\tWord " + c);
+                    }
+                }
+            }
+        }
+        source = TextDeckSource.fromDirectory(directory);
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Starts a manager from the manifests only, as the app does.
+     */
+    @Benchmark
+    public DeckManager startLazy() {
+        return new DeckManager(source);
+    }
+
+    /**
+     * Starts a manager and reads every deck, as the app did before decks were loaded lazily.
+     */
+    @Benchmark
+    public DeckManager startEager() {
+        DeckManager manager = new DeckManager(source);
+        for (int d = 0; d < DECKS; d++) {
+            manager.getDeckByName("Deck" + d);
+        }
+        return manager;
+    }
+
+    private PrintWriter open(String name) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, name)), StandardCharsets.UTF_8));
+    }
+}
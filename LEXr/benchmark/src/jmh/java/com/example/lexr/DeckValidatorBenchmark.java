@@ -0,0 +1,57 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DeckValidatorBenchmark times the default DeckValidator rules over twenty 50k-card decks, a
+ * million cards with three conjugates each, checked in slices on the common pool.
+ */
+@State(Scope.Benchmark)
+public class DeckValidatorBenchmark {
+
+    static final int DECKS = 20;
+    static final int CARDS_PER_DECK = 50_000;
+
+    private List<Deck> decks;           // The decks to validate
+    private DeckValidator validator;    // The default rules
+
+    /**
+     * Builds the decks.
+     * Time complexity: O(d c), where d is the number of decks and c the cards per deck.
+     */
+    @Setup
+    public void setUp() {
+        decks = new ArrayList<>(DECKS);
+        for (int d = 0; d < DECKS; d++) {
+            List<Card> cards = new ArrayList<>(CARDS_PER_DECK);
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                cards.add(new Card("Palabra" + c,
+                        Arrays.asList("Forma" + c + "a", "Forma" + c + "b", "Forma" + c + "c"), "Word " + c));
+            }
+            Deck deck = new Deck("Deck" + d, "Spanish", "Deck" + d + " Cards");
+            deck.setCards(cards);
+            decks.add(deck);
+        }
+        validator = DeckValidator.defaults();
+    }
+
+    /**
+     * Validates every card and deck.
+     */
+    @Benchmark
+    public DeckValidator.Report validateMillionCards() {
+        return validator.validate(decks);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DistractorEngineBenchmark times DistractorEngine building its class index over a library of
+ * five 10k-card decks mixing verbs and nouns, and picking the choices of one question from it.
+ */
+@State(Scope.Benchmark)
+public class DistractorEngineBenchmark {
+
+    static final int DECKS = 5;
+    static final int CARDS_PER_DECK = 10_000;
+
+    private final Random random = new Random(42);
+    private final List<Deck> decks = new ArrayList<>(DECKS);
+    private DistractorEngine engine;  // Built over every deck
+
+    /**
+     * Builds the decks and an engine over them.
+     * Time complexity: O(d c), where d is the number of decks and c the cards per deck.
+     */
+    @Setup
+    public void setUp() {
+        StringBuilder stem = new StringBuilder();
+        for (int d = 0; d < DECKS; d++) {
+            Deck deck = new Deck("Deck" + d, "Spanish", "Deck " + d);
+            List<Card> cards = new ArrayList<>(CARDS_PER_DECK);
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                stem.setLength(0);
+                for (int i = 0; i <= c % 12; i++) {
+                    stem.append((char) ('a' + (c + i) % 26));
+                }
+                String translation = c % 3 == 0 ? stem + " (feminine)" : "To " + stem + c;
+                cards.add(new Card("Palabra" + d + "_" + c, new ArrayList<String>(), translation));
+            }
+            deck.setCards(cards);
+            decks.add(deck);
+        }
+        engine = build();
+    }
+
+    /**
+     * Builds the class index of every answer of the library.
+     */
+    @Benchmark
+    public DistractorEngine build() {
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        for (Deck deck : decks) {
+            builder.addDeck(deck);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Picks the correct answer and two wrong ones for a random card, as a question does.
+     */
+    @Benchmark
+    public List<String> choices() {
+        return engine.choices(random.nextInt(engine.size()), 2, random);
+    }
+}
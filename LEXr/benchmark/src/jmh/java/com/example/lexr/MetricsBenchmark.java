@@ -0,0 +1,50 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * MetricsBenchmark times the Metrics.start()/stop() pair wrapped around every card bind, while
+ * Metrics is off, where it should be a flag check, and while it is on.
+ */
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;  // Whether Metrics records
+
+    /**
+     * Turns Metrics on or off and drops what earlier runs recorded.
+     * Time complexity: O(1).
+     */
+    @Setup
+    public void setUp() {
+        Metrics.reset();
+        Metrics.setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    /**
+     * Times one empty card bind.
+     */
+    @Benchmark
+    public long startStop() {
+        long start = Metrics.start();
+        Metrics.stop(Metrics.CARD_BIND, start);
+        return start;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ReviewSchedulerBenchmark times ReviewScheduler answering the next due card among 300k tracked
+ * cards with random grades, a simulated day passing whenever nothing is due, and ordering the
+ * cards of a 1k-card deck for a review session.
+ */
+@State(Scope.Benchmark)
+public class ReviewSchedulerBenchmark {
+
+    static final int DECK_SIZE = 1_000;  // Cards ordered by reviewOrder()
+
+    @Param({"300000"})
+    public int cards;  // Tracked cards
+
+    private final SimulatedClock clock = new SimulatedClock();
+    private final Random random = new Random(458);
+    private ReviewScheduler scheduler;  // Tracks every card
+    private List<Card> deck;            // The first DECK_SIZE cards
+
+    /**
+     * Tracks the cards, all due right away.
+     * Time complexity: O(c log c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() {
+        scheduler = new ReviewScheduler(clock);
+        deck = new ArrayList<>(DECK_SIZE);
+        for (int i = 1; i <= cards; i++) {
+            Card card = new Card("Palabra" + i, Collections.<String>emptyList(), "Word " + i);
+            card.setId(i);
+            scheduler.track(card);
+            if (i <= DECK_SIZE) {
+                deck.add(card);
+            }
+        }
+    }
+
+    /**
+     * Answers the next due card, moving the clock a day on when no card is due.
+     */
+    @Benchmark
+    public ReviewRecord reviewNextDue() {
+        Card next = scheduler.nextDueCard();
+        while (next == null) {
+            clock.now += ReviewScheduler.DAY_MS;
+            next = scheduler.nextDueCard();
+        }
+        return scheduler.review(next, 1 + random.nextInt(ReviewScheduler.GRADE_EASY));
+    }
+
+    /**
+     * Orders a deck's cards for a review session, as CardDisplayActivity does.
+     */
+    @Benchmark
+    public List<Card> reviewOrder() {
+        return scheduler.reviewOrder(deck);
+    }
+
+    /**
+     * Clock moved on by the benchmark.
+     */
+    private static class SimulatedClock implements Clock {
+        long now = 1_700_000_000_000L;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * SentenceCorpusBenchmark times walking a corpus of a million sentence pairs page by page, as
+ * the sentence screen does, and opening it. Run with -prof gc to check
+ * that the walk allocates pages without retaining them.
+ */
+@State(Scope.Benchmark)
+public class SentenceCorpusBenchmark {
+
+    static final int SENTENCES = 1_000_000;
+
+    private File file;              // The synthetic corpus
+    private SentenceCorpus corpus;  // Open for the whole run
+    private int next;               // The sentence read by readNext()
+
+    /**
+     * Writes the corpus and opens it.
+     * Time complexity: O(s), where s is the number of sentences.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("sentences", ".corpus");
+        try (SentenceCorpusWriter writer = new SentenceCorpusWriter(file)) {
+            for (int i = 0; i < SENTENCES; i++) {
+                writer.add("English sentence " + i, "La frase número" + i + " está aquí.");
+            }
+        }
+        corpus = new SentenceCorpus(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        corpus.close();
+        file.delete();
+    }
+
+    /**
+     * Reads the next sentence, wrapping around at the end, so the pages are read in order
+     * with prefetching.
+     */
+    @Benchmark
+    public SentencePair readNext() {
+        SentencePair pair = corpus.get(next);
+        next = next + 1 == SENTENCES ? 0 : next + 1;
+        return pair;
+    }
+
+    /**
+     * Opens the corpus, reading only its header and footer.
+     */
+    @Benchmark
+    public int open() throws IOException {
+        try (SentenceCorpus opened = new SentenceCorpus(file)) {
+            return opened.size();
+        }
+    }
+}
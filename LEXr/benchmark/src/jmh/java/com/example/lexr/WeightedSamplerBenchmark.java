@@ -0,0 +1,87 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * WeightedSamplerBenchmark times WeightedCardSampler on a deck of 100k cards with random
+ * difficulty levels and one favorite in ten: building the sampler, a single pick, a weight
+ * change followed by a pick, and drawing the questions of a game.
+ */
+@State(Scope.Benchmark)
+public class WeightedSamplerBenchmark {
+
+    static final int ROUND_SIZE = 10;  // Questions per game, as in MatchingGameActivity
+
+    @Param({"100000"})
+    public int cards;  // Cards in the deck
+
+    private List<Card> deck;               // The cards sampled
+    private WeightedCardSampler sampler;   // Built once for the pick benchmarks
+    private final Random random = new Random(42);
+
+    /**
+     * Builds the cards and a sampler over them.
+     * Time complexity: O(c), where c is the number of cards.
+     */
+    @Setup
+    public void setUp() {
+        deck = new ArrayList<>(cards);
+        for (int c = 0; c < cards; c++) {
+            Card card = new Card("Palabra" + c, Arrays.asList("Forma" + c + "a", "Forma" + c + "b"), "Word " + c);
+            card.setDifficultyLevel(random.nextInt(ReviewScheduler.MAX_DIFFICULTY) + 1);
+            card.setFavorite(random.nextInt(10) == 0);
+            deck.add(card);
+        }
+        sampler = new WeightedCardSampler(deck);
+    }
+
+    /**
+     * Builds a sampler over every card, as a game or a weighted shuffle does.
+     */
+    @Benchmark
+    public WeightedCardSampler build() {
+        return new WeightedCardSampler(deck);
+    }
+
+    /**
+     * Picks one card.
+     */
+    @Benchmark
+    public int next() {
+        return sampler.next(random);
+    }
+
+    /**
+     * Toggles a card's favorite status and picks a card, so the table is rebuilt each time.
+     */
+    @Benchmark
+    public int updateAndNext() {
+        int position = random.nextInt(cards);
+        Card card = deck.get(position);
+        card.setFavorite(!card.isFavorite());
+        sampler.update(position);
+        return sampler.next(random);
+    }
+
+    /**
+     * Draws the distinct questions of a matching game.
+     */
+    @Benchmark
+    public int[] drawRound() {
+        return sampler.draw(ROUND_SIZE, random);
+    }
+}
@@ -0,0 +1,22 @@
+// The deck and card core: models, sources, indexes and schedulers in plain Java, with the
+// bundled decks, conjugations and sentences as resources. It has no Android dependencies, so
+// its unit tests and the JMH benchmarks run on the desktop JVM; the app adds the screens and
+// the SQLite storage on top of it.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+// The sources hold accented literals, e.g., the Spanish paradigm suffixes, so they must not
+// be read in the platform encoding (cp1252 on Windows, ASCII under a C locale)
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,359 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.zip.CRC32;
+
+/**
+ * AnswerLog is an append-only file of every answer given in the matching game.
+ * Events are collected in memory and appended in batches, each one written with a single
+ * write and framed by its length and a CRC32 of its bytes, so a batch torn by a crash is
+ * noticed and dropped instead of being read as answers. The file starts with a header:
+ * <pre>
+ *   int   magic "LXAL"
+ *   int   version
+ *   then batches of
+ *   int   payload length in bytes
+ *   int   CRC32 of the payload
+ *   byte  payload[length]: events, each starting with a tag byte
+ *         TAG_SESSION: long session, UTF deck
+ *         TAG_ANSWER:  long session, long time, int latency ms, boolean correct, UTF prompt, UTF chosen
+ * </pre>
+ * Readers pass the offset they stopped at back to read(), so only new batches are read.
+ */
+public class AnswerLog implements Closeable {
+
+    static final int MAGIC = 0x4C58414C;      // "LXAL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;         // magic, version
+    static final int BATCH_HEADER_SIZE = 8;   // payload length, CRC32
+    static final byte TAG_SESSION = 1;
+    static final byte TAG_ANSWER = 2;
+    public static final int DEFAULT_BATCH_SIZE = 64;  // Events collected before a batch is appended
+
+    private final RandomAccessFile file;      // The log, positioned at its end
+    private final int batchSize;              // Events collected before a batch is appended
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();  // Events not yet appended
+    private final DataOutputStream out = new DataOutputStream(batch);
+    private final CRC32 crc = new CRC32();
+    private int pending;                      // Events in batch
+    private long length;                      // Bytes of whole batches in the file
+
+    /**
+     * Opens a log for appending, creating it if it does not exist.
+     * Time complexity: O(b), where b is the number of batches already in the log.
+     *
+     * @param path The log file.
+     * @throws IOException If the file cannot be opened or is not an answer log.
+     */
+    public AnswerLog(File path) throws IOException {
+        this(path, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Opens a log for appending, creating it if it does not exist. A torn batch left at the end
+     * by a crash is cut off, so new batches are appended right after the last whole one.
+     * Time complexity: O(b), where b is the number of batches already in the log; only their
+     * lengths are read, plus the bytes of the last batch to check it.
+     *
+     * @param path      The log file.
+     * @param batchSize The number of events collected before a batch is appended, at least 1.
+     * @throws IOException If the file cannot be opened or is not an answer log.
+     */
+    AnswerLog(File path, int batchSize) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, not " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.file = new RandomAccessFile(path, "rw");
+        try {
+            if (file.length() < HEADER_SIZE) {
+                file.setLength(0);
+                file.writeInt(MAGIC);
+                file.writeInt(VERSION);
+                length = HEADER_SIZE;
+            } else {
+                checkHeader(file.readInt(), file.readInt(), path);
+                length = findEnd();  // O(b)
+                file.setLength(length);
+            }
+            file.seek(length);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the start of a game session.
+     * Time complexity: O(d), where d is the length of the deck name, plus a batch write when full.
+     *
+     * @param session The session, e.g., its start time; answers refer to it.
+     * @param deck    The name of the deck played.
+     * @throws IOException If a full batch cannot be written.
+     */
+    public synchronized void startSession(long session, String deck) throws IOException {
+        out.writeByte(TAG_SESSION);
+        out.writeLong(session);
+        out.writeUTF(deck);
+        added();
+    }
+
+    /**
+     * Records an answer.
+     * Time complexity: O(p), where p is the length of the prompt and choice, plus a batch write when full.
+     *
+     * @param session   The session the answer belongs to.
+     * @param time      When the answer was given, in milliseconds since the epoch.
+     * @param prompt    The word or sentence asked about.
+     * @param chosen    The choice the user clicked.
+     * @param correct   Whether the choice was the right answer.
+     * @param latencyMs The time from showing the question to the click, in milliseconds.
+     * @throws IOException If a full batch cannot be written.
+     */
+    public synchronized void record(long session, long time, String prompt, String chosen,
+                                    boolean correct, int latencyMs) throws IOException {
+        if (latencyMs < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative: " + latencyMs);
+        }
+        out.writeByte(TAG_ANSWER);
+        out.writeLong(session);
+        out.writeLong(time);
+        out.writeInt(latencyMs);
+        out.writeBoolean(correct);
+        out.writeUTF(prompt);
+        out.writeUTF(chosen);
+        added();
+    }
+
+    /**
+     * Appends the events collected so far as one batch.
+     * Time complexity: O(e), where e is the size of the collected events.
+     *
+     * @throws IOException If the batch cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        if (pending == 0) {
+            return;
+        }
+        byte[] payload = batch.toByteArray();
+        crc.reset();
+        crc.update(payload, 0, payload.length);
+        ByteArrayOutputStream framed = new ByteArrayOutputStream(BATCH_HEADER_SIZE + payload.length);
+        DataOutputStream header = new DataOutputStream(framed);
+        header.writeInt(payload.length);
+        header.writeInt((int) crc.getValue());
+        header.write(payload);
+        file.seek(length);
+        file.write(framed.toByteArray());  // One write per batch O(e)
+        length += framed.size();
+        batch.reset();
+        pending = 0;
+    }
+
+    /**
+     * Returns the length of the batches written so far, where the next read can stop.
+     * Time complexity: O(1).
+     *
+     * @return The length in bytes.
+     */
+    public synchronized long length() {
+        return length;
+    }
+
+    /**
+     * Appends the collected events and closes the file.
+     * Time complexity: O(e), where e is the size of the collected events.
+     *
+     * @throws IOException If the batch cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            file.close();
+        }
+    }
+
+    /**
+     * Reads the events of a log from an offset, stopping at its end or at the first torn batch.
+     * Time complexity: O(n), where n is the number of bytes after offset.
+     *
+     * @param path    The log file; a missing file has no events.
+     * @param offset  The offset returned by an earlier read, or 0 to read from the start.
+     * @param visitor Receives the events in the order they were recorded.
+     * @return The offset to pass to the next read.
+     * @throws IOException If the file cannot be read or is not an answer log.
+     */
+    public static long read(File path, long offset, Visitor visitor) throws IOException {
+        if (!path.exists()) {
+            return offset;
+        }
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(path), 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            if (offset < HEADER_SIZE) {
+                try {
+                    checkHeader(in.readInt(), in.readInt(), path);
+                } catch (EOFException e) {
+                    return offset;  // Created but not written yet
+                }
+                offset = HEADER_SIZE;
+            } else {
+                skipFully(in, offset);
+            }
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[1 << 12];
+            while (true) {
+                int size;
+                int checksum;
+                try {
+                    size = in.readInt();
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;  // End of the log
+                }
+                if (size < 0) {
+                    break;  // Torn batch
+                }
+                if (payload.length < size) {
+                    payload = new byte[Math.max(size, payload.length * 2)];
+                }
+                try {
+                    in.readFully(payload, 0, size);
+                } catch (EOFException e) {
+                    break;  // Torn batch
+                }
+                crc.reset();
+                crc.update(payload, 0, size);
+                if ((int) crc.getValue() != checksum) {
+                    break;  // Torn batch
+                }
+                readBatch(new DataInputStream(new ByteArrayInputStream(payload, 0, size)), visitor);
+                offset += BATCH_HEADER_SIZE + size;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Passes the events of one batch to a visitor.
+     * Time complexity: O(s), where s is the size of the batch.
+     */
+    private static void readBatch(DataInputStream in, Visitor visitor) throws IOException {
+        while (in.available() > 0) {
+            byte tag = in.readByte();
+            if (tag == TAG_SESSION) {
+                visitor.onSession(in.readLong(), in.readUTF());
+            } else if (tag == TAG_ANSWER) {
+                long session = in.readLong();
+                long time = in.readLong();
+                int latencyMs = in.readInt();
+                boolean correct = in.readBoolean();
+                visitor.onAnswer(session, time, in.readUTF(), in.readUTF(), correct, latencyMs);
+            } else {
+                throw new IOException("Unknown answer log event " + tag);
+            }
+        }
+    }
+
+    /**
+     * Counts an event added to the batch, appending the batch once it is full.
+     * Time complexity: O(1), or O(e) to append a full batch.
+     */
+    private void added() throws IOException {
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Finds the end of the last whole batch by following the batch lengths, and checks the
+     * CRC32 of the last batch, the only one a crash can have torn.
+     * Time complexity: O(b + s), where b is the number of batches and s is the size of the last.
+     */
+    private long findEnd() throws IOException {
+        long fileLength = file.length();
+        long end = HEADER_SIZE;
+        long last = -1;
+        while (end + BATCH_HEADER_SIZE <= fileLength) {
+            file.seek(end);
+            int size = file.readInt();
+            if (size < 0 || end + BATCH_HEADER_SIZE + size > fileLength) {
+                break;  // Torn length or payload
+            }
+            last = end;
+            end += BATCH_HEADER_SIZE + size;
+        }
+        if (last >= 0) {
+            file.seek(last);
+            int size = file.readInt();
+            int checksum = file.readInt();
+            byte[] payload = new byte[size];
+            file.readFully(payload);
+            crc.reset();
+            crc.update(payload, 0, size);
+            if ((int) crc.getValue() != checksum) {
+                end = last;  // The last batch was torn
+            }
+        }
+        return end;
+    }
+
+    private static void checkHeader(int magic, int version, File path) throws IOException {
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not an answer log: " + path);
+        }
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                throw new EOFException("Answer log is shorter than offset");
+            }
+            count -= skipped;
+        }
+    }
+
+    /**
+     * Receives the events of a log, in the order they were recorded.
+     */
+    public interface Visitor {
+
+        /**
+         * Called for the start of a session.
+         *
+         * @param session The session.
+         * @param deck    The name of the deck played.
+         */
+        void onSession(long session, String deck);
+
+        /**
+         * Called for an answer.
+         *
+         * @param session   The session the answer belongs to.
+         * @param time      When the answer was given, in milliseconds since the epoch.
+         * @param prompt    The word or sentence asked about.
+         * @param chosen    The choice the user clicked.
+         * @param correct   Whether the choice was the right answer.
+         * @param latencyMs The time from showing the question to the click, in milliseconds.
+         */
+        void onAnswer(long session, long time, String prompt, String chosen, boolean correct, int latencyMs);
+    }
+}
@@ -0,0 +1,543 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AnswerStats answers questions about the matching game history kept in an AnswerLog:
+ * accuracy and mean response time per word, response time percentiles, and accuracy per
+ * session for trends. Aggregates are updated incrementally: refresh() only reads the batches
+ * appended since the last refresh, and save() stores the aggregates with the log offset they
+ * cover, so after a restart only the answers given since the last save are read.
+ * Response times are counted in buckets laid out as in LatencyHistogram, so a percentile is
+ * within about 6% of the exact value, whatever the number of answers.
+ */
+public class AnswerStats {
+
+    static final int SNAPSHOT_MAGIC = 0x4C584153;  // "LXAS"
+    static final int SNAPSHOT_VERSION = 1;
+    private static final int BUCKETS = LatencyHistogram.BUCKETS;  // Latency buckets, as in LatencyHistogram
+
+    private final File log;                  // The answer log being summarized
+    private long offset;                     // Offset in the log up to which answers are counted
+
+    // Per word: words[i] has attempts[i] answers, correct[i] of them right, totalling latencySum[i] ms
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private String[] words = new String[16];
+    private int[] attempts = new int[16];
+    private int[] correct = new int[16];
+    private long[] latencySum = new long[16];
+    private int wordCount;
+
+    // Per session, in the order they were played
+    private final Map<Long, Integer> sessionIds = new HashMap<>();
+    private long[] sessionKeys = new long[16];
+    private String[] sessionDecks = new String[16];
+    private int[] sessionAttempts = new int[16];
+    private int[] sessionCorrect = new int[16];
+    private long[] sessionLatency = new long[16];
+    private int sessionCount;
+    private long lastSession = Long.MIN_VALUE;  // Session of the previous answer, to skip the map lookup
+    private int lastSessionIndex = -1;
+
+    private final AnswerLog.Visitor counter = new AnswerLog.Visitor() {  // Folds read events in
+        @Override
+        public void onSession(long session, String deck) {
+            countSession(session, deck);
+        }
+
+        @Override
+        public void onAnswer(long session, long time, String prompt, String chosen, boolean right, int latencyMs) {
+            countAnswer(session, prompt, right, latencyMs);
+        }
+    };
+
+    private final long[] histogram = new long[BUCKETS];  // Answers per latency bucket
+    private long answers;                    // All answers counted
+    private long correctAnswers;             // Right answers counted
+
+    /**
+     * Creates empty statistics for a log; call refresh() to read it.
+     * Time complexity: O(1).
+     *
+     * @param log The answer log.
+     */
+    public AnswerStats(File log) {
+        this.log = log;
+    }
+
+    /**
+     * Loads statistics saved by save() and reads the answers logged since. If the snapshot is
+     * missing, unreadable, or ahead of the log (e.g., the log was deleted), the log is read from
+     * the start instead.
+     * Time complexity: O(w + s + n), where w and s are the numbers of words and sessions saved
+     * and n is the size of the log after the saved offset.
+     *
+     * @param log      The answer log.
+     * @param snapshot The file written by save().
+     * @return The statistics, up to date with the log.
+     * @throws IOException If the log cannot be read.
+     */
+    public static AnswerStats load(File log, File snapshot) throws IOException {
+        AnswerStats stats = new AnswerStats(log);
+        if (snapshot.exists()) {
+            try {
+                stats.readSnapshot(snapshot);
+            } catch (IOException | RuntimeException e) {
+                stats = new AnswerStats(log);  // Start over from the log, which has every answer
+            }
+            if (stats.offset > log.length()) {
+                stats = new AnswerStats(log);  // The log was replaced
+            }
+        }
+        stats.refresh();
+        return stats;
+    }
+
+    /**
+     * Counts the answers appended to the log since the last refresh.
+     * Time complexity: O(n), where n is the size of the new part of the log.
+     *
+     * @return The number of new answers.
+     * @throws IOException If the log cannot be read.
+     */
+    public synchronized long refresh() throws IOException {
+        long before = answers;
+        offset = AnswerLog.read(log, offset, counter);  // O(n)
+        return answers - before;
+    }
+
+    /**
+     * Saves the statistics with the log offset they cover. The file is written to a temporary
+     * file and renamed, so a failed save leaves the previous snapshot in place.
+     * Time complexity: O(w + s), where w and s are the numbers of words and sessions.
+     *
+     * @param snapshot The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void save(File snapshot) throws IOException {
+        File temp = new File(snapshot.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(offset);
+            out.writeLong(answers);
+            out.writeLong(correctAnswers);
+            for (long count : histogram) {
+                out.writeLong(count);
+            }
+            out.writeInt(wordCount);
+            for (int w = 0; w < wordCount; w++) {
+                out.writeUTF(words[w]);
+                out.writeInt(attempts[w]);
+                out.writeInt(correct[w]);
+                out.writeLong(latencySum[w]);
+            }
+            out.writeInt(sessionCount);
+            for (int s = 0; s < sessionCount; s++) {
+                out.writeLong(sessionKeys[s]);
+                out.writeBoolean(sessionDecks[s] != null);
+                if (sessionDecks[s] != null) {
+                    out.writeUTF(sessionDecks[s]);
+                }
+                out.writeInt(sessionAttempts[s]);
+                out.writeInt(sessionCorrect[s]);
+                out.writeLong(sessionLatency[s]);
+            }
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(snapshot)) {
+            snapshot.delete();
+            if (!temp.renameTo(snapshot)) {
+                throw new IOException("Cannot replace answer statistics " + snapshot);
+            }
+        }
+    }
+
+    /**
+     * Returns the offset in the log up to which answers are counted.
+     * Time complexity: O(1).
+     *
+     * @return The offset in bytes.
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of answers counted.
+     * Time complexity: O(1).
+     *
+     * @return The number of answers.
+     */
+    public synchronized long getAnswerCount() {
+        return answers;
+    }
+
+    /**
+     * Returns the fraction of all answers that were right.
+     * Time complexity: O(1).
+     *
+     * @return The accuracy from 0 to 1, or 0 if nothing was answered.
+     */
+    public synchronized double getAccuracy() {
+        return answers == 0 ? 0 : (double) correctAnswers / answers;
+    }
+
+    /**
+     * Returns a response time percentile over all answers, e.g., 50 for the median.
+     * Time complexity: O(1) - The histogram has a fixed number of buckets.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The response time in milliseconds, within about 6%, or 0 if nothing was answered.
+     */
+    public synchronized int getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100, not " + percentile);
+        }
+        if (answers == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * answers));  // 1-based rank of the answer
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= rank) {
+                return LatencyHistogram.bucketMiddle(b);
+            }
+        }
+        return LatencyHistogram.bucketMiddle(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the statistics of one word or sentence.
+     * Time complexity: O(1) expected.
+     *
+     * @param prompt The word or sentence asked about.
+     * @return Its statistics, or null if it was never asked.
+     */
+    public synchronized WordStats getWordStats(String prompt) {
+        Integer id = wordIds.get(prompt);
+        return id == null ? null : wordStats(id);
+    }
+
+    /**
+     * Returns the words answered worst: lowest accuracy first, then slowest mean response.
+     * Time complexity: O(w log w), where w is the number of words.
+     *
+     * @param limit       The most words to return.
+     * @param minAttempts Words asked fewer times than this are left out.
+     * @return The weakest words.
+     */
+    public synchronized List<WordStats> getWeakestWords(int limit, int minAttempts) {
+        List<WordStats> candidates = new ArrayList<>();
+        for (int w = 0; w < wordCount; w++) {
+            if (attempts[w] >= minAttempts) {
+                candidates.add(wordStats(w));
+            }
+        }
+        Collections.sort(candidates, (a, b) -> {
+            int byAccuracy = Double.compare(a.getAccuracy(), b.getAccuracy());
+            return byAccuracy != 0 ? byAccuracy : Double.compare(b.getMeanLatencyMs(), a.getMeanLatencyMs());
+        });
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    /**
+     * Returns the number of words asked about.
+     * Time complexity: O(1).
+     *
+     * @return The number of distinct prompts.
+     */
+    public synchronized int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the most recent sessions, oldest first.
+     * Time complexity: O(k), where k is the number of sessions returned.
+     *
+     * @param limit The most sessions to return.
+     * @return The sessions.
+     */
+    public synchronized List<SessionStats> getRecentSessions(int limit) {
+        int first = Math.max(0, sessionCount - limit);
+        List<SessionStats> sessions = new ArrayList<>(sessionCount - first);
+        for (int s = first; s < sessionCount; s++) {
+            sessions.add(new SessionStats(sessionKeys[s], sessionDecks[s], sessionAttempts[s],
+                    sessionCorrect[s], sessionLatency[s]));
+        }
+        return sessions;
+    }
+
+    /**
+     * Returns the number of sessions played.
+     * Time complexity: O(1).
+     *
+     * @return The number of sessions.
+     */
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Returns how accuracy changed over the most recent sessions: the slope of a least-squares
+     * line through their accuracies, so 0.05 means about five points better each session.
+     * Time complexity: O(k), where k is the number of sessions looked at.
+     *
+     * @param sessions The number of recent sessions to look at.
+     * @return The change in accuracy per session, or 0 with fewer than two answered sessions.
+     */
+    public synchronized double getAccuracyTrend(int sessions) {
+        double n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        for (int s = Math.max(0, sessionCount - sessions); s < sessionCount; s++) {
+            if (sessionAttempts[s] == 0) {
+                continue;
+            }
+            double y = (double) sessionCorrect[s] / sessionAttempts[s];
+            n++;
+            sumX += n;
+            sumY += y;
+            sumXY += n * y;
+            sumXX += n * n;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return n < 2 || denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * Counts the start of a session.
+     * Time complexity: O(1) amortized.
+     */
+    private void countSession(long session, String deck) {
+        int s = sessionIndex(session);  // Grows sessionDecks first
+        sessionDecks[s] = deck;
+    }
+
+    /**
+     * Counts an answer.
+     * Time complexity: O(p) expected, where p is the length of the prompt, to look up its word.
+     */
+    private void countAnswer(long session, String prompt, boolean right, int latencyMs) {
+        int s = session == lastSession ? lastSessionIndex : sessionIndex(session);  // O(1)
+        int w = wordIndex(prompt);  // O(p) expected
+        int hit = right ? 1 : 0;
+        attempts[w]++;
+        correct[w] += hit;
+        latencySum[w] += latencyMs;
+        sessionAttempts[s]++;
+        sessionCorrect[s] += hit;
+        sessionLatency[s] += latencyMs;
+        histogram[LatencyHistogram.bucket(latencyMs)]++;
+        answers++;
+        correctAnswers += hit;
+    }
+
+    private WordStats wordStats(int w) {
+        return new WordStats(words[w], attempts[w], correct[w], latencySum[w]);
+    }
+
+    /**
+     * Returns the index of a word, adding it if new.
+     * Time complexity: O(p) expected, O(1) amortized to grow the arrays.
+     */
+    private int wordIndex(String prompt) {
+        Integer id = wordIds.get(prompt);
+        if (id != null) {
+            return id;
+        }
+        if (wordCount == words.length) {
+            int capacity = wordCount * 2;
+            words = Arrays.copyOf(words, capacity);
+            attempts = Arrays.copyOf(attempts, capacity);
+            correct = Arrays.copyOf(correct, capacity);
+            latencySum = Arrays.copyOf(latencySum, capacity);
+        }
+        words[wordCount] = prompt;
+        wordIds.put(prompt, wordCount);
+        return wordCount++;
+    }
+
+    /**
+     * Returns the index of a session, adding it if new.
+     * Time complexity: O(1) expected, O(1) amortized to grow the arrays.
+     */
+    private int sessionIndex(long session) {
+        Integer id = sessionIds.get(session);
+        if (id == null) {
+            if (sessionCount == sessionKeys.length) {
+                int capacity = sessionCount * 2;
+                sessionKeys = Arrays.copyOf(sessionKeys, capacity);
+                sessionDecks = Arrays.copyOf(sessionDecks, capacity);
+                sessionAttempts = Arrays.copyOf(sessionAttempts, capacity);
+                sessionCorrect = Arrays.copyOf(sessionCorrect, capacity);
+                sessionLatency = Arrays.copyOf(sessionLatency, capacity);
+            }
+            sessionKeys[sessionCount] = session;
+            id = sessionCount++;
+            sessionIds.put(session, id);
+        }
+        lastSession = session;
+        lastSessionIndex = id;
+        return id;
+    }
+
+    /**
+     * Reads a snapshot written by save() into these empty statistics.
+     * Time complexity: O(w + s), where w and s are the numbers of words and sessions.
+     */
+    private void readSnapshot(File snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshot)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not answer statistics: " + snapshot);
+            }
+            offset = in.readLong();
+            answers = in.readLong();
+            correctAnswers = in.readLong();
+            for (int b = 0; b < BUCKETS; b++) {
+                histogram[b] = in.readLong();
+            }
+            int savedWords = in.readInt();
+            for (int i = 0; i < savedWords; i++) {
+                int w = wordIndex(in.readUTF());
+                attempts[w] = in.readInt();
+                correct[w] = in.readInt();
+                latencySum[w] = in.readLong();
+            }
+            int savedSessions = in.readInt();
+            for (int i = 0; i < savedSessions; i++) {
+                int s = sessionIndex(in.readLong());
+                sessionDecks[s] = in.readBoolean() ? in.readUTF() : null;
+                sessionAttempts[s] = in.readInt();
+                sessionCorrect[s] = in.readInt();
+                sessionLatency[s] = in.readLong();
+            }
+        }
+    }
+
+    /**
+     * The answers given about one word or sentence.
+     */
+    public static final class WordStats {
+        private final String prompt;
+        private final int attempts;
+        private final int correct;
+        private final long latencySum;
+
+        WordStats(String prompt, int attempts, int correct, long latencySum) {
+            this.prompt = prompt;
+            this.attempts = attempts;
+            this.correct = correct;
+            this.latencySum = latencySum;
+        }
+
+        public String getPrompt() {
+            return prompt;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public int getCorrect() {
+            return correct;
+        }
+
+        /**
+         * @return The fraction of right answers, from 0 to 1.
+         */
+        public double getAccuracy() {
+            return attempts == 0 ? 0 : (double) correct / attempts;
+        }
+
+        /**
+         * @return The mean response time in milliseconds.
+         */
+        public double getMeanLatencyMs() {
+            return attempts == 0 ? 0 : (double) latencySum / attempts;
+        }
+
+        @Override
+        public String toString() {
+            return prompt + " (" + correct + "/" + attempts + ")";
+        }
+    }
+
+    /**
+     * The answers given in one game session.
+     */
+    public static final class SessionStats {
+        private final long session;
+        private final String deck;
+        private final int attempts;
+        private final int correct;
+        private final long latencySum;
+
+        SessionStats(long session, String deck, int attempts, int correct, long latencySum) {
+            this.session = session;
+            this.deck = deck;
+            this.attempts = attempts;
+            this.correct = correct;
+            this.latencySum = latencySum;
+        }
+
+        /**
+         * @return The session, as passed to AnswerLog.startSession(), e.g., its start time.
+         */
+        public long getSession() {
+            return session;
+        }
+
+        /**
+         * @return The deck played, or null if its start was not logged.
+         */
+        public String getDeck() {
+            return deck;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public int getCorrect() {
+            return correct;
+        }
+
+        /**
+         * @return The fraction of right answers, from 0 to 1.
+         */
+        public double getAccuracy() {
+            return attempts == 0 ? 0 : (double) correct / attempts;
+        }
+
+        /**
+         * @return The mean response time in milliseconds.
+         */
+        public double getMeanLatencyMs() {
+            return attempts == 0 ? 0 : (double) latencySum / attempts;
+        }
+    }
+}
@@ -14,12 +14,14 @@ import java.util.List;
  */
 public class Card {
     // Fields representing the attributes of a card
+    private long id;                  // Identifier assigned by the deck store, 0 until assigned
     private String word;              // The main word on the card
     private List<String> conjugates;  // List of conjugated forms of the word
     private String translation;       // The English translation of the word
     private boolean isFlipped;        // State indicating if the card is flipped
     private int difficultyLevel;      // Difficulty level of the card, default is 1
     private boolean isFavorite;       // Boolean to indicate if the card is marked as a favorite
+    private OnCardChangedListener listener;  // Notified when a persisted field changes, may be null
 
     /**
      * Constructor to initialize the card with word, conjugates, and translation.
@@ -50,6 +52,16 @@ public class Card {
 
     // Getters
 
+    /**
+     * Returns the identifier of the card in its deck store.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return the id of the card, or 0 if none has been assigned.
+     */
+    public long getId() {
+        return id;  // Return the id of the card
+    }
+
     /**
      * Returns the main word of the card.
      * Time complexity: O(1) - Accessing a field is a constant time operation.
@@ -112,6 +124,26 @@ public class Card {
 
     // Setters
 
+    /**
+     * Sets the identifier of the card in its deck store.
+     * Time complexity: O(1) - Setting a long value is constant time.
+     *
+     * @param id the id assigned to the card.
+     */
+    public void setId(long id) {
+        this.id = id;  // Set the id of the card
+    }
+
+    /**
+     * Sets the listener notified when the favorite status or difficulty level changes.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param listener the listener to notify, or null to stop notifying.
+     */
+    public void setOnCardChangedListener(OnCardChangedListener listener) {
+        this.listener = listener;  // Set the change listener of the card
+    }
+
     /**
      * Sets the word of the card.
      * Time complexity: O(1) - Setting a string reference is constant time.
@@ -154,21 +186,53 @@ public class Card {
 
     /**
      * Sets the difficulty level of the card.
+     * The change listener is notified if the level changes.
      * Time complexity: O(1) - Setting an integer field is constant time.
      *
      * @param difficultyLevel the new difficulty level to be set.
      */
     public void setDifficultyLevel(int difficultyLevel) {
-        this.difficultyLevel = difficultyLevel;  // Set a new difficulty level for the card
+        if (this.difficultyLevel != difficultyLevel) {
+            this.difficultyLevel = difficultyLevel;  // Set a new difficulty level for the card
+            notifyChanged();
+        }
     }
 
     /**
      * Marks the card as a favorite or removes it from favorites.
+     * The change listener is notified if the status changes.
      * Time complexity: O(1) - Setting a boolean value is constant time.
      *
      * @param favorite the new favorite status to be set.
      */
     public void setFavorite(boolean favorite) {
-        isFavorite = favorite;  // Set whether the card is marked as a favorite
+        if (isFavorite != favorite) {
+            isFavorite = favorite;  // Set whether the card is marked as a favorite
+            notifyChanged();
+        }
+    }
+
+    /**
+     * Tells the listener, if any, that a persisted field of the card changed.
+     * Time complexity: O(1) - A single callback.
+     */
+    private void notifyChanged() {
+        if (listener != null) {
+            listener.onCardChanged(this);
+        }
+    }
+
+    /**
+     * Listener notified when the favorite status or difficulty level of a card changes,
+     * so the change can be saved.
+     */
+    public interface OnCardChangedListener {
+
+        /**
+         * Called after a persisted field of the card changed.
+         *
+         * @param card the card that changed.
+         */
+        void onCardChanged(Card card);
     }
 }
@@ -0,0 +1,224 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.text.Normalizer;
+import java.util.List;
+
+/**
+ * CardFingerprint hashes the content of a card to 64 bits, so duplicate cards can be found
+ * across decks without comparing every pair.
+ * The exact fingerprint covers the word, translation and conjugates, ignoring case and
+ * surrounding or repeated whitespace: "Correr"/"To Run" in two decks hash the same.
+ * The near fingerprint covers only the word and translation, also ignoring accents,
+ * punctuation and a leading "to " of an English infinitive, so "Corrér"/"run" matches too.
+ * The text is hashed as it is read, one character at a time, without building normalized copies
+ * unless a field holds accented letters.
+ */
+public final class CardFingerprint {
+
+    private static final long OFFSET_BASIS = 0xCBF29CE484222325L;  // FNV-1a 64-bit
+    private static final long PRIME = 0x100000001B3L;
+    private static final char FIELD_SEPARATOR = '\u001F';  // Keeps "ab"+"c" apart from "a"+"bc"
+    private static final String INFINITIVE_MARKER = "to ";
+
+    private CardFingerprint() {
+    }
+
+    /**
+     * Hashes a card's word, translation and conjugates, ignoring case and whitespace runs.
+     * Time complexity: O(t), where t is the length of the card's text.
+     *
+     * @param card The card to hash.
+     * @return The exact fingerprint.
+     */
+    public static long exact(Card card) {
+        long hash = OFFSET_BASIS;
+        hash = hashText(hash, card.getWord());
+        hash = add(hash, FIELD_SEPARATOR);
+        hash = hashText(hash, card.getTranslation());
+        List<String> conjugates = card.getConjugates();
+        for (int i = 0; i < conjugates.size(); i++) {
+            hash = add(hash, FIELD_SEPARATOR);
+            hash = hashText(hash, conjugates.get(i));
+        }
+        return finish(hash);
+    }
+
+    /**
+     * Hashes a card's word and translation, ignoring case, accents, punctuation, whitespace and
+     * the "to " of an English infinitive.
+     * Time complexity: O(t), where t is the length of the word and translation.
+     *
+     * @param card The card to hash.
+     * @return The near fingerprint.
+     */
+    public static long near(Card card) {
+        long hash = OFFSET_BASIS;
+        hash = hashFolded(hash, card.getWord(), false);
+        hash = add(hash, FIELD_SEPARATOR);
+        hash = hashFolded(hash, card.getTranslation(), true);
+        return finish(hash);
+    }
+
+    /**
+     * Tells whether two cards have the same content, as compared by exact(). Used to confirm a
+     * fingerprint match, so a 64-bit collision never merges different cards.
+     * Time complexity: O(t), where t is the length of the cards' text.
+     *
+     * @param a One card.
+     * @param b The other card.
+     * @return true if the cards' word, translation and conjugates match.
+     */
+    public static boolean sameContent(Card a, Card b) {
+        List<String> conjugatesA = a.getConjugates();
+        List<String> conjugatesB = b.getConjugates();
+        if (conjugatesA.size() != conjugatesB.size()
+                || !sameText(a.getWord(), b.getWord())
+                || !sameText(a.getTranslation(), b.getTranslation())) {
+            return false;
+        }
+        for (int i = 0; i < conjugatesA.size(); i++) {
+            if (!sameText(conjugatesA.get(i), conjugatesB.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes text lower-cased, trimmed and with whitespace runs as one space.
+     * Time complexity: O(l), where l is the length of the text.
+     */
+    private static long hashText(long hash, String text) {
+        if (text == null) {
+            return hash;
+        }
+        boolean space = false;   // A space is pending, written before the next non-space
+        boolean started = false; // Leading whitespace is dropped
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = started;
+                continue;
+            }
+            if (space) {
+                hash = add(hash, ' ');
+                space = false;
+            }
+            hash = add(hash, Character.toLowerCase(c));
+            started = true;
+        }
+        return hash;  // Trailing whitespace stays pending and is dropped
+    }
+
+    /**
+     * Hashes only the letters and digits of text, lower-cased and without accents.
+     * Time complexity: O(l), where l is the length of the text.
+     */
+    private static long hashFolded(long hash, String text, boolean translation) {
+        if (text == null) {
+            return hash;
+        }
+        String folded = stripAccents(text);  // The same string when it is plain ASCII O(l)
+        int start = 0;
+        while (start < folded.length() && Character.isWhitespace(folded.charAt(start))) {
+            start++;
+        }
+        if (translation && folded.regionMatches(true, start, INFINITIVE_MARKER, 0, INFINITIVE_MARKER.length())) {
+            start += INFINITIVE_MARKER.length();  // "To Run" is "Run"
+        }
+        for (int i = start; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                hash = add(hash, Character.toLowerCase(c));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Removes the accents of text by decomposing it and dropping the combining marks.
+     * Time complexity: O(l), where l is the length of the text; no copy is made for ASCII text.
+     */
+    static String stripAccents(String text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == text.length()) {
+            return text;  // Plain ASCII, the usual case O(l)
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        for (int j = 0; j < decomposed.length(); j++) {
+            char c = decomposed.charAt(j);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                stripped.append(c);
+            }
+        }
+        return stripped.toString();
+    }
+
+    /**
+     * Compares texts the way hashText() normalizes them, without copying either.
+     * Time complexity: O(l), where l is the length of the texts.
+     */
+    private static boolean sameText(String a, String b) {
+        a = a == null ? "" : a;  // Hashed like empty text
+        b = b == null ? "" : b;
+        if (a.equals(b)) {
+            return true;  // Usually the same pooled string O(l)
+        }
+        int i = 0;
+        int j = 0;
+        boolean started = false;  // Leading whitespace is ignored
+        while (true) {
+            int nextA = skipWhitespace(a, i);
+            int nextB = skipWhitespace(b, j);
+            boolean endA = nextA == a.length();
+            boolean endB = nextB == b.length();
+            if (endA || endB) {
+                return endA && endB;  // Trailing whitespace is ignored
+            }
+            if (started && (nextA > i) != (nextB > j)) {
+                return false;  // A space in one text only
+            }
+            if (Character.toLowerCase(a.charAt(nextA)) != Character.toLowerCase(b.charAt(nextB))) {
+                return false;
+            }
+            i = nextA + 1;
+            j = nextB + 1;
+            started = true;
+        }
+    }
+
+    private static int skipWhitespace(String text, int index) {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static long add(long hash, char c) {
+        hash ^= c & 0xFF;
+        hash *= PRIME;
+        hash ^= c >>> 8;
+        return hash * PRIME;
+    }
+
+    /**
+     * Mixes the final hash so every input bit affects every output bit (the MurmurHash3 finalizer).
+     * Time complexity: O(1).
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,450 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CardSearchIndex finds cards by their word, conjugates or translation, ignoring case and accents,
+ * so "rei" finds "Reír" and "rio" finds "Río".
+ * Text is split into tokens, and every distinct token is indexed once by its first one and two
+ * letters and by all its trigrams. A query term is matched against the token vocabulary through
+ * those grams, each matching token is scored once (exact, prefix, substring, or a fuzzy trigram
+ * overlap for typos), and the scores are spread to the cards holding the token.
+ * The index listens to decks, so cards are indexed and dropped as they are added and removed.
+ */
+public class CardSearchIndex implements Deck.OnCardsChangedListener {
+
+    static final int FIELD_WORD = 0;          // The card's word
+    static final int FIELD_TRANSLATION = 1;   // The card's translation
+    static final int FIELD_CONJUGATE = 2;     // One of the card's conjugates
+    private static final float[] FIELD_WEIGHTS = {1.0f, 0.9f, 0.8f};  // Matches on the word rank first
+
+    private static final float EXACT = 1.0f;     // The token equals the term
+    private static final float PREFIX = 0.8f;    // The token starts with the term
+    private static final float CONTAINS = 0.6f;  // The token contains the term
+    private static final float FUZZY = 0.5f;     // Scaled by the share of trigrams in common
+    private static final float MIN_FUZZY_OVERLAP = 0.5f;  // Share of the term's grams a fuzzy match needs
+    private static final char BOUNDARY = '\u0002';        // Marks the start of a token in prefix grams
+    private static final int MIN_COMPACT = 1024;           // Removed slots tolerated before compacting
+
+    private final StringPool vocabulary = new StringPool();           // Normalized tokens by id
+    private final Map<Long, IntList> tokensByGram = new HashMap<>();  // Gram -> ids of tokens holding it
+    private IntList[] cardsByToken = new IntList[256];                // Token id -> slot << 2 | field
+    private Card[] cards = new Card[256];                             // Slot -> card, null once removed
+    private final Map<Card, Integer> slots = new IdentityHashMap<>(); // Card -> slot
+    private int slotCount;                                            // Slots handed out
+    private int removedCount;                                         // Slots whose card was removed
+
+    // Scratch space reused by queries, reset after each one
+    private int[] gramHits = new int[0];        // Per token, grams shared with the current term
+    private float[] termScores = new float[0];  // Per slot, best score for the current term
+    private float[] totalScores = new float[0]; // Per slot, sum of the best scores of the terms so far
+    private int[] matchedTerms = new int[0];    // Per slot, number of terms matched so far
+
+    /**
+     * Keeps the index in step with a deck whose cards changed.
+     * Time complexity: O(t) per card, where t is the number of tokens on the card.
+     *
+     * @param deck    The deck that changed.
+     * @param removed The cards that left the deck.
+     * @param added   The cards that joined the deck.
+     */
+    @Override
+    public synchronized void onCardsChanged(Deck deck, List<Card> removed, List<Card> added) {
+        for (Card card : removed) {
+            remove(card);
+        }
+        for (Card card : added) {
+            add(card);
+        }
+    }
+
+    /**
+     * Indexes a card's word, conjugates and translation as they are now.
+     * Time complexity: O(t) expected, where t is the total length of the card's text.
+     *
+     * @param card The card to index; indexing a card twice has no effect.
+     */
+    public synchronized void add(Card card) {
+        if (slots.containsKey(card)) {
+            return;
+        }
+        if (slotCount == cards.length) {
+            cards = Arrays.copyOf(cards, slotCount * 2);  // Amortized O(1)
+        }
+        int slot = slotCount++;
+        cards[slot] = card;
+        slots.put(card, slot);
+        indexText(card.getWord(), slot, FIELD_WORD);
+        indexText(card.getTranslation(), slot, FIELD_TRANSLATION);
+        for (String conjugate : card.getConjugates()) {
+            indexText(conjugate, slot, FIELD_CONJUGATE);
+        }
+    }
+
+    /**
+     * Drops a card from the index. Its postings are skipped by queries until the index is
+     * compacted, which happens once more than half of the slots are removed.
+     * Time complexity: O(1), or O(n) amortized over n removals when compacting.
+     *
+     * @param card The card to drop.
+     * @return true if the card was indexed.
+     */
+    public synchronized boolean remove(Card card) {
+        Integer slot = slots.remove(card);
+        if (slot == null) {
+            return false;
+        }
+        cards[slot] = null;
+        removedCount++;
+        if (removedCount > MIN_COMPACT && removedCount * 2 > slotCount) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of indexed cards.
+     * Time complexity: O(1).
+     *
+     * @return The card count.
+     */
+    public synchronized int size() {
+        return slotCount - removedCount;
+    }
+
+    /**
+     * Finds the cards matching every term of a query, best first. Cards matching on their word
+     * rank above cards matching on their translation, then on a conjugate; exact matches rank
+     * above prefixes, then substrings, then close spellings. Equal scores keep indexing order.
+     * Time complexity: O(g + m + r log r), where g is the number of postings of the query's grams,
+     * m the postings of the matching tokens, and r the number of matching cards.
+     *
+     * @param query The text to look for, e.g., "rei" or "to run".
+     * @param limit The maximum number of cards to return.
+     * @return The matching cards, best first.
+     */
+    public synchronized List<Card> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (termScores.length < slotCount) {
+            int capacity = cards.length;
+            termScores = new float[capacity];
+            totalScores = new float[capacity];
+            matchedTerms = new int[capacity];
+        }
+        if (gramHits.length < vocabulary.size()) {
+            gramHits = new int[Math.max(vocabulary.size(), gramHits.length * 2)];
+        }
+
+        IntList candidates = new IntList();  // Slots matching the first term
+        IntList termSlots = new IntList();   // Slots matching the current term
+        for (int t = 0; t < terms.size(); t++) {
+            termSlots.clear();
+            scoreTerm(terms.get(t), termSlots);  // O(g + m)
+            for (int i = 0; i < termSlots.size; i++) {
+                int slot = termSlots.values[i];
+                if (matchedTerms[slot] == t) {  // Matched every earlier term
+                    totalScores[slot] += termScores[slot];
+                    matchedTerms[slot]++;
+                    if (t == 0) {
+                        candidates.add(slot);
+                    }
+                }
+                termScores[slot] = 0;
+            }
+        }
+
+        // Rank by score, then by slot; positive float bits sort like the floats O(r log r)
+        long[] ranked = new long[candidates.size];
+        int count = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.values[i];
+            if (matchedTerms[slot] == terms.size()) {
+                ranked[count++] = (long) Float.floatToIntBits(totalScores[slot]) << 32 | (Integer.MAX_VALUE - slot);
+            }
+            totalScores[slot] = 0;
+            matchedTerms[slot] = 0;
+        }
+        Arrays.sort(ranked, 0, count);
+        List<Card> result = new ArrayList<>(Math.min(limit, count));
+        for (int i = count - 1; i >= 0 && result.size() < limit; i--) {
+            result.add(cards[Integer.MAX_VALUE - (int) ranked[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Lowercases text, strips accents and turns everything but letters and digits into spaces.
+     * Time complexity: O(l), where l is the length of the text.
+     *
+     * @param text The text to normalize.
+     * @return The normalized text, the same length as the decomposed input without its accents.
+     */
+    static String normalize(String text) {
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        String decomposed = ascii ? text : Normalizer.normalize(text, Normalizer.Form.NFD);  // "í" -> "i" + accent
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;  // Drop the accent
+            }
+            out.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Normalizes text and splits it into tokens.
+     * Time complexity: O(l), where l is the length of the text.
+     *
+     * @param text The text to split.
+     * @return The normalized tokens, in order.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean space = i == normalized.length() || normalized.charAt(i) == ' ';
+            if (space && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            } else if (!space && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexes the tokens of one field of a card, adding new tokens to the vocabulary.
+     * Time complexity: O(l) expected, where l is the length of the text.
+     */
+    private void indexText(String text, int slot, int field) {
+        for (String token : tokenize(text)) {
+            int before = vocabulary.size();
+            int id = vocabulary.intern(token);  // O(1) expected
+            if (id == before) {
+                indexToken(token, id);  // A new token: file it under its grams O(l)
+            }
+            IntList postings = cardsByToken[id];
+            int entry = slot << 2 | field;
+            if (postings.size == 0 || postings.values[postings.size - 1] != entry) {
+                postings.add(entry);  // Skip the same token twice in one field
+            }
+        }
+    }
+
+    /**
+     * Files a new token under each of its distinct grams.
+     * Time complexity: O(l) expected, where l is the length of the token.
+     */
+    private void indexToken(String token, int id) {
+        if (id == cardsByToken.length) {
+            cardsByToken = Arrays.copyOf(cardsByToken, id * 2);  // Amortized O(1)
+        }
+        cardsByToken[id] = new IntList();
+        for (long gram : grams(token, false)) {
+            IntList tokens = tokensByGram.get(gram);
+            if (tokens == null) {
+                tokens = new IntList();
+                tokensByGram.put(gram, tokens);
+            }
+            if (tokens.size == 0 || tokens.values[tokens.size - 1] != id) {
+                tokens.add(id);  // Token ids only grow, so a repeated gram is the last entry
+            }
+        }
+    }
+
+    /**
+     * Finds the tokens matching one query term and records, per slot, the best score of the
+     * term among the card's fields in termScores.
+     * Time complexity: O(g + m), where g is the number of postings of the term's grams and
+     * m the postings of the matching tokens.
+     */
+    private void scoreTerm(String term, IntList termSlots) {
+        long[] termGrams = grams(term, true);
+        int needed = term.length() < 3 ? 1 : Math.max(1, (int) Math.ceil(termGrams.length * MIN_FUZZY_OVERLAP));
+        IntList touched = new IntList();
+        for (long gram : termGrams) {
+            IntList tokens = tokensByGram.get(gram);
+            if (tokens == null) {
+                continue;
+            }
+            for (int i = 0; i < tokens.size; i++) {
+                int id = tokens.values[i];
+                if (gramHits[id]++ == 0) {
+                    touched.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < touched.size; i++) {
+            int id = touched.values[i];
+            int hits = gramHits[id];
+            gramHits[id] = 0;
+            if (hits < needed) {
+                continue;
+            }
+            float score = tokenScore(term, vocabulary.get(id), hits, termGrams.length);
+            if (score <= 0) {
+                continue;
+            }
+            IntList postings = cardsByToken[id];
+            for (int p = 0; p < postings.size; p++) {
+                int slot = postings.values[p] >>> 2;
+                if (cards[slot] == null) {
+                    continue;  // Removed, not compacted yet
+                }
+                float fieldScore = score * FIELD_WEIGHTS[postings.values[p] & 3];
+                if (termScores[slot] == 0) {
+                    termSlots.add(slot);
+                }
+                if (fieldScore > termScores[slot]) {
+                    termScores[slot] = fieldScore;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores how well a vocabulary token matches a query term.
+     * Time complexity: O(l), where l is the length of the token.
+     */
+    private static float tokenScore(String term, String token, int hits, int termGrams) {
+        if (token.equals(term)) {
+            return EXACT;
+        }
+        if (token.startsWith(term)) {
+            return PREFIX;
+        }
+        if (token.contains(term)) {
+            return CONTAINS;
+        }
+        if (term.length() < 3) {
+            return 0;  // Short terms only match prefixes
+        }
+        int tokenGrams = gramCount(token.length());
+        return FUZZY * hits / Math.max(termGrams, tokenGrams);
+    }
+
+    /**
+     * Lists the distinct grams of a token: its first letter and first two letters after a
+     * boundary mark, then its trigrams. A query term of one or two letters only uses its
+     * prefix gram, so it matches tokens starting with it.
+     * Time complexity: O(l), where l is the length of the token.
+     */
+    private static long[] grams(String token, boolean query) {
+        int length = token.length();
+        if (query && length < 3) {
+            return new long[]{gram(BOUNDARY, token.charAt(0), length > 1 ? token.charAt(1) : 0)};
+        }
+        long[] grams = new long[gramCount(length) + (query ? -1 : 0)];
+        int count = 0;
+        if (!query) {
+            grams[count++] = gram(BOUNDARY, token.charAt(0), (char) 0);
+        }
+        if (length > 1) {
+            grams[count++] = gram(BOUNDARY, token.charAt(0), token.charAt(1));
+        }
+        for (int i = 0; i + 3 <= length; i++) {
+            long gram = gram(token.charAt(i), token.charAt(i + 1), token.charAt(i + 2));
+            boolean repeated = false;
+            for (int j = 0; j < count && !repeated; j++) {
+                repeated = grams[j] == gram;
+            }
+            if (!repeated) {
+                grams[count++] = gram;
+            }
+        }
+        return count == grams.length ? grams : Arrays.copyOf(grams, count);
+    }
+
+    /**
+     * Returns the number of grams indexed for a token of a given length.
+     * Time complexity: O(1).
+     */
+    private static int gramCount(int length) {
+        return 1 + (length > 1 ? 1 : 0) + Math.max(0, length - 2);
+    }
+
+    /**
+     * Packs three characters into one gram key.
+     * Time complexity: O(1).
+     */
+    private static long gram(char a, char b, char c) {
+        return (long) a << 32 | (long) b << 16 | c;
+    }
+
+    /**
+     * Renumbers the live cards into consecutive slots and drops the postings of removed ones.
+     * Time complexity: O(n + p), where n is the number of slots and p the number of postings.
+     */
+    private void compact() {
+        int[] newSlot = new int[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (cards[slot] == null) {
+                newSlot[slot] = -1;
+            } else {
+                newSlot[slot] = live;
+                cards[live] = cards[slot];
+                slots.put(cards[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(cards, live, slotCount, null);
+        for (int id = 0; id < vocabulary.size(); id++) {
+            IntList postings = cardsByToken[id];
+            int kept = 0;
+            for (int p = 0; p < postings.size; p++) {
+                int slot = newSlot[postings.values[p] >>> 2];
+                if (slot >= 0) {
+                    postings.values[kept++] = slot << 2 | (postings.values[p] & 3);
+                }
+            }
+            postings.size = kept;
+        }
+        slotCount = live;
+        removedCount = 0;
+    }
+
+    /**
+     * Growable list of ints, so postings are not boxed.
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);  // Amortized O(1)
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * CardStateStore keeps per-card view state, keyed by card id, in a small memory-mapped file.
+ * Flipped and favorite flags are bitsets and counters are packed arrays of unsigned shorts, so
+ * a card takes under 5 bytes and ids up to 16k fit in 70 KB. Updates are plain writes into the mapping: O(1), no locks and no
+ * system calls, and they survive the process being killed because the kernel owns the pages.
+ * The file grows (doubling its capacity) when a larger id is written. Cards are kept in
+ * fixed-size segments, so growing only appends segments: recorded state never moves, readers
+ * still using the smaller mapping keep seeing it, and a crash while growing loses nothing.
+ * Card ids must be stable across runs, as they are with SqliteDeckSource. Writes must come from
+ * one thread, the main thread in the app; other threads may read.
+ *
+ * File layout: magic, version, capacity, reserved (4 ints); then one segment per SEGMENT_CARDS
+ * ids, each holding one bitset of SEGMENT_CARDS bits per flag, then one array of SEGMENT_CARDS
+ * unsigned shorts per counter.
+ */
+public class CardStateStore implements Closeable {
+
+    public static final String FILE_NAME = "card-state.bin";  // File name in the app's files directory
+
+    public static final int COUNTER_VIEWS = 0;   // Times the card's page was shown
+    public static final int COUNTER_FLIPS = 1;   // Times the card was flipped to its translation
+    static final int COUNTERS = 2;
+
+    private static final int FLAG_KNOWN = 0;     // The card's flags were recorded at least once
+    private static final int FLAG_FLIPPED = 1;   // The card shows its translation
+    private static final int FLAG_FAVORITE = 2;  // The card is a favorite
+    private static final int FLAGS = 3;
+
+    static final int MAGIC = 0x4C585354;         // "LXST"
+    static final int VERSION = 2;                // 2: fixed-size segments, so growing only appends
+    static final int HEADER_SIZE = 16;
+    static final int SEGMENT_CARDS = 1024;       // Cards per segment, a multiple of 64
+    static final int SEGMENT_SIZE = FLAGS * (SEGMENT_CARDS / 8) + COUNTERS * SEGMENT_CARDS * 2;  // 4,480 bytes
+    static final int MIN_CAPACITY = SEGMENT_CARDS;  // Cards the file holds at first
+    static final int MAX_CAPACITY = 1 << 24;     // Ids from here on are not recorded
+    private static final int MAX_COUNT = 0xFFFF; // Counters stop here instead of wrapping
+
+    private final RandomAccessFile file;         // The open state file
+    private final FileChannel channel;           // Maps the file
+    private volatile MappedByteBuffer map;       // The whole file; its size gives its capacity; replaced when it grows
+
+    /**
+     * Opens a state file, creating it, or starting it over if it is not a state file of this version.
+     * Time complexity: O(c), where c is the capacity of the file, to map it.
+     *
+     * @param path The state file.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public CardStateStore(File path) throws IOException {
+        file = new RandomAccessFile(path, "rw");
+        channel = file.getChannel();
+        try {
+            int existing = readCapacity();
+            if (existing > 0) {
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(existing));
+            } else {
+                file.setLength(0);  // Not ours, or an older layout: start over O(1)
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(MIN_CAPACITY));
+                writeHeader(map, MIN_CAPACITY);
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of cards the file holds before it has to grow.
+     * Time complexity: O(1).
+     *
+     * @return The capacity in cards.
+     */
+    public int getCapacity() {
+        return capacity(map);
+    }
+
+    /**
+     * Tells whether a card's flags were ever recorded.
+     * Time complexity: O(1).
+     *
+     * @param id The card id.
+     * @return True if setFlipped(), setFavorite() or record() was called for the card.
+     */
+    public boolean isKnown(long id) {
+        return getFlag(id, FLAG_KNOWN);
+    }
+
+    /**
+     * Tells whether a card was left showing its translation.
+     * Time complexity: O(1).
+     *
+     * @param id The card id.
+     * @return True if the card is flipped.
+     */
+    public boolean isFlipped(long id) {
+        return getFlag(id, FLAG_FLIPPED);
+    }
+
+    /**
+     * Records whether a card shows its translation.
+     * Time complexity: O(1), amortized over the rare growth of the file.
+     *
+     * @param id      The card id; cards without an id are not recorded.
+     * @param flipped True if the card shows its translation.
+     */
+    public void setFlipped(long id, boolean flipped) {
+        setFlag(id, FLAG_FLIPPED, flipped);
+        setFlag(id, FLAG_KNOWN, true);
+    }
+
+    /**
+     * Tells whether a card was recorded as a favorite.
+     * Time complexity: O(1).
+     *
+     * @param id The card id.
+     * @return True if the card is a favorite.
+     */
+    public boolean isFavorite(long id) {
+        return getFlag(id, FLAG_FAVORITE);
+    }
+
+    /**
+     * Records whether a card is a favorite.
+     * Time complexity: O(1), amortized over the rare growth of the file.
+     *
+     * @param id       The card id; cards without an id are not recorded.
+     * @param favorite True if the card is a favorite.
+     */
+    public void setFavorite(long id, boolean favorite) {
+        setFlag(id, FLAG_FAVORITE, favorite);
+        setFlag(id, FLAG_KNOWN, true);
+    }
+
+    /**
+     * Returns a counter of a card.
+     * Time complexity: O(1).
+     *
+     * @param id      The card id.
+     * @param counter COUNTER_VIEWS or COUNTER_FLIPS.
+     * @return The count, at most 65535; 0 for cards never counted.
+     */
+    public int getCount(long id, int counter) {
+        int index = index(id);
+        MappedByteBuffer current = map;
+        if (index < 0 || index >= capacity(current)) {  // The capacity of this very mapping
+            return 0;
+        }
+        return current.getShort(counterPosition(index, counter)) & MAX_COUNT;
+    }
+
+    /**
+     * Adds one to a counter of a card, stopping at 65535.
+     * Time complexity: O(1), amortized over the rare growth of the file.
+     *
+     * @param id      The card id; cards without an id are not counted.
+     * @param counter COUNTER_VIEWS or COUNTER_FLIPS.
+     * @return The new count, or 0 if the card has no id.
+     */
+    public int increment(long id, int counter) {
+        if (counter < 0 || counter >= COUNTERS) {
+            throw new IllegalArgumentException("Unknown counter: " + counter);
+        }
+        int index = index(id);
+        if (index < 0) {
+            return 0;
+        }
+        ensureCapacity(index);
+        MappedByteBuffer current = map;
+        int position = counterPosition(index, counter);
+        int count = Math.min(MAX_COUNT, (current.getShort(position) & MAX_COUNT) + 1);
+        current.putShort(position, (short) count);  // O(1)
+        return count;
+    }
+
+    /**
+     * Records the flipped and favorite state of a card.
+     * Time complexity: O(1).
+     *
+     * @param card The card; ignored if it has no id.
+     */
+    public void record(Card card) {
+        setFlipped(card.getId(), card.isFlipped());
+        setFavorite(card.getId(), card.isFavorite());
+    }
+
+    /**
+     * Gives a card the flipped and favorite state recorded for it, if any.
+     * Call it before the card gets a change listener, so restoring saves nothing twice.
+     * Time complexity: O(1).
+     *
+     * @param card The card to restore.
+     * @return True if the recorded favorite status differed from the card's.
+     */
+    public boolean restore(Card card) {
+        long id = card.getId();
+        if (!isKnown(id)) {
+            return false;  // Nothing recorded yet O(1)
+        }
+        card.setFlipped(isFlipped(id));
+        boolean favorite = isFavorite(id);
+        boolean changed = card.isFavorite() != favorite;
+        card.setFavorite(favorite);
+        return changed;
+    }
+
+    /**
+     * Writes the mapped pages to the disk now, e.g., when the app goes to the background.
+     * Not needed to survive the process being killed, only the device losing power.
+     * Time complexity: O(c), where c is the capacity of the file.
+     */
+    public void flush() {
+        map.force();
+    }
+
+    /**
+     * Closes the file. The mapping stays valid until it is garbage collected, but must not be used.
+     * Time complexity: O(1).
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Reads one flag bit.
+     * Time complexity: O(1).
+     */
+    private boolean getFlag(long id, int flag) {
+        int index = index(id);
+        MappedByteBuffer current = map;
+        if (index < 0 || index >= capacity(current)) {  // The capacity of this very mapping
+            return false;  // Never recorded O(1)
+        }
+        long word = current.getLong(flagPosition(index, flag));
+        return (word & 1L << (index & 63)) != 0;
+    }
+
+    /**
+     * Writes one flag bit.
+     * Time complexity: O(1), amortized over the rare growth of the file.
+     */
+    private void setFlag(long id, int flag, boolean value) {
+        int index = index(id);
+        if (index < 0) {
+            return;  // Cards without an id have nothing to key on
+        }
+        ensureCapacity(index);
+        MappedByteBuffer current = map;
+        int position = flagPosition(index, flag);
+        long word = current.getLong(position);
+        long bit = 1L << (index & 63);
+        current.putLong(position, value ? word | bit : word & ~bit);  // O(1)
+    }
+
+    /**
+     * Grows the file so a card index fits by appending zeroed segments. Existing segments stay
+     * where they are, so readers of the smaller mapping are unaffected, and the new capacity is
+     * written to the header only once the segments exist; a crash before that keeps the old one.
+     * Time complexity: O(1) if the index fits; O(c) to grow to a capacity of c cards.
+     */
+    private void ensureCapacity(int index) {
+        if (index < capacity(map)) {
+            return;
+        }
+        synchronized (this) {
+            int oldCapacity = capacity(map);
+            if (index < oldCapacity) {
+                return;
+            }
+            int newCapacity = oldCapacity;
+            while (newCapacity <= index) {
+                newCapacity *= 2;  // Stays a multiple of SEGMENT_CARDS, at most MAX_CAPACITY O(log c)
+            }
+            MappedByteBuffer grown;
+            try {
+                grown = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(newCapacity));  // Extends the file
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to grow the card state file", e);
+            }
+            // Clear only the appended segments, which may hold leftovers of an interrupted growth
+            for (int position = fileSize(oldCapacity); position < fileSize(newCapacity); position += 8) {
+                grown.putLong(position, 0L);
+            }
+            grown.putInt(8, newCapacity);  // Recorded once the segments exist
+            map = grown;  // Readers switch to the grown mapping, whose size is its capacity
+        }
+    }
+
+    /**
+     * Reads the capacity from the header of an existing file.
+     * Time complexity: O(1).
+     *
+     * @return The capacity, or 0 if the file is empty, not a state file, or of another version.
+     */
+    private int readCapacity() throws IOException {
+        if (file.length() < HEADER_SIZE) {
+            return 0;
+        }
+        file.seek(0);
+        int magic = file.readInt();
+        int version = file.readInt();
+        int size = file.readInt();
+        if (magic != MAGIC || version != VERSION || size < MIN_CAPACITY || size > MAX_CAPACITY || size % SEGMENT_CARDS != 0
+                || file.length() < fileSize(size)) {
+            return 0;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the capacity of a mapping from its size, not the header, so a reader still using
+     * a mapping from before the file grew never reads past its end.
+     * Time complexity: O(1).
+     */
+    private static int capacity(MappedByteBuffer buffer) {
+        return (buffer.capacity() - HEADER_SIZE) / SEGMENT_SIZE * SEGMENT_CARDS;
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer, int capacity) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        buffer.putInt(12, 0);
+    }
+
+    /**
+     * Maps a card id to a slot.
+     * Time complexity: O(1).
+     *
+     * @return The slot, or -1 for cards without an id or ids too large for the file.
+     */
+    private static int index(long id) {
+        return id > 0 && id < MAX_CAPACITY ? (int) id : -1;
+    }
+
+    private static int segmentOffset(int index) {
+        return HEADER_SIZE + index / SEGMENT_CARDS * SEGMENT_SIZE;
+    }
+
+    private static int flagPosition(int index, int flag) {
+        return segmentOffset(index) + flag * (SEGMENT_CARDS / 8) + (index % SEGMENT_CARDS >>> 6) * 8;
+    }
+
+    private static int counterPosition(int index, int counter) {
+        return segmentOffset(index) + FLAGS * (SEGMENT_CARDS / 8) + (counter * SEGMENT_CARDS + index % SEGMENT_CARDS) * 2;
+    }
+
+    private static int fileSize(int capacity) {
+        return HEADER_SIZE + capacity / SEGMENT_CARDS * SEGMENT_SIZE;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CardTextCache keeps the conjugate text of cards ready before their pages are bound.
+ * The joined conjugates of the cards just ahead of (and one behind) the bound page are built
+ * on a background thread, and passed through a renderer there, e.g., to measure them into a
+ * PrecomputedText layout, so binding a page only hands finished text to its views. Entries
+ * are kept for the most recently used cards and rebuilt if a card's conjugates are replaced.
+ * A cache hit and a prefetch whose pages are all cached allocate nothing.
+ */
+public class CardTextCache {
+
+    public static final int DEFAULT_CAPACITY = 256;  // Cards whose text is kept
+    public static final int DEFAULT_PREFETCH = 3;    // Pages rendered ahead of the bound one
+    static final String SEPARATOR = ", ";            // Between the conjugates of a card
+
+    private static final Executor RENDERER = createRenderer();  // Shared by all caches
+
+    private final Map<com.example.lexr.Card, CachedText> entries;  // Text by card, least recently used first; guarded by this
+    private final int prefetch;                 // Pages rendered ahead of the bound one
+    private final Executor executor;            // Runs prefetches
+    private final Runnable prefetchTask = this::runPrefetch;  // Reused, so scheduling allocates no task
+    private final AtomicBoolean scheduled = new AtomicBoolean();  // Whether prefetchTask is queued
+    private volatile Renderer renderer;         // Turns joined text into what the view shows, or null
+    private volatile List<com.example.lexr.Card> pendingCards;  // Cards of the latest prefetch request
+    private volatile int pendingPosition;       // Bound position of the latest prefetch request
+
+    /**
+     * Creates a cache rendering on the shared background thread.
+     * Time complexity: O(1).
+     */
+    public CardTextCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_PREFETCH, RENDERER);
+    }
+
+    /**
+     * Creates a cache.
+     * Time complexity: O(1).
+     *
+     * @param capacity The number of cards whose text is kept, at least prefetch + 2.
+     * @param prefetch The number of pages rendered ahead of the bound one.
+     * @param executor Runs prefetches.
+     */
+    CardTextCache(final int capacity, int prefetch, Executor executor) {
+        if (prefetch < 0 || capacity < prefetch + 2) {
+            throw new IllegalArgumentException("Capacity " + capacity + " cannot hold a prefetch of " + prefetch);
+        }
+        this.prefetch = prefetch;
+        this.executor = executor;
+        this.entries = new LinkedHashMap<com.example.lexr.Card, CachedText>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<com.example.lexr.Card, CachedText> eldest) {
+                return size() > capacity;  // Drop the least recently used card O(1)
+            }
+        };
+    }
+
+    /**
+     * Sets the renderer applied to joined text from now on, e.g., one building PrecomputedText
+     * for the conjugates view. Text already cached is kept.
+     * Time complexity: O(1).
+     *
+     * @param renderer The renderer, or null to show the joined text as it is.
+     */
+    public void setRenderer(Renderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Tells whether a renderer has been set.
+     * Time complexity: O(1).
+     *
+     * @return True if a renderer is set.
+     */
+    public boolean hasRenderer() {
+        return renderer != null;
+    }
+
+    /**
+     * Returns the conjugate text of a card, rendering it on the calling thread on a miss.
+     * Time complexity: O(1) expected for a cached card, without allocating; O(m) to render
+     * a miss, where m is the length of the conjugates.
+     *
+     * @param card The card.
+     * @return The conjugates joined by ", ", as rendered.
+     */
+    public CharSequence getConjugates(com.example.lexr.Card card) {
+        List<String> conjugates = card.getConjugates();
+        synchronized (this) {
+            CachedText entry = entries.get(card);  // O(1) expected
+            if (entry != null && entry.source == conjugates) {
+                return entry.text;  // Rendered before, conjugates unchanged O(1)
+            }
+        }
+        CharSequence text = render(conjugates);  // O(m)
+        put(card, conjugates, text);
+        return text;
+    }
+
+    /**
+     * Renders the cards around a bound page in the background, unless they are all cached.
+     * Only the latest request is served, so fast swiping does not queue up stale work.
+     * Time complexity: O(p) expected on the calling thread, where p is the prefetch distance.
+     *
+     * @param cards    The cards being paged through; must not be changed afterwards.
+     * @param position The position of the page being bound.
+     */
+    public void prefetch(List<com.example.lexr.Card> cards, int position) {
+        if (isWindowCached(cards, position)) {
+            return;  // Nothing to do, nothing allocated O(p)
+        }
+        pendingCards = cards;
+        pendingPosition = position;
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(prefetchTask);  // At most one queued prefetch O(1)
+        }
+    }
+
+    /**
+     * Tells whether the text of a card is cached and current.
+     * Time complexity: O(1) expected.
+     *
+     * @param card The card.
+     * @return True if getConjugates() would not render.
+     */
+    public synchronized boolean isCached(com.example.lexr.Card card) {
+        CachedText entry = entries.get(card);
+        return entry != null && entry.source == card.getConjugates();
+    }
+
+    /**
+     * Renders the window of the latest prefetch request, on the executor.
+     * Time complexity: O(p * m), where m is the length of a card's conjugates.
+     */
+    private void runPrefetch() {
+        scheduled.set(false);  // Requests arriving from now on schedule another run
+        List<com.example.lexr.Card> cards = pendingCards;
+        int position = pendingPosition;
+        if (cards == null) {
+            return;
+        }
+        int end = Math.min(cards.size(), position + prefetch + 1);
+        for (int i = Math.max(0, position - 1); i < end; i++) {
+            com.example.lexr.Card card = cards.get(i);
+            if (!isCached(card)) {
+                List<String> conjugates = card.getConjugates();
+                put(card, conjugates, render(conjugates));  // O(m)
+            }
+        }
+    }
+
+    /**
+     * Tells whether every card of a prefetch window is cached.
+     * Time complexity: O(p) expected.
+     */
+    private synchronized boolean isWindowCached(List<com.example.lexr.Card> cards, int position) {
+        int end = Math.min(cards.size(), position + prefetch + 1);
+        for (int i = Math.max(0, position - 1); i < end; i++) {
+            com.example.lexr.Card card = cards.get(i);
+            CachedText entry = entries.get(card);
+            if (entry == null || entry.source != card.getConjugates()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void put(com.example.lexr.Card card, List<String> source, CharSequence text) {
+        entries.put(card, new CachedText(source, text));
+    }
+
+    /**
+     * Joins conjugates and applies the renderer.
+     * Time complexity: O(m), plus the renderer's cost.
+     */
+    private CharSequence render(List<String> conjugates) {
+        String text = String.join(SEPARATOR, conjugates != null ? conjugates : Collections.<String>emptyList());
+        Renderer current = renderer;
+        return current != null ? current.render(text) : text;
+    }
+
+    /**
+     * Creates the single daemon thread that renders for every cache.
+     * The thread exits when idle, so the renderer costs nothing when no cards are shown.
+     * Time complexity: O(1).
+     */
+    private static Executor createRenderer() {
+        ThreadPoolExecutor renderer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "CardTextRenderer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        renderer.allowCoreThreadTimeOut(true);
+        return renderer;
+    }
+
+    /**
+     * Turns joined conjugate text into what a view shows, e.g., a PrecomputedText.
+     * Called on the background thread as well as the main thread.
+     */
+    public interface Renderer {
+
+        /**
+         * Renders text.
+         *
+         * @param text The joined conjugates.
+         * @return The text to show.
+         */
+        CharSequence render(String text);
+    }
+
+    /**
+     * The rendered text of one card, and the conjugates list it was rendered from.
+     */
+    private static final class CachedText {
+        final List<String> source;  // Compared by identity to notice replaced conjugates
+        final CharSequence text;    // The rendered text
+
+        CachedText(List<String> source, CharSequence text) {
+            this.source = source;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+
+/**
+ * CardWriter is where DeckManager saves card changes and review records, e.g., the app's
+ * CardWriteQueue writing them to the database. Both calls may come from any thread, including
+ * the main thread and the deck loader, so an implementation must be thread-safe and must not
+ * block: it copies the state and writes it later, in the background.
+ */
+public interface CardWriter {
+
+    /**
+     * Queues the current favorite status and difficulty level of a card to be saved.
+     *
+     * @param card The card that changed.
+     */
+    void enqueue(Card card);
+
+    /**
+     * Queues the current state of a review record to be saved.
+     *
+     * @param record The record of the card that was reviewed.
+     */
+    void enqueueReview(ReviewRecord record);
+}
@@ -0,0 +1,26 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+
+/**
+ * Clock supplies the current time to code that schedules work, so tests can drive it
+ * with a simulated clock instead of waiting.
+ */
+public interface Clock {
+
+    /**
+     * The wall clock of the device.
+     */
+    Clock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Returns the current time.
+     *
+     * @return The current time in milliseconds since the epoch.
+     */
+    long currentTimeMillis();
+}
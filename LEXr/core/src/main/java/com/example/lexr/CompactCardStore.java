@@ -0,0 +1,139 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * CompactCardStore shrinks the memory each loaded Card holds on to.
+ * The word, translation and conjugates are replaced with shared copies from a StringPool, and
+ * the conjugates of a deck are packed into one array shared by its cards; each card keeps only
+ * a small read-only list view (offset and length) into that array instead of its own list
+ * object, backing array and strings. A packed array is never written after the views over it
+ * are built, so reading a conjugate takes no lock, and it is freed with the last of its cards.
+ */
+public class CompactCardStore {
+
+    private final StringPool pool = new StringPool();  // Shared strings of every card
+    private int conjugateCount;                         // Number of conjugates packed so far
+
+    /**
+     * Rewrites a card in place to use pooled strings and packed conjugates.
+     * The card keeps its identity, so favorites and listeners are unaffected.
+     * Time complexity: O(m + l) expected, where m is the number of conjugates and l the total text length.
+     *
+     * @param card The card to compact.
+     * @return The same card, for chaining.
+     */
+    public Card compact(Card card) {
+        compact(Collections.singletonList(card));
+        return card;
+    }
+
+    /**
+     * Rewrites the cards of a deck in place to use pooled strings, packing all their conjugates
+     * into one array. Cards that are compact already keep their conjugates.
+     * Time complexity: O(c + m + l) expected, where c is the number of cards, m the number of
+     * conjugates and l the total text length.
+     *
+     * @param cards The cards to compact.
+     */
+    public void compact(List<Card> cards) {
+        int total = 0;
+        for (Card card : cards) {
+            if (needsPacking(card.getConjugates())) {
+                total += card.getConjugates().size();  // Size the deck's array once O(c)
+            }
+        }
+        String[] block = new String[total];
+        int next = 0;
+        synchronized (this) {
+            for (Card card : cards) {
+                card.setWord(pool.canonical(card.getWord()));                // Share the word O(l)
+                card.setTranslation(pool.canonical(card.getTranslation()));  // Share the translation O(l)
+                List<String> conjugates = card.getConjugates();
+                if (conjugates != null && conjugates.isEmpty()) {
+                    card.setConjugates(Collections.<String>emptyList());  // Shared empty list O(1)
+                } else if (needsPacking(conjugates)) {
+                    int start = next;
+                    for (String conjugate : conjugates) {
+                        block[next++] = pool.canonical(conjugate);  // O(l)
+                    }
+                    card.setConjugates(new PackedList(block, start, conjugates.size()));  // O(1)
+                }
+            }
+            conjugateCount += next;
+        }
+    }
+
+    /**
+     * Returns the pool holding the shared strings of all compacted cards.
+     * Time complexity: O(1).
+     *
+     * @return The string pool.
+     */
+    public StringPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the number of conjugates packed so far.
+     * Time complexity: O(1).
+     *
+     * @return The number of packed conjugates.
+     */
+    public synchronized int getConjugateCount() {
+        return conjugateCount;
+    }
+
+    /**
+     * Tells whether a conjugate list still holds its own strings.
+     * Time complexity: O(1).
+     */
+    private static boolean needsPacking(List<String> conjugates) {
+        return conjugates != null && !conjugates.isEmpty() && !(conjugates instanceof CompactList);
+    }
+
+    /**
+     * Marks conjugate lists that already share their strings, such as lists read in place
+     * from a deck pack, so compact() leaves them as they are.
+     */
+    interface CompactList {
+    }
+
+    /**
+     * Read-only view of one card's conjugates inside its deck's packed array.
+     * The array is filled before the view is built and the fields are final, so any thread
+     * that sees the view sees the conjugates.
+     */
+    private static final class PackedList extends AbstractList<String> implements RandomAccess, CompactList {
+        private final String[] block;  // Packed conjugates of the deck
+        private final int start;       // Index of the first conjugate in the block
+        private final int size;        // Number of conjugates
+
+        PackedList(String[] block, int start, int size) {
+            this.block = block;
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return block[start + index];  // O(1), no lock and no allocation
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
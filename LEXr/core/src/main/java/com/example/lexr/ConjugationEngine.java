@@ -0,0 +1,670 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ConjugationEngine generates full conjugation tables instead of storing them.
+ * A regular verb needs nothing stored: its paradigm follows from its ending, and each form is
+ * its stem plus the paradigm's ending, with the Spanish spelling rules (pagar -> pague,
+ * conocer -> conozco) applied on the way. Only verbs that break their paradigm are listed,
+ * each as a paradigm id (conjugation class and stem change) plus just the forms that differ,
+ * all kept in flat arrays. Tables are built on demand and the most recently shown are cached.
+ */
+public class ConjugationEngine {
+
+    public static final String SPANISH = "Spanish";
+    public static final String LATIN = "Latin";
+
+    // Tenses; Latin tables have only the present, imperfect and future
+    public static final int PRESENT = 0;
+    public static final int PRETERITE = 1;
+    public static final int IMPERFECT = 2;
+    public static final int FUTURE = 3;
+    public static final int CONDITIONAL = 4;
+    public static final int SUBJUNCTIVE = 5;   // Present subjunctive
+    public static final int TENSES = 6;
+    public static final int PERSONS = 6;       // I, you, he/she, we, you (plural), they
+
+    static final String[] TENSE_NAMES = {"present", "preterite", "imperfect", "future", "conditional", "subjunctive"};
+
+    // Conjugation classes, in the low bits of a paradigm id
+    static final int ES_AR = 0;
+    static final int ES_ER = 1;
+    static final int ES_IR = 2;
+    static final int LA_1 = 3;
+    static final int LA_2 = 4;
+    static final int LA_3 = 5;
+    static final int LA_3IO = 6;
+    static final int LA_4 = 7;
+    private static final int CLASS_MASK = 0x0F;
+    private static final String[] CLASS_NAMES = {"ar", "er", "ir", "1", "2", "3", "3io", "4"};
+
+    // Stem changes of stressed syllables, in the high bits of a paradigm id
+    static final int CHANGE_IE = 1 << 4;       // pensar -> pienso
+    static final int CHANGE_UE = 2 << 4;       // dormir -> duermo
+    static final int CHANGE_I = 3 << 4;        // pedir -> pido
+    private static final int CHANGE_MASK = 3 << 4;
+    private static final String[] CHANGE_NAMES = {"", "ie", "ue", "i"};
+
+    static final int DEFAULT_CACHE_SIZE = 32;  // Tables kept for redisplay
+    private static final int FUTURE_STEM_CELL = TENSES * PERSONS;  // Override cell holding a future stem
+    private static final String RESOURCE_FOLDER = "conjugations/";
+
+    private static final String[] ES_PRESENT_AR = {"o", "as", "a", "amos", "áis", "an"};
+    private static final String[] ES_PRESENT_ER = {"o", "es", "e", "emos", "éis", "en"};
+    private static final String[] ES_PRESENT_IR = {"o", "es", "e", "imos", "ís", "en"};
+    private static final String[] ES_PRETERITE_AR = {"é", "aste", "ó", "amos", "asteis", "aron"};
+    private static final String[] ES_PRETERITE_ER = {"í", "iste", "ió", "imos", "isteis", "ieron"};
+    private static final String[] ES_IMPERFECT_AR = {"aba", "abas", "aba", "ábamos", "abais", "aban"};
+    private static final String[] ES_IMPERFECT_ER = {"ía", "ías", "ía", "íamos", "íais", "ían"};
+    private static final String[] ES_FUTURE = {"é", "ás", "á", "emos", "éis", "án"};
+    private static final String[] ES_CONDITIONAL = {"ía", "ías", "ía", "íamos", "íais", "ían"};
+    private static final String[] ES_SUBJUNCTIVE_AR = {"e", "es", "e", "emos", "éis", "en"};
+    private static final String[] ES_SUBJUNCTIVE_ER = {"a", "as", "a", "amos", "áis", "an"};
+    private static final String[] LA_IMPERFECT_E = {"ebam", "ebas", "ebat", "ebamus", "ebatis", "ebant"};
+    private static final String[] LA_IMPERFECT_IE = {"iebam", "iebas", "iebat", "iebamus", "iebatis", "iebant"};
+    private static final String[] LA_FUTURE_AM = {"am", "es", "et", "emus", "etis", "ent"};
+    private static final String[] LA_FUTURE_IAM = {"iam", "ies", "iet", "iemus", "ietis", "ient"};
+    private static final String[] LA_PRESENT_IO = {"io", "is", "it", "imus", "itis", "iunt"};
+
+    // Endings by conjugation class and tense, null where the language has no such tense
+    private static final String[][][] ENDINGS = {
+            {ES_PRESENT_AR, ES_PRETERITE_AR, ES_IMPERFECT_AR, ES_FUTURE, ES_CONDITIONAL, ES_SUBJUNCTIVE_AR},
+            {ES_PRESENT_ER, ES_PRETERITE_ER, ES_IMPERFECT_ER, ES_FUTURE, ES_CONDITIONAL, ES_SUBJUNCTIVE_ER},
+            {ES_PRESENT_IR, ES_PRETERITE_ER, ES_IMPERFECT_ER, ES_FUTURE, ES_CONDITIONAL, ES_SUBJUNCTIVE_ER},
+            {{"o", "as", "at", "amus", "atis", "ant"}, null, {"abam", "abas", "abat", "abamus", "abatis", "abant"},
+                    {"abo", "abis", "abit", "abimus", "abitis", "abunt"}, null, null},
+            {{"eo", "es", "et", "emus", "etis", "ent"}, null, LA_IMPERFECT_E,
+                    {"ebo", "ebis", "ebit", "ebimus", "ebitis", "ebunt"}, null, null},
+            {{"o", "is", "it", "imus", "itis", "unt"}, null, LA_IMPERFECT_E, LA_FUTURE_AM, null, null},
+            {LA_PRESENT_IO, null, LA_IMPERFECT_IE, LA_FUTURE_IAM, null, null},
+            {LA_PRESENT_IO, null, LA_IMPERFECT_IE, LA_FUTURE_IAM, null, null},
+    };
+
+    private final String[] keys;             // "language<TAB>word" of each listed verb, sorted
+    private final byte[] paradigms;          // Paradigm id of each listed verb
+    private final int[] overrideStart;       // Start of each listed verb's irregular forms, plus an end
+    private final short[] overrideCells;     // Table cell (tense * PERSONS + person) of each irregular form
+    private final String[] overrideForms;    // Irregular forms, verb after verb
+    private final Map<String, Table> cache;  // Recently built tables, least recently used first
+
+    /**
+     * Lays out the verbs added to a builder in sorted flat arrays.
+     * Time complexity: O(v log v + f), where v is the number of listed verbs and f the number of irregular forms.
+     */
+    private ConjugationEngine(Builder builder) {
+        List<Verb> verbs = new ArrayList<>(builder.verbs);
+        Collections.sort(verbs, (a, b) -> a.key.compareTo(b.key));  // O(v log v)
+        int size = verbs.size();
+        keys = new String[size];
+        paradigms = new byte[size];
+        overrideStart = new int[size + 1];
+        int forms = 0;
+        for (Verb verb : verbs) {
+            forms += verb.cells.length;
+        }
+        overrideCells = new short[forms];
+        overrideForms = new String[forms];
+        int next = 0;
+        for (int v = 0; v < size; v++) {
+            Verb verb = verbs.get(v);
+            if (v > 0 && verb.key.equals(keys[v - 1])) {
+                throw new IllegalArgumentException("Verb listed twice: " + verb.key);
+            }
+            keys[v] = verb.key;
+            paradigms[v] = (byte) verb.paradigm;
+            overrideStart[v] = next;
+            System.arraycopy(verb.cells, 0, overrideCells, next, verb.cells.length);
+            System.arraycopy(verb.forms, 0, overrideForms, next, verb.forms.length);
+            next += verb.cells.length;
+        }
+        overrideStart[size] = next;
+        final int cacheSize = builder.cacheSize;
+        cache = new LinkedHashMap<String, Table>(cacheSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Table> eldest) {
+                return size() > cacheSize;  // Drop the least recently shown table O(1)
+            }
+        };
+    }
+
+    /**
+     * Creates an engine listing the irregular verbs bundled with the app for some languages.
+     * Time complexity: O(v log v + f) - See the constructor.
+     *
+     * @param languages The languages to load, e.g., SPANISH and LATIN.
+     * @return The engine.
+     * @throws IllegalStateException If a bundled list is missing or malformed.
+     */
+    public static ConjugationEngine fromClasspath(String... languages) {
+        Builder builder = new Builder();
+        for (String language : languages) {
+            String path = RESOURCE_FOLDER + language + ".tsv";
+            try (InputStream in = ConjugationEngine.class.getClassLoader().getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing conjugation resource: " + path);
+                }
+                builder.addTsv(language, in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read " + path, e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the full conjugation table of a verb, building it unless it was shown recently.
+     * The forms are capitalized like the word.
+     * Time complexity: O(1) for a cached table; otherwise O(log v + t), where t is the size of the table.
+     *
+     * @param language The language of the verb, e.g., the language of its deck.
+     * @param word     The infinitive, or for Latin the first principal part (e.g., "Amo").
+     * @return The table, or null if the word is not a verb of a supported language.
+     */
+    public Table conjugate(String language, String word) {
+        if (language == null || word == null) {
+            return null;
+        }
+        String cacheKey = language + '\t' + word;
+        synchronized (cache) {
+            Table cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;  // Shown recently O(1)
+            }
+        }
+        String key = language + '\t' + ConjugationIndex.key(word);
+        int entry = Arrays.binarySearch(keys, key);  // O(log v)
+        int paradigm = entry >= 0 ? paradigms[entry] : inferParadigm(language, ConjugationIndex.key(word));
+        if (paradigm < 0) {
+            return null;  // Not a verb we can conjugate
+        }
+        Table table = build(word.trim(), paradigm, entry);  // O(t)
+        synchronized (cache) {
+            cache.put(cacheKey, table);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the number of verbs listed as irregular or with a paradigm that cannot be inferred.
+     * Time complexity: O(1).
+     *
+     * @return The number of listed verbs.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of irregular forms stored for all listed verbs.
+     * Time complexity: O(1).
+     *
+     * @return The number of stored forms.
+     */
+    public int getStoredFormCount() {
+        return overrideForms.length;
+    }
+
+    /**
+     * Tells whether the table of a verb is in the cache of recently shown tables.
+     * Time complexity: O(1).
+     */
+    boolean isCached(String language, String word) {
+        synchronized (cache) {
+            return cache.containsKey(language + '\t' + word);
+        }
+    }
+
+    /**
+     * Takes the paradigm of an unlisted verb from its ending.
+     * Time complexity: O(1).
+     *
+     * @param language   The language of the verb.
+     * @param normalized The word, normalized as by ConjugationIndex.key().
+     * @return The paradigm id, or -1 if the word does not look like a verb of the language.
+     */
+    static int inferParadigm(String language, String normalized) {
+        if (normalized.length() < 2 || normalized.indexOf(' ') >= 0) {
+            return -1;
+        }
+        if (SPANISH.equals(language)) {
+            if (normalized.endsWith("ar")) {
+                return ES_AR;
+            } else if (normalized.endsWith("er")) {
+                return ES_ER;
+            } else if (normalized.endsWith("ir")) {
+                return ES_IR;
+            }
+        } else if (LATIN.equals(language)) {
+            if (normalized.endsWith("eo")) {
+                return LA_2;
+            } else if (normalized.endsWith("io")) {
+                return LA_4;
+            } else if (normalized.endsWith("o")) {
+                return LA_1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the table of a verb from its paradigm and irregular forms.
+     * Time complexity: O(t), where t is the size of the table.
+     */
+    private Table build(String word, int paradigm, int entry) {
+        String[] forms = new String[TENSES * PERSONS];
+        String futureStem = null;
+        if (entry >= 0) {
+            for (int i = overrideStart[entry]; i < overrideStart[entry + 1]; i++) {
+                if (overrideCells[i] == FUTURE_STEM_CELL) {
+                    futureStem = overrideForms[i];
+                } else {
+                    forms[overrideCells[i]] = overrideForms[i];  // Irregular forms win O(1)
+                }
+            }
+        }
+        String lower = word.toLowerCase(Locale.ROOT);
+        int conjugation = paradigm & CLASS_MASK;
+        if (conjugation <= ES_IR) {
+            conjugateSpanish(lower, paradigm, futureStem, forms);
+        } else {
+            conjugateLatin(lower, conjugation, forms);
+        }
+        if (!word.isEmpty() && Character.isUpperCase(word.charAt(0))) {
+            for (int i = 0; i < forms.length; i++) {
+                if (forms[i] != null && !forms[i].isEmpty()) {
+                    forms[i] = Character.toUpperCase(forms[i].charAt(0)) + forms[i].substring(1);  // "Hablo"
+                }
+            }
+        }
+        return new Table(word, forms);
+    }
+
+    /**
+     * Fills the regular forms of a Spanish verb into the cells left empty by irregular forms.
+     * Time complexity: O(t), where t is the size of the table.
+     */
+    private static void conjugateSpanish(String infinitive, int paradigm, String futureStem, String[] forms) {
+        int conjugation = paradigm & CLASS_MASK;
+        int change = paradigm & CHANGE_MASK;
+        String[][] endings = ENDINGS[conjugation];
+        String stem = infinitive.substring(0, infinitive.length() - 2);
+        String stressed = changeStem(stem, change, false);  // pens -> piens
+        String closed = conjugation == ES_IR && change != 0 ? changeStem(stem, change, true) : stem;  // dorm -> durm
+        boolean vowelStem = conjugation != ES_AR && !stem.isEmpty() && isVowel(stem.charAt(stem.length() - 1));
+        if (futureStem == null) {
+            futureStem = infinitive.replace('í', 'i');  // reír -> reiré
+        }
+        String irregularYo = forms[PRESENT * PERSONS];
+        for (int person = 0; person < PERSONS; person++) {
+            boolean stress = person != 3 && person != 4;  // Nosotros and vosotros are stressed on the ending
+            fill(forms, PRESENT, person, spell(stress ? stressed : stem, conjugation, endings[PRESENT][person]));
+
+            String preterite = endings[PRETERITE][person];
+            if (vowelStem && preterite.startsWith("i")) {
+                preterite = (person == 2 || person == 5 ? "y" : "í") + preterite.substring(1);  // leyó, leíste
+            }
+            fill(forms, PRETERITE, person, spell(person == 2 || person == 5 ? closed : stem, conjugation, preterite));
+            fill(forms, IMPERFECT, person, stem + endings[IMPERFECT][person]);
+            fill(forms, FUTURE, person, futureStem + endings[FUTURE][person]);
+            fill(forms, CONDITIONAL, person, futureStem + endings[CONDITIONAL][person]);
+
+            String subjunctive = endings[SUBJUNCTIVE][person];
+            if (irregularYo != null && irregularYo.endsWith("o")) {
+                // The subjunctive is built on the yo form: vengo -> venga
+                fill(forms, SUBJUNCTIVE, person, irregularYo.substring(0, irregularYo.length() - 1) + subjunctive);
+            } else {
+                fill(forms, SUBJUNCTIVE, person, spell(stress ? stressed : closed, conjugation, subjunctive));
+            }
+        }
+    }
+
+    /**
+     * Fills the regular forms of a Latin verb into the cells left empty by irregular forms.
+     * Time complexity: O(t), where t is the size of the table.
+     */
+    private static void conjugateLatin(String word, int conjugation, String[] forms) {
+        int suffix = conjugation == LA_1 || conjugation == LA_3 ? 1 : 2;  // amo -> am, doceo -> doc, audio -> aud
+        if (word.length() < suffix) {
+            return;
+        }
+        String stem = word.substring(0, word.length() - suffix);
+        String[][] endings = ENDINGS[conjugation];
+        for (int tense = 0; tense < TENSES; tense++) {
+            if (endings[tense] == null) {
+                continue;  // Not a tense of the table
+            }
+            for (int person = 0; person < PERSONS; person++) {
+                fill(forms, tense, person, stem + endings[tense][person]);
+            }
+        }
+    }
+
+    /**
+     * Sets a form unless an irregular form already took its cell.
+     * Time complexity: O(1).
+     */
+    private static void fill(String[] forms, int tense, int person, String form) {
+        int cell = tense * PERSONS + person;
+        if (forms[cell] == null) {
+            forms[cell] = form;
+        }
+    }
+
+    /**
+     * Joins a stem and an ending, keeping the stem's sound before the ending's vowel:
+     * busc + é -> busqué, pag + e -> pague, rez + e -> rece, conoc + o -> conozco, coj + o -> cojo.
+     * Time complexity: O(l), where l is the length of the form.
+     */
+    private static String spell(String stem, int conjugation, String ending) {
+        if (stem.isEmpty() || ending.isEmpty()) {
+            return stem + ending;
+        }
+        char last = stem.charAt(stem.length() - 1);
+        char vowel = ending.charAt(0);
+        String head = stem.substring(0, stem.length() - 1);
+        if (conjugation == ES_AR && (vowel == 'e' || vowel == 'é')) {
+            if (last == 'c') {
+                return head + "qu" + ending;
+            } else if (last == 'g') {
+                return head + "gu" + ending;
+            } else if (last == 'z') {
+                return head + "c" + ending;
+            }
+        } else if (conjugation != ES_AR && (vowel == 'o' || vowel == 'a')) {
+            if (last == 'g') {
+                return head + "j" + ending;
+            } else if (last == 'c') {
+                boolean afterVowel = !head.isEmpty() && isVowel(head.charAt(head.length() - 1));
+                return head + (afterVowel ? "zc" : "z") + ending;
+            }
+        }
+        return stem + ending;
+    }
+
+    /**
+     * Applies a stem change to the last matching vowel of a stem.
+     * Time complexity: O(l), where l is the length of the stem.
+     *
+     * @param closed True for the -ir forms that close the vowel (durmió) rather than split it (duerme).
+     */
+    private static String changeStem(String stem, int change, boolean closed) {
+        if (change == 0) {
+            return stem;
+        }
+        int at = change == CHANGE_UE ? Math.max(stem.lastIndexOf('o'), stem.lastIndexOf('u')) : stem.lastIndexOf('e');
+        if (at < 0) {
+            return stem;
+        }
+        String replacement;
+        if (change == CHANGE_UE) {
+            replacement = closed ? "u" : "ue";
+        } else if (change == CHANGE_IE) {
+            replacement = closed ? "i" : "ie";
+        } else {
+            replacement = "i";
+        }
+        return stem.substring(0, at) + replacement + stem.substring(at + 1);
+    }
+
+    private static boolean isVowel(char c) {
+        return "aeiouáéíóú".indexOf(c) >= 0;
+    }
+
+    /**
+     * Parses a paradigm column, such as "ar-ie" or "3io".
+     * Time complexity: O(1).
+     *
+     * @return The paradigm id, or -1 if it is not a paradigm of the language.
+     */
+    static int parseParadigm(String language, String column) {
+        String[] parts = column.split("-", -1);
+        int first = SPANISH.equals(language) ? ES_AR : LA_1;
+        int last = SPANISH.equals(language) ? ES_IR : LA_4;
+        for (int conjugation = first; conjugation <= last; conjugation++) {
+            if (!CLASS_NAMES[conjugation].equals(parts[0])) {
+                continue;
+            }
+            if (parts.length == 1) {
+                return conjugation;
+            }
+            for (int change = 1; change < CHANGE_NAMES.length && parts.length == 2 && conjugation <= ES_IR; change++) {
+                if (CHANGE_NAMES[change].equals(parts[1])) {
+                    return conjugation | change << 4;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A listed verb while the engine is being built.
+     */
+    private static final class Verb {
+        final String key;       // "language<TAB>word"
+        final int paradigm;     // Paradigm id
+        final short[] cells;    // Cells of the irregular forms
+        final String[] forms;   // Irregular forms
+
+        Verb(String key, int paradigm, short[] cells, String[] forms) {
+            this.key = key;
+            this.paradigm = paradigm;
+            this.cells = cells;
+            this.forms = forms;
+        }
+    }
+
+    /**
+     * Collects the verbs to list in an engine: irregular verbs, and verbs whose paradigm
+     * cannot be told from their ending.
+     */
+    public static final class Builder {
+        private final List<Verb> verbs = new ArrayList<>();  // Verbs added so far
+        private int cacheSize = DEFAULT_CACHE_SIZE;          // Tables kept by the engine
+
+        /**
+         * Lists a verb.
+         * Time complexity: O(l), where l is the length of the irregular forms column.
+         *
+         * @param language  SPANISH or LATIN.
+         * @param word      The infinitive, or for Latin the first principal part.
+         * @param paradigm  The paradigm, e.g., "ar-ie" or "3io"; empty to take it from the ending.
+         * @param irregular Irregular forms as "tense=form,form,...;tense=...", empty if none.
+         * @return This builder, for chaining.
+         * @throws IllegalArgumentException If the language, paradigm or forms are not understood.
+         */
+        public Builder add(String language, String word, String paradigm, String irregular) {
+            String normalized = ConjugationIndex.key(word);
+            int id = paradigm.isEmpty() ? inferParadigm(language, normalized) : parseParadigm(language, paradigm);
+            if (id < 0) {
+                throw new IllegalArgumentException("Unknown " + language + " paradigm for " + word + ": " + paradigm);
+            }
+            List<Short> cells = new ArrayList<>();
+            List<String> forms = new ArrayList<>();
+            for (String tenseColumn : irregular.isEmpty() ? new String[0] : irregular.split(";")) {
+                int equals = tenseColumn.indexOf('=');
+                int tense = equals < 0 ? -1 : Arrays.asList(TENSE_NAMES).indexOf(tenseColumn.substring(0, equals).trim());
+                if (tense < 0 || ENDINGS[id & CLASS_MASK][tense] == null) {
+                    throw new IllegalArgumentException("Unknown tense for " + word + ": " + tenseColumn);
+                }
+                String[] tenseForms = tenseColumn.substring(equals + 1).split(",", -1);
+                if (tenseForms.length > PERSONS) {
+                    throw new IllegalArgumentException("Too many forms for " + word + ": " + tenseColumn);
+                }
+                if (tense == FUTURE && tenseForms.length == 1 && (id & CLASS_MASK) <= ES_IR) {
+                    cells.add((short) FUTURE_STEM_CELL);  // Stem of the future and conditional
+                    forms.add(tenseForms[0].trim());
+                    continue;
+                }
+                for (int person = 0; person < tenseForms.length; person++) {
+                    String form = tenseForms[person].trim();
+                    if (!form.isEmpty()) {
+                        cells.add((short) (tense * PERSONS + person));
+                        forms.add(form);
+                    }
+                }
+            }
+            short[] cellArray = new short[cells.size()];
+            for (int i = 0; i < cellArray.length; i++) {
+                cellArray[i] = cells.get(i);
+            }
+            verbs.add(new Verb(language + '\t' + normalized, id, cellArray, forms.toArray(new String[0])));
+            return this;
+        }
+
+        /**
+         * Lists the verbs of a tab-separated file of "word, paradigm, irregular forms" rows.
+         * Blank lines and lines starting with '#' are ignored.
+         * Time complexity: O(l), where l is the length of the file.
+         *
+         * @param language The language of the verbs.
+         * @param in       The file; it is not closed.
+         * @return This builder, for chaining.
+         * @throws IOException If the file cannot be read or a row is malformed.
+         */
+        public Builder addTsv(String language, InputStream in) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;  // Ignore blank lines and comments O(1)
+                }
+                String[] columns = line.split("\t", -1);
+                try {
+                    add(language, columns[0].trim(), columns.length > 1 ? columns[1].trim() : "",
+                            columns.length > 2 ? columns[2].trim() : "");
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(language + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Sets how many recently built tables the engine keeps.
+         * Time complexity: O(1).
+         *
+         * @param cacheSize The number of tables, at least 1.
+         * @return This builder, for chaining.
+         */
+        public Builder setCacheSize(int cacheSize) {
+            if (cacheSize < 1) {
+                throw new IllegalArgumentException("Cache size must be positive: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Builds the engine.
+         * Time complexity: O(v log v + f) - See the engine constructor.
+         *
+         * @return The engine.
+         * @throws IllegalArgumentException If a verb was listed twice.
+         */
+        public ConjugationEngine build() {
+            return new ConjugationEngine(this);
+        }
+    }
+
+    /**
+     * The conjugation table of one verb: six persons for each tense of its language.
+     */
+    public static final class Table {
+        private final String word;     // The verb as it was asked for
+        private final String[] forms;  // Forms by tense * PERSONS + person, null for missing tenses
+
+        Table(String word, String[] forms) {
+            this.word = word;
+            this.forms = forms;
+        }
+
+        /**
+         * Returns the verb the table belongs to.
+         * Time complexity: O(1).
+         *
+         * @return The word.
+         */
+        public String getWord() {
+            return word;
+        }
+
+        /**
+         * Tells whether the table has a tense; Latin tables have no preterite, conditional or subjunctive.
+         * Time complexity: O(1).
+         *
+         * @param tense The tense, e.g., PRESENT.
+         * @return True if the tense has forms.
+         */
+        public boolean hasTense(int tense) {
+            return tense >= 0 && tense < TENSES && forms[tense * PERSONS] != null;
+        }
+
+        /**
+         * Returns one form.
+         * Time complexity: O(1).
+         *
+         * @param tense  The tense, e.g., PRESENT.
+         * @param person The person, 0 (I) to 5 (they).
+         * @return The form, or null if the table has no such tense.
+         */
+        public String get(int tense, int person) {
+            if (person < 0 || person >= PERSONS || tense < 0 || tense >= TENSES) {
+                throw new IndexOutOfBoundsException("Tense " + tense + ", person " + person);
+            }
+            return forms[tense * PERSONS + person];
+        }
+
+        /**
+         * Returns the six forms of a tense.
+         * Time complexity: O(1) - A view of the table.
+         *
+         * @param tense The tense, e.g., PRESENT.
+         * @return The forms from the first person singular on, empty if the table has no such tense.
+         */
+        public List<String> getTense(int tense) {
+            if (!hasTense(tense)) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(Arrays.asList(forms).subList(tense * PERSONS, (tense + 1) * PERSONS));
+        }
+
+        /**
+         * Formats the table one tense per line, e.g., "Present: Hablo, Hablas, ...".
+         * Time complexity: O(t), where t is the size of the table.
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int tense = 0; tense < TENSES; tense++) {
+                if (!hasTense(tense)) {
+                    continue;
+                }
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(Character.toUpperCase(TENSE_NAMES[tense].charAt(0))).append(TENSE_NAMES[tense].substring(1))
+                        .append(": ").append(String.join(", ", getTense(tense)));
+            }
+            return text.toString();
+        }
+    }
+}
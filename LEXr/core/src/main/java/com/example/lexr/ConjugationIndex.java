@@ -0,0 +1,396 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ConjugationIndex maps every form of a card back to the card: its word, each conjugate, and
+ * each article-prefixed noun form both with and without the article ("La perra" and "perra").
+ * Forms are matched ignoring case, accents and punctuation, so a word tapped in a sentence,
+ * like "hablo" or "parque.", finds its card.
+ * Forms are kept as 64-bit hashes in an open-addressing table of primitive arrays instead of
+ * a map of strings; each entry records which form of its card it came from, so a match is
+ * confirmed against the card's own text and a hash collision can never return a wrong card.
+ */
+public class ConjugationIndex {
+
+    // Leading articles stripped from noun forms, normalized
+    private static final String[] ARTICLES = {"el", "la", "los", "las", "un", "una", "unos", "unas", "lo"};
+    private static final int FORM_WORD = -1;  // Entry form: the card's word, otherwise conjugate index << 1 | stripped
+    private static final int EMPTY = 0;       // Table slot never used
+    private static final int TOMBSTONE = -1;  // Table slot whose forms were all removed
+
+    // Table: slot -> entry + 1 of the first entry with that hash, EMPTY or TOMBSTONE
+    private int[] table = new int[1024];
+    private int usedSlots;                    // Slots holding a chain or a tombstone
+
+    // Entries, one per (form, card) pair; entries with the same hash are chained
+    private long[] entryHash = new long[256];  // Hash of the normalized form
+    private int[] entryCard = new int[256];    // Card reference of the entry
+    private int[] entryForm = new int[256];    // FORM_WORD, or conjugate index << 1 | 1 if the article was stripped
+    private int[] entryNext = new int[256];    // Next entry with the same hash, or the next free entry; -1 ends
+    private int entryCount;                    // Entries handed out, live or free
+    private int freeEntry = -1;                // Head of the list of removed entries
+    private int size;                          // Live entries
+
+    // Cards by reference number, and the deck each belongs to
+    private Card[] cards = new Card[64];
+    private Deck[] decks = new Deck[64];
+    private final Map<Card, Integer> refs = new IdentityHashMap<>();  // Card -> reference number
+    private int cardCount;                                           // Reference numbers handed out
+
+    /**
+     * Keeps the index in step with a deck whose cards changed.
+     * Time complexity: O(f) per card, where f is the number of forms of the card.
+     *
+     * @param deck    The deck that changed.
+     * @param removed The cards that left the deck.
+     * @param added   The cards that joined the deck.
+     */
+    public synchronized void onCardsChanged(Deck deck, List<Card> removed, List<Card> added) {
+        for (Card card : removed) {
+            remove(card);
+        }
+        for (Card card : added) {
+            add(deck, card);
+        }
+    }
+
+    /**
+     * Indexes every form of a card as it is now.
+     * Time complexity: O(f) expected, where f is the total length of the card's forms.
+     *
+     * @param deck The deck the card belongs to, or null.
+     * @param card The card to index; indexing a card twice has no effect.
+     */
+    public synchronized void add(Deck deck, Card card) {
+        if (refs.containsKey(card)) {
+            return;
+        }
+        if (cardCount == cards.length) {
+            cards = Arrays.copyOf(cards, cardCount * 2);  // Amortized O(1)
+            decks = Arrays.copyOf(decks, cardCount * 2);
+        }
+        int ref = cardCount++;
+        cards[ref] = card;
+        decks[ref] = deck;
+        refs.put(card, ref);
+        addForm(key(card.getWord()), ref, FORM_WORD);
+        List<String> conjugates = card.getConjugates();
+        for (int i = 0; i < conjugates.size(); i++) {
+            String form = key(conjugates.get(i));
+            addForm(form, ref, i << 1);
+            String bare = stripArticle(form);
+            if (bare != null) {
+                addForm(bare, ref, i << 1 | 1);  // "la perra" is also found as "perra"
+            }
+        }
+    }
+
+    /**
+     * Drops every form of a card from the index.
+     * Time complexity: O(f) expected, where f is the total length of the card's forms.
+     *
+     * @param card The card to drop.
+     * @return true if the card was indexed.
+     */
+    public synchronized boolean remove(Card card) {
+        Integer ref = refs.remove(card);
+        if (ref == null) {
+            return false;
+        }
+        removeForms(key(card.getWord()), ref);
+        for (String conjugate : card.getConjugates()) {
+            String form = key(conjugate);
+            removeForms(form, ref);
+            String bare = stripArticle(form);
+            if (bare != null) {
+                removeForms(bare, ref);
+            }
+        }
+        cards[ref] = null;
+        decks[ref] = null;
+        return true;
+    }
+
+    /**
+     * Finds the cards having a form, ignoring case, accents and punctuation.
+     * Time complexity: O(l + k), where l is the length of the form and k the number of cards found.
+     *
+     * @param form A word as written, e.g., "Hablo", "perra" or "parque.".
+     * @return The cards having that form, in the order they were indexed; empty if none.
+     */
+    public synchronized List<Card> lookup(String form) {
+        String key = key(form);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int slot = find(hash(key));
+        if (slot < 0) {
+            return Collections.emptyList();
+        }
+        List<Card> result = new ArrayList<>(1);
+        for (int entry = table[slot] - 1; entry >= 0; entry = entryNext[entry]) {
+            Card card = cards[entryCard[entry]];
+            if (card != null && key.equals(formOf(card, entryForm[entry])) && !result.contains(card)) {
+                result.add(card);  // Confirmed against the card's text O(l)
+            }
+        }
+        if (result.size() > 1) {
+            Collections.reverse(result);  // Chains are newest first
+        }
+        return result;
+    }
+
+    /**
+     * Returns the deck an indexed card was added with.
+     * Time complexity: O(1).
+     *
+     * @param card An indexed card.
+     * @return Its deck, or null if the card is not indexed or was added without one.
+     */
+    public synchronized Deck getDeck(Card card) {
+        Integer ref = refs.get(card);
+        return ref == null ? null : decks[ref];
+    }
+
+    /**
+     * Returns the number of indexed (form, card) pairs.
+     * Time complexity: O(1).
+     *
+     * @return The number of indexed forms.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Normalizes a form for matching: lowercase, no accents, punctuation dropped, single spaces.
+     * Time complexity: O(l), where l is the length of the form.
+     *
+     * @param form The form as written.
+     * @return The normalized form, empty if it has no letters or digits.
+     */
+    static String key(String form) {
+        List<String> tokens = CardSearchIndex.tokenize(form);
+        if (tokens.size() == 1) {
+            return tokens.get(0);
+        }
+        StringBuilder key = new StringBuilder();
+        for (String token : tokens) {
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            key.append(token);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Removes a leading article from a normalized noun form.
+     * Time complexity: O(l), where l is the length of the form.
+     *
+     * @return The form without its article, or null if it has none.
+     */
+    private static String stripArticle(String form) {
+        int space = form.indexOf(' ');
+        if (space < 0) {
+            return null;
+        }
+        String first = form.substring(0, space);
+        for (String article : ARTICLES) {
+            if (article.equals(first)) {
+                return form.substring(space + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the normalized form an entry refers to, read from the card itself.
+     * Time complexity: O(l), where l is the length of the form.
+     */
+    private static String formOf(Card card, int form) {
+        if (form == FORM_WORD) {
+            return key(card.getWord());
+        }
+        List<String> conjugates = card.getConjugates();
+        int index = form >> 1;
+        if (index >= conjugates.size()) {
+            return null;  // The card changed since it was indexed
+        }
+        String key = key(conjugates.get(index));
+        return (form & 1) == 0 ? key : stripArticle(key);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a normalized form, with a final mix so the low bits spread well.
+     * Time complexity: O(l), where l is the length of the form.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Finds the table slot holding the chain of a hash.
+     * Time complexity: O(1) expected.
+     *
+     * @return The slot, or -1 if no live form has this hash.
+     */
+    private int find(long hash) {
+        int mask = table.length - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            int head = table[slot];
+            if (head == EMPTY) {
+                return -1;
+            }
+            if (head != TOMBSTONE && entryHash[head - 1] == hash) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Adds one (form, card) entry, skipping forms the card already has, e.g., "Río" twice.
+     * Time complexity: O(1) expected.
+     */
+    private void addForm(String key, int ref, int form) {
+        if (key.isEmpty()) {
+            return;
+        }
+        long hash = hash(key);
+        int slot = find(hash);
+        if (slot >= 0) {
+            for (int entry = table[slot] - 1; entry >= 0; entry = entryNext[entry]) {
+                if (entryCard[entry] == ref) {
+                    return;  // Another form of this card with the same text
+                }
+            }
+        }
+        int entry = newEntry(hash, ref, form);
+        if (slot >= 0) {
+            entryNext[entry] = table[slot] - 1;  // Push onto the existing chain
+            table[slot] = entry + 1;
+            return;
+        }
+        if ((usedSlots + 1) * 2 > table.length) {
+            rehash();  // Keep the load factor at most 1/2, counting tombstones O(n) amortized
+        }
+        int mask = table.length - 1;
+        slot = (int) hash & mask;
+        while (table[slot] != EMPTY && table[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == EMPTY) {
+            usedSlots++;
+        }
+        entryNext[entry] = -1;
+        table[slot] = entry + 1;
+    }
+
+    /**
+     * Removes the entries of a card for one form.
+     * Time complexity: O(1) expected.
+     */
+    private void removeForms(String key, int ref) {
+        if (key.isEmpty()) {
+            return;
+        }
+        int slot = find(hash(key));
+        if (slot < 0) {
+            return;
+        }
+        int previous = -1;
+        int entry = table[slot] - 1;
+        while (entry >= 0) {
+            int next = entryNext[entry];
+            if (entryCard[entry] == ref) {
+                if (previous < 0) {
+                    table[slot] = next < 0 ? TOMBSTONE : next + 1;
+                } else {
+                    entryNext[previous] = next;
+                }
+                entryNext[entry] = freeEntry;  // Recycle the entry O(1)
+                freeEntry = entry;
+                size--;
+            } else {
+                previous = entry;
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Takes a free entry, growing the entry arrays if none is free.
+     * Time complexity: O(1) amortized.
+     */
+    private int newEntry(long hash, int ref, int form) {
+        int entry;
+        if (freeEntry >= 0) {
+            entry = freeEntry;
+            freeEntry = entryNext[entry];
+        } else {
+            if (entryCount == entryHash.length) {
+                int capacity = entryCount * 2;
+                entryHash = Arrays.copyOf(entryHash, capacity);
+                entryCard = Arrays.copyOf(entryCard, capacity);
+                entryForm = Arrays.copyOf(entryForm, capacity);
+                entryNext = Arrays.copyOf(entryNext, capacity);
+            }
+            entry = entryCount++;
+        }
+        entryHash[entry] = hash;
+        entryCard[entry] = ref;
+        entryForm[entry] = form;
+        size++;
+        return entry;
+    }
+
+    /**
+     * Rebuilds the table without tombstones, doubling it if it is more than a quarter full.
+     * Time complexity: O(n), where n is the number of slots.
+     */
+    private void rehash() {
+        int[] old = table;
+        int live = 0;
+        for (int head : old) {
+            if (head != EMPTY && head != TOMBSTONE) {
+                live++;
+            }
+        }
+        int capacity = old.length;
+        while ((live + 1) * 4 > capacity) {
+            capacity *= 2;
+        }
+        table = new int[capacity];
+        usedSlots = 0;
+        int mask = capacity - 1;
+        for (int head : old) {
+            if (head != EMPTY && head != TOMBSTONE) {
+                int slot = (int) entryHash[head - 1] & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = head;
+                usedSlots++;
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * The Deck class represents a collection of cards for a specific language.
+ * It supports adding, removing, and shuffling cards, and allows setting the deck's
+ * name, difficulty rating, and active status.
+ * Has other feature for future updates: ie difficulty.
+ * The cards are kept as an immutable snapshot that is replaced, never changed, when cards are
+ * added or removed, so any number of threads can read a deck while it is being edited.
+ * Shuffling returns a separate view instead of reordering the deck, so each screen can have
+ * its own order without copying cards.
+ */
+public class Deck {
+
+    // Fields representing the properties of the deck
+    private final String id;          // The stable id of the deck (e.g., "SpanishDeck1")
+    private String language;          // The language of the deck (e.g., Spanish, Latin)
+    private volatile CardView cards = CardView.EMPTY;  // Immutable snapshot of the cards, replaced on change
+    private String deckName;          // The name of the deck
+    private int difficultyRating;     // The difficulty rating of the deck
+    private boolean isActive;         // Indicates if the deck is active or inactive
+    private OnDeckChangedListener listener;  // Notified when an indexed property changes, may be null
+    private OnCardsChangedListener cardsListener;  // Notified when cards are added or removed, may be null
+
+    /**
+     * Constructor for the Deck class.
+     * Initializes the deck with a specified language, an empty card list,
+     * a default deck name, a default difficulty rating, and sets the deck to active.
+     *
+     * Time complexity: O(1) - Constant time for initializing the fields.
+     *
+     * @param language The language of the deck (e.g., "Spanish", "Latin").
+     */
+    public Deck(String language) {
+        this(language, language, "Default");  // The language doubles as the id O(1)
+    }
+
+    /**
+     * Constructor for a deck with a stable id, a language and a display name.
+     * The deck starts with an empty card list, a default difficulty rating and is active.
+     *
+     * Time complexity: O(1) - Constant time for initializing the fields.
+     *
+     * @param id       The stable id of the deck (e.g., "SpanishDeck1").
+     * @param language The language of the deck (e.g., "Spanish", "Latin").
+     * @param deckName The display name of the deck.
+     */
+    public Deck(String id, String language, String deckName) {
+        this.id = id;                      // Set the id of the deck O(1)
+        this.language = language;          // Set the language of the deck O(1)
+        this.cards = CardView.EMPTY;       // Start with no cards O(1)
+        this.deckName = deckName;          // Set the deck name O(1)
+        this.difficultyRating = 1;         // Default difficulty rating O(1)
+        this.isActive = true;              // Deck is active by default O(1)
+    }
+
+    /**
+     * Adds a card to the deck by publishing a new snapshot; readers of the old one are unaffected.
+     *
+     * Time complexity: O(n) - The card array is copied, where n is the number of cards in the deck.
+     *
+     * @param card The card to be added to the deck.
+     */
+    public synchronized void addCard(com.example.lexr.Card card) {
+        com.example.lexr.Card[] base = cards.toArray(new com.example.lexr.Card[cards.size() + 1]);  // O(n)
+        base[base.length - 1] = card;
+        cards = new CardView(base, null);  // Publish the new snapshot O(1)
+        notifyCardsChanged(Collections.<com.example.lexr.Card>emptyList(), Collections.singletonList(card));
+    }
+
+    /**
+     * Adds several cards to the end of the deck by publishing a single new snapshot, so a bulk
+     * import copies the deck once per batch instead of once per card.
+     *
+     * Time complexity: O(n + b) - The card array is copied, where n is the number of cards in the deck
+     * and b is the number of cards added.
+     *
+     * @param added The cards to add, in order.
+     */
+    public synchronized void addCards(List<com.example.lexr.Card> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        int size = cards.size();
+        com.example.lexr.Card[] base = cards.toArray(new com.example.lexr.Card[size + added.size()]);  // O(n)
+        for (int i = 0; i < added.size(); i++) {
+            base[size + i] = added.get(i);  // O(b)
+        }
+        cards = new CardView(base, null);  // Publish the new snapshot O(1)
+        notifyCardsChanged(Collections.<com.example.lexr.Card>emptyList(), added);  // Listeners are called before returning
+    }
+
+    /**
+     * Removes the first occurrence of a card from the deck by publishing a new snapshot.
+     *
+     * Time complexity: O(n) - Finding the card and copying the rest, where n is the number of cards in the deck.
+     *
+     * @param card The card to be removed from the deck.
+     */
+    public synchronized void removeCard(com.example.lexr.Card card) {
+        CardView current = cards;
+        int index = current.indexOf(card);  // O(n)
+        if (index < 0) {
+            return;  // Not in the deck O(1)
+        }
+        com.example.lexr.Card[] base = new com.example.lexr.Card[current.size() - 1];
+        for (int i = 0, j = 0; i < current.size(); i++) {
+            if (i != index) {
+                base[j++] = current.get(i);  // O(n)
+            }
+        }
+        cards = new CardView(base, null);  // Publish the new snapshot O(1)
+        notifyCardsChanged(Collections.singletonList(card), Collections.<com.example.lexr.Card>emptyList());
+    }
+
+    /**
+     * Returns the cards of the deck in a random order, without changing the deck.
+     * The view shares the deck's current snapshot and only holds an index permutation,
+     * so every session can shuffle on its own.
+     *
+     * Time complexity: O(n) - A Fisher-Yates shuffle of n indexes; no card is copied.
+     *
+     * @param random The source of randomness, e.g., seeded for a repeatable order.
+     * @return A read-only view of the cards in shuffled order; deckPosition() maps back to deck order.
+     */
+    public CardView shuffledCards(Random random) {
+        return cards.shuffled(random);  // Shuffle the current snapshot O(n)
+    }
+
+    /**
+     * Returns the cards of the deck in a weighted random order, without changing the deck:
+     * harder cards and favorites tend to come first. See WeightedCardSampler.
+     *
+     * Time complexity: O(n k) - Drawing n cards without replacement, where k is the number of
+     * distinct card weights; no card is copied.
+     *
+     * @param random The source of randomness, e.g., seeded for a repeatable order.
+     * @return A read-only view of the cards in weighted order; deckPosition() maps back to deck order.
+     */
+    public CardView weightedCards(Random random) {
+        CardView current = cards;
+        return current.reordered(new WeightedCardSampler(current).order(random));  // O(n k)
+    }
+
+    // Getters
+
+    /**
+     * Gets the stable id of the deck.
+     *
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The id of the deck.
+     */
+    public String getId() {
+        return id;  // Return the id of the deck O(1)
+    }
+
+    /**
+     * Gets the cards in the deck as an immutable snapshot.
+     * The snapshot never changes; later edits to the deck publish a new one.
+     *
+     * Time complexity: O(1) - Returning the snapshot reference is constant time.
+     *
+     * @return A read-only list of the cards in the deck.
+     */
+    public List<com.example.lexr.Card> getCards() {
+        return cards;  // Return the current snapshot O(1)
+    }
+
+    /**
+     * Gets the language of the deck.
+     *
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The language of the deck.
+     */
+    public String getLanguage() {
+        return language;  // Return the language of the deck O(1)
+    }
+
+    /**
+     * Gets the name of the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The deck's name.
+     */
+    public String getDeckName() {
+        return deckName;  // Return the deck's name O(1)
+    }
+
+    /**
+     * Gets the difficulty rating of the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The difficulty rating of the deck.
+     */
+    public int getDifficultyRating() {
+        return difficultyRating;  // Return the difficulty rating O(1)
+    }
+
+    /**
+     * Checks if the deck is active.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return True if the deck is active, false otherwise.
+     */
+    public boolean isActive() {
+        return isActive;  // Return the active status O(1)
+    }
+
+    // Setters
+
+    /**
+     * Sets the cards in the deck. The list is copied, so later changes to it do not affect the deck.
+     * Time complexity: O(n) - Copying n card references into a new snapshot.
+     *
+     * @param cards The list of cards to set for the deck.
+     */
+    public synchronized void setCards(List<com.example.lexr.Card> cards) {
+        CardView old = this.cards;
+        this.cards = new CardView(cards.toArray(new com.example.lexr.Card[cards.size()]), null);  // O(n)
+        notifyCardsChanged(old, this.cards);
+    }
+
+    /**
+     * Sets the language of the deck.
+     * Time complexity: O(1) - Assigning a string is constant time.
+     *
+     * @param language The language to set for the deck.
+     */
+    public void setLanguage(String language) {
+        this.language = language;  // Set the language O(1)
+        notifyChanged();
+    }
+
+    /**
+     * Sets the name of the deck.
+     * Time complexity: O(1) - Assigning a string is constant time.
+     *
+     * @param deckName The name to set for the deck.
+     */
+    public void setDeckName(String deckName) {
+        this.deckName = deckName;  // Set the deck's name O(1)
+        notifyChanged();
+    }
+
+    /**
+     * Sets the difficulty rating for the deck.
+     * Time complexity: O(1) - Assigning an integer is constant time.
+     *
+     * @param difficultyRating The difficulty rating to set.
+     */
+    public void setDifficultyRating(int difficultyRating) {
+        this.difficultyRating = difficultyRating;  // Set the difficulty rating O(1)
+        notifyChanged();
+    }
+
+    /**
+     * Sets whether the deck is active or inactive.
+     * Time complexity: O(1) - Assigning a boolean is constant time.
+     *
+     * @param active True to set the deck as active, false to set it as inactive.
+     */
+    public void setActive(boolean active) {
+        this.isActive = active;  // Set the active status O(1)
+        notifyChanged();
+    }
+
+    /**
+     * Sets the listener notified when the language, name, difficulty rating or active status changes.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param listener The listener to notify, or null to stop notifying.
+     */
+    public void setOnDeckChangedListener(OnDeckChangedListener listener) {
+        this.listener = listener;  // Set the change listener O(1)
+    }
+
+    /**
+     * Sets the listener notified when cards are added, removed or replaced.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param listener The listener to notify, or null to stop notifying.
+     */
+    public synchronized void setOnCardsChangedListener(OnCardsChangedListener listener) {
+        this.cardsListener = listener;  // Set the cards listener O(1)
+    }
+
+    /**
+     * Tells the cards listener, if any, which cards left and joined the deck. Called while the
+     * deck is locked, so the listener sees the changes in the order they were made.
+     * Time complexity: O(1) - A single callback.
+     */
+    private void notifyCardsChanged(List<com.example.lexr.Card> removed, List<com.example.lexr.Card> added) {
+        if (cardsListener != null && (!removed.isEmpty() || !added.isEmpty())) {
+            cardsListener.onCardsChanged(this, removed, added);
+        }
+    }
+
+    /**
+     * Tells the listener, if any, that an indexed property of the deck changed.
+     * Time complexity: O(1) - A single callback.
+     */
+    private void notifyChanged() {
+        if (listener != null) {
+            listener.onDeckChanged(this);
+        }
+    }
+
+    /**
+     * Read-only view of a deck's cards: a card array that is never changed after it is
+     * published, seen either in deck order or through an index permutation.
+     * Views are immutable, so they can be shared between threads without locking.
+     */
+    public static final class CardView extends AbstractList<com.example.lexr.Card> implements RandomAccess {
+        static final CardView EMPTY = new CardView(new com.example.lexr.Card[0], null);  // Shared empty deck
+
+        private final com.example.lexr.Card[] base;  // The deck's cards in deck order
+        private final int[] order;                   // Positions in base, in view order; null for deck order
+
+        /**
+         * Constructor for the CardView class.
+         * Time complexity: O(1) - Neither array is copied.
+         *
+         * @param base  The deck's cards in deck order; must not be changed afterwards.
+         * @param order Positions in base in view order, or null for deck order.
+         */
+        CardView(com.example.lexr.Card[] base, int[] order) {
+            this.base = base;
+            this.order = order;
+        }
+
+        /**
+         * Returns a view of the same cards in a new random order.
+         * Time complexity: O(n) - A Fisher-Yates shuffle of n indexes.
+         *
+         * @param random The source of randomness.
+         * @return The shuffled view.
+         */
+        public CardView shuffled(Random random) {
+            int[] shuffled = new int[base.length];
+            for (int i = 0; i < shuffled.length; i++) {
+                int j = random.nextInt(i + 1);  // Inside-out Fisher-Yates O(1)
+                shuffled[i] = shuffled[j];
+                shuffled[j] = i;
+            }
+            return new CardView(base, shuffled);
+        }
+
+        /**
+         * Returns a view of the same cards in a given order.
+         * Time complexity: O(n).
+         *
+         * @param positions Positions in this view, in the new order.
+         * @return The reordered view.
+         */
+        CardView reordered(int[] positions) {
+            int[] reordered = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                reordered[i] = deckPosition(positions[i]);  // O(1)
+            }
+            return new CardView(base, reordered);
+        }
+
+        /**
+         * Returns where the card at a view position sits in deck order.
+         * Time complexity: O(1).
+         *
+         * @param position A position in this view.
+         * @return The position of the same card in the deck.
+         */
+        public int deckPosition(int position) {
+            return order == null ? position : order[position];
+        }
+
+        /**
+         * Returns the card at a position of this view.
+         * Time complexity: O(1) - Two array reads.
+         *
+         * @param position A position in this view.
+         * @return The card at that position.
+         */
+        @Override
+        public com.example.lexr.Card get(int position) {
+            return base[deckPosition(position)];
+        }
+
+        /**
+         * Returns the number of cards in the view.
+         * Time complexity: O(1).
+         *
+         * @return The number of cards.
+         */
+        @Override
+        public int size() {
+            return base.length;
+        }
+    }
+
+    /**
+     * Listener notified when a property of a deck that DeckRegistry indexes changes.
+     */
+    public interface OnDeckChangedListener {
+
+        /**
+         * Called after the language, name, difficulty rating or active status of the deck changed.
+         *
+         * @param deck The deck that changed.
+         */
+        void onDeckChanged(Deck deck);
+    }
+
+    /**
+     * Listener notified when the cards of a deck change, e.g., to keep a search index current.
+     */
+    public interface OnCardsChangedListener {
+
+        /**
+         * Called after cards were added to or removed from the deck, or all its cards replaced.
+         *
+         * @param deck    The deck that changed.
+         * @param removed The cards that left the deck; empty if none.
+         * @param added   The cards that joined the deck; empty if none.
+         */
+        void onCardsChanged(Deck deck, List<com.example.lexr.Card> removed, List<com.example.lexr.Card> added);
+    }
+}
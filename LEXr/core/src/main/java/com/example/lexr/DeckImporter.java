@@ -0,0 +1,572 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeckImporter adds the cards of a spreadsheet export to a deck. Each row holds
+ * "word, conjugates, translation[, difficulty]", as CSV (quoted fields may hold commas, quotes
+ * doubled, and line breaks) or TSV, with the conjugates separated by semicolons; a header row
+ * starting with "word", blank lines and lines starting with '#' are skipped.
+ * The file is streamed in chunks of rows on the calling thread, the chunks are parsed and
+ * validated in parallel on a shared worker pool, and the cards of each chunk are added to the
+ * deck in one batch, in file order. Besides the column checks, each card must pass the error
+ * rules of a DeckValidator. Rows that fail validation are reported with their line number
+ * instead of stopping the import. At most a few chunks per worker are held at once, so
+ * a file of any size imports in bounded memory.
+ */
+public class DeckImporter {
+
+    public static final int DEFAULT_CHUNK_ROWS = 4096;  // Rows parsed as one task and added as one batch
+    public static final int MAX_KEPT_ERRORS = 1000;     // Row errors kept for the result; more are only counted
+    static final int IN_FLIGHT_PER_WORKER = 2;          // Chunks read ahead per worker
+    private static final String CONJUGATE_SEPARATOR = ";";
+
+    private static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final Executor WORKERS = createWorkers();  // Shared by all imports
+
+    private final Format format;    // How rows are split into fields
+    private final int chunkRows;    // Rows per chunk
+    private final Executor executor;  // Parses chunks
+    private final int maxInFlight;  // Chunks read but not yet added
+    private final DeckValidator validator;  // Card rules every imported card must pass
+
+    /**
+     * Creates an importer parsing on the shared worker pool and checking cards with the default rules.
+     * Time complexity: O(1).
+     *
+     * @param format How rows are split into fields.
+     */
+    public DeckImporter(Format format) {
+        this(format, DeckValidator.defaults());
+    }
+
+    /**
+     * Creates an importer parsing on the shared worker pool.
+     * Time complexity: O(1).
+     *
+     * @param format    How rows are split into fields.
+     * @param validator Rejects rows whose card breaks one of its error rules.
+     */
+    public DeckImporter(Format format, DeckValidator validator) {
+        this(format, DEFAULT_CHUNK_ROWS, WORKERS, WORKER_COUNT, validator);
+    }
+
+    /**
+     * Creates an importer.
+     * Time complexity: O(1).
+     *
+     * @param format      How rows are split into fields.
+     * @param chunkRows   The rows per chunk, at least 1.
+     * @param executor    Parses chunks.
+     * @param parallelism The number of threads of the executor, to size the read-ahead.
+     * @param validator   Rejects rows whose card breaks one of its error rules.
+     */
+    DeckImporter(Format format, int chunkRows, Executor executor, int parallelism, DeckValidator validator) {
+        if (chunkRows < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Chunk rows and parallelism must be at least 1");
+        }
+        this.format = format;
+        this.chunkRows = chunkRows;
+        this.executor = executor;
+        this.maxInFlight = parallelism * IN_FLIGHT_PER_WORKER;
+        this.validator = validator;
+    }
+
+    /**
+     * Imports a file into a deck, choosing CSV or TSV by its extension.
+     * Time complexity: O(l / p + c), where l is the length of the file, p the number of workers
+     * and c the number of cards in the deck, copied once per batch.
+     *
+     * @param file     The file; ".csv" is read as CSV, anything else as TSV.
+     * @param deck     The deck to add the cards to.
+     * @param listener Told about each batch added, or null.
+     * @return What was imported, and the rows that were not.
+     * @throws IOException If the file cannot be read.
+     */
+    public static Result importFile(File file, Deck deck, Listener listener) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return new DeckImporter(Format.forFile(file)).importStream(in, deck, listener);
+        }
+    }
+
+    /**
+     * Imports a stream into a deck. The stream is read on the calling thread and not closed.
+     * Time complexity: O(l / p + c), where l is the length of the text, p the number of workers
+     * and c the number of cards in the deck, copied once per batch.
+     *
+     * @param in       The UTF-8 text to import.
+     * @param deck     The deck to add the cards to.
+     * @param listener Told about each batch added, on the calling thread, or null.
+     * @return What was imported, and the rows that were not.
+     * @throws IOException If the text cannot be read.
+     */
+    public Result importStream(InputStream in, Deck deck, Listener listener) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        Result result = new Result();
+        ArrayDeque<FutureTask<Chunk>> inFlight = new ArrayDeque<>();
+        RecordReader records = new RecordReader(reader, format);
+        try {
+            Chunk chunk;
+            while ((chunk = records.next(chunkRows)) != null) {  // O(k) for k characters
+                final Chunk parsing = chunk;
+                FutureTask<Chunk> task = new FutureTask<>(() -> parse(parsing, deck));
+                executor.execute(task);
+                inFlight.add(task);
+                if (inFlight.size() >= maxInFlight) {
+                    commit(await(inFlight.poll()), deck, result, listener);  // Oldest first keeps file order
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                commit(await(inFlight.poll()), deck, result, listener);
+            }
+        } finally {
+            for (FutureTask<Chunk> task : inFlight) {
+                task.cancel(false);  // Left over after a failure
+            }
+        }
+        if (records.unterminatedLine > 0) {
+            result.addError(new RowError(records.unterminatedLine, "unterminated quoted field"));
+            result.rows++;
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Adds a parsed chunk's cards to the deck as one batch and counts its rows.
+     * Time complexity: O(c + b), where c is the number of cards in the deck and b in the batch.
+     */
+    private static void commit(Chunk chunk, Deck deck, Result result, Listener listener) {
+        deck.addCards(chunk.cards);  // One snapshot per batch O(c + b)
+        result.rows += chunk.size;
+        result.imported += chunk.cards.size();
+        for (RowError error : chunk.errors) {
+            result.addError(error);
+        }
+        if (listener != null) {
+            listener.onBatchAdded(result.rows, result.imported, result.errorCount);
+        }
+    }
+
+    private static Chunk await(FutureTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to parse rows", e.getCause());
+        }
+    }
+
+    /**
+     * Parses and validates the rows of a chunk, on a worker.
+     * Time complexity: O(k + s r), where k is the number of characters in the chunk, s the number of
+     * rows and r the number of card rules.
+     */
+    private Chunk parse(Chunk chunk, Deck deck) {
+        List<String> fields = new ArrayList<>(4);
+        for (int i = 0; i < chunk.size; i++) {
+            String record = chunk.records[i];
+            int line = chunk.lines[i];
+            chunk.records[i] = null;  // Let the text go once parsed
+            fields.clear();
+            if (format == Format.CSV) {
+                splitCsv(record, fields);
+            } else {
+                splitTsv(record, fields);
+            }
+            String error = validate(fields);
+            if (error != null) {
+                chunk.errors.add(new RowError(line, error));
+                continue;
+            }
+            Card card = new Card(fields.get(0).trim(), parseConjugates(fields.get(1)), fields.get(2).trim());
+            if (fields.size() > 3 && !fields.get(3).trim().isEmpty()) {
+                card.setDifficultyLevel(Integer.parseInt(fields.get(3).trim()));  // Checked by validate()
+            }
+            error = validator.firstError(deck, card);  // Rules added to the validator O(r)
+            if (error != null) {
+                chunk.errors.add(new RowError(line, error));
+                continue;
+            }
+            chunk.cards.add(card);
+        }
+        return chunk;
+    }
+
+    /**
+     * Checks the fields of a row.
+     * Time complexity: O(k), where k is the length of the row.
+     *
+     * @param fields The fields of the row.
+     * @return What is wrong with the row, or null if it is a valid card.
+     */
+    static String validate(List<String> fields) {
+        if (fields.size() < 3 || fields.size() > 4) {
+            return "expected word, conjugates, translation and optional difficulty, found " + fields.size() + " columns";
+        }
+        if (fields.get(0).trim().isEmpty()) {
+            return "missing word";
+        }
+        if (fields.get(2).trim().isEmpty()) {
+            return "missing translation";
+        }
+        String conjugates = fields.get(1).trim();
+        if (!conjugates.isEmpty()) {
+            for (String conjugate : conjugates.split(CONJUGATE_SEPARATOR, -1)) {
+                if (conjugate.trim().isEmpty()) {
+                    return "empty conjugate in \"" + conjugates + "\"";
+                }
+            }
+        }
+        if (fields.size() > 3 && !fields.get(3).trim().isEmpty()) {
+            String difficulty = fields.get(3).trim();
+            int level;
+            try {
+                level = Integer.parseInt(difficulty);
+            } catch (NumberFormatException e) {
+                return "difficulty is not a number: " + difficulty;
+            }
+            if (level < 1 || level > ReviewScheduler.MAX_DIFFICULTY) {
+                return "difficulty must be from 1 to " + ReviewScheduler.MAX_DIFFICULTY + ", not " + level;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits the conjugate column of a valid row into a list, trimming each conjugate.
+     * Time complexity: O(k), where k is the length of the column.
+     */
+    static List<String> parseConjugates(String column) {
+        String trimmed = column.trim();
+        if (trimmed.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] conjugates = trimmed.split(CONJUGATE_SEPARATOR, -1);
+        for (int i = 0; i < conjugates.length; i++) {
+            conjugates[i] = conjugates[i].trim();
+        }
+        return Collections.unmodifiableList(Arrays.asList(conjugates));
+    }
+
+    /**
+     * Splits a TSV row on tabs.
+     * Time complexity: O(k), where k is the length of the row.
+     */
+    static void splitTsv(String record, List<String> fields) {
+        int start = 0;
+        int tab;
+        while ((tab = record.indexOf('\t', start)) >= 0) {
+            fields.add(record.substring(start, tab));
+            start = tab + 1;
+        }
+        fields.add(record.substring(start));
+    }
+
+    /**
+     * Splits a CSV record on commas outside quotes, removing the quotes around fields and
+     * turning doubled quotes inside them into one. The record may span lines.
+     * Time complexity: O(k), where k is the length of the record.
+     */
+    static void splitCsv(String record, List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');  // A doubled quote O(1)
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+    }
+
+    /**
+     * Creates the shared worker pool, one daemon thread per processor.
+     * The threads exit when idle, so the pool costs nothing between imports.
+     * Time complexity: O(1).
+     */
+    private static Executor createWorkers() {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(WORKER_COUNT, WORKER_COUNT, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "DeckImporter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.allowCoreThreadTimeOut(true);
+        return workers;
+    }
+
+    /**
+     * How the rows of a file are split into fields.
+     */
+    public enum Format {
+        CSV,
+        TSV;
+
+        /**
+         * Chooses the format of a file by its extension.
+         * Time complexity: O(n), where n is the length of the name.
+         *
+         * @param file The file.
+         * @return CSV for a ".csv" file, TSV otherwise.
+         */
+        public static Format forFile(File file) {
+            return file.getName().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : TSV;
+        }
+    }
+
+    /**
+     * Told about the progress of an import, on the importing thread.
+     */
+    public interface Listener {
+
+        /**
+         * Called after each batch of cards is added to the deck.
+         *
+         * @param rows     The rows read so far.
+         * @param imported The cards added so far.
+         * @param errors   The rows rejected so far.
+         */
+        void onBatchAdded(int rows, int imported, int errors);
+    }
+
+    /**
+     * A row that was not imported.
+     */
+    public static final class RowError {
+        private final int line;
+        private final String message;
+
+        RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * @return The line the row starts on, from 1.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * @return What is wrong with the row.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static final class Result {
+        private int rows;          // Rows read, excluding skipped lines
+        private int imported;      // Cards added
+        private int errorCount;    // Rows rejected
+        private final List<RowError> errors = new ArrayList<>();  // The first MAX_KEPT_ERRORS rejected rows
+        private long elapsedNanos; // Time taken
+
+        private void addError(RowError error) {
+            errorCount++;
+            if (errors.size() < MAX_KEPT_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * @return The first MAX_KEPT_ERRORS rejected rows, in file order.
+         */
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The rows read per second.
+         */
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d of %d rows imported, %d rejected, in %.1f ms (%.0f rows/s)",
+                    imported, rows, errorCount, elapsedNanos / 1e6, getRowsPerSecond());
+        }
+    }
+
+    /**
+     * Rows read but not yet added: the raw records going to a worker, and the cards and
+     * errors coming back.
+     */
+    private static final class Chunk {
+        final String[] records;    // Row text, cleared as parsed
+        final int[] lines;         // Line each row starts on
+        int size;                  // Rows in the chunk
+        final List<Card> cards = new ArrayList<>();
+        final List<RowError> errors = new ArrayList<>();
+
+        Chunk(int capacity) {
+            records = new String[capacity];
+            lines = new int[capacity];
+        }
+    }
+
+    /**
+     * Reads records from the text, joining the lines of a CSV record with a quoted line break,
+     * and skipping blank lines, comments and a header row.
+     */
+    private static final class RecordReader {
+        private final BufferedReader reader;
+        private final Format format;
+        private int lineNumber;        // Lines read so far
+        private boolean first = true;  // Whether no record was read yet
+        int unterminatedLine;          // Line of a CSV record whose quote never closed, or 0
+
+        RecordReader(BufferedReader reader, Format format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        /**
+         * Reads the next chunk of records.
+         * Time complexity: O(k), where k is the number of characters read.
+         *
+         * @return The chunk, or null at the end of the text.
+         */
+        Chunk next(int rows) throws IOException {
+            Chunk chunk = new Chunk(rows);
+            String line;
+            while (chunk.size < rows && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (first && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);  // Byte order mark of spreadsheet exports
+                }
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int start = lineNumber;
+                if (format == Format.CSV && hasOpenQuote(line, false)) {
+                    line = joinQuotedLines(line);
+                    if (line == null) {
+                        unterminatedLine = start;
+                        break;
+                    }
+                }
+                if (first) {
+                    first = false;
+                    if (isHeader(line)) {
+                        continue;
+                    }
+                }
+                chunk.records[chunk.size] = line;
+                chunk.lines[chunk.size] = start;
+                chunk.size++;
+            }
+            return chunk.size == 0 ? null : chunk;
+        }
+
+        /**
+         * Appends lines to a CSV record until its quotes close.
+         * Time complexity: O(k), where k is the length of the record.
+         *
+         * @return The whole record, or null if the text ended inside quotes.
+         */
+        private String joinQuotedLines(String line) throws IOException {
+            StringBuilder record = new StringBuilder(line);
+            boolean open = true;
+            while (open) {
+                String next = reader.readLine();
+                if (next == null) {
+                    return null;
+                }
+                lineNumber++;
+                record.append('\n').append(next);
+                open = hasOpenQuote(next, true);
+            }
+            return record.toString();
+        }
+
+        /**
+         * Tells whether a quote is left open after a line, given whether one was open before it.
+         * Time complexity: O(k), where k is the length of the line.
+         */
+        private static boolean hasOpenQuote(String line, boolean open) {
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') {
+                    open = !open;  // A doubled quote toggles twice O(1)
+                }
+            }
+            return open;
+        }
+
+        private boolean isHeader(String line) {
+            String separator = format == Format.CSV ? "," : "\t";
+            String stripped = line.startsWith("\"") ? line.substring(1) : line;
+            return stripped.regionMatches(true, 0, "word", 0, 4)
+                    && (stripped.length() == 4 || stripped.startsWith(separator, 4) || stripped.startsWith("\"", 4));
+        }
+    }
+}
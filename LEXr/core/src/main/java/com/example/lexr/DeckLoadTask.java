@@ -0,0 +1,151 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.concurrent.Executor;
+
+/**
+ * DeckLoadTask is a handle on a load running on DeckManager's background loader.
+ * Progress and the result are delivered to a callback on the executor the caller chose,
+ * normally the main thread. Once cancel() has been called on that executor's thread, no
+ * further callback runs, so an activity can cancel in onDestroy() and never be called back.
+ *
+ * @param <T> The type of the loaded result.
+ */
+public class DeckLoadTask<T> {
+
+    private final Executor callbackExecutor;  // Runs the callbacks, e.g., the main thread
+    private final Callback<T> callback;       // Receives progress and the result
+    private volatile boolean cancelled;       // Set by cancel(), read by the loader and the callbacks
+    private volatile boolean done;            // Set once the result or failure is delivered
+    private int lastPercent = -1;             // Last progress reported, only touched by the loader
+
+    /**
+     * Constructor for the DeckLoadTask class.
+     * Time complexity: O(1).
+     *
+     * @param callbackExecutor Runs the callbacks.
+     * @param callback         Receives progress and the result.
+     */
+    DeckLoadTask(Executor callbackExecutor, Callback<T> callback) {
+        this.callbackExecutor = callbackExecutor;
+        this.callback = callback;
+    }
+
+    /**
+     * Cancels the load. The loader stops reading at the next card, a deck that was not
+     * fully read stays unloaded, and no further callback runs.
+     * Time complexity: O(1).
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the load was cancelled.
+     * Time complexity: O(1).
+     *
+     * @return true if cancel() was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the load finished, successfully or not.
+     * Time complexity: O(1).
+     *
+     * @return true once the result or failure has been handed to the callback executor.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Reports how far the load has come, at most once per percent.
+     * Time complexity: O(1).
+     *
+     * @param loaded The number of cards read so far.
+     * @param total  The number of cards expected.
+     */
+    void reportProgress(final int loaded, final int total) {
+        int percent = total <= 0 ? 100 : (int) (loaded * 100L / total);
+        if (percent == lastPercent || cancelled) {
+            return;  // Do not flood the main thread with identical updates
+        }
+        lastPercent = percent;
+        callbackExecutor.execute(() -> {
+            if (!cancelled) {
+                callback.onProgress(loaded, total);
+            }
+        });
+    }
+
+    /**
+     * Delivers the result. The publish step runs on the callback executor even if the task was
+     * cancelled, for state that must be updated on that thread; the callback only runs if not.
+     * Time complexity: O(1), plus the publish step.
+     *
+     * @param result  The loaded result.
+     * @param publish Runs on the callback executor before the callback, or null.
+     */
+    void deliver(final T result, final Runnable publish) {
+        done = true;
+        callbackExecutor.execute(() -> {
+            if (publish != null) {
+                publish.run();
+            }
+            if (!cancelled) {
+                callback.onLoaded(result);
+            }
+        });
+    }
+
+    /**
+     * Delivers a failure.
+     * Time complexity: O(1).
+     *
+     * @param error The reason the load failed.
+     */
+    void fail(final Exception error) {
+        done = true;
+        callbackExecutor.execute(() -> {
+            if (!cancelled) {
+                callback.onLoadFailed(error);
+            }
+        });
+    }
+
+    /**
+     * Receives the progress and outcome of a DeckLoadTask on the callback executor.
+     *
+     * @param <T> The type of the loaded result.
+     */
+    public interface Callback<T> {
+
+        /**
+         * Called as cards are read, at most once per percent.
+         *
+         * @param loaded The number of cards read so far.
+         * @param total  The number of cards expected.
+         */
+        void onProgress(int loaded, int total);
+
+        /**
+         * Called once when the load finished.
+         *
+         * @param result The loaded result, or null if the requested deck does not exist.
+         */
+        void onLoaded(T result);
+
+        /**
+         * Called once if the load failed.
+         *
+         * @param error The reason the load failed.
+         */
+        void onLoadFailed(Exception error);
+    }
+}
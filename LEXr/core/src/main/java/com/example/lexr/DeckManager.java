@@ -0,0 +1,896 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DeckManager is a class that manages all decks of cards.
+ * It provides methods to load, retrieve, and interact with decks and their associated cards.
+ * Simplifies access and reduces memory consumption.
+ * Decks can be loaded on a small background loader with loadDeckAsync() and getInstanceAsync(),
+ * so reading cards never blocks the main thread. The favorites index is only updated on the
+ * thread the callbacks run on, which is the main thread in the app.
+ */
+public class DeckManager {
+
+    // Resource folder holding the decks bundled with the app
+    static final String BUILT_IN_DECKS = "decks/";
+
+    // Background threads reading decks, and how many loads may wait for them
+    private static final int LOADER_THREADS = 2;
+    private static final int LOADER_QUEUE_SIZE = 32;
+
+    // Static instance, created once by getInstance()
+    private static volatile DeckManager instance;
+    // Source and write queue the instance is created with, set by initialize(); guarded by DeckManager.class
+    private static DeckSource configuredSource;
+    private static CardWriter configuredWriteQueue;
+    private static File configuredStateFile;
+    // Bounded pool running asynchronous loads; a full queue fails the load instead of blocking
+    private static final ThreadPoolExecutor LOADER = createLoader();
+    // Where decks and their cards are read from
+    private final DeckSource source;
+    // List to store all the decks
+    private final List<com.example.lexr.Deck> allDecks;
+    // Indexes the decks by id, name, language and difficulty
+    private final DeckRegistry registry = new DeckRegistry();
+    // Decks whose cards have not been read from the source yet, with their manifests; guarded by this
+    private final Map<com.example.lexr.Deck, DeckManifest> unloadedDecks;
+    // Saves favorite and difficulty changes in the background, or null if changes are not saved
+    private final CardWriter writeQueue;
+    // Flip and favorite state and view counters of cards by id, or null if not kept
+    private final CardStateStore stateStore;
+    // Shared strings and packed conjugates of every loaded card
+    private final CompactCardStore cardStore = new CompactCardStore();
+    // Favorite cards of all loaded decks, updated as cards change
+    private final FavoritesIndex favorites = new FavoritesIndex();
+    // Spaced-repetition schedule of every loaded card, restored from the source if it keeps one
+    private final ReviewScheduler reviews = new ReviewScheduler(Clock.SYSTEM);
+    // Accent-insensitive search over the cards of every loaded deck, kept current by the decks
+    private final CardSearchIndex searchIndex = new CardSearchIndex();
+    // Maps every conjugate and noun form of a loaded card back to the card
+    private final ConjugationIndex conjugations = new ConjugationIndex();
+    // Canonical cards shared by decks once mergeDuplicates() or mergeDuplicatesAsync() runs
+    private final DeckMerger merger = new DeckMerger();
+    // Generates full conjugation tables of verb cards, read once under engineLock, then read without a lock
+    private volatile ConjugationEngine conjugationEngine;
+    // Guards the first read of the conjugation engine, apart from the lock publishing decks
+    private final Object engineLock = new Object();
+    // Next id handed to a card the source did not assign one to; guarded by this
+    private long nextCardId = 1;
+    // Listener installed on every loaded card to save its changes
+    private final com.example.lexr.Card.OnCardChangedListener cardChangedListener = this::onCardChanged;
+
+    /**
+     * Creates a DeckManager reading from the given source.
+     * Only the deck manifests are read here; each deck's cards are streamed in when the deck
+     * is first requested through getDeckByName().
+     * Time complexity: O(d), where d is the number of decks in the source.
+     *
+     * @param source The source to read decks from.
+     */
+    DeckManager(DeckSource source) {
+        this(source, null);
+    }
+
+    /**
+     * Creates a DeckManager reading from the given source and saving card changes to a queue.
+     * Decks that already hold favorites are loaded right away so they show on the favorites screen.
+     * Time complexity: O(d + f), where d is the number of decks and f the cards of decks holding favorites.
+     *
+     * @param source     The source to read decks from.
+     * @param writeQueue Saves favorite and difficulty changes, or null to keep them in memory only.
+     */
+    DeckManager(DeckSource source, CardWriter writeQueue) {
+        this(source, writeQueue, null);
+    }
+
+    /**
+     * Creates a DeckManager reading from the given source, saving card changes to a queue and
+     * restoring each loaded card's recorded flip and favorite state from a state store.
+     * Time complexity: O(d + f), where d is the number of decks and f the cards of decks holding favorites.
+     *
+     * @param source     The source to read decks from.
+     * @param writeQueue Saves favorite and difficulty changes, or null to keep them in memory only.
+     * @param stateStore Keeps card state by id, which the source must keep stable; or null.
+     */
+    DeckManager(DeckSource source, CardWriter writeQueue, CardStateStore stateStore) {
+        this.source = source;
+        this.writeQueue = writeQueue;
+        this.stateStore = stateStore;
+        allDecks = new ArrayList<>();  // Initialize the list to hold all decks O(1)
+        unloadedDecks = new HashMap<>();
+        reviews.setOnReviewedListener(this::onReviewed);  // Save every answer with the card O(1)
+        loadAllDecks();  // Read the deck manifests O(d)
+    }
+
+    /**
+     * Chooses the app's deck source for the singleton, before anything calls getInstance().
+     * Nothing is read here; the instance is created on first use, ideally through getInstanceAsync().
+     * Does nothing if the singleton already exists.
+     * Time complexity: O(1).
+     *
+     * @param source     The source to read decks from.
+     * @param writeQueue Saves favorite and difficulty changes, or null to keep them in memory only.
+     */
+    public static synchronized void initialize(DeckSource source, CardWriter writeQueue) {
+        initialize(source, writeQueue, null);
+    }
+
+    /**
+     * Chooses the app's deck source for the singleton, and a file keeping card state by id.
+     * The file is opened along with the instance, ideally on the loader through getInstanceAsync().
+     * Does nothing if the singleton already exists.
+     * Time complexity: O(1).
+     *
+     * @param source     The source to read decks from; it must keep card ids stable.
+     * @param writeQueue Saves favorite and difficulty changes, or null to keep them in memory only.
+     * @param stateFile  The CardStateStore file, or null to keep no card state.
+     */
+    public static synchronized void initialize(DeckSource source, CardWriter writeQueue, File stateFile) {
+        if (instance == null) {
+            configuredSource = source;
+            configuredWriteQueue = writeQueue;
+            configuredStateFile = stateFile;
+        }
+    }
+
+    /**
+     * Provides the singleton instance of DeckManager.
+     * Ensures only one instance of DeckManager exists, even when called from several threads:
+     * the first caller creates it under a lock and every later call is a single volatile read.
+     * Reads the built-in decks if initialize() was not called.
+     * Time complexity: O(d + f) for creating the instance, see the constructor; O(1) afterwards.
+     *
+     * @return The singleton instance of DeckManager.
+     */
+    public static DeckManager getInstance() {
+        DeckManager result = instance;  // One volatile read on the fast path O(1)
+        if (result == null) {
+            synchronized (DeckManager.class) {
+                result = instance;
+                if (result == null) {
+                    DeckSource source = configuredSource != null
+                            ? configuredSource : TextDeckSource.fromClasspath(BUILT_IN_DECKS);
+                    result = new DeckManager(source, configuredWriteQueue, openStateStore(configuredStateFile));  // Create the instance once O(d + f)
+                    instance = result;
+                }
+            }
+        }
+        return result;  // Return the singleton instance O(1)
+    }
+
+    /**
+     * Creates the singleton on the background loader if needed and hands it to the callback.
+     * The conjugation engine is read on the loader too the first time, before the callback runs.
+     * Time complexity: O(1) on the calling thread; O(d + f) on the loader the first time.
+     *
+     * @param callbackExecutor Runs the callback, e.g., the main thread executor.
+     * @param callback         Receives the instance, or the reason it could not be created.
+     * @return A task that can be cancelled, e.g., when the calling activity is destroyed.
+     */
+    public static DeckLoadTask<DeckManager> getInstanceAsync(Executor callbackExecutor,
+                                                             DeckLoadTask.Callback<DeckManager> callback) {
+        final DeckLoadTask<DeckManager> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            DeckManager manager = getInstance();  // O(d + f) the first time
+            manager.getConjugationEngine();  // Read the irregular verbs here, not when a table is first shown
+            task.deliver(manager, null);
+        });
+        return task;
+    }
+
+    /**
+     * Loads a deck by id or display name on the background loader and hands it to the callback.
+     * Progress is reported as cards are read. Cancelling stops the read; the deck then stays
+     * unloaded and is read again by the next request. The conjugation engine is read on the
+     * loader too the first time, before the callback runs, so screens opened through this or
+     * getInstanceAsync() do not read it on the main thread when a conjugation table is shown.
+     * Time complexity: O(1) on the calling thread; O(c) on the loader for a deck of c cards,
+     * plus O(f) on the callback executor to index the deck's favorites.
+     *
+     * @param deckName         The id or display name of the deck to load.
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives progress and the deck, or null if there is no such deck.
+     * @return A task that can be cancelled, e.g., when the calling activity is destroyed.
+     */
+    public static DeckLoadTask<com.example.lexr.Deck> loadDeckAsync(final String deckName, Executor callbackExecutor,
+                                                                    DeckLoadTask.Callback<com.example.lexr.Deck> callback) {
+        final DeckLoadTask<com.example.lexr.Deck> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            final DeckManager manager = getInstance();  // O(1) once created
+            com.example.lexr.Deck deck = manager.registry.find(deckName);  // O(1)
+            if (deck == null) {
+                task.deliver(null, null);
+                return;
+            }
+            final List<com.example.lexr.Card> newFavorites = manager.loadDeck(deck, task);  // O(c)
+            if (newFavorites == null) {
+                return;  // Cancelled part way; nothing was changed
+            }
+            manager.getConjugationEngine();  // Read the irregular verbs here, not when a table is first shown
+            // The favorites index drives the UI, so it is only touched on the callback thread
+            task.deliver(deck, newFavorites.isEmpty() ? null : () -> {
+                for (com.example.lexr.Card card : newFavorites) {
+                    manager.favorites.add(card);  // O(1)
+                }
+            });
+        });
+        return task;
+    }
+
+    /**
+     * Searches the cards of every deck on the background loader, loading the decks that were
+     * not read yet, and hands the best matches to the callback.
+     * Time complexity: O(1) on the calling thread; O(c) on the loader the first time, for the c
+     * cards of the decks not loaded yet, then a few milliseconds per query; see search().
+     *
+     * @param query            The text to look for.
+     * @param limit            The maximum number of cards to return.
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives the matching cards, best first.
+     * @return A task that can be cancelled, e.g., when the user types another query.
+     */
+    public static DeckLoadTask<List<com.example.lexr.Card>> searchAsync(final String query, final int limit,
+                                                                        Executor callbackExecutor,
+                                                                        DeckLoadTask.Callback<List<com.example.lexr.Card>> callback) {
+        final DeckLoadTask<List<com.example.lexr.Card>> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            final DeckManager manager = getInstance();  // O(1) once created
+            manager.loadEveryDeck(task, () -> manager.search(query, limit));  // O(c) the first time
+        });
+        return task;
+    }
+
+    /**
+     * Finds the cards having a conjugated or noun form on the background loader, loading the
+     * decks that were not read yet, and hands them to the callback.
+     * Time complexity: O(1) on the calling thread; O(c) on the loader the first time, for the c
+     * cards of the decks not loaded yet, then O(l) per lookup for a form of length l.
+     *
+     * @param form             A word as written, e.g., "hablo" finds the Hablar card.
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives the matching cards; empty if none.
+     * @return A task that can be cancelled, e.g., when the calling activity is destroyed.
+     */
+    public static DeckLoadTask<List<com.example.lexr.Card>> lookupFormAsync(final String form,
+                                                                            Executor callbackExecutor,
+                                                                            DeckLoadTask.Callback<List<com.example.lexr.Card>> callback) {
+        final DeckLoadTask<List<com.example.lexr.Card>> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            final DeckManager manager = getInstance();  // O(1) once created
+            manager.loadEveryDeck(task, () -> manager.lookupForm(form));  // O(c) the first time
+        });
+        return task;
+    }
+
+    /**
+     * Loads every deck on the background loader and makes the decks share one canonical Card per
+     * distinct card; see mergeDuplicates(). The decks are merged on the loader, and the replaced
+     * copies pass their favorite status on and leave the favorites on the callback thread,
+     * before the callback runs.
+     * Time complexity: O(1) on the calling thread; O(t + c log n) on the loader, plus O(c) for
+     * the decks not loaded yet; O(r + f) on the callback executor for r replaced copies and f
+     * favorites found, plus O(k) for each copy that was one of the k favorites.
+     *
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives what was merged.
+     * @return A task that can be cancelled; decks already read stay loaded, and nothing is merged.
+     */
+    public static DeckLoadTask<DeckMerger.Report> mergeDuplicatesAsync(Executor callbackExecutor,
+                                                                       DeckLoadTask.Callback<DeckMerger.Report> callback) {
+        final DeckLoadTask<DeckMerger.Report> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            final DeckManager manager = getInstance();  // O(1) once created
+            final List<com.example.lexr.Card> newFavorites = manager.loadEveryDeck(task);  // O(c) the first time
+            if (newFavorites == null) {
+                return;  // Cancelled part way; nothing was merged
+            }
+            final DeckMerger.Report report = manager.mergeLoadedDecks();  // O(t + c log n)
+            // Favorites and card listeners drive the UI, so they are only touched on the callback thread
+            task.deliver(report, () -> {
+                for (com.example.lexr.Card card : newFavorites) {
+                    manager.favorites.add(card);  // O(1)
+                }
+                manager.retireCopies(report);  // O(r)
+            });
+        });
+        return task;
+    }
+
+    /**
+     * Opens a bundled sentence corpus on the background loader, importing it on first use,
+     * and hands its first sentences to the callback.
+     * Time complexity: O(1) on the calling thread; O(s) on the loader for s sentences, plus
+     * O(l) the first time to import the l characters of the bundled text.
+     *
+     * @param directory        The directory keeping imported corpora, e.g., the app's files directory.
+     * @param name             The corpus name, e.g., "Sentences".
+     * @param count            The maximum number of sentences to read.
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives the sentences in corpus order, or the reason they could not be read.
+     * @return A task that can be cancelled, e.g., when the calling activity is destroyed.
+     */
+    public static DeckLoadTask<List<SentencePair>> loadSentencesAsync(File directory, String name, int count,
+                                                                      Executor callbackExecutor,
+                                                                      DeckLoadTask.Callback<List<SentencePair>> callback) {
+        return loadSentencesAsync(directory, name, 0, count, callbackExecutor, callback);
+    }
+
+    /**
+     * Opens a bundled sentence corpus on the background loader, importing it on first use,
+     * and hands the sentences from a given index on to the callback. Fewer than count
+     * sentences are delivered when the corpus ends, and none past its end.
+     * Time complexity: O(1) on the calling thread; O(s) on the loader for s sentences, plus
+     * O(l) the first time to import the l characters of the bundled text.
+     *
+     * @param directory        The directory keeping imported corpora, e.g., the app's files directory.
+     * @param name             The corpus name, e.g., "Sentences".
+     * @param from             The index of the first sentence to read.
+     * @param count            The maximum number of sentences to read.
+     * @param callbackExecutor Runs the callbacks, e.g., the main thread executor.
+     * @param callback         Receives the sentences in corpus order, or the reason they could not be read.
+     * @return A task that can be cancelled, e.g., when the calling activity is destroyed.
+     */
+    public static DeckLoadTask<List<SentencePair>> loadSentencesAsync(final File directory, final String name,
+                                                                      final int from, final int count,
+                                                                      Executor callbackExecutor,
+                                                                      DeckLoadTask.Callback<List<SentencePair>> callback) {
+        final DeckLoadTask<List<SentencePair>> task = new DeckLoadTask<>(callbackExecutor, callback);
+        submit(task, () -> {
+            try (SentenceCorpus corpus = SentenceCorpus.openBundled(directory, name)) {  // O(1) once imported
+                int end = Math.min(corpus.size(), from + count);
+                List<SentencePair> sentences = new ArrayList<>(Math.max(0, end - from));
+                for (int i = from; i < end && !task.isCancelled(); i++) {
+                    sentences.add(corpus.get(i));  // Pages are read in order
+                }
+                task.deliver(sentences, null);
+            } catch (IOException e) {
+                task.fail(e);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Loads every deck not read yet for an asynchronous task, leaving the favorites index to the caller.
+     * Time complexity: O(c) for the c cards of the decks not loaded yet.
+     *
+     * @return The favorite cards of the decks read, or null if the task was cancelled part way.
+     */
+    private List<com.example.lexr.Card> loadEveryDeck(DeckLoadTask<?> task) {
+        List<com.example.lexr.Card> newFavorites = new ArrayList<>();
+        for (com.example.lexr.Deck deck : allDecks) {
+            List<com.example.lexr.Card> deckFavorites = loadDeck(deck, task);  // O(c) the first time
+            if (deckFavorites == null) {
+                return null;  // Decks already read stay loaded
+            }
+            newFavorites.addAll(deckFavorites);
+        }
+        return newFavorites;
+    }
+
+    /**
+     * Loads every deck not read yet for an asynchronous task, then delivers a result computed
+     * over all of them. Favorites found on the way are indexed on the callback thread.
+     * Time complexity: O(c) for the c cards of the decks not loaded yet, plus the query.
+     */
+    private <T> void loadEveryDeck(DeckLoadTask<T> task, Query<T> query) {
+        final List<com.example.lexr.Card> newFavorites = loadEveryDeck(task);  // O(c) the first time
+        if (newFavorites == null) {
+            return;  // Cancelled part way; decks already read stay loaded
+        }
+        task.deliver(query.run(), newFavorites.isEmpty() ? null : () -> {
+            for (com.example.lexr.Card card : newFavorites) {
+                favorites.add(card);  // O(1)
+            }
+        });
+    }
+
+    /**
+     * Runs a load on the background loader, failing the task if it throws or the loader is full.
+     * Time complexity: O(1).
+     */
+    private static void submit(final DeckLoadTask<?> task, final Runnable load) {
+        try {
+            LOADER.execute(() -> {
+                if (task.isCancelled()) {
+                    return;  // Cancelled before it started O(1)
+                }
+                try {
+                    load.run();
+                } catch (RuntimeException e) {
+                    task.fail(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            task.fail(e);  // Too many loads waiting; report instead of blocking the caller
+        }
+    }
+
+    /**
+     * Opens the card state file chosen by initialize().
+     * Time complexity: O(c), where c is the capacity of the file, to map it.
+     *
+     * @param stateFile The file, or null.
+     * @return The store, or null if stateFile is null.
+     */
+    private static CardStateStore openStateStore(File stateFile) {
+        if (stateFile == null) {
+            return null;
+        }
+        try {
+            return new CardStateStore(stateFile);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open card state " + stateFile, e);
+        }
+    }
+
+    /**
+     * Creates the bounded pool of daemon threads running asynchronous loads.
+     * Idle threads exit, so the loader costs nothing when no deck is loading.
+     * Time complexity: O(1).
+     */
+    private static ThreadPoolExecutor createLoader() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "DeckLoader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor loader = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 10, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(LOADER_QUEUE_SIZE), factory);
+        loader.allowCoreThreadTimeOut(true);
+        return loader;
+    }
+
+    /**
+     * Drops the singleton and its configuration, so tests can create it again.
+     * Time complexity: O(1).
+     */
+    static synchronized void resetInstance() {
+        instance = null;
+        configuredSource = null;
+        configuredWriteQueue = null;
+        configuredStateFile = null;
+    }
+
+    /**
+     * Registers and indexes an empty deck for every manifest in the source.
+     * The cards are only read here for decks holding favorites; see loadDeck().
+     * Time complexity: O(d log r + f), where d is the number of decks, r the number of distinct
+     * difficulty ratings and f the cards of decks holding favorites.
+     */
+    private void loadAllDecks() {
+        List<DeckManifest> manifests;
+        try {
+            manifests = source.loadManifests();  // Read only the deck manifests O(d)
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read deck manifests", e);
+        }
+        for (DeckManifest manifest : manifests) {
+            com.example.lexr.Deck deck = new com.example.lexr.Deck(
+                    manifest.getName(), manifest.getLanguage(), manifest.getDeckName());
+            deck.setDifficultyRating(manifest.getDifficultyRating());
+            deck.setActive(manifest.isActive());
+            registry.register(deck);  // Index the deck by id, name, language and difficulty O(log r)
+            deck.setOnCardsChangedListener(this::onCardsChanged);  // Index its cards once they load O(1)
+            allDecks.add(deck);  // The deck stays empty until it is first requested O(1)
+            unloadedDecks.put(deck, manifest);
+            if (manifest.getFavoriteCount() > 0) {
+                loadDeck(deck);  // Saved favorites must be visible without opening the deck O(c)
+            }
+        }
+    }
+
+    /**
+     * Streams a deck's cards from the source if they have not been loaded yet,
+     * indexing its favorites right away. Used on the thread that owns the favorites index.
+     * Time complexity: O(c) the first time, where c is the number of cards in the deck; O(1) afterwards.
+     *
+     * @param deck The deck to load.
+     */
+    private void loadDeck(com.example.lexr.Deck deck) {
+        for (com.example.lexr.Card card : loadDeck(deck, null)) {
+            favorites.add(card);  // Index favorites restored from the source O(1)
+        }
+    }
+
+    /**
+     * Streams a deck's cards from the source if they have not been loaded yet.
+     * The source is read without holding the lock, so several decks can load at once; the
+     * loaded cards are then compacted and published under the lock, and if another thread
+     * published the same deck first, this copy is dropped before it touches the shared card
+     * store. The favorites index is left to the caller.
+     * Time complexity: O(c) the first time, where c is the number of cards in the deck; O(1) afterwards.
+     *
+     * @param deck The deck to load.
+     * @param task The asynchronous load to report progress to and check for cancellation, or null.
+     * @return The favorite cards of the deck that the caller must index (empty if the deck was
+     * already loaded), or null if the task was cancelled before the deck was read.
+     */
+    private List<com.example.lexr.Card> loadDeck(com.example.lexr.Deck deck, final DeckLoadTask<?> task) {
+        DeckManifest manifest;
+        synchronized (this) {
+            manifest = unloadedDecks.get(deck);
+        }
+        if (manifest == null) {
+            return Collections.emptyList();  // Already loaded O(1)
+        }
+        long start = Metrics.start();  // O(1), nothing more while metrics are off
+        final int total = manifest.getCardCount();
+        final List<com.example.lexr.Card> cards = new ArrayList<>(total);
+        try {
+            source.loadCards(manifest, card -> {
+                if (task != null && task.isCancelled()) {
+                    return false;  // Stop reading as soon as the caller gives up O(1)
+                }
+                if (stateStore != null && stateStore.restore(card) && writeQueue != null) {
+                    writeQueue.enqueue(card);  // A favorite recorded after the last save O(1)
+                }
+                card.setOnCardChangedListener(cardChangedListener);  // Save later changes O(1)
+                cards.add(card);
+                if (task != null) {
+                    task.reportProgress(cards.size(), total);  // At most once per percent O(1)
+                }
+                return true;
+            });  // Stream the deck's cards O(c)
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load deck " + manifest.getName(), e);
+        }
+        if (task != null && task.isCancelled()) {
+            return null;  // Leave the deck unloaded; the next request reads it again
+        }
+        Map<Long, ReviewRecord> savedReviews = loadReviews(manifest, cards);  // O(c)
+        List<com.example.lexr.Card> loadedFavorites = new ArrayList<>();
+        synchronized (this) {
+            if (unloadedDecks.remove(deck) == null) {
+                return Collections.emptyList();  // Another thread published the deck first O(1)
+            }
+            cardStore.compact(cards);  // Share repeated strings, pack the conjugates, published decks only O(c m)
+            for (com.example.lexr.Card card : cards) {
+                if (card.getId() == 0) {
+                    card.setId(nextCardId++);  // Give cards from plain sources a session id O(1)
+                }
+                ReviewRecord saved = savedReviews.get(card.getId());
+                if (saved != null) {
+                    reviews.restore(saved);  // Due when the last review scheduled it O(log n)
+                } else {
+                    reviews.track(card);  // New cards are due right away, in id order O(log n)
+                }
+                if (card.isFavorite()) {
+                    loadedFavorites.add(card);
+                }
+            }
+            deck.setCards(cards);
+        }
+        Metrics.stop(Metrics.DECK_LOAD, start);  // Loads dropped above are not counted O(1)
+        return loadedFavorites;
+    }
+
+    /**
+     * Reads the saved review records of a deck's cards, if the source keeps them.
+     * Time complexity: O(c), where c is the number of cards in the deck.
+     *
+     * @param manifest The manifest of the deck.
+     * @param cards    The cards just read from the source, with their ids.
+     * @return The saved records by card id; empty if the source keeps none.
+     */
+    private Map<Long, ReviewRecord> loadReviews(DeckManifest manifest, List<com.example.lexr.Card> cards) {
+        if (!(source instanceof ReviewSource)) {
+            return Collections.emptyMap();
+        }
+        final Map<Long, com.example.lexr.Card> byId = new HashMap<>();
+        for (com.example.lexr.Card card : cards) {
+            byId.put(card.getId(), card);  // O(1)
+        }
+        final Map<Long, ReviewRecord> saved = new HashMap<>();
+        try {
+            ((ReviewSource) source).loadReviews(manifest, (cardId, dueAt, intervalDays, ease, repetitions, lapses) -> {
+                com.example.lexr.Card card = byId.get(cardId);
+                if (card != null) {
+                    saved.put(cardId, new ReviewRecord(card, dueAt, intervalDays, ease, repetitions, lapses));
+                }
+            });  // Only the reviewed cards O(c)
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load reviews of deck " + manifest.getName(), e);
+        }
+        return saved;
+    }
+
+    /**
+     * Queues an answered card's review record to be saved, if this manager saves changes.
+     * Called by the scheduler while it is locked.
+     * Time complexity: O(1) - The write itself happens on a background thread.
+     *
+     * @param record The updated record.
+     */
+    private void onReviewed(ReviewRecord record) {
+        if (writeQueue != null) {
+            writeQueue.enqueueReview(record);  // Saved in the next batch O(1)
+        }
+    }
+
+    /**
+     * Keeps the search and conjugation indexes in step with a deck whose cards changed.
+     * Time complexity: O(t) per card, where t is the length of the card's text.
+     *
+     * @param deck    The deck that changed.
+     * @param removed The cards that left the deck.
+     * @param added   The cards that joined the deck.
+     */
+    private void onCardsChanged(com.example.lexr.Deck deck, List<com.example.lexr.Card> removed,
+                                List<com.example.lexr.Card> added) {
+        searchIndex.onCardsChanged(deck, removed, added);
+        conjugations.onCardsChanged(deck, removed, added);
+    }
+
+    /**
+     * Updates the favorites index for a changed card, records its favorite status in the state
+     * store and queues the card to be saved, if this manager keeps state and saves changes.
+     * Time complexity: O(1) to mark a favorite, O(k) to unmark one, where k is the number of favorites;
+     * the write itself happens on a background thread.
+     *
+     * @param card The card whose favorite status or difficulty level changed.
+     */
+    private void onCardChanged(com.example.lexr.Card card) {
+        favorites.update(card);  // Keep the favorites index in step with the card
+        if (stateStore != null) {
+            stateStore.setFavorite(card.getId(), card.isFavorite());  // Kept even if the process dies first O(1)
+        }
+        if (writeQueue != null) {
+            writeQueue.enqueue(card);  // Saved in the next batch O(1)
+        }
+    }
+
+    /**
+     * Checks whether a deck's cards have been loaded from the source.
+     * Time complexity: O(1) - A hash lookup by id or name.
+     *
+     * @param deckName The id or display name of the deck to check.
+     * @return true if the deck exists and its cards are loaded, false otherwise.
+     */
+    public boolean isDeckLoaded(String deckName) {
+        com.example.lexr.Deck deck = registry.find(deckName);  // O(1)
+        synchronized (this) {
+            return deck != null && !unloadedDecks.containsKey(deck);
+        }
+    }
+
+    /**
+     * Returns the list of all decks managed by DeckManager.
+     * Decks that have not been requested through getDeckByName() yet have no cards loaded.
+     * Time complexity: O(1) - Returning the reference to the list is constant time.
+     *
+     * @return A list of all decks.
+     */
+    public List<com.example.lexr.Deck> getAllDecks() {
+        return allDecks;  // Return the list of all decks O(1)
+    }
+
+    /**
+     * Retrieves all the favorite cards from all decks.
+     * The list is a live, read-only view kept up to date as cards are marked or unmarked;
+     * register with getFavoritesIndex() to be told about each change.
+     * Time complexity: O(1) - The favorites are indexed as they change, not searched for.
+     *
+     * @return A list of favorite cards from all decks, in the order they were marked.
+     */
+    public List<com.example.lexr.Card> getFavoriteCards() {
+        return favorites.getCards();  // Return the live favorites view O(1)
+    }
+
+    /**
+     * Loads every deck and makes the decks share one canonical Card per distinct card, so a card
+     * defined in several decks is reviewed and marked as a favorite once; see DeckMerger.
+     * The replaced copies stop being reviewed, leave the favorites and stop saving changes.
+     * Used on the thread that owns the favorites index, like getDeckByName(); the app uses
+     * mergeDuplicatesAsync() instead.
+     * Time complexity: O(t + c log n) expected, where t is the length of all cards' text, c the
+     * number of cards and n the number of reviewed cards, plus O(c) to load decks not loaded yet.
+     *
+     * @return What was merged, and the near duplicates found.
+     */
+    public DeckMerger.Report mergeDuplicates() {
+        for (com.example.lexr.Deck deck : allDecks) {
+            loadDeck(deck);  // Stream in the decks not requested yet O(c)
+        }
+        DeckMerger.Report report = mergeLoadedDecks();  // O(t + c log n)
+        retireCopies(report);  // O(r)
+        return report;
+    }
+
+    /**
+     * Merges the loaded decks, leaving the copies' state and listeners as they are, and stops
+     * scheduling the replaced copies. Safe on any thread; the scheduler locks itself.
+     * Time complexity: O(t + c log n) expected - See mergeDuplicates().
+     */
+    private DeckMerger.Report mergeLoadedDecks() {
+        DeckMerger.Report report = merger.merge(allDecks, false);  // O(t + c)
+        for (com.example.lexr.Card copy : report.getReplaced()) {
+            reviews.untrack(copy);  // Only the canonical card is scheduled O(log n)
+        }
+        return report;
+    }
+
+    /**
+     * Passes the replaced copies' state on to their canonical cards, then drops the copies from
+     * the favorites and stops saving their changes. Used on the thread that owns the favorites index.
+     * Time complexity: O(r), where r is the number of replaced copies, plus O(k) for each copy
+     * that was a favorite, where k is the number of favorites.
+     */
+    private void retireCopies(DeckMerger.Report report) {
+        report.passStateOn();  // The canonical cards' listeners index and save them O(r)
+        for (com.example.lexr.Card copy : report.getReplaced()) {
+            favorites.remove(copy);
+            copy.setOnCardChangedListener(null);
+        }
+    }
+
+    /**
+     * Returns the index of favorite cards, for registering change listeners.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The favorites index.
+     */
+    public FavoritesIndex getFavoritesIndex() {
+        return favorites;  // Return the favorites index O(1)
+    }
+
+    /**
+     * Returns the spaced-repetition scheduler of all loaded cards, for picking the next
+     * card to review and recording answers.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The review scheduler.
+     */
+    public ReviewScheduler getReviewScheduler() {
+        return reviews;  // Return the review scheduler O(1)
+    }
+
+    /**
+     * Searches the words, conjugates and translations of the cards of every loaded deck,
+     * ignoring case and accents; use searchAsync() to include decks not loaded yet.
+     * Time complexity: O(g + m + r log r) - See CardSearchIndex.search(); a few milliseconds
+     * for 100k cards, independent of how many cards do not match.
+     *
+     * @param query The text to look for, e.g., "rei" finds "Reír".
+     * @param limit The maximum number of cards to return.
+     * @return The matching cards, best first.
+     */
+    public List<com.example.lexr.Card> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Finds the cards of every loaded deck having a form, ignoring case, accents and punctuation;
+     * use lookupFormAsync() to include decks not loaded yet.
+     * Time complexity: O(l + k) - See ConjugationIndex.lookup().
+     *
+     * @param form A word as written, e.g., "Hablo", "perra" or "La perra".
+     * @return The cards having that form as their word, a conjugate or a noun form; empty if none.
+     */
+    public List<com.example.lexr.Card> lookupForm(String form) {
+        return conjugations.lookup(form);
+    }
+
+    /**
+     * Returns the full conjugation table of a verb card of a loaded deck, in its deck's language.
+     * Tables are generated on demand and recently shown ones are cached.
+     * Time complexity: O(1) for a recently shown table, O(log v + t) otherwise - See ConjugationEngine.conjugate().
+     *
+     * @param card The card to conjugate.
+     * @return The table, or null if the card is not a verb of a loaded deck in a supported language.
+     */
+    public ConjugationEngine.Table conjugate(com.example.lexr.Card card) {
+        com.example.lexr.Deck deck = conjugations.getDeck(card);
+        if (deck == null || DistractorEngine.partOfSpeech(card.getTranslation()) != DistractorEngine.POS_VERB) {
+            return null;  // Nouns and phrases have no table O(1)
+        }
+        return getConjugationEngine().conjugate(deck.getLanguage(), card.getWord());
+    }
+
+    /**
+     * Returns the engine generating conjugation tables, reading its irregular verbs on first use.
+     * getInstanceAsync() and loadDeckAsync() read it on the loader before their callbacks run,
+     * and the first read never waits for a deck being published.
+     * Time complexity: O(1) after the first call, O(v log v) the first time for v listed verbs.
+     *
+     * @return The conjugation engine.
+     */
+    public ConjugationEngine getConjugationEngine() {
+        ConjugationEngine engine = conjugationEngine;  // One volatile read on the fast path O(1)
+        if (engine == null) {
+            synchronized (engineLock) {
+                engine = conjugationEngine;
+                if (engine == null) {
+                    engine = ConjugationEngine.fromClasspath(ConjugationEngine.SPANISH, ConjugationEngine.LATIN);
+                    conjugationEngine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Checks whether the conjugation engine has been read, without reading it.
+     * Time complexity: O(1) - One volatile read.
+     *
+     * @return true if getConjugationEngine() returns without reading the verb tables.
+     */
+    boolean isConjugationEngineLoaded() {
+        return conjugationEngine != null;
+    }
+
+    /**
+     * Returns the index mapping card forms back to their cards and decks.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The conjugation index.
+     */
+    public ConjugationIndex getConjugationIndex() {
+        return conjugations;  // Return the conjugation index O(1)
+    }
+
+    /**
+     * Returns the store keeping the flip state and view counters of cards by id.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The card state store, or null if card state is not kept.
+     */
+    public CardStateStore getCardStateStore() {
+        return stateStore;  // Return the card state store O(1)
+    }
+
+    /**
+     * Returns the registry indexing all decks, for queries by language and difficulty.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The deck registry.
+     */
+    public DeckRegistry getDeckRegistry() {
+        return registry;  // Return the deck registry O(1)
+    }
+
+    /**
+     * Retrieves a specific deck by its id (e.g., "SpanishDeck1") or display name,
+     * loading its cards from the source on first use.
+     * Time complexity: O(1) for the lookup, plus O(c) to load a deck of c cards the first time.
+     *
+     * @param deckName The id or display name of the deck to retrieve.
+     * @return The Deck object if found, or null if not found.
+     */
+    public com.example.lexr.Deck getDeckByName(String deckName) {
+        com.example.lexr.Deck deck = registry.find(deckName);  // Hash lookup by id, then by name O(1)
+        if (deck != null) {
+            loadDeck(deck);  // Stream the deck's cards in if this is the first request O(c)
+        }
+        return deck;  // Return the deck, or null if it is not found O(1)
+    }
+
+    /**
+     * A result computed on the loader once every deck is loaded.
+     *
+     * @param <T> The type of the result.
+     */
+    private interface Query<T> {
+        T run();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+
+/**
+ * DeckManifest describes a deck without holding any of its cards.
+ * Manifests are read at startup so DeckManager can list and index every deck cheaply and
+ * only stream a deck's cards from its DeckSource when the deck is first requested.
+ * The deck metadata defaults match a new Deck and can be set by the source.
+ */
+public class DeckManifest {
+
+    // Fields describing the deck
+    private final String name;       // The stable id of the deck (e.g., "SpanishDeck1")
+    private final String file;       // Where the deck's cards are stored, relative to the source
+    private final int cardCount;     // Number of cards in the deck, used to pre-size the card list
+    private final int favoriteCount; // Number of cards in the deck marked as favorites
+    private String language;         // The language of the deck (e.g., "Spanish")
+    private String deckName;         // The display name of the deck
+    private int difficultyRating;    // The difficulty rating of the deck
+    private boolean isActive;        // Whether the deck is active
+
+    /**
+     * Constructor for the DeckManifest class.
+     * Time complexity: O(1) - Initializing a constant number of fields is constant time.
+     *
+     * @param name      The lookup name of the deck.
+     * @param file      The location of the deck's cards, relative to its source.
+     * @param cardCount The number of cards in the deck (0 if unknown).
+     */
+    public DeckManifest(String name, String file, int cardCount) {
+        this(name, file, cardCount, 0);  // Plain sources hold no favorites O(1)
+    }
+
+    /**
+     * Constructor for a manifest whose deck already holds favorite cards, e.g. from a saved store.
+     * Time complexity: O(1) - Initializing a constant number of fields is constant time.
+     *
+     * @param name          The lookup name of the deck.
+     * @param file          The location of the deck's cards, relative to its source.
+     * @param cardCount     The number of cards in the deck (0 if unknown).
+     * @param favoriteCount The number of favorite cards in the deck.
+     */
+    public DeckManifest(String name, String file, int cardCount, int favoriteCount) {
+        this.name = name;                    // Set the deck name O(1)
+        this.file = file;                    // Set the card file O(1)
+        this.cardCount = cardCount;          // Set the expected card count O(1)
+        this.favoriteCount = favoriteCount;  // Set the favorite count O(1)
+        this.language = name;                // Same defaults as a new Deck O(1)
+        this.deckName = "Default";
+        this.difficultyRating = 1;
+        this.isActive = true;
+    }
+
+    /**
+     * Gets the stable id of the deck, which DeckManager also accepts as its lookup name.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The deck id.
+     */
+    public String getName() {
+        return name;  // Return the deck name O(1)
+    }
+
+    /**
+     * Gets the location of the deck's cards, relative to its source.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The card file of the deck.
+     */
+    public String getFile() {
+        return file;  // Return the card file O(1)
+    }
+
+    /**
+     * Gets the number of cards the manifest declares for the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The declared number of cards, or 0 if unknown.
+     */
+    public int getCardCount() {
+        return cardCount;  // Return the card count O(1)
+    }
+
+    /**
+     * Gets the number of favorite cards in the deck.
+     * DeckManager loads decks holding favorites at startup so they show on the favorites screen.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The number of favorite cards.
+     */
+    public int getFavoriteCount() {
+        return favoriteCount;  // Return the favorite count O(1)
+    }
+
+    /**
+     * Gets the language of the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The language of the deck.
+     */
+    public String getLanguage() {
+        return language;  // Return the language O(1)
+    }
+
+    /**
+     * Gets the display name of the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The display name of the deck.
+     */
+    public String getDeckName() {
+        return deckName;  // Return the display name O(1)
+    }
+
+    /**
+     * Gets the difficulty rating of the deck.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return The difficulty rating of the deck.
+     */
+    public int getDifficultyRating() {
+        return difficultyRating;  // Return the difficulty rating O(1)
+    }
+
+    /**
+     * Checks if the deck is active.
+     * Time complexity: O(1) - Accessing a field is constant time.
+     *
+     * @return True if the deck is active, false otherwise.
+     */
+    public boolean isActive() {
+        return isActive;  // Return the active status O(1)
+    }
+
+    /**
+     * Sets the language of the deck.
+     * Time complexity: O(1) - Assigning a string is constant time.
+     *
+     * @param language The language of the deck.
+     */
+    public void setLanguage(String language) {
+        this.language = language;  // Set the language O(1)
+    }
+
+    /**
+     * Sets the display name of the deck.
+     * Time complexity: O(1) - Assigning a string is constant time.
+     *
+     * @param deckName The display name of the deck.
+     */
+    public void setDeckName(String deckName) {
+        this.deckName = deckName;  // Set the display name O(1)
+    }
+
+    /**
+     * Sets the difficulty rating of the deck.
+     * Time complexity: O(1) - Assigning an integer is constant time.
+     *
+     * @param difficultyRating The difficulty rating of the deck.
+     */
+    public void setDifficultyRating(int difficultyRating) {
+        this.difficultyRating = difficultyRating;  // Set the difficulty rating O(1)
+    }
+
+    /**
+     * Sets whether the deck is active.
+     * Time complexity: O(1) - Assigning a boolean is constant time.
+     *
+     * @param active True if the deck is active.
+     */
+    public void setActive(boolean active) {
+        this.isActive = active;  // Set the active status O(1)
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DeckMerger makes decks share one canonical Card for each distinct card, so a card defined in
+ * several decks (e.g., "Correr"/"To Run" in SpanishDeck1 and SpanishDeck3) is held, reviewed and
+ * marked as a favorite once. Cards are matched by CardFingerprint.exact() and confirmed with
+ * CardFingerprint.sameContent(); the first card seen with some content becomes canonical, and
+ * later copies are replaced by it, passing on their favorite status and higher difficulty.
+ * A copy repeated within one deck is dropped from that deck.
+ * Cards whose near fingerprint matches a canonical card of different content (e.g., "Corrér"/"Run")
+ * are reported for review rather than merged, since they may be different words.
+ * The fingerprints are kept in open-addressing hash tables of canonical indexes, like StringPool,
+ * so merging costs no objects per card beyond the merged decks' new snapshots.
+ */
+public class DeckMerger {
+
+    private static final int INITIAL_CAPACITY = 1024;  // Initial number of canonical cards held
+
+    private Card[] canonical = new Card[INITIAL_CAPACITY];   // Canonical cards by index
+    private long[] exact = new long[INITIAL_CAPACITY];       // Exact fingerprint by index
+    private long[] near = new long[INITIAL_CAPACITY];        // Near fingerprint by index
+    private int[] lastDeck = new int[INITIAL_CAPACITY];      // Stamp of the last deck holding each card
+    private int[] exactSlots = new int[INITIAL_CAPACITY * 2];  // Exact table of index + 1, 0 if empty
+    private int[] nearSlots = new int[INITIAL_CAPACITY * 2];   // Near table of the first index with each near fingerprint
+    private int size;         // Canonical cards
+    private int nearSize;     // Distinct near fingerprints
+    private int deckStamp;    // Incremented for each deck merged
+
+    /**
+     * Returns the canonical card with the same content as a card, making the card canonical if
+     * its content is new. The card's state is not passed on.
+     * Time complexity: O(t) expected, where t is the length of the card's text.
+     *
+     * @param card The card to look up.
+     * @return The shared card, which is card itself if its content is new.
+     */
+    public synchronized Card canonicalize(Card card) {
+        return canonical[intern(card, null)];
+    }
+
+    /**
+     * Replaces every card of the decks by its canonical card, publishing a new snapshot for each
+     * deck that changed, and passes the replaced copies' state on. Merging the same decks again
+     * changes nothing.
+     * Time complexity: O(t + c) expected, where t is the length of all cards' text and c the
+     * number of cards.
+     *
+     * @param decks The decks to merge, in order of precedence: the first copy seen stays canonical.
+     * @return What was merged, and the near duplicates found.
+     */
+    public Report merge(List<Deck> decks) {
+        Report report = merge(decks, false);
+        report.passStateOn();  // O(r) for the r replaced copies
+        return report;
+    }
+
+    /**
+     * Replaces every card of the decks by its canonical card, publishing a new snapshot for each
+     * deck that changed. The copies' favorite status and difficulty are passed on only if asked,
+     * so a background merge can leave that, and the listeners it fires, to Report.passStateOn()
+     * on the thread owning the cards' listeners.
+     * Time complexity: O(t + c) expected, where t is the length of all cards' text and c the
+     * number of cards.
+     *
+     * @param decks     The decks to merge, in order of precedence: the first copy seen stays canonical.
+     * @param passState True to pass each copy's state on to its canonical card right away.
+     * @return What was merged, and the near duplicates found.
+     */
+    public synchronized Report merge(List<Deck> decks, boolean passState) {
+        long start = System.nanoTime();
+        Report report = new Report();
+        for (Deck deck : decks) {
+            int stamp = ++deckStamp;
+            List<Card> cards = deck.getCards();  // Snapshot O(1)
+            List<Card> merged = new ArrayList<>(cards.size());
+            boolean changed = false;
+            for (int i = 0; i < cards.size(); i++) {
+                Card card = cards.get(i);
+                report.cards++;
+                int index = intern(card, report);  // O(t) expected
+                Card shared = canonical[index];
+                if (shared != card) {
+                    if (passState) {
+                        mergeState(shared, card);  // Keep what the user did with the copy O(1)
+                    }
+                    report.replaced.add(card);
+                    report.replacedBy.add(shared);
+                    changed = true;
+                }
+                if (lastDeck[index] == stamp) {
+                    report.droppedRepeats++;  // Already in this deck O(1)
+                    changed = true;
+                    continue;
+                }
+                if (shared != card) {
+                    report.sharedReferences++;
+                }
+                lastDeck[index] = stamp;
+                merged.add(shared);
+            }
+            if (changed) {
+                deck.setCards(merged);  // One new snapshot per changed deck O(c)
+            }
+        }
+        report.uniqueCards = size;
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Returns the number of canonical cards.
+     * Time complexity: O(1).
+     *
+     * @return The number of distinct cards seen.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the canonical index of a card's content, adding the card as canonical if it is new.
+     * Time complexity: O(t) expected, where t is the length of the card's text.
+     *
+     * @param card   The card.
+     * @param report Collects near duplicates of a new card, or null.
+     * @return The canonical index.
+     */
+    private int intern(Card card, Report report) {
+        long fingerprint = CardFingerprint.exact(card);  // O(t)
+        int mask = exactSlots.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (exactSlots[slot] != 0) {
+            int index = exactSlots[slot] - 1;
+            if (exact[index] == fingerprint
+                    && (canonical[index] == card || CardFingerprint.sameContent(canonical[index], card))) {
+                return index;  // Confirmed, so a collision never merges different cards O(t)
+            }
+            slot = (slot + 1) & mask;  // Linear probing O(1) expected
+        }
+        if (size == canonical.length) {
+            grow();  // O(n), amortized O(1)
+        }
+        int index = size++;
+        canonical[index] = card;
+        exact[index] = fingerprint;
+        near[index] = CardFingerprint.near(card);  // O(t)
+        exactSlots[slot] = index + 1;
+        if (size * 2 > exactSlots.length) {
+            exactSlots = rehash(exact, exactSlots.length * 2, size);  // Load factor at most one half
+        }
+        int similar = internNear(index);
+        if (similar != index && report != null) {
+            report.nearDuplicates.add(new NearDuplicate(card, canonical[similar]));
+        }
+        return index;
+    }
+
+    /**
+     * Finds the first canonical card with the same near fingerprint as a new canonical card,
+     * adding the new card to the near table if there is none.
+     * Time complexity: O(1) expected.
+     *
+     * @return The index of the first card with that near fingerprint.
+     */
+    private int internNear(int index) {
+        int mask = nearSlots.length - 1;
+        int slot = (int) near[index] & mask;
+        while (nearSlots[slot] != 0) {
+            int other = nearSlots[slot] - 1;
+            if (near[other] == near[index]) {
+                return other;
+            }
+            slot = (slot + 1) & mask;
+        }
+        nearSlots[slot] = index + 1;
+        nearSize++;
+        if (nearSize * 2 > nearSlots.length) {
+            nearSlots = rehashSlots(nearSlots, near, nearSlots.length * 2);
+        }
+        return index;
+    }
+
+    /**
+     * Passes a copy's favorite status and difficulty on to its canonical card; the canonical
+     * card's listeners save the change.
+     * Time complexity: O(1).
+     */
+    private static void mergeState(Card shared, Card copy) {
+        if (copy.isFavorite()) {
+            shared.setFavorite(true);
+        }
+        if (copy.getDifficultyLevel() > shared.getDifficultyLevel()) {
+            shared.setDifficultyLevel(copy.getDifficultyLevel());
+        }
+    }
+
+    /**
+     * Doubles the per-card arrays.
+     * Time complexity: O(n), where n is the number of canonical cards.
+     */
+    private void grow() {
+        int capacity = canonical.length * 2;
+        canonical = Arrays.copyOf(canonical, capacity);
+        exact = Arrays.copyOf(exact, capacity);
+        near = Arrays.copyOf(near, capacity);
+        lastDeck = Arrays.copyOf(lastDeck, capacity);
+    }
+
+    /**
+     * Builds a hash table of all indexes below count, keyed by their fingerprints.
+     * Time complexity: O(n), where n is count.
+     */
+    private static int[] rehash(long[] keys, int capacity, int count) {
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int index = 0; index < count; index++) {
+            int slot = (int) keys[index] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Moves the indexes held by a hash table into a larger one, keyed by their fingerprints.
+     * Time complexity: O(s), where s is the number of slots.
+     */
+    private static int[] rehashSlots(int[] oldSlots, long[] keys, int capacity) {
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : oldSlots) {
+            if (entry == 0) {
+                continue;
+            }
+            int slot = (int) keys[entry - 1] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry;
+        }
+        return slots;
+    }
+
+    /**
+     * A card that looks like a canonical card of different content.
+     */
+    public static final class NearDuplicate {
+        private final Card card;
+        private final Card similarTo;
+
+        NearDuplicate(Card card, Card similarTo) {
+            this.card = card;
+            this.similarTo = similarTo;
+        }
+
+        /**
+         * @return The card found later, kept as its own canonical card.
+         */
+        public Card getCard() {
+            return card;
+        }
+
+        /**
+         * @return The canonical card it looks like.
+         */
+        public Card getSimilarTo() {
+            return similarTo;
+        }
+
+        @Override
+        public String toString() {
+            return card.getWord() + "/" + card.getTranslation()
+                    + " ~ " + similarTo.getWord() + "/" + similarTo.getTranslation();
+        }
+    }
+
+    /**
+     * The outcome of a merge.
+     */
+    public static final class Report {
+        private int cards;             // Cards read from the decks
+        private int uniqueCards;       // Canonical cards after the merge
+        private int sharedReferences;  // Cards replaced by a canonical card from another deck
+        private int droppedRepeats;    // Cards removed as repeats within a deck
+        private final List<Card> replaced = new ArrayList<>();  // Copies no deck refers to any more
+        private final List<Card> replacedBy = new ArrayList<>();  // The canonical card of each copy
+        private final List<NearDuplicate> nearDuplicates = new ArrayList<>();
+        private long elapsedNanos;
+
+        public int getCards() {
+            return cards;
+        }
+
+        public int getUniqueCards() {
+            return uniqueCards;
+        }
+
+        public int getSharedReferences() {
+            return sharedReferences;
+        }
+
+        public int getDroppedRepeats() {
+            return droppedRepeats;
+        }
+
+        /**
+         * @return The copies replaced by canonical cards, for the caller to stop tracking.
+         */
+        public List<Card> getReplaced() {
+            return Collections.unmodifiableList(replaced);
+        }
+
+        /**
+         * @return The cards that look like a canonical card of different content, in deck order.
+         */
+        public List<NearDuplicate> getNearDuplicates() {
+            return Collections.unmodifiableList(nearDuplicates);
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Passes the favorite status and higher difficulty of every replaced copy on to its
+         * canonical card, whose listeners save the change. Passing it on again changes nothing.
+         * Time complexity: O(r), where r is the number of replaced copies.
+         */
+        public void passStateOn() {
+            for (int i = 0; i < replaced.size(); i++) {
+                mergeState(replacedBy.get(i), replaced.get(i));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return cards + " cards, " + uniqueCards + " unique, " + sharedReferences + " shared, "
+                    + droppedRepeats + " repeats dropped, " + nearDuplicates.size() + " near duplicates, in "
+                    + elapsedNanos / 1_000_000 + " ms";
+        }
+    }
+}
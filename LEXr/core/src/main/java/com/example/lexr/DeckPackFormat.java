@@ -0,0 +1,73 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+
+/**
+ * DeckPackFormat describes the binary deck pack file written by DeckPackWriter and
+ * memory-mapped by DeckPackReader. All numbers are big-endian and every section is a
+ * fixed-size table, so any record is found by arithmetic instead of by parsing.
+ *
+ * <pre>
+ * header       MAGIC, VERSION, deck count, card count, conjugate count, string count,
+ *              and the offsets of the five sections below (HEADER_SIZE bytes)
+ * decks        per deck: name id, language id, title id, difficulty, flags,
+ *              first card, card count, favorite count (DECK_RECORD_SIZE bytes)
+ * cards        per card: word id, translation id, first conjugate, conjugate count,
+ *              difficulty level, flags (CARD_RECORD_SIZE bytes)
+ * conjugates   one string id per conjugate, card after card
+ * string index string count + 1 byte offsets into the string data
+ * string data  UTF-8 bytes of every distinct string, back to back
+ * </pre>
+ *
+ * Strings are stored once and referred to by id, so words shared across decks cost one copy.
+ */
+final class DeckPackFormat {
+
+    static final int MAGIC = 0x4C58504B;  // "LXPK"
+    static final int VERSION = 1;         // Bump when the layout changes
+
+    static final int HEADER_SIZE = 44;       // 11 ints
+    static final int DECK_RECORD_SIZE = 32;  // 8 ints
+    static final int CARD_RECORD_SIZE = 16;  // 3 ints, a short and two bytes
+
+    // Header fields, as byte offsets from the start of the file
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_DECK_COUNT = 8;
+    static final int HEADER_CARD_COUNT = 12;
+    static final int HEADER_CONJUGATE_COUNT = 16;
+    static final int HEADER_STRING_COUNT = 20;
+    static final int HEADER_DECKS_OFFSET = 24;
+    static final int HEADER_CARDS_OFFSET = 28;
+    static final int HEADER_CONJUGATES_OFFSET = 32;
+    static final int HEADER_STRING_INDEX_OFFSET = 36;
+    static final int HEADER_STRING_DATA_OFFSET = 40;
+
+    // Deck record fields, as byte offsets from the start of the record
+    static final int DECK_NAME = 0;
+    static final int DECK_LANGUAGE = 4;
+    static final int DECK_TITLE = 8;
+    static final int DECK_DIFFICULTY = 12;
+    static final int DECK_FLAGS = 16;
+    static final int DECK_FIRST_CARD = 20;
+    static final int DECK_CARD_COUNT = 24;
+    static final int DECK_FAVORITE_COUNT = 28;
+
+    // Card record fields, as byte offsets from the start of the record
+    static final int CARD_WORD = 0;
+    static final int CARD_TRANSLATION = 4;
+    static final int CARD_FIRST_CONJUGATE = 8;
+    static final int CARD_CONJUGATE_COUNT = 12;
+    static final int CARD_DIFFICULTY = 14;
+    static final int CARD_FLAGS = 15;
+
+    static final int FLAG_ACTIVE = 1;    // Deck flag: the deck is active
+    static final int FLAG_FAVORITE = 1;  // Card flag: the card is a favorite
+
+    private DeckPackFormat() {
+    }
+}
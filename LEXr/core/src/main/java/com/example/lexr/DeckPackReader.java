@@ -0,0 +1,247 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * DeckPackReader reads decks from a binary deck pack written by DeckPackWriter.
+ * The file is memory-mapped, so opening a pack only reads its header and deck table;
+ * card records are read in place when a deck is loaded, and each string is decoded the
+ * first time a card needs it. Conjugates stay in the file behind a list view until shown.
+ * Card ids are their position in the pack plus one, so they are stable across opens.
+ */
+public class DeckPackReader implements DeckSource, Closeable {
+
+    private final RandomAccessFile file;        // The open pack file
+    private final ByteBuffer buffer;            // The whole pack, mapped read-only
+    private final int deckCount;                // Number of decks in the pack
+    private final int cardCount;                // Number of cards in the pack
+    private final int decksOffset;              // Start of the deck table
+    private final int cardsOffset;              // Start of the card table
+    private final int conjugatesOffset;         // Start of the conjugate id table
+    private final int stringIndexOffset;        // Start of the string offset table
+    private final int stringDataOffset;         // Start of the UTF-8 string data
+    private final String[] strings;             // Decoded strings by id, null until first used
+    private final Map<String, Integer> deckIndexes = new HashMap<>();  // Deck number by deck id
+
+    /**
+     * Opens and maps a deck pack, checking its header.
+     * Time complexity: O(d), where d is the number of decks; no card is read.
+     *
+     * @param path The pack file.
+     * @throws IOException If the file cannot be mapped or is not a deck pack of a known version.
+     */
+    public DeckPackReader(File path) throws IOException {
+        file = new RandomAccessFile(path, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            if (channel.size() < DeckPackFormat.HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a deck pack: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());  // No bytes are read yet
+            if (buffer.getInt(DeckPackFormat.HEADER_MAGIC) != DeckPackFormat.MAGIC) {
+                throw new IOException("Not a deck pack: " + path);
+            }
+            int version = buffer.getInt(DeckPackFormat.HEADER_VERSION);
+            if (version != DeckPackFormat.VERSION) {
+                throw new IOException("Unsupported deck pack version " + version + ": " + path);
+            }
+            deckCount = buffer.getInt(DeckPackFormat.HEADER_DECK_COUNT);
+            cardCount = buffer.getInt(DeckPackFormat.HEADER_CARD_COUNT);
+            int conjugateCount = buffer.getInt(DeckPackFormat.HEADER_CONJUGATE_COUNT);
+            int stringCount = buffer.getInt(DeckPackFormat.HEADER_STRING_COUNT);
+            decksOffset = buffer.getInt(DeckPackFormat.HEADER_DECKS_OFFSET);
+            cardsOffset = buffer.getInt(DeckPackFormat.HEADER_CARDS_OFFSET);
+            conjugatesOffset = buffer.getInt(DeckPackFormat.HEADER_CONJUGATES_OFFSET);
+            stringIndexOffset = buffer.getInt(DeckPackFormat.HEADER_STRING_INDEX_OFFSET);
+            stringDataOffset = buffer.getInt(DeckPackFormat.HEADER_STRING_DATA_OFFSET);
+            if (decksOffset + (long) deckCount * DeckPackFormat.DECK_RECORD_SIZE > cardsOffset
+                    || cardsOffset + (long) cardCount * DeckPackFormat.CARD_RECORD_SIZE > conjugatesOffset
+                    || conjugatesOffset + conjugateCount * 4L > stringIndexOffset
+                    || stringIndexOffset + (stringCount + 1) * 4L > stringDataOffset
+                    || stringDataOffset > buffer.capacity()) {
+                throw new IOException("Corrupt deck pack: " + path);
+            }
+            strings = new String[stringCount];
+            for (int d = 0; d < deckCount; d++) {
+                deckIndexes.put(getString(deckInt(d, DeckPackFormat.DECK_NAME)), d);  // O(1) per deck
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the manifests of every deck from the deck table.
+     * Time complexity: O(d), where d is the number of decks.
+     *
+     * @return The manifests of all decks in pack order; each manifest's file is the deck id.
+     */
+    @Override
+    public List<DeckManifest> loadManifests() {
+        List<DeckManifest> manifests = new ArrayList<>(deckCount);
+        for (int d = 0; d < deckCount; d++) {
+            String name = getString(deckInt(d, DeckPackFormat.DECK_NAME));
+            DeckManifest manifest = new DeckManifest(name, name,
+                    deckInt(d, DeckPackFormat.DECK_CARD_COUNT), deckInt(d, DeckPackFormat.DECK_FAVORITE_COUNT));
+            manifest.setLanguage(getString(deckInt(d, DeckPackFormat.DECK_LANGUAGE)));
+            manifest.setDeckName(getString(deckInt(d, DeckPackFormat.DECK_TITLE)));
+            manifest.setDifficultyRating(deckInt(d, DeckPackFormat.DECK_DIFFICULTY));
+            manifest.setActive((deckInt(d, DeckPackFormat.DECK_FLAGS) & DeckPackFormat.FLAG_ACTIVE) != 0);
+            manifests.add(manifest);
+        }
+        return manifests;
+    }
+
+    /**
+     * Builds the cards of one deck from their records, in pack order.
+     * Time complexity: O(c), where c is the number of cards read; strings are decoded once each.
+     *
+     * @param manifest The manifest of the deck to load.
+     * @param sink     Receives each card; loading stops early if it returns false.
+     * @throws IOException If the pack has no such deck.
+     */
+    @Override
+    public void loadCards(DeckManifest manifest, CardSink sink) throws IOException {
+        Integer deck = deckIndexes.get(manifest.getName());
+        if (deck == null) {
+            throw new IOException("Missing deck in pack: " + manifest.getName());
+        }
+        int first = deckInt(deck, DeckPackFormat.DECK_FIRST_CARD);
+        int end = first + deckInt(deck, DeckPackFormat.DECK_CARD_COUNT);
+        for (int index = first; index < end; index++) {
+            if (!sink.accept(getCard(index))) {
+                return;  // The sink has all the cards it wants
+            }
+        }
+    }
+
+    /**
+     * Builds the card stored at a position in the pack.
+     * Time complexity: O(1) amortized - One record read and up to two string decodes.
+     *
+     * @param index The position of the card in the pack, from 0 to getCardCount() - 1.
+     * @return A new card whose conjugates are read from the pack on access.
+     */
+    public Card getCard(int index) {
+        if (index < 0 || index >= cardCount) {
+            throw new IndexOutOfBoundsException("Card " + index + " of " + cardCount);
+        }
+        int record = cardsOffset + index * DeckPackFormat.CARD_RECORD_SIZE;
+        Card card = new Card(getString(buffer.getInt(record + DeckPackFormat.CARD_WORD)),
+                new ConjugateList(buffer.getInt(record + DeckPackFormat.CARD_FIRST_CONJUGATE),
+                        buffer.getShort(record + DeckPackFormat.CARD_CONJUGATE_COUNT)),
+                getString(buffer.getInt(record + DeckPackFormat.CARD_TRANSLATION)));
+        card.setId(index + 1);
+        card.setDifficultyLevel(buffer.get(record + DeckPackFormat.CARD_DIFFICULTY));
+        card.setFavorite((buffer.get(record + DeckPackFormat.CARD_FLAGS) & DeckPackFormat.FLAG_FAVORITE) != 0);
+        return card;
+    }
+
+    /**
+     * Returns a string of the pack's string table, decoding it on first use.
+     * Strings are immutable, so two threads racing to decode the same id only waste work.
+     * Time complexity: O(l) the first time, where l is the length of the string, O(1) after.
+     *
+     * @param id The string id.
+     * @return The decoded string.
+     */
+    public String getString(int id) {
+        String value = strings[id];
+        if (value == null) {
+            int start = stringDataOffset + buffer.getInt(stringIndexOffset + id * 4);
+            int end = stringDataOffset + buffer.getInt(stringIndexOffset + id * 4 + 4);
+            ByteBuffer bytes = buffer.duplicate();
+            ((Buffer) bytes).limit(end);
+            ((Buffer) bytes).position(start);
+            value = StandardCharsets.UTF_8.decode(bytes).toString();  // O(l)
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of decks in the pack.
+     * Time complexity: O(1).
+     *
+     * @return The deck count.
+     */
+    public int getDeckCount() {
+        return deckCount;
+    }
+
+    /**
+     * Returns the number of cards in the pack, across all decks.
+     * Time complexity: O(1).
+     *
+     * @return The card count.
+     */
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * Closes the pack file. The mapping itself is released when it is garbage collected,
+     * so cards already loaded keep working.
+     * Time complexity: O(1).
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Reads an int field of a deck record.
+     * Time complexity: O(1).
+     */
+    private int deckInt(int deck, int field) {
+        return buffer.getInt(decksOffset + deck * DeckPackFormat.DECK_RECORD_SIZE + field);
+    }
+
+    /**
+     * Read-only view of one card's conjugates in the pack's conjugate table.
+     */
+    private final class ConjugateList extends AbstractList<String>
+            implements RandomAccess, CompactCardStore.CompactList {
+        private final int start;  // Index of the first conjugate id in the table
+        private final int size;   // Number of conjugates
+
+        ConjugateList(int start, int size) {
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return getString(buffer.getInt(conjugatesOffset + (start + index) * 4));  // O(1) after first use
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
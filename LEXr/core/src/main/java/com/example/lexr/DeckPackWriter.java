@@ -0,0 +1,171 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DeckPackWriter converts decks and their cards into a binary deck pack,
+ * the format described in DeckPackFormat.
+ * Every distinct string is written once, so packs of large decks that share words stay small.
+ */
+public class DeckPackWriter {
+
+    /**
+     * Writes decks and all their cards to a deck pack file, replacing the file if it exists.
+     * Time complexity: O(c + l), where c is the number of cards and l the total length of their text.
+     *
+     * The decks are checked by DeckValidator first, so broken content never ships in a pack.
+     *
+     * @param decks The decks to write, in display order, with their cards loaded.
+     * @param file  The pack file to write.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If the decks break a DeckValidator error rule.
+     */
+    public static void write(List<Deck> decks, File file) throws IOException {
+        DeckValidator.Report report = DeckValidator.defaults().validate(decks);  // O(c / p) on the fork/join pool
+        if (report.hasErrors()) {
+            throw new IllegalArgumentException("Invalid deck content, not writing " + file.getName() + ": " + report);
+        }
+        StringPool strings = new StringPool();  // Numbers every distinct string
+        int cardCount = 0;
+        int conjugateCount = 0;
+        for (Deck deck : decks) {
+            for (Card card : deck.getCards()) {
+                cardCount++;
+                conjugateCount += card.getConjugates().size();
+            }
+        }
+
+        // Deck and card tables, filled while interning the strings they refer to
+        int[] deckTable = new int[decks.size() * DeckPackFormat.DECK_RECORD_SIZE / 4];
+        int[] cardIds = new int[cardCount * 3];    // word id, translation id, first conjugate
+        short[] cardConjugates = new short[cardCount];
+        byte[] cardDifficulty = new byte[cardCount];
+        byte[] cardFlags = new byte[cardCount];
+        int[] conjugates = new int[conjugateCount];
+        int card = 0;
+        int conjugate = 0;
+        for (int d = 0; d < decks.size(); d++) {
+            Deck deck = decks.get(d);
+            int base = d * DeckPackFormat.DECK_RECORD_SIZE / 4;
+            int favorites = 0;
+            deckTable[base] = strings.intern(deck.getId());
+            deckTable[base + 1] = strings.intern(deck.getLanguage());
+            deckTable[base + 2] = strings.intern(deck.getDeckName());
+            deckTable[base + 3] = deck.getDifficultyRating();
+            deckTable[base + 4] = deck.isActive() ? DeckPackFormat.FLAG_ACTIVE : 0;
+            deckTable[base + 5] = card;
+            deckTable[base + 6] = deck.getCards().size();
+            for (Card source : deck.getCards()) {
+                List<String> forms = source.getConjugates();
+                if (forms.size() > Short.MAX_VALUE) {
+                    throw new IOException("Too many conjugates on card " + source.getWord());
+                }
+                cardIds[card * 3] = strings.intern(source.getWord());
+                cardIds[card * 3 + 1] = strings.intern(source.getTranslation());
+                cardIds[card * 3 + 2] = conjugate;
+                cardConjugates[card] = (short) forms.size();
+                cardDifficulty[card] = (byte) source.getDifficultyLevel();
+                cardFlags[card] = source.isFavorite() ? (byte) DeckPackFormat.FLAG_FAVORITE : 0;
+                if (source.isFavorite()) {
+                    favorites++;
+                }
+                for (String form : forms) {
+                    conjugates[conjugate++] = strings.intern(form);
+                }
+                card++;
+            }
+            deckTable[base + 7] = favorites;
+        }
+
+        // Encode the strings up front so the section offsets are known before writing
+        int stringCount = strings.size();
+        byte[][] encoded = new byte[stringCount][];
+        int stringBytes = 0;
+        for (int id = 0; id < stringCount; id++) {
+            encoded[id] = strings.get(id).getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[id].length;
+        }
+        int decksOffset = DeckPackFormat.HEADER_SIZE;
+        int cardsOffset = decksOffset + deckTable.length * 4;
+        int conjugatesOffset = cardsOffset + cardCount * DeckPackFormat.CARD_RECORD_SIZE;
+        int stringIndexOffset = conjugatesOffset + conjugateCount * 4;
+        int stringDataOffset = stringIndexOffset + (stringCount + 1) * 4;
+        if ((long) stringDataOffset + stringBytes > Integer.MAX_VALUE) {
+            throw new IOException("Deck pack would exceed 2 GB");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(DeckPackFormat.MAGIC);
+            out.writeInt(DeckPackFormat.VERSION);
+            out.writeInt(decks.size());
+            out.writeInt(cardCount);
+            out.writeInt(conjugateCount);
+            out.writeInt(stringCount);
+            out.writeInt(decksOffset);
+            out.writeInt(cardsOffset);
+            out.writeInt(conjugatesOffset);
+            out.writeInt(stringIndexOffset);
+            out.writeInt(stringDataOffset);
+            for (int value : deckTable) {
+                out.writeInt(value);
+            }
+            for (int c = 0; c < cardCount; c++) {
+                out.writeInt(cardIds[c * 3]);
+                out.writeInt(cardIds[c * 3 + 1]);
+                out.writeInt(cardIds[c * 3 + 2]);
+                out.writeShort(cardConjugates[c]);
+                out.writeByte(cardDifficulty[c]);
+                out.writeByte(cardFlags[c]);
+            }
+            for (int value : conjugates) {
+                out.writeInt(value);
+            }
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);  // End of the last string
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Loads every deck of a source and writes them to a deck pack, e.g., to convert text decks.
+     * Time complexity: O(c + l), where c is the number of cards and l the total length of their text.
+     *
+     * @param source The source to read decks from.
+     * @param file   The pack file to write.
+     * @throws IOException If the source cannot be read or the file cannot be written.
+     */
+    public static void convert(DeckSource source, File file) throws IOException {
+        List<Deck> decks = new ArrayList<>();
+        for (DeckManifest manifest : source.loadManifests()) {
+            Deck deck = new Deck(manifest.getName(), manifest.getLanguage(), manifest.getDeckName());
+            deck.setDifficultyRating(manifest.getDifficultyRating());
+            deck.setActive(manifest.isActive());
+            final List<Card> cards = new ArrayList<>(manifest.getCardCount());
+            source.loadCards(manifest, cards::add);  // Stream the deck's cards O(c)
+            deck.setCards(cards);
+            decks.add(deck);
+        }
+        write(decks, file);
+    }
+
+    private DeckPackWriter() {
+    }
+}
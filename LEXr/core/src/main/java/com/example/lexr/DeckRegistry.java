@@ -0,0 +1,256 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * DeckRegistry indexes decks so lookups never scan the full deck list.
+ * Decks are hashed by their stable id and by display name, and kept in secondary indexes by
+ * language and difficulty rating, so range queries such as "all active Spanish decks with
+ * difficulty at most 3" only touch the matching decks.
+ * The registry listens to each deck and re-indexes it when an indexed property changes.
+ */
+public class DeckRegistry implements Deck.OnDeckChangedListener {
+
+    private final Map<String, Deck> byId = new HashMap<>();              // Primary index: id -> deck
+    private final Map<String, Set<Deck>> byName = new HashMap<>();       // Display name -> decks
+    private final Map<String, NavigableMap<Integer, Set<Deck>>> byLanguage = new HashMap<>();        // Language -> difficulty -> decks
+    private final Map<String, NavigableMap<Integer, Set<Deck>>> activeByLanguage = new HashMap<>();  // Same, active decks only
+    private final NavigableMap<Integer, Set<Deck>> byDifficulty = new TreeMap<>();  // Difficulty -> decks of every language
+    private final Map<Deck, IndexedKeys> indexedKeys = new HashMap<>();  // The keys each deck is currently filed under
+
+    /**
+     * Adds a deck to every index and starts listening for changes to it.
+     * Time complexity: O(log r), where r is the number of distinct difficulty ratings.
+     *
+     * @param deck The deck to register.
+     * @throws IllegalArgumentException If another deck is registered with the same id.
+     */
+    public void register(Deck deck) {
+        if (byId.containsKey(deck.getId())) {
+            throw new IllegalArgumentException("Duplicate deck id: " + deck.getId());
+        }
+        byId.put(deck.getId(), deck);  // O(1)
+        index(deck);  // O(log r)
+        deck.setOnDeckChangedListener(this);
+    }
+
+    /**
+     * Removes a deck from every index and stops listening to it.
+     * Time complexity: O(log r), where r is the number of distinct difficulty ratings.
+     *
+     * @param deck The deck to unregister.
+     * @return true if the deck was registered.
+     */
+    public boolean unregister(Deck deck) {
+        if (byId.get(deck.getId()) != deck) {
+            return false;
+        }
+        byId.remove(deck.getId());
+        unindex(deck);
+        deck.setOnDeckChangedListener(null);
+        return true;
+    }
+
+    /**
+     * Re-files a deck whose language, name, difficulty rating or active status changed.
+     * Time complexity: O(log r), where r is the number of distinct difficulty ratings.
+     *
+     * @param deck The deck that changed.
+     */
+    @Override
+    public void onDeckChanged(Deck deck) {
+        unindex(deck);
+        index(deck);
+    }
+
+    /**
+     * Finds a deck by its stable id.
+     * Time complexity: O(1) - A hash lookup.
+     *
+     * @param id The id of the deck.
+     * @return The deck, or null if none has that id.
+     */
+    public Deck getById(String id) {
+        return byId.get(id);  // O(1)
+    }
+
+    /**
+     * Finds a deck by its id or, failing that, by its display name.
+     * Time complexity: O(1) - At most two hash lookups.
+     *
+     * @param idOrName The id or display name of the deck.
+     * @return The deck, or null if none matches; the first registered deck wins if names repeat.
+     */
+    public Deck find(String idOrName) {
+        Deck deck = byId.get(idOrName);  // O(1)
+        if (deck != null) {
+            return deck;
+        }
+        Set<Deck> named = byName.get(idOrName);  // O(1)
+        return named == null || named.isEmpty() ? null : named.iterator().next();
+    }
+
+    /**
+     * Finds all decks with a display name.
+     * Time complexity: O(1 + k), where k is the number of matching decks.
+     *
+     * @param deckName The display name.
+     * @return The matching decks, in registration order.
+     */
+    public List<Deck> findByName(String deckName) {
+        Set<Deck> named = byName.get(deckName);
+        return named == null ? new ArrayList<Deck>() : new ArrayList<>(named);
+    }
+
+    /**
+     * Finds all decks of a language.
+     * Time complexity: O(1 + k), where k is the number of matching decks.
+     *
+     * @param language   The language of the decks.
+     * @param activeOnly true to only return active decks.
+     * @return The matching decks, ordered by difficulty rating.
+     */
+    public List<Deck> findByLanguage(String language, boolean activeOnly) {
+        return findDecks(language, activeOnly, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the decks of a language whose difficulty rating lies in a range, e.g. all active
+     * Spanish decks with difficulty at most 3.
+     * Time complexity: O(log r + k), where r is the number of distinct ratings and k the number of matches.
+     *
+     * @param language      The language of the decks.
+     * @param activeOnly    true to only return active decks.
+     * @param minDifficulty The lowest difficulty rating to include.
+     * @param maxDifficulty The highest difficulty rating to include.
+     * @return The matching decks, ordered by difficulty rating.
+     */
+    public List<Deck> findDecks(String language, boolean activeOnly, int minDifficulty, int maxDifficulty) {
+        NavigableMap<Integer, Set<Deck>> index = (activeOnly ? activeByLanguage : byLanguage).get(language);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        return collect(index.subMap(minDifficulty, true, maxDifficulty, true).values());
+    }
+
+    /**
+     * Finds the decks of every language whose difficulty rating lies in a range.
+     * Time complexity: O(log r + k), where r is the number of distinct ratings and k the number of matches.
+     *
+     * @param minDifficulty The lowest difficulty rating to include.
+     * @param maxDifficulty The highest difficulty rating to include.
+     * @return The matching decks, ordered by difficulty rating.
+     */
+    public List<Deck> findByDifficulty(int minDifficulty, int maxDifficulty) {
+        return collect(byDifficulty.subMap(minDifficulty, true, maxDifficulty, true).values());
+    }
+
+    /**
+     * Returns the number of registered decks.
+     * Time complexity: O(1).
+     *
+     * @return The number of decks.
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Files a deck under its current name, language, difficulty rating and active status.
+     * Time complexity: O(log r), where r is the number of distinct difficulty ratings.
+     */
+    private void index(Deck deck) {
+        IndexedKeys keys = new IndexedKeys(deck);
+        indexedKeys.put(deck, keys);
+        bucket(byName, keys.deckName).add(deck);
+        bucket(languageIndex(byLanguage, keys.language), keys.difficultyRating).add(deck);
+        if (keys.active) {
+            bucket(languageIndex(activeByLanguage, keys.language), keys.difficultyRating).add(deck);
+        }
+        bucket(byDifficulty, keys.difficultyRating).add(deck);
+    }
+
+    /**
+     * Removes a deck from the buckets it was filed under, using the keys recorded by index().
+     * Time complexity: O(log r), where r is the number of distinct difficulty ratings.
+     */
+    private void unindex(Deck deck) {
+        IndexedKeys keys = indexedKeys.remove(deck);
+        if (keys == null) {
+            return;
+        }
+        removeFrom(byName, keys.deckName, deck);
+        removeFrom(byLanguage.get(keys.language), keys.difficultyRating, deck);
+        if (keys.active) {
+            removeFrom(activeByLanguage.get(keys.language), keys.difficultyRating, deck);
+        }
+        removeFrom(byDifficulty, keys.difficultyRating, deck);
+    }
+
+    private static NavigableMap<Integer, Set<Deck>> languageIndex(
+            Map<String, NavigableMap<Integer, Set<Deck>>> index, String language) {
+        NavigableMap<Integer, Set<Deck>> byRating = index.get(language);
+        if (byRating == null) {
+            byRating = new TreeMap<>();
+            index.put(language, byRating);
+        }
+        return byRating;
+    }
+
+    private static <K> Set<Deck> bucket(Map<K, Set<Deck>> index, K key) {
+        Set<Deck> decks = index.get(key);
+        if (decks == null) {
+            decks = new LinkedHashSet<>();  // Keeps registration order, O(1) removal
+            index.put(key, decks);
+        }
+        return decks;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Deck>> index, K key, Deck deck) {
+        if (index == null) {
+            return;
+        }
+        Set<Deck> decks = index.get(key);
+        if (decks != null && decks.remove(deck) && decks.isEmpty()) {
+            index.remove(key);  // Drop empty buckets so range queries skip them
+        }
+    }
+
+    private static List<Deck> collect(Collection<Set<Deck>> buckets) {
+        List<Deck> decks = new ArrayList<>();
+        for (Set<Deck> bucket : buckets) {
+            decks.addAll(bucket);
+        }
+        return decks;
+    }
+
+    /**
+     * The index keys of a deck at the time it was filed, so it can be found again after it changes.
+     */
+    private static class IndexedKeys {
+        final String deckName;
+        final String language;
+        final int difficultyRating;
+        final boolean active;
+
+        IndexedKeys(Deck deck) {
+            this.deckName = deck.getDeckName();
+            this.language = deck.getLanguage();
+            this.difficultyRating = deck.getDifficultyRating();
+            this.active = deck.isActive();
+        }
+    }
+}
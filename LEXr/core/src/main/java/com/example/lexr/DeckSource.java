@@ -0,0 +1,48 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * DeckSource is where DeckManager gets its decks from.
+ * A source first lists its decks as manifests, which must be cheap, and then streams
+ * the cards of a single deck on request so cards are only built for decks that are used.
+ */
+public interface DeckSource {
+
+    /**
+     * Reads the manifests of every deck in the source, without reading any cards.
+     *
+     * @return The manifests of all decks, in display order.
+     * @throws IOException If the manifests cannot be read.
+     */
+    List<DeckManifest> loadManifests() throws IOException;
+
+    /**
+     * Streams the cards of one deck into the given sink, in deck order.
+     *
+     * @param manifest The manifest of the deck to load.
+     * @param sink     Receives each card as it is read.
+     * @throws IOException If the cards cannot be read.
+     */
+    void loadCards(DeckManifest manifest, CardSink sink) throws IOException;
+
+    /**
+     * Receives cards streamed from a DeckSource one at a time.
+     */
+    interface CardSink {
+
+        /**
+         * Called for each card read from the source.
+         *
+         * @param card The card that was read.
+         * @return true to keep reading, false to stop loading the deck early.
+         */
+        boolean accept(Card card);
+    }
+}
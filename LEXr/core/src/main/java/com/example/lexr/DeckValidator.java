@@ -0,0 +1,631 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * DeckValidator checks deck content against a configurable set of rules before it is shipped or
+ * imported: cards with a blank word or translation, null or blank conjugates, or a difficulty out
+ * of range, and decks with a blank id or language, or an id or name another deck already uses,
+ * which getDeckByName() would shadow.
+ * Card rules run in parallel on a shared fork/join pool, over slices of a few thousand cards of
+ * each deck's snapshot; deck rules run on the calling thread. The report lists card issues in deck
+ * and card order, whatever order the slices finish in.
+ * Rules must not change the cards and must be safe to call from several threads.
+ */
+public class DeckValidator {
+
+    public static final String CARD_NULL = "card.null";
+    public static final String CARD_WORD_BLANK = "card.word.blank";
+    public static final String CARD_TRANSLATION_BLANK = "card.translation.blank";
+    public static final String CARD_CONJUGATES_NULL = "card.conjugates.null";
+    public static final String CARD_CONJUGATE_BLANK = "card.conjugate.blank";
+    public static final String CARD_DIFFICULTY_RANGE = "card.difficulty.range";
+    public static final String CARD_TEXT_PADDED = "card.text.padded";
+    public static final String DECK_ID_BLANK = "deck.id.blank";
+    public static final String DECK_LANGUAGE_BLANK = "deck.language.blank";
+    public static final String DECK_NAME_BLANK = "deck.name.blank";
+    public static final String DECK_EMPTY = "deck.empty";
+    public static final String DECK_ID_DUPLICATE = "deck.id.duplicate";
+    public static final String DECK_NAME_DUPLICATE = "deck.name.duplicate";
+
+    public static final int MAX_KEPT_ISSUES = 10_000;  // Issues kept for the report; more are only counted
+    static final int SLICE_CARDS = 4096;               // Cards checked by one fork/join task
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+
+    private final Rule[] cardRules;  // Run on every card, in order
+    private final Rule[] deckRules;  // Run on every deck, in order
+    private final boolean checkDuplicateIds;
+    private final boolean checkDuplicateNames;
+    private final ForkJoinPool pool;
+
+    private DeckValidator(Builder builder, ForkJoinPool pool) {
+        List<Rule> cards = new ArrayList<>();
+        List<Rule> decks = new ArrayList<>();
+        for (Rule rule : builder.rules.values()) {
+            if (rule.cardRule != null) {
+                cards.add(rule);
+            } else if (rule.deckRule != null) {
+                decks.add(rule);
+            }
+        }
+        this.cardRules = cards.toArray(new Rule[0]);
+        this.deckRules = decks.toArray(new Rule[0]);
+        this.checkDuplicateIds = builder.rules.containsKey(DECK_ID_DUPLICATE);
+        this.checkDuplicateNames = builder.rules.containsKey(DECK_NAME_DUPLICATE);
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a validator with the default rules.
+     * Time complexity: O(1).
+     *
+     * @return The validator.
+     */
+    public static DeckValidator defaults() {
+        return new Builder().addDefaultRules().build();
+    }
+
+    /**
+     * Checks a single deck.
+     * Time complexity: O(c r / p), where c is the number of cards, r the number of rules and p
+     * the number of processors.
+     *
+     * @param deck The deck, with its cards loaded.
+     * @return The issues found.
+     */
+    public Report validate(Deck deck) {
+        return validate(Collections.singletonList(deck));
+    }
+
+    /**
+     * Checks decks and all their cards. Each deck's cards are read from one snapshot, so decks
+     * may change while they are checked.
+     * Time complexity: O(d + c r / p), where d is the number of decks, c the number of cards,
+     * r the number of rules and p the number of processors.
+     *
+     * @param decks The decks, with their cards loaded.
+     * @return The issues found, deck issues first, then card issues in deck and card order.
+     */
+    public Report validate(List<Deck> decks) {
+        long start = System.nanoTime();
+        Report report = new Report();
+        List<Slice> slices = new ArrayList<>();
+        Map<String, Deck> ids = new HashMap<>();
+        Map<String, Deck> names = new HashMap<>();
+        for (Deck deck : decks) {
+            report.decks++;
+            checkDeck(deck, report);  // O(r)
+            if (checkDuplicateIds && deck.getId() != null) {
+                Deck first = ids.get(deck.getId());
+                if (first == null) {
+                    ids.put(deck.getId(), deck);
+                } else {
+                    report.add(new Issue(Severity.ERROR, DECK_ID_DUPLICATE, deck, -1, null,
+                            "id is also used by " + first.getDeckName() + "; only one of them can be found"));
+                }
+            }
+            if (checkDuplicateNames && deck.getDeckName() != null) {
+                Deck first = names.get(deck.getDeckName());
+                if (first == null) {
+                    names.put(deck.getDeckName(), deck);
+                } else {
+                    report.add(new Issue(Severity.WARNING, DECK_NAME_DUPLICATE, deck, -1, null,
+                            "name is also used by " + first.getId() + "; finding it by name returns " + first.getId()));
+                }
+            }
+            List<Card> cards = deck.getCards();  // Snapshot O(1)
+            report.cards += cards.size();
+            for (int from = 0; from < cards.size(); from += SLICE_CARDS) {
+                slices.add(new Slice(deck, cards, from, Math.min(cards.size(), from + SLICE_CARDS)));
+            }
+        }
+        if (!slices.isEmpty()) {
+            Findings findings = pool.invoke(new CheckTask(slices, 0, slices.size()));  // O(c r / p)
+            for (Findings part = findings; part != null; part = part.next) {
+                report.addAll(part, cardRules);
+            }
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Returns the message of the first card rule of severity ERROR that a card breaks, e.g., to
+     * reject an imported row.
+     * Time complexity: O(r), where r is the number of card rules.
+     *
+     * @param deck The deck the card is for.
+     * @param card The card.
+     * @return The message, or null if the card breaks no error rule.
+     */
+    public String firstError(Deck deck, Card card) {
+        if (card == null) {
+            return "card is null";
+        }
+        for (Rule rule : cardRules) {
+            if (rule.severity == Severity.ERROR) {
+                String message = rule.check(deck, card);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs the deck rules on a deck.
+     * Time complexity: O(r), where r is the number of deck rules.
+     */
+    private void checkDeck(Deck deck, Report report) {
+        for (Rule rule : deckRules) {
+            String message = rule.check(deck, null);
+            if (message != null) {
+                report.add(new Issue(rule.severity, rule.id, deck, -1, null, message));
+            }
+        }
+    }
+
+    /**
+     * Runs the card rules on the cards of a slice.
+     * Time complexity: O(s r), where s is the number of cards in the slice and r the number of rules.
+     */
+    private Findings checkSlice(Slice slice) {
+        Findings findings = null;  // Most slices have no issues, so nothing is allocated for them
+        for (int position = slice.from; position < slice.to; position++) {
+            Card card = slice.cards.get(position);
+            if (card == null) {
+                findings = Findings.add(findings, cardRules.length, cardRules.length,
+                        new Issue(Severity.ERROR, CARD_NULL, slice.deck, position, null, "card is null"));
+                continue;
+            }
+            for (int r = 0; r < cardRules.length; r++) {
+                Rule rule = cardRules[r];
+                String message = rule.check(slice.deck, card);
+                if (message != null) {
+                    findings = Findings.add(findings, cardRules.length, r,
+                            new Issue(rule.severity, rule.id, slice.deck, position, card, message));
+                }
+            }
+        }
+        return findings;
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.trim().isEmpty();
+    }
+
+    private static boolean isPadded(String text) {
+        return text != null && !text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+    }
+
+    /**
+     * How serious a broken rule is: errors fail a content build or reject an imported row,
+     * warnings are only reported.
+     */
+    public enum Severity {
+        WARNING,
+        ERROR
+    }
+
+    /**
+     * A check run on every card.
+     */
+    public interface CardRule {
+
+        /**
+         * @param deck The deck holding the card.
+         * @param card The card, never null.
+         * @return What is wrong with the card, or null if nothing is.
+         */
+        String check(Deck deck, Card card);
+    }
+
+    /**
+     * A check run on every deck.
+     */
+    public interface DeckRule {
+
+        /**
+         * @param deck The deck.
+         * @return What is wrong with the deck, or null if nothing is.
+         */
+        String check(Deck deck);
+    }
+
+    /**
+     * Collects rules, then builds a DeckValidator.
+     */
+    public static final class Builder {
+        private final Map<String, Rule> rules = new LinkedHashMap<>();  // By id, in the order added
+
+        /**
+         * Adds the rules described in DeckValidator, replacing rules with the same ids.
+         * Time complexity: O(1).
+         *
+         * @return This builder.
+         */
+        public Builder addDefaultRules() {
+            addCardRule(CARD_WORD_BLANK, Severity.ERROR,
+                    (deck, card) -> isBlank(card.getWord()) ? "missing word" : null);
+            addCardRule(CARD_TRANSLATION_BLANK, Severity.ERROR,
+                    (deck, card) -> isBlank(card.getTranslation()) ? "missing translation" : null);
+            addCardRule(CARD_CONJUGATES_NULL, Severity.ERROR,
+                    (deck, card) -> card.getConjugates() == null ? "conjugates are null" : null);
+            addCardRule(CARD_CONJUGATE_BLANK, Severity.ERROR, (deck, card) -> {
+                List<String> conjugates = card.getConjugates();
+                if (conjugates == null) {
+                    return null;  // Reported by CARD_CONJUGATES_NULL
+                }
+                for (int i = 0; i < conjugates.size(); i++) {
+                    if (isBlank(conjugates.get(i))) {
+                        return "conjugate " + (i + 1) + " is blank";
+                    }
+                }
+                return null;
+            });
+            addCardRule(CARD_DIFFICULTY_RANGE, Severity.ERROR, (deck, card) -> {
+                int level = card.getDifficultyLevel();
+                return level < 1 || level > ReviewScheduler.MAX_DIFFICULTY
+                        ? "difficulty must be from 1 to " + ReviewScheduler.MAX_DIFFICULTY + ", not " + level : null;
+            });
+            addCardRule(CARD_TEXT_PADDED, Severity.WARNING, (deck, card) ->
+                    isPadded(card.getWord()) || isPadded(card.getTranslation())
+                            ? "word or translation starts or ends with whitespace" : null);
+            addDeckRule(DECK_ID_BLANK, Severity.ERROR, deck -> isBlank(deck.getId()) ? "missing id" : null);
+            addDeckRule(DECK_LANGUAGE_BLANK, Severity.ERROR,
+                    deck -> isBlank(deck.getLanguage()) ? "missing language" : null);
+            addDeckRule(DECK_NAME_BLANK, Severity.WARNING,
+                    deck -> isBlank(deck.getDeckName()) ? "missing display name" : null);
+            addDeckRule(DECK_EMPTY, Severity.WARNING, deck -> deck.getCards().isEmpty() ? "no cards" : null);
+            rules.put(DECK_ID_DUPLICATE, new Rule(DECK_ID_DUPLICATE, Severity.ERROR, null, null));
+            rules.put(DECK_NAME_DUPLICATE, new Rule(DECK_NAME_DUPLICATE, Severity.WARNING, null, null));
+            return this;
+        }
+
+        /**
+         * Adds a card rule, replacing any rule with the same id.
+         * Time complexity: O(1).
+         *
+         * @param id       The id reported with its issues, e.g., "card.word.blank".
+         * @param severity How serious breaking it is.
+         * @param rule     The check.
+         * @return This builder.
+         */
+        public Builder addCardRule(String id, Severity severity, CardRule rule) {
+            rules.put(id, new Rule(id, severity, rule, null));
+            return this;
+        }
+
+        /**
+         * Adds a deck rule, replacing any rule with the same id.
+         * Time complexity: O(1).
+         *
+         * @param id       The id reported with its issues, e.g., "deck.id.blank".
+         * @param severity How serious breaking it is.
+         * @param rule     The check.
+         * @return This builder.
+         */
+        public Builder addDeckRule(String id, Severity severity, DeckRule rule) {
+            rules.put(id, new Rule(id, severity, null, rule));
+            return this;
+        }
+
+        /**
+         * Removes a rule, e.g., DECK_EMPTY for decks that are filled later.
+         * Time complexity: O(1).
+         *
+         * @param id The id of the rule.
+         * @return This builder.
+         */
+        public Builder remove(String id) {
+            rules.remove(id);
+            return this;
+        }
+
+        public DeckValidator build() {
+            return new DeckValidator(this, POOL);
+        }
+
+        DeckValidator build(ForkJoinPool pool) {
+            return new DeckValidator(this, pool);
+        }
+    }
+
+    /**
+     * A broken rule.
+     */
+    public static final class Issue {
+        private final Severity severity;
+        private final String rule;
+        private final Deck deck;
+        private final int position;  // Position of the card in the deck, or -1 for a deck issue
+        private final Card card;
+        private final String message;
+
+        Issue(Severity severity, String rule, Deck deck, int position, Card card, String message) {
+            this.severity = severity;
+            this.rule = rule;
+            this.deck = deck;
+            this.position = position;
+            this.card = card;
+            this.message = message;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+
+        public String getRule() {
+            return rule;
+        }
+
+        public Deck getDeck() {
+            return deck;
+        }
+
+        /**
+         * @return The position of the card in its deck, or -1 if the issue is with the deck.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * @return The card, or null if the issue is with the deck or the card is null.
+         */
+        public Card getCard() {
+            return card;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder().append(severity).append(' ').append(rule).append(' ').append(deck.getId());
+            if (position >= 0) {
+                text.append('#').append(position);
+                if (card != null) {
+                    text.append(" (").append(card.getWord()).append(')');
+                }
+            }
+            return text.append(": ").append(message).toString();
+        }
+    }
+
+    /**
+     * The outcome of a validation.
+     */
+    public static final class Report {
+        private int decks;          // Decks checked
+        private int cards;          // Cards checked
+        private int errorCount;
+        private int warningCount;
+        private final Map<String, Integer> counts = new HashMap<>();  // Issues by rule id
+        private final List<Issue> issues = new ArrayList<>();          // The first MAX_KEPT_ISSUES issues
+        private long elapsedNanos;
+
+        private void add(Issue issue) {
+            count(issue.rule, issue.severity, 1);
+            if (issues.size() < MAX_KEPT_ISSUES) {
+                issues.add(issue);
+            }
+        }
+
+        /**
+         * Adds the issues of a slice, counting those the slice did not keep.
+         * Time complexity: O(i + r), where i is the number of issues kept and r the number of rules.
+         */
+        private void addAll(Findings findings, Rule[] cardRules) {
+            for (int r = 0; r <= cardRules.length; r++) {
+                if (findings.counts[r] > 0) {
+                    count(r < cardRules.length ? cardRules[r].id : CARD_NULL,
+                            r < cardRules.length ? cardRules[r].severity : Severity.ERROR, findings.counts[r]);
+                }
+            }
+            for (int i = 0; i < findings.issues.size() && issues.size() < MAX_KEPT_ISSUES; i++) {
+                issues.add(findings.issues.get(i));
+            }
+        }
+
+        private void count(String rule, Severity severity, int count) {
+            if (severity == Severity.ERROR) {
+                errorCount += count;
+            } else {
+                warningCount += count;
+            }
+            Integer previous = counts.get(rule);
+            counts.put(rule, previous == null ? count : previous + count);
+        }
+
+        public int getDeckCount() {
+            return decks;
+        }
+
+        public int getCardCount() {
+            return cards;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public int getWarningCount() {
+            return warningCount;
+        }
+
+        /**
+         * @return true if any rule of severity ERROR was broken.
+         */
+        public boolean hasErrors() {
+            return errorCount > 0;
+        }
+
+        /**
+         * @param rule A rule id.
+         * @return How many times the rule was broken, including issues not kept.
+         */
+        public int getCount(String rule) {
+            Integer count = counts.get(rule);
+            return count == null ? 0 : count;
+        }
+
+        /**
+         * @return The first MAX_KEPT_ISSUES issues: deck issues in deck order, then card issues in deck and card order.
+         */
+        public List<Issue> getIssues() {
+            return Collections.unmodifiableList(issues);
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(Locale.US,
+                    "%d decks, %d cards: %d errors, %d warnings, in %.1f ms",
+                    decks, cards, errorCount, warningCount, elapsedNanos / 1e6));
+            for (int i = 0; i < issues.size() && i < 10; i++) {
+                text.append("\n  ").append(issues.get(i));
+            }
+            if (issues.size() > 10) {
+                text.append("\n  ...");
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * A rule and its id and severity. The duplicate deck checks have no check of their own.
+     */
+    private static final class Rule {
+        final String id;
+        final Severity severity;
+        final CardRule cardRule;
+        final DeckRule deckRule;
+
+        Rule(String id, Severity severity, CardRule cardRule, DeckRule deckRule) {
+            this.id = id;
+            this.severity = severity;
+            this.cardRule = cardRule;
+            this.deckRule = deckRule;
+        }
+
+        /**
+         * Runs the check, reporting a rule that throws as broken rather than failing the whole run.
+         */
+        String check(Deck deck, Card card) {
+            try {
+                return cardRule != null ? cardRule.check(deck, card) : deckRule.check(deck);
+            } catch (RuntimeException e) {
+                return "rule failed: " + e;
+            }
+        }
+    }
+
+    /**
+     * Cards of one deck snapshot checked by one task.
+     */
+    private static final class Slice {
+        final Deck deck;
+        final List<Card> cards;
+        final int from;
+        final int to;
+
+        Slice(Deck deck, List<Card> cards, int from, int to) {
+            this.deck = deck;
+            this.cards = cards;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Issues found in a slice, chained in slice order so joining tasks costs O(1).
+     */
+    private static final class Findings {
+        final List<Issue> issues = new ArrayList<>();  // At most MAX_KEPT_ISSUES
+        final int[] counts;     // Issues by card rule index, then null cards, kept or not
+        Findings next;          // Findings of later slices
+        Findings last = this;   // End of the chain, for appending
+
+        Findings(int rules) {
+            counts = new int[rules + 1];
+        }
+
+        /**
+         * Counts an issue, keeping it if the slice has not kept too many.
+         * Time complexity: O(1) amortized.
+         *
+         * @return The findings, created if null.
+         */
+        static Findings add(Findings findings, int rules, int rule, Issue issue) {
+            if (findings == null) {
+                findings = new Findings(rules);
+            }
+            findings.counts[rule]++;
+            if (findings.issues.size() < MAX_KEPT_ISSUES) {
+                findings.issues.add(issue);
+            }
+            return findings;
+        }
+
+        static Findings concat(Findings first, Findings second) {
+            if (first == null) {
+                return second;
+            }
+            if (second != null) {
+                first.last.next = second;
+                first.last = second.last;
+            }
+            return first;
+        }
+    }
+
+    /**
+     * Checks a range of slices, splitting it in two until one slice is left.
+     */
+    private final class CheckTask extends RecursiveTask<Findings> {
+        private static final long serialVersionUID = 1L;  // Tasks are never serialized
+
+        private final List<Slice> slices;
+        private final int from;
+        private final int to;
+
+        CheckTask(List<Slice> slices, int from, int to) {
+            this.slices = slices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Findings compute() {
+            if (to - from == 1) {
+                return checkSlice(slices.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            CheckTask left = new CheckTask(slices, from, middle);
+            left.fork();  // Another worker may steal the first half
+            Findings right = new CheckTask(slices, middle, to).compute();
+            return Findings.concat(left.join(), right);  // First half first, keeping card order
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * DistractorEngine picks plausible wrong answers for multiple-choice games.
+ * Every answer is classified once, when the engine is built, by pool (its deck or corpus),
+ * part of speech and length, and one answer per distinct text of each class is laid out in
+ * one int array, so a class of many cards all translated "To Run" holds a single entry.
+ * A wrong answer is then drawn from the closest class that has enough of them: same pool,
+ * part of speech and length first, then same pool and part of speech, then any pool.
+ * Drawing never scans the library, so it takes microseconds whatever the library size.
+ */
+public class DistractorEngine {
+
+    public static final int POS_VERB = 0;      // "To Speak"
+    public static final int POS_NOUN = 1;      // "House (feminine)", "The house"
+    public static final int POS_SENTENCE = 2;  // Four or more words
+    public static final int POS_OTHER = 3;     // Anything else, e.g., "Here"
+
+    static final int MAX_LENGTH_BUCKET = 7;    // Cores of 21 or more characters share the last bucket
+    private static final int TIERS = 4;        // pool+pos+length, pool+pos, pos, everything
+
+    private final String[] answers;            // Answer text by item
+    private final int[] textIds;               // Id of each item's text, equal texts share an id
+    private final int[] pools;                 // Pool number by item
+    private final int[][] bucketOf;            // Per tier, the bucket of each item
+    private final int[][] bucketStart;         // Per tier, start of each bucket in members, plus an end
+    private final int[][] members;             // Per tier, one item per distinct text, grouped by bucket
+
+    /**
+     * Builds the class index of all answers added to a builder.
+     * Time complexity: O(n), where n is the number of answers.
+     */
+    private DistractorEngine(Builder builder) {
+        int size = builder.size;
+        answers = Arrays.copyOf(builder.answers, size);
+        textIds = new int[size];
+        pools = Arrays.copyOf(builder.pools, size);
+        StringPool texts = new StringPool();
+        long[][] keys = new long[TIERS][size];
+        for (int item = 0; item < size; item++) {
+            textIds[item] = texts.intern(answers[item]);  // O(1) expected
+            long pos = partOfSpeech(answers[item]);
+            long length = lengthBucket(answers[item]);
+            long pool = pools[item];
+            keys[0][item] = pool << 32 | pos << 8 | length;
+            keys[1][item] = pool << 32 | pos << 8 | 0xFF;
+            keys[2][item] = -1L << 32 | pos << 8 | 0xFF;
+            keys[3][item] = -1L;
+        }
+        bucketOf = new int[TIERS][];
+        bucketStart = new int[TIERS][];
+        members = new int[TIERS][];
+        for (int tier = 0; tier < TIERS; tier++) {
+            group(tier, keys[tier], texts.size());
+        }
+    }
+
+    /**
+     * Returns the number of answers in the engine.
+     * Time complexity: O(1).
+     *
+     * @return The answer count.
+     */
+    public int size() {
+        return answers.length;
+    }
+
+    /**
+     * Returns the text of an answer.
+     * Time complexity: O(1).
+     *
+     * @param item The answer's item number, as returned by the builder.
+     * @return The answer text.
+     */
+    public String getAnswer(int item) {
+        return answers[item];
+    }
+
+    /**
+     * Picks wrong answers for an item: distinct texts, none equal to the item's own text,
+     * drawn from the closest class first. Fewer are returned only if the whole engine has
+     * fewer distinct texts.
+     * Time complexity: O(k^2), where k is the number of distractors asked for, whatever the
+     * class sizes: classes hold distinct texts, so at most k + 1 entries of a class are
+     * rejected before k are found, and each check compares against the k texts taken so far.
+     *
+     * @param item   The item whose answer is correct.
+     * @param count  The number of wrong answers wanted.
+     * @param random The source of randomness.
+     * @return Up to count wrong answers, closest class first.
+     */
+    public List<String> distractors(int item, int count, Random random) {
+        int[] picked = new int[count + 1];  // Text ids already used, the correct one first
+        picked[0] = textIds[item];
+        int found = 1;
+        List<String> result = new ArrayList<>(count);
+        for (int tier = 0; tier < TIERS && found <= count; tier++) {
+            int bucket = bucketOf[tier][item];
+            int start = bucketStart[tier][bucket];
+            int length = bucketStart[tier][bucket + 1] - start;
+            if (length <= 1) {
+                continue;  // Only the item itself
+            }
+            int[] group = members[tier];
+            // A few random probes find new texts in large classes O(k) each
+            for (int attempt = 0; attempt < 2 * count + 2 && found <= count; attempt++) {
+                found = take(group[start + random.nextInt(length)], picked, found, result);
+            }
+            // The rest is walked from a random point; every entry but those taken is a new text O(k^2)
+            int offset = random.nextInt(length);
+            for (int i = 0; i < length && found <= count; i++) {
+                found = take(group[start + (offset + i) % length], picked, found, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the correct answer and count wrong ones, in random order, for the buttons of a question.
+     * Time complexity: O(k^2), where k is the number of choices; see distractors().
+     *
+     * @param item   The item whose answer is correct.
+     * @param count  The number of wrong answers wanted.
+     * @param random The source of randomness.
+     * @return The shuffled choices, including the correct answer.
+     */
+    public List<String> choices(int item, int count, Random random) {
+        List<String> choices = distractors(item, count, random);
+        choices.add(answers[item]);
+        Collections.shuffle(choices, random);  // O(k)
+        return choices;
+    }
+
+    /**
+     * Guesses the part of speech of an English answer from its shape.
+     * Time complexity: O(l), where l is the length of the answer.
+     *
+     * @param answer The answer text.
+     * @return One of the POS_ constants.
+     */
+    static int partOfSpeech(String answer) {
+        String text = answer.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("to ")) {
+            return POS_VERB;
+        }
+        if (text.startsWith("the ") || text.startsWith("a ") || text.startsWith("an ")
+                || text.contains("(masculine") || text.contains("(feminine")) {
+            return POS_NOUN;
+        }
+        if (text.split("\\s+").length >= 4) {
+            return POS_SENTENCE;
+        }
+        return POS_OTHER;
+    }
+
+    /**
+     * Buckets an answer by the length of its core, without a leading "To " or article and
+     * without a trailing note in parentheses, so "To Eat" sits next to "To Run".
+     * Time complexity: O(l), where l is the length of the answer.
+     *
+     * @param answer The answer text.
+     * @return A bucket from 0 to MAX_LENGTH_BUCKET.
+     */
+    static int lengthBucket(String answer) {
+        String core = answer.trim();
+        int note = core.indexOf(" (");
+        if (note > 0) {
+            core = core.substring(0, note);
+        }
+        int space = core.indexOf(' ');
+        if (space > 0 && space <= 3) {
+            core = core.substring(space + 1);  // Drop "To ", "The ", "A ", "An "
+        }
+        return Math.min(core.length() / 3, MAX_LENGTH_BUCKET);
+    }
+
+    /**
+     * Adds an answer to the result if its text was not used yet.
+     * Time complexity: O(k), where k is the number of texts used so far.
+     */
+    private int take(int candidate, int[] picked, int found, List<String> result) {
+        int text = textIds[candidate];
+        for (int i = 0; i < found; i++) {
+            if (picked[i] == text) {
+                return found;
+            }
+        }
+        picked[found] = text;
+        result.add(answers[candidate]);
+        return found + 1;
+    }
+
+    /**
+     * Groups items with equal keys of one tier into consecutive runs of the members array,
+     * keeping only the first item of each text in a run.
+     * Time complexity: O(n + t), where n is the number of answers and t the number of distinct texts.
+     */
+    private void group(int tier, long[] keys, int textCount) {
+        int size = keys.length;
+        Map<Long, Integer> bucketByKey = new HashMap<>();
+        int[] bucket = new int[size];
+        int[] counts = new int[Math.max(size, 1) + 1];
+        for (int item = 0; item < size; item++) {
+            Integer existing = bucketByKey.get(keys[item]);
+            if (existing == null) {
+                existing = bucketByKey.size();
+                bucketByKey.put(keys[item], existing);
+            }
+            bucket[item] = existing;
+            counts[existing + 1]++;
+        }
+        int buckets = bucketByKey.size();
+        int[] start = Arrays.copyOf(counts, buckets + 1);
+        for (int b = 0; b < buckets; b++) {
+            start[b + 1] += start[b];  // Prefix sums give each bucket's run
+        }
+        int[] next = Arrays.copyOf(start, buckets);
+        int[] grouped = new int[size];
+        for (int item = 0; item < size; item++) {
+            grouped[next[bucket[item]]++] = item;
+        }
+        int[] lastBucket = new int[textCount];  // Bucket a text was last kept in, plus one
+        int kept = 0;
+        int from = 0;
+        for (int b = 0; b < buckets; b++) {
+            int end = start[b + 1];  // End of the bucket's run before compaction
+            for (int i = from; i < end; i++) {
+                int item = grouped[i];
+                if (lastBucket[textIds[item]] != b + 1) {
+                    lastBucket[textIds[item]] = b + 1;
+                    grouped[kept++] = item;  // First item of its text in the bucket O(1)
+                }
+            }
+            from = end;
+            start[b + 1] = kept;  // Runs shrink in place, so kept never passes i
+        }
+        bucketOf[tier] = bucket;
+        bucketStart[tier] = start;
+        members[tier] = Arrays.copyOf(grouped, kept);
+    }
+
+    /**
+     * Collects answers and the pools they belong to, then builds a DistractorEngine.
+     */
+    public static class Builder {
+
+        private final Map<String, Integer> poolNumbers = new HashMap<>();  // Pool number by pool name
+        private String[] answers = new String[64];  // Answer text by item
+        private int[] pools = new int[64];          // Pool number by item
+        private int size;                           // Number of answers added
+
+        /**
+         * Adds one answer.
+         * Time complexity: O(1) amortized.
+         *
+         * @param pool   The name of the pool the answer belongs to, e.g., its deck.
+         * @param answer The answer text.
+         * @return The answer's item number.
+         */
+        public int add(String pool, String answer) {
+            Integer number = poolNumbers.get(pool);
+            if (number == null) {
+                number = poolNumbers.size();
+                poolNumbers.put(pool, number);
+            }
+            if (size == answers.length) {
+                answers = Arrays.copyOf(answers, size * 2);  // Amortized O(1)
+                pools = Arrays.copyOf(pools, size * 2);
+            }
+            answers[size] = answer;
+            pools[size] = number;
+            return size++;
+        }
+
+        /**
+         * Adds the translation of every card of a deck, in deck order, pooled by deck.
+         * Time complexity: O(c), where c is the number of cards in the deck.
+         *
+         * @param deck A loaded deck.
+         * @return The item number of the deck's first card; card i is that number plus i.
+         */
+        public int addDeck(Deck deck) {
+            int first = size;
+            for (Card card : deck.getCards()) {
+                add(deck.getId(), card.getTranslation());
+            }
+            return first;
+        }
+
+        /**
+         * Adds the English word glosses of sentences, pooled by corpus, so each Spanish word
+         * of a sentence can be asked with the other words of the corpus as wrong choices.
+         * Time complexity: O(w), where w is the number of words added.
+         *
+         * @param pool      The name of the corpus' pool.
+         * @param sentences Sentences read from a glossed corpus; sentences without glosses add nothing.
+         * @return The item number of the first word; the words follow in sentence and word order.
+         */
+        public int addSentenceWords(String pool, List<SentencePair> sentences) {
+            int start = size;
+            for (SentencePair sentence : sentences) {
+                for (String word : sentence.getEnglishWords()) {
+                    add(pool, word);
+                }
+            }
+            return start;
+        }
+
+        /**
+         * Builds the engine. The builder can keep being used afterwards.
+         * Time complexity: O(n), where n is the number of answers.
+         *
+         * @return A new engine over all answers added so far.
+         */
+        public DistractorEngine build() {
+            return new DistractorEngine(this);
+        }
+    }
+}
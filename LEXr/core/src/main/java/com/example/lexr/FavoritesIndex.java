@@ -0,0 +1,142 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * FavoritesIndex keeps the favorite cards of all decks in the order they were marked.
+ * DeckManager updates it whenever a card's favorite status changes, so the favorites screen
+ * reads a ready list instead of scanning every deck, and listeners are told exactly which
+ * position was inserted or removed.
+ */
+public class FavoritesIndex {
+
+    private final List<Card> favorites = new ArrayList<>();  // Favorites in the order they were marked
+    private final List<Card> readOnlyFavorites = Collections.unmodifiableList(favorites);  // Live read-only view
+    private final Set<Card> members = Collections.newSetFromMap(new IdentityHashMap<Card, Boolean>());  // O(1) membership
+    private final List<Listener> listeners = new ArrayList<>();  // Observers of inserts and removals
+
+    /**
+     * Returns a live, read-only view of the favorite cards.
+     * The view reflects later changes; register a Listener to hear about them.
+     * Time complexity: O(1) - Returning a reference is constant time.
+     *
+     * @return The favorite cards in the order they were marked.
+     */
+    public List<Card> getCards() {
+        return readOnlyFavorites;  // Return the live view O(1)
+    }
+
+    /**
+     * Checks whether a card is in the index.
+     * Time complexity: O(1) - A hash set lookup.
+     *
+     * @param card The card to check.
+     * @return true if the card is indexed as a favorite.
+     */
+    public boolean contains(Card card) {
+        return members.contains(card);  // O(1)
+    }
+
+    /**
+     * Adds or removes a card so the index matches the card's favorite status.
+     * Time complexity: O(1) to add; O(k) to remove, where k is the number of favorites.
+     *
+     * @param card The card whose favorite status may have changed.
+     */
+    public void update(Card card) {
+        if (card.isFavorite()) {
+            add(card);
+        } else {
+            remove(card);
+        }
+    }
+
+    /**
+     * Appends a card to the favorites if it is not already there.
+     * Time complexity: O(1) - A set insert and an amortized list append.
+     *
+     * @param card The card to add.
+     * @return true if the card was added, false if it was already a favorite.
+     */
+    public boolean add(Card card) {
+        if (!members.add(card)) {
+            return false;  // Already indexed, keep the original position O(1)
+        }
+        favorites.add(card);  // O(1) amortized
+        int position = favorites.size() - 1;
+        for (Listener listener : listeners) {
+            listener.onFavoriteInserted(position, card);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a card from the favorites if it is there.
+     * Time complexity: O(k), where k is the number of favorites (finding and shifting the position).
+     *
+     * @param card The card to remove.
+     * @return true if the card was removed, false if it was not a favorite.
+     */
+    public boolean remove(Card card) {
+        if (!members.remove(card)) {
+            return false;  // Not indexed O(1)
+        }
+        int position = favorites.indexOf(card);  // Cards compare by identity O(k)
+        favorites.remove(position);  // O(k)
+        for (Listener listener : listeners) {
+            listener.onFavoriteRemoved(position, card);
+        }
+        return true;
+    }
+
+    /**
+     * Registers a listener for inserts and removals.
+     * Time complexity: O(1) amortized.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with addListener().
+     * Time complexity: O(l), where l is the number of listeners.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Observer of changes to the favorites, called after the list has changed.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a card was added to the favorites.
+         *
+         * @param position The position the card was inserted at.
+         * @param card     The card that was added.
+         */
+        void onFavoriteInserted(int position, Card card);
+
+        /**
+         * Called after a card was removed from the favorites.
+         *
+         * @param position The position the card was removed from.
+         * @param card     The card that was removed.
+         */
+        void onFavoriteRemoved(int position, Card card);
+    }
+}
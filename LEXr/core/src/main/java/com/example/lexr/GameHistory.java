@@ -0,0 +1,194 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameHistory records the matching game answers of the app in an AnswerLog and keeps their
+ * AnswerStats up to date. Every file operation runs in order on one background thread, so the
+ * game only hands events over from the main thread. The log and statistics are opened on first
+ * use, and the statistics are refreshed and saved when a session finishes.
+ */
+public class GameHistory {
+
+    public static final String LOG_FILE = "answers.log";        // The AnswerLog, in the app files directory
+    public static final String SNAPSHOT_FILE = "answers.stats"; // The saved AnswerStats
+
+    private static final Executor WRITER = createWriter();  // Shared by all histories
+    private static volatile GameHistory instance;           // The app-wide history, set by initialize()
+
+    private final File logFile;
+    private final File snapshotFile;
+    private final Executor executor;  // Runs every file operation, in order
+    private AnswerLog log;            // Opened on first use; only touched on executor
+    private AnswerStats stats;        // Loaded on first use; only touched on executor
+    private IOException failure;      // First failure to record, reported by finishSessionAsync(); only touched on executor
+
+    /**
+     * Creates a history keeping its files in a directory.
+     * Time complexity: O(1) - Nothing is opened yet.
+     *
+     * @param directory The directory of the log and the saved statistics.
+     * @param executor  Runs every file operation, one at a time, in order.
+     */
+    GameHistory(File directory, Executor executor) {
+        this.logFile = new File(directory, LOG_FILE);
+        this.snapshotFile = new File(directory, SNAPSHOT_FILE);
+        this.executor = executor;
+    }
+
+    /**
+     * Chooses the directory of the app-wide history. Called by LexrApplication.
+     * Time complexity: O(1).
+     *
+     * @param directory The app files directory.
+     */
+    public static synchronized void initialize(File directory) {
+        instance = new GameHistory(directory, WRITER);
+    }
+
+    /**
+     * Returns the app-wide history.
+     * Time complexity: O(1).
+     *
+     * @return The history, or null if initialize() was not called, e.g., in tests.
+     */
+    public static GameHistory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records the start of a session in the background.
+     * Time complexity: O(1) on the calling thread.
+     *
+     * @param session The session, e.g., its start time in milliseconds since the epoch.
+     * @param deck    The name of the deck played.
+     */
+    public void startSession(final long session, final String deck) {
+        run(() -> open().startSession(session, deck));
+    }
+
+    /**
+     * Records an answer in the background. It reaches the file with its batch, at the latest
+     * when the session finishes.
+     * Time complexity: O(1) on the calling thread.
+     *
+     * @param session   The session the answer belongs to.
+     * @param prompt    The word or sentence asked about.
+     * @param chosen    The choice the user clicked.
+     * @param correct   Whether the choice was the right answer.
+     * @param latencyMs The time from showing the question to the click, in milliseconds.
+     */
+    public void record(final long session, final String prompt, final String chosen,
+                       final boolean correct, final long latencyMs) {
+        final long time = System.currentTimeMillis();
+        final int latency = (int) Math.max(0, Math.min(Integer.MAX_VALUE, latencyMs));
+        run(() -> open().record(session, time, prompt, chosen, correct, latency));
+    }
+
+    /**
+     * Writes the answers recorded so far in the background, e.g., when a game is left unfinished.
+     * Time complexity: O(1) on the calling thread.
+     */
+    public void flush() {
+        run(() -> open().flush());
+    }
+
+    /**
+     * Writes the answers recorded so far, counts them into the statistics and saves those,
+     * then delivers the statistics to a callback.
+     * Time complexity: O(n) in the background, where n is the size of the log written since the
+     * statistics were last refreshed.
+     *
+     * @param callbackExecutor Runs the callback, e.g., the main thread.
+     * @param callback         Receives the statistics, or the first failure since the last finish.
+     * @return A handle to cancel the delivery.
+     */
+    public DeckLoadTask<AnswerStats> finishSessionAsync(Executor callbackExecutor,
+                                                        DeckLoadTask.Callback<AnswerStats> callback) {
+        final DeckLoadTask<AnswerStats> task = new DeckLoadTask<>(callbackExecutor, callback);
+        try {
+            executor.execute(() -> {
+                try {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    open().flush();
+                    if (stats == null) {
+                        stats = AnswerStats.load(logFile, snapshotFile);  // O(n) after the saved offset
+                    } else {
+                        stats.refresh();  // O(n) for the new batches only
+                    }
+                    stats.save(snapshotFile);
+                    task.deliver(stats, null);
+                } catch (IOException | RuntimeException e) {
+                    failure = null;  // Reported once; later sessions try again
+                    task.fail(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            task.fail(e);
+        }
+        return task;
+    }
+
+    /**
+     * Opens the log on first use.
+     * Time complexity: O(b) the first time, where b is the number of batches in the log; O(1) after.
+     */
+    private AnswerLog open() throws IOException {
+        if (log == null) {
+            log = new AnswerLog(logFile);
+        }
+        return log;
+    }
+
+    /**
+     * Runs a log operation on the executor, keeping its failure for finishSessionAsync().
+     * Time complexity: O(1) on the calling thread.
+     */
+    private void run(final LogOperation operation) {
+        executor.execute(() -> {
+            try {
+                operation.run();
+            } catch (IOException | RuntimeException e) {
+                if (failure == null) {
+                    failure = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates the single daemon thread doing the file operations of every history.
+     * The thread exits when idle, so the history costs nothing between games.
+     * Time complexity: O(1).
+     */
+    private static Executor createWriter() {
+        ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "AnswerLogWriter");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        writer.allowCoreThreadTimeOut(true);
+        return writer;
+    }
+
+    /**
+     * A file operation on the log.
+     */
+    private interface LogOperation {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram counts durations in buckets without locking, so any thread can record into
+ * it, e.g., the main thread timing a bind while a loader thread times a deck load. Values below
+ * 32 have a bucket each, and every power of two above is split into 16 buckets, so a percentile
+ * is within about 6% of the exact value in a fixed 448 buckets, whatever the number of values.
+ * Values are in whatever unit the caller uses; Metrics records microseconds.
+ */
+public class LatencyHistogram {
+
+    static final int LINEAR_BUCKETS = 32;   // Values below this have a bucket each
+    static final int SUB_BUCKETS = 16;      // Buckets per power of two above that
+    static final int BUCKETS = LINEAR_BUCKETS + (31 - 5) * SUB_BUCKETS;  // Up to Integer.MAX_VALUE
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);  // Values per bucket
+    private final AtomicLong count = new AtomicLong();  // Values recorded
+    private final AtomicLong sum = new AtomicLong();    // Total of the values recorded
+    private final AtomicLong max = new AtomicLong();    // Largest value recorded
+
+    /**
+     * Records a value. Safe to call from any thread, without locking.
+     * Time complexity: O(1).
+     *
+     * @param value The value; negative values count as 0, larger ones than Integer.MAX_VALUE as that.
+     */
+    public void record(long value) {
+        int clamped = (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+        counts.incrementAndGet(bucket(clamped));
+        count.incrementAndGet();
+        sum.addAndGet(clamped);
+        long largest = max.get();
+        while (clamped > largest && !max.compareAndSet(largest, clamped)) {
+            largest = max.get();  // Lost a race with a larger value; retry against it O(1)
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     * Time complexity: O(1).
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     * Time complexity: O(1).
+     *
+     * @return The mean, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long values = count.get();
+        return values == 0 ? 0 : (double) sum.get() / values;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     * Time complexity: O(1).
+     *
+     * @return The exact maximum, or 0 if nothing was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a percentile of the values recorded, e.g., 50 for the median. Values recorded
+     * while it runs may or may not be included.
+     * Time complexity: O(1) - The histogram has a fixed number of buckets.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value, within about 6%, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100, not " + percentile);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            snapshot[b] = counts.get(b);  // Copied once, so the total and the ranks agree O(1)
+            total += snapshot[b];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));  // 1-based rank of the value
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += snapshot[b];
+            if (seen >= rank) {
+                return Math.min(bucketMiddle(b), max.get());  // The top bucket may be wider than the values O(1)
+            }
+        }
+        return bucketMiddle(BUCKETS - 1);
+    }
+
+    /**
+     * Forgets every value recorded. Values recorded while it runs may be partly kept.
+     * Time complexity: O(1) - The histogram has a fixed number of buckets.
+     */
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts.set(b, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Returns the bucket of a value: one per value below 32, then 16 per power of two.
+     * Time complexity: O(1).
+     *
+     * @param value The value, at least 0.
+     * @return The bucket, from 0 to BUCKETS - 1.
+     */
+    static int bucket(int value) {
+        if (value < LINEAR_BUCKETS) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);  // At least 5
+        int mantissa = (value >>> (exponent - 4)) & (SUB_BUCKETS - 1);  // Next 4 bits
+        return LINEAR_BUCKETS + (exponent - 5) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Returns the value in the middle of a bucket.
+     * Time complexity: O(1).
+     *
+     * @param bucket The bucket, from 0 to BUCKETS - 1.
+     * @return The middle value.
+     */
+    static int bucketMiddle(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 5;
+        int mantissa = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long low = (long) (SUB_BUCKETS + mantissa) << (exponent - 4);
+        long width = 1L << (exponent - 4);
+        return (int) Math.min(Integer.MAX_VALUE, low + (width - 1) / 2);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics times what the app does, e.g., activity starts, page binds and deck loads, into
+ * named LatencyHistograms in microseconds, for the debug screen and for export to a file.
+ * It is off unless enabled; while off, start() and stop() only read one volatile flag, so
+ * timing calls can stay in the code of release builds.
+ * <pre>
+ *   long start = Metrics.start();
+ *   ...
+ *   Metrics.stop(Metrics.CARD_BIND, start);
+ * </pre>
+ */
+public final class Metrics {
+
+    public static final String STARTUP_PREFIX = "startup.";  // + activity: onCreate() to first frame drawn
+    public static final String CARD_BIND = "bind.card";          // CardPagerAdapter.onBindViewHolder()
+    public static final String SENTENCE_BIND = "bind.sentence";  // SentencePagerAdapter.onBindViewHolder()
+    public static final String DECK_LOAD = "load.deck";          // Reading a deck's cards from its source
+    public static final String FRAME = "frame";                  // Total duration of each frame drawn
+    public static final long NOT_TIMED = Long.MIN_VALUE;         // Returned by start() while disabled
+
+    private static volatile boolean enabled;  // Whether anything is recorded
+    private static final ConcurrentHashMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * Turns recording on or off. Values already recorded are kept.
+     * Time complexity: O(1).
+     *
+     * @param on True to record.
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Tells whether recording is on.
+     * Time complexity: O(1).
+     *
+     * @return True if recording.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing something.
+     * Time complexity: O(1).
+     *
+     * @return The start to pass to stop(), or NOT_TIMED while disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records the time since start() in a histogram.
+     * Time complexity: O(n) expected, where n is the length of the name, to find its histogram.
+     *
+     * @param name  The histogram, e.g., CARD_BIND.
+     * @param start The value returned by start(); NOT_TIMED records nothing.
+     */
+    public static void stop(String name, long start) {
+        if (start != NOT_TIMED) {
+            record(name, (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    /**
+     * Records a duration in a histogram, if enabled.
+     * Time complexity: O(n) expected, where n is the length of the name, to find its histogram.
+     *
+     * @param name   The histogram.
+     * @param micros The duration in microseconds.
+     */
+    public static void record(String name, long micros) {
+        if (!enabled) {
+            return;
+        }
+        LatencyHistogram histogram = HISTOGRAMS.get(name);  // O(n) expected
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = HISTOGRAMS.putIfAbsent(name, created);  // Another thread may have added it O(n)
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(micros);  // Lock-free O(1)
+    }
+
+    /**
+     * Returns a histogram.
+     * Time complexity: O(n) expected, where n is the length of the name.
+     *
+     * @param name The histogram.
+     * @return The histogram, or null if nothing was recorded in it.
+     */
+    public static LatencyHistogram get(String name) {
+        return HISTOGRAMS.get(name);
+    }
+
+    /**
+     * Forgets every value recorded.
+     * Time complexity: O(h), where h is the number of histograms.
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Describes every histogram, one per line, in milliseconds, sorted by name.
+     * Time complexity: O(h log h), where h is the number of histograms.
+     *
+     * @return The report, or a note that nothing was recorded.
+     */
+    public static String report() {
+        List<String> names = sortedNames();
+        if (names.isEmpty()) {
+            return enabled ? "Nothing recorded yet" : "Metrics are off";
+        }
+        StringBuilder report = new StringBuilder();
+        for (String name : names) {
+            LatencyHistogram histogram = HISTOGRAMS.get(name);
+            report.append(name).append('\n').append(String.format(Locale.US,
+                    "  n=%d  mean=%.2f  p50=%.2f  p90=%.2f  p99=%.2f  max=%.2f ms%n",
+                    histogram.getCount(), histogram.getMean() / 1000, millis(histogram, 50),
+                    millis(histogram, 90), millis(histogram, 99), histogram.getMax() / 1000.0));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes every histogram to a tab-separated file, one per line, durations in milliseconds.
+     * Time complexity: O(h log h), where h is the number of histograms.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void export(File file) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            out.write("name\tcount\tmean_ms\tp50_ms\tp90_ms\tp99_ms\tmax_ms\n");
+            for (String name : sortedNames()) {
+                LatencyHistogram histogram = HISTOGRAMS.get(name);
+                out.write(String.format(Locale.US, "%s\t%d\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f\n",
+                        name, histogram.getCount(), histogram.getMean() / 1000, millis(histogram, 50),
+                        millis(histogram, 90), millis(histogram, 99), histogram.getMax() / 1000.0));
+            }
+        }
+    }
+
+    private static double millis(LatencyHistogram histogram, double percentile) {
+        return histogram.getPercentile(percentile) / 1000.0;
+    }
+
+    private static List<String> sortedNames() {
+        List<String> names = new ArrayList<>(HISTOGRAMS.keySet());
+        Collections.sort(names);
+        return names;
+    }
+}
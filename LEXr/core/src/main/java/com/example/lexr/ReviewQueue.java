@@ -0,0 +1,218 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ReviewQueue is a binary min-heap of review records ordered by due time.
+ * Each record remembers its position in the heap, so a record whose due time changed
+ * is moved in O(log n) instead of being searched for.
+ */
+class ReviewQueue {
+
+    private ReviewRecord[] heap = new ReviewRecord[64];  // Heap array, the earliest due record first
+    private int size;                                    // Number of queued records
+
+    /**
+     * Adds a record to the queue.
+     * Time complexity: O(log n), where n is the number of queued records.
+     *
+     * @param record The record to add; must not be queued already.
+     */
+    void add(ReviewRecord record) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);  // Amortized O(1)
+        }
+        heap[size] = record;
+        record.heapIndex = size++;
+        siftUp(record.heapIndex);
+    }
+
+    /**
+     * Restores the heap order after a record's due time changed.
+     * Time complexity: O(log n).
+     *
+     * @param record A queued record.
+     */
+    void update(ReviewRecord record) {
+        siftUp(record.heapIndex);
+        siftDown(record.heapIndex);
+    }
+
+    /**
+     * Removes a record from the queue.
+     * Time complexity: O(log n).
+     *
+     * @param record The record to remove.
+     * @return true if the record was queued.
+     */
+    boolean remove(ReviewRecord record) {
+        int index = record.heapIndex;
+        if (index < 0 || index >= size || heap[index] != record) {
+            return false;
+        }
+        ReviewRecord last = heap[--size];
+        heap[size] = null;
+        record.heapIndex = -1;
+        if (last != record) {
+            heap[index] = last;
+            last.heapIndex = index;
+            update(last);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the record due first without removing it.
+     * Time complexity: O(1).
+     *
+     * @return The earliest due record, or null if the queue is empty.
+     */
+    ReviewRecord peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Returns up to limit records due at or before a time, earliest first, without removing them.
+     * Only the part of the heap above the answer is visited, using a small side heap of candidates.
+     * Time complexity: O(k log k), where k is the number of records returned.
+     *
+     * @param now   Records due after this time are left out.
+     * @param limit The maximum number of records to return.
+     * @return The due records in due order.
+     */
+    List<ReviewRecord> due(long now, int limit) {
+        List<ReviewRecord> result = new ArrayList<>(Math.min(limit, size));
+        int[] candidates = new int[16];  // Side heap of heap indices, ordered like the heap
+        int count = 0;
+        if (size > 0 && limit > 0) {
+            candidates[count++] = 0;
+        }
+        while (count > 0 && result.size() < limit) {
+            int index = candidates[0];
+            candidates[0] = candidates[--count];
+            siftDownCandidate(candidates, count, 0);
+            if (heap[index].getDueAt() > now) {
+                break;  // Everything left is due later
+            }
+            result.add(heap[index]);
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (count == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, count * 2);
+                }
+                candidates[count] = child;
+                siftUpCandidate(candidates, count++);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of queued records.
+     * Time complexity: O(1).
+     *
+     * @return The queue size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the record at index toward the root while it is due earlier than its parent.
+     * Time complexity: O(log n).
+     */
+    private void siftUp(int index) {
+        ReviewRecord record = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(record, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = record;
+        record.heapIndex = index;
+    }
+
+    /**
+     * Moves the record at index toward the leaves while a child is due earlier.
+     * Time complexity: O(log n).
+     */
+    private void siftDown(int index) {
+        ReviewRecord record = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], record)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = record;
+        record.heapIndex = index;
+    }
+
+    /**
+     * Moves a candidate toward the root of the side heap used by due().
+     * Time complexity: O(log k), where k is the number of candidates.
+     */
+    private void siftUpCandidate(int[] candidates, int index) {
+        int value = candidates[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(heap[value], heap[candidates[parent]])) {
+                break;
+            }
+            candidates[index] = candidates[parent];
+            index = parent;
+        }
+        candidates[index] = value;
+    }
+
+    /**
+     * Moves a candidate toward the leaves of the side heap used by due().
+     * Time complexity: O(log k).
+     */
+    private void siftDownCandidate(int[] candidates, int count, int index) {
+        if (count == 0) {
+            return;
+        }
+        int value = candidates[index];
+        while (2 * index + 1 < count) {
+            int child = 2 * index + 1;
+            if (child + 1 < count && before(heap[candidates[child + 1]], heap[candidates[child]])) {
+                child++;
+            }
+            if (!before(heap[candidates[child]], heap[value])) {
+                break;
+            }
+            candidates[index] = candidates[child];
+            index = child;
+        }
+        candidates[index] = value;
+    }
+
+    /**
+     * Orders records by due time, then by card id so equal due times come out in a stable order.
+     * Time complexity: O(1).
+     */
+    private static boolean before(ReviewRecord a, ReviewRecord b) {
+        if (a.getDueAt() != b.getDueAt()) {
+            return a.getDueAt() < b.getDueAt();
+        }
+        return a.getCard().getId() < b.getCard().getId();
+    }
+}
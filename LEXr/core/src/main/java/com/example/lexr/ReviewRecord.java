@@ -0,0 +1,125 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+
+/**
+ * ReviewRecord holds the spaced-repetition state of one card: when it is next due,
+ * its current interval and ease, and how often it has been reviewed and forgotten.
+ * Records are owned and updated by a ReviewScheduler.
+ */
+public class ReviewRecord {
+
+    private final Card card;    // The card being scheduled
+    private long dueAt;         // Time the card is next due, in milliseconds since the epoch
+    private int intervalDays;   // Days between the last review and dueAt, 0 until first passed
+    private float ease;         // Interval multiplier, lower for harder cards
+    private int repetitions;    // Passed reviews in a row
+    private int lapses;         // Times the card was forgotten after being learned
+    int heapIndex = -1;         // Position in the ReviewQueue, -1 when not queued
+
+    /**
+     * Constructor for the ReviewRecord class.
+     * Time complexity: O(1) - Assigning a constant number of fields.
+     *
+     * @param card  The card being scheduled.
+     * @param dueAt The time the card is first due.
+     * @param ease  The starting ease.
+     */
+    ReviewRecord(Card card, long dueAt, float ease) {
+        this.card = card;
+        this.dueAt = dueAt;
+        this.ease = ease;
+    }
+
+    /**
+     * Creates the record of a card reviewed before, with its saved state.
+     * Time complexity: O(1) - Assigning a constant number of fields.
+     *
+     * @param card         The card being scheduled.
+     * @param dueAt        The time the card is next due.
+     * @param intervalDays The current interval in days.
+     * @param ease         The current ease.
+     * @param repetitions  The passed reviews in a row.
+     * @param lapses       The times the card was forgotten after being learned.
+     */
+    ReviewRecord(Card card, long dueAt, int intervalDays, float ease, int repetitions, int lapses) {
+        this.card = card;
+        update(dueAt, intervalDays, ease, repetitions, lapses);
+    }
+
+    /**
+     * Returns the card being scheduled.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The card.
+     */
+    public Card getCard() {
+        return card;
+    }
+
+    /**
+     * Returns the time the card is next due.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The due time in milliseconds since the epoch.
+     */
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    /**
+     * Returns the current review interval.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The interval in days.
+     */
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    /**
+     * Returns the current ease.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The interval multiplier.
+     */
+    public float getEase() {
+        return ease;
+    }
+
+    /**
+     * Returns the number of passed reviews in a row.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The repetition count.
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Returns the number of times the card was forgotten after being learned.
+     * Time complexity: O(1) - Accessing a field is a constant time operation.
+     *
+     * @return The lapse count.
+     */
+    public int getLapses() {
+        return lapses;
+    }
+
+    /**
+     * Stores the result of a review.
+     * Time complexity: O(1) - Assigning a constant number of fields.
+     */
+    void update(long dueAt, int intervalDays, float ease, int repetitions, int lapses) {
+        this.dueAt = dueAt;
+        this.intervalDays = intervalDays;
+        this.ease = ease;
+        this.repetitions = repetitions;
+        this.lapses = lapses;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReviewScheduler decides when each card should be reviewed again, using the SM-2
+ * spaced-repetition algorithm: cards the user answers well come back after growing
+ * intervals, and forgotten cards start over.
+ * Records are keyed by card id and kept in a ReviewQueue ordered by due time, so finding
+ * the next card to review is O(1) and rescheduling one is O(log n) instead of scanning a deck.
+ * After each review the card's difficulty level is set from its ease, and the record is handed
+ * to the OnReviewedListener so it can be saved; saved records are put back with restore().
+ */
+public class ReviewScheduler {
+
+    // Answer grades, from SM-2's 0 to 5 quality scale
+    public static final int GRADE_BLACKOUT = 0;  // No recall at all
+    public static final int GRADE_AGAIN = 1;     // Wrong answer
+    public static final int GRADE_HARD = 3;      // Right, with serious difficulty
+    public static final int GRADE_GOOD = 4;      // Right, after some hesitation
+    public static final int GRADE_EASY = 5;      // Right, instantly
+
+    static final long DAY_MS = 24L * 60 * 60 * 1000;  // Length of one interval day
+    static final long RELEARN_DELAY_MS = 10L * 60 * 1000;  // Forgotten cards come back after 10 minutes
+    static final float DEFAULT_EASE = 2.5f;  // Starting ease of every card
+    static final float MIN_EASE = 1.3f;      // Ease never drops below this
+    static final int MAX_DIFFICULTY = 5;     // Highest difficulty level set on cards
+
+    // Orders records like the ReviewQueue: by due time, then by card id
+    private static final Comparator<ReviewRecord> DUE_ORDER = (a, b) -> a.getDueAt() != b.getDueAt()
+            ? Long.compare(a.getDueAt(), b.getDueAt()) : Long.compare(a.getCard().getId(), b.getCard().getId());
+
+    private final Clock clock;                                    // Source of the current time
+    private final Map<Long, ReviewRecord> records = new HashMap<>();  // Records by card id
+    private final ReviewQueue queue = new ReviewQueue();           // Records by due time
+    private OnReviewedListener listener;                          // Told about every review, may be null
+
+    /**
+     * Constructor for the ReviewScheduler class.
+     * Time complexity: O(1).
+     *
+     * @param clock The source of the current time; Clock.SYSTEM outside of tests.
+     */
+    public ReviewScheduler(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Starts scheduling a card. New cards are due immediately, in card id order.
+     * Cards that are already tracked keep their schedule.
+     * Time complexity: O(log n), where n is the number of tracked cards.
+     *
+     * @param card A card with an assigned id.
+     * @return The review record of the card.
+     */
+    public synchronized ReviewRecord track(Card card) {
+        ReviewRecord record = records.get(card.getId());
+        if (record == null) {
+            record = new ReviewRecord(card, clock.currentTimeMillis(), DEFAULT_EASE);
+            records.put(card.getId(), record);  // O(1)
+            queue.add(record);                  // O(log n)
+        }
+        return record;
+    }
+
+    /**
+     * Starts scheduling a card with a record saved after an earlier review.
+     * A card that is already tracked keeps its current schedule.
+     * Time complexity: O(log n), where n is the number of tracked cards.
+     *
+     * @param record The saved record of a card with an assigned id.
+     * @return The review record now scheduling the card.
+     */
+    public synchronized ReviewRecord restore(ReviewRecord record) {
+        ReviewRecord current = records.get(record.getCard().getId());
+        if (current != null) {
+            return current;
+        }
+        records.put(record.getCard().getId(), record);  // O(1)
+        queue.add(record);                               // O(log n)
+        return record;
+    }
+
+    /**
+     * Sets the listener told about every review, e.g., to save the updated records.
+     * Time complexity: O(1).
+     *
+     * @param listener The listener, or null to remove it.
+     */
+    public synchronized void setOnReviewedListener(OnReviewedListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Stops scheduling a card.
+     * Time complexity: O(log n).
+     *
+     * @param card The card to drop.
+     * @return true if the card was tracked.
+     */
+    public synchronized boolean untrack(Card card) {
+        ReviewRecord record = records.remove(card.getId());
+        return record != null && queue.remove(record);
+    }
+
+    /**
+     * Records the user's answer for a card and schedules its next review.
+     * The card is tracked first if it is new.
+     * Time complexity: O(log n) - The record is moved within the queue.
+     *
+     * @param card  The reviewed card.
+     * @param grade The answer quality, from GRADE_BLACKOUT (0) to GRADE_EASY (5).
+     * @return The updated review record.
+     */
+    public synchronized ReviewRecord review(Card card, int grade) {
+        if (grade < GRADE_BLACKOUT || grade > GRADE_EASY) {
+            throw new IllegalArgumentException("Grade must be between 0 and 5: " + grade);
+        }
+        ReviewRecord record = track(card);
+        long now = clock.currentTimeMillis();
+        float ease = record.getEase();
+        int repetitions = record.getRepetitions();
+        int lapses = record.getLapses();
+        int interval;
+        long dueAt;
+        if (grade < GRADE_HARD) {
+            // Forgotten: start the repetitions over and show the card again shortly
+            if (repetitions > 0) {
+                lapses++;
+            }
+            repetitions = 0;
+            interval = 0;
+            dueAt = now + RELEARN_DELAY_MS;
+        } else {
+            if (repetitions == 0) {
+                interval = 1;
+            } else if (repetitions == 1) {
+                interval = 6;
+            } else {
+                interval = Math.round(record.getIntervalDays() * ease);
+            }
+            repetitions++;
+            int miss = GRADE_EASY - grade;
+            ease = Math.max(MIN_EASE, ease + 0.1f - miss * (0.08f + miss * 0.02f));
+            dueAt = now + interval * DAY_MS;
+        }
+        record.update(dueAt, interval, ease, repetitions, lapses);
+        queue.update(record);  // O(log n)
+        card.setDifficultyLevel(difficultyFor(ease));  // Saved by the card's change listener
+        if (listener != null) {
+            listener.onReviewed(record);  // O(1) for a listener that queues the record
+        }
+        return record;
+    }
+
+    /**
+     * Returns the card that should be reviewed next, if any is due.
+     * Time complexity: O(1) - The earliest record is at the top of the queue.
+     *
+     * @return The earliest due card, or null if no card is due yet.
+     */
+    public synchronized Card nextDueCard() {
+        ReviewRecord next = queue.peek();
+        return next != null && next.getDueAt() <= clock.currentTimeMillis() ? next.getCard() : null;
+    }
+
+    /**
+     * Returns the cards that are due, earliest first.
+     * Time complexity: O(k log k), where k is the number of cards returned.
+     *
+     * @param limit The maximum number of cards to return.
+     * @return The due cards in review order.
+     */
+    public synchronized List<Card> nextDueCards(int limit) {
+        List<ReviewRecord> due = queue.due(clock.currentTimeMillis(), limit);
+        List<Card> cards = new ArrayList<>(due.size());
+        for (ReviewRecord record : due) {
+            cards.add(record.getCard());
+        }
+        return cards;
+    }
+
+    /**
+     * Returns those of the given cards that are due, earliest first, e.g., the due cards of one deck.
+     * Untracked cards are left out.
+     * Time complexity: O(c log c), where c is the number of given cards.
+     *
+     * @param cards The cards to choose from.
+     * @param limit The maximum number of cards to return.
+     * @return The due cards in review order.
+     */
+    public synchronized List<Card> nextDueCards(List<Card> cards, int limit) {
+        long now = clock.currentTimeMillis();
+        List<ReviewRecord> due = new ArrayList<>();
+        for (Card card : cards) {
+            ReviewRecord record = records.get(card.getId());  // O(1)
+            if (record != null && record.getDueAt() <= now) {
+                due.add(record);
+            }
+        }
+        Collections.sort(due, DUE_ORDER);  // O(c log c)
+        List<Card> result = new ArrayList<>(Math.min(limit, due.size()));
+        for (int i = 0; i < due.size() && i < limit; i++) {
+            result.add(due.get(i).getCard());
+        }
+        return result;
+    }
+
+    /**
+     * Returns cards in the order to review them: the due ones first, earliest first, then the
+     * rest in their given order.
+     * Time complexity: O(c log c), where c is the number of given cards.
+     *
+     * @param cards The cards to order, e.g., a deck.
+     * @return A new list holding every given card once.
+     */
+    public List<Card> reviewOrder(List<Card> cards) {
+        List<Card> due = nextDueCards(cards, cards.size());  // O(c log c)
+        List<Card> ordered = new ArrayList<>(cards.size());
+        ordered.addAll(due);
+        Map<Card, Boolean> taken = new IdentityHashMap<>(due.size());
+        for (Card card : due) {
+            taken.put(card, Boolean.TRUE);
+        }
+        for (Card card : cards) {
+            if (!taken.containsKey(card)) {
+                ordered.add(card);  // Not due yet, or not tracked O(1)
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns the review record of a card.
+     * Time complexity: O(1).
+     *
+     * @param card The card to look up.
+     * @return The record, or null if the card is not tracked.
+     */
+    public synchronized ReviewRecord getRecord(Card card) {
+        return records.get(card.getId());
+    }
+
+    /**
+     * Returns the number of tracked cards.
+     * Time complexity: O(1).
+     *
+     * @return The number of review records.
+     */
+    public synchronized int size() {
+        return records.size();
+    }
+
+    /**
+     * Maps an ease to a difficulty level: 1 at the starting ease and above,
+     * up to MAX_DIFFICULTY at the minimum ease.
+     * Time complexity: O(1).
+     *
+     * @param ease The ease of a card.
+     * @return The difficulty level, from 1 to MAX_DIFFICULTY.
+     */
+    static int difficultyFor(float ease) {
+        if (ease >= DEFAULT_EASE) {
+            return 1;
+        }
+        float hardness = (DEFAULT_EASE - ease) / (DEFAULT_EASE - MIN_EASE);  // 0 to 1
+        return 1 + Math.round(hardness * (MAX_DIFFICULTY - 1));
+    }
+
+    /**
+     * Receives every review recorded by a ReviewScheduler.
+     */
+    public interface OnReviewedListener {
+
+        /**
+         * Called after a review, while the scheduler is locked, so it must return quickly.
+         *
+         * @param record The updated record of the reviewed card.
+         */
+        void onReviewed(ReviewRecord record);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.IOException;
+
+/**
+ * ReviewSource is a DeckSource that also keeps the review schedules of its cards.
+ * DeckManager reads the saved schedules of a deck right after its cards, so cards reviewed in
+ * an earlier session come back when they are due instead of starting over.
+ */
+public interface ReviewSource extends DeckSource {
+
+    /**
+     * Streams the saved review state of the cards of one deck that were reviewed before.
+     *
+     * @param manifest The manifest of the deck, whose cards were loaded with their ids.
+     * @param sink     Receives the state of each reviewed card.
+     * @throws IOException If the schedules cannot be read.
+     */
+    void loadReviews(DeckManifest manifest, ReviewSink sink) throws IOException;
+
+    /**
+     * Receives saved review states streamed from a ReviewSource one at a time.
+     */
+    interface ReviewSink {
+
+        /**
+         * Called for each reviewed card.
+         *
+         * @param cardId       The id of the card.
+         * @param dueAt        The time the card is next due, in milliseconds since the epoch.
+         * @param intervalDays The current interval in days.
+         * @param ease         The current ease.
+         * @param repetitions  The passed reviews in a row.
+         * @param lapses       The times the card was forgotten after being learned.
+         */
+        void accept(long cardId, long dueAt, int intervalDays, float ease, int repetitions, int lapses);
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SentenceCorpus streams sentence pairs from a corpus file written by SentenceCorpusWriter.
+ * Sentences are read a page at a time with one positional read, and only the most recently
+ * used pages are kept, so memory stays bounded however large the corpus is. Reading a page
+ * also prefetches the pages after it on a background thread, so moving forward one sentence
+ * at a time normally finds the next sentence already in memory.
+ */
+public class SentenceCorpus implements Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 64;      // Sentences per page
+    public static final int DEFAULT_PREFETCH_PAGES = 2;  // Pages read ahead of the current one
+
+    private static final Executor PREFETCHER = createPrefetcher();  // Shared by all corpora
+
+    private final RandomAccessFile file;    // The open corpus file
+    private final FileChannel channel;      // Positional reads, safe from several threads
+    private final int size;                 // Number of sentence pairs
+    private final long indexOffset;         // Start of the record offset index
+    private final int pageSize;             // Sentences per page
+    private final int prefetchPages;        // Pages read ahead of the one requested
+    private final Executor prefetchExecutor;  // Runs prefetches
+    private final Map<Integer, List<SentencePair>> pages;  // Cached pages, least recently used first
+    private final Set<Integer> pending = new HashSet<>();   // Pages queued for prefetch
+    private volatile boolean closed;
+
+    /**
+     * Opens a corpus file with the default page size and prefetch distance.
+     * Time complexity: O(1) - Only the header and footer are read.
+     *
+     * @param path The corpus file.
+     * @throws IOException If the file cannot be opened or is not a sentence corpus.
+     */
+    public SentenceCorpus(File path) throws IOException {
+        this(path, DEFAULT_PAGE_SIZE, DEFAULT_PREFETCH_PAGES, PREFETCHER);
+    }
+
+    /**
+     * Opens a corpus file.
+     * Time complexity: O(1) - Only the header and footer are read.
+     *
+     * @param path             The corpus file.
+     * @param pageSize         Sentences per page.
+     * @param prefetchPages    Pages to read ahead of each page read, 0 to disable prefetch.
+     * @param prefetchExecutor Runs the prefetches.
+     * @throws IOException If the file cannot be opened or is not a sentence corpus.
+     */
+    SentenceCorpus(File path, int pageSize, int prefetchPages, Executor prefetchExecutor) throws IOException {
+        if (pageSize <= 0 || prefetchPages < 0) {
+            throw new IllegalArgumentException("Bad page size " + pageSize + " or prefetch " + prefetchPages);
+        }
+        this.pageSize = pageSize;
+        this.prefetchPages = prefetchPages;
+        this.prefetchExecutor = prefetchExecutor;
+        final int maxPages = prefetchPages + 2;  // The current page, the previous one and the prefetched ones
+        this.pages = new LinkedHashMap<Integer, List<SentencePair>>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<SentencePair>> eldest) {
+                return size() > maxPages;  // Evict the least recently used page O(1)
+            }
+        };
+        file = new RandomAccessFile(path, "r");
+        try {
+            channel = file.getChannel();
+            long length = channel.size();
+            if (length < SentenceCorpusWriter.HEADER_SIZE + SentenceCorpusWriter.FOOTER_SIZE) {
+                throw new IOException("Not a sentence corpus: " + path);
+            }
+            ByteBuffer header = read(0, SentenceCorpusWriter.HEADER_SIZE);
+            ByteBuffer footer = read(length - SentenceCorpusWriter.FOOTER_SIZE, SentenceCorpusWriter.FOOTER_SIZE);
+            if (header.getInt(0) != SentenceCorpusWriter.MAGIC || footer.getInt(12) != SentenceCorpusWriter.MAGIC) {
+                throw new IOException("Not a sentence corpus: " + path);
+            }
+            int version = header.getInt(4);
+            if (version != SentenceCorpusWriter.VERSION) {
+                throw new IOException("Unsupported sentence corpus version " + version + ": " + path);
+            }
+            indexOffset = footer.getLong(0);
+            size = footer.getInt(8);
+            if (size < 0 || indexOffset < SentenceCorpusWriter.HEADER_SIZE
+                    || indexOffset + size * 8L + SentenceCorpusWriter.FOOTER_SIZE != length) {
+                throw new IOException("Corrupt sentence corpus: " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a corpus bundled with the app as "sentences/&lt;name&gt;.tsv", importing it into a
+     * directory the first time it is used.
+     * Time complexity: O(1) after the first import, O(l) for the import, where l is the length of the text.
+     *
+     * @param directory The directory keeping imported corpora, e.g., the app's files directory.
+     * @param name      The corpus name, e.g., "Sentences".
+     * @return The open corpus.
+     * @throws IOException If there is no such bundled corpus or it cannot be imported or opened.
+     */
+    public static SentenceCorpus openBundled(File directory, String name) throws IOException {
+        File file = new File(directory, "sentences-" + name + ".corpus");
+        if (!file.exists()) {
+            InputStream in = SentenceCorpus.class.getClassLoader().getResourceAsStream("sentences/" + name + ".tsv");
+            if (in == null) {
+                throw new FileNotFoundException("Missing sentence resource: sentences/" + name + ".tsv");
+            }
+            SentenceCorpusWriter.importTsv(in, file);  // O(l), once
+        }
+        return new SentenceCorpus(file);
+    }
+
+    /**
+     * Returns the number of sentence pairs in the corpus.
+     * Time complexity: O(1).
+     *
+     * @return The corpus size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of pages in the corpus.
+     * Time complexity: O(1).
+     *
+     * @return The page count.
+     */
+    public int getPageCount() {
+        return (int) (((long) size + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Returns a sentence pair, reading its page if it is not cached.
+     * Time complexity: O(1) if its page is cached, O(p) otherwise, where p is the page size.
+     *
+     * @param index The position of the sentence, from 0 to size() - 1.
+     * @return The sentence pair.
+     * @throws IllegalStateException If the corpus cannot be read.
+     */
+    public SentencePair get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Sentence " + index + " of " + size);
+        }
+        return getPage(index / pageSize).get(index % pageSize);
+    }
+
+    /**
+     * Returns a page of sentence pairs and prefetches the pages after it.
+     * Time complexity: O(1) if the page is cached, O(p) otherwise, where p is the page size.
+     *
+     * @param page The page number, from 0 to getPageCount() - 1.
+     * @return The sentences of the page, in corpus order.
+     * @throws IllegalStateException If the corpus cannot be read.
+     */
+    public List<SentencePair> getPage(int page) {
+        if (page < 0 || page >= getPageCount()) {
+            throw new IndexOutOfBoundsException("Page " + page + " of " + getPageCount());
+        }
+        List<SentencePair> sentences;
+        synchronized (pages) {
+            sentences = pages.get(page);  // O(1), marks the page as recently used
+        }
+        if (sentences == null) {
+            try {
+                sentences = readPage(page);  // O(p), outside the lock so prefetches keep running
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read sentence page " + page, e);
+            }
+            synchronized (pages) {
+                pages.put(page, sentences);
+            }
+        }
+        prefetch(page);
+        return sentences;
+    }
+
+    /**
+     * Checks whether a page is in memory.
+     * Time complexity: O(1).
+     *
+     * @param page The page number.
+     * @return true if the page is cached.
+     */
+    boolean isCached(int page) {
+        synchronized (pages) {
+            return pages.containsKey(page);
+        }
+    }
+
+    /**
+     * Closes the corpus file. Pending prefetches are dropped.
+     * Time complexity: O(1).
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        file.close();
+    }
+
+    /**
+     * Queues the pages after a page that are neither cached nor already queued.
+     * Time complexity: O(f), where f is the prefetch distance.
+     */
+    private void prefetch(int page) {
+        int last = Math.min(page + prefetchPages, getPageCount() - 1);
+        for (int next = page + 1; next <= last; next++) {
+            final int target = next;
+            synchronized (pages) {
+                if (pages.containsKey(target) || !pending.add(target)) {
+                    continue;  // Already in memory or on its way
+                }
+            }
+            try {
+                prefetchExecutor.execute(() -> loadAhead(target));
+            } catch (RejectedExecutionException e) {
+                synchronized (pages) {
+                    pending.remove(target);  // The foreground read will load it instead
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a page on the prefetch thread. A failure is dropped, since the foreground read of
+     * the same page will report it.
+     * Time complexity: O(p), where p is the page size.
+     */
+    private void loadAhead(int page) {
+        try {
+            if (!closed) {
+                List<SentencePair> sentences = readPage(page);
+                synchronized (pages) {
+                    if (!pages.containsKey(page)) {
+                        pages.put(page, sentences);
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+            // Read again, and reported, when the page is requested
+        } finally {
+            synchronized (pages) {
+                pending.remove(page);
+            }
+        }
+    }
+
+    /**
+     * Reads all the records of a page with one positional read and decodes them.
+     * Time complexity: O(p), where p is the page size.
+     */
+    private List<SentencePair> readPage(int page) throws IOException {
+        int first = page * pageSize;
+        int count = Math.min(pageSize, size - first);
+        ByteBuffer index = read(indexOffset + first * 8L, 8);
+        long start = index.getLong(0);
+        long end = first + count < size ? read(indexOffset + (first + count) * 8L, 8).getLong(0) : indexOffset;
+        if (end < start || end - start > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt sentence page " + page);
+        }
+        ByteBuffer bytes = read(start, (int) (end - start));
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes.array(), 0, bytes.limit()));
+        List<SentencePair> sentences = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String english = in.readUTF();
+            int words = in.readUnsignedShort();
+            List<String> spanish = new ArrayList<>(words);
+            for (int w = 0; w < words; w++) {
+                spanish.add(in.readUTF());
+            }
+            int glosses = in.readUnsignedShort();
+            List<String> glossed = new ArrayList<>(glosses);
+            for (int w = 0; w < glosses; w++) {
+                glossed.add(in.readUTF());
+            }
+            sentences.add(new SentencePair(english, spanish, glossed));
+        }
+        return Collections.unmodifiableList(sentences);
+    }
+
+    /**
+     * Reads length bytes at a position of the file, without moving any shared file pointer.
+     * Time complexity: O(length).
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of sentence corpus");
+            }
+        }
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    /**
+     * Creates the single daemon thread that runs prefetches for every corpus.
+     * The thread exits when idle, so the prefetcher costs nothing when no corpus is browsed.
+     * Time complexity: O(1).
+     */
+    private static Executor createPrefetcher() {
+        ThreadPoolExecutor prefetcher = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "SentencePrefetcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        prefetcher.allowCoreThreadTimeOut(true);
+        return prefetcher;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SentenceCorpusWriter imports sentence pairs into the corpus file read by SentenceCorpus.
+ * The Spanish side is split into words here, once, so browsing never tokenizes.
+ *
+ * <pre>
+ * header   MAGIC, VERSION
+ * records  per sentence: English (modified UTF-8), word count (short), each Spanish word,
+ *          gloss count (short, 0 or the word count), each English word
+ * index    one long byte offset per record
+ * footer   offset of the index (long), sentence count (int), MAGIC
+ * </pre>
+ *
+ * The index and count are written last, so a corpus of any size is streamed to disk
+ * without holding its sentences in memory.
+ */
+public class SentenceCorpusWriter implements Closeable {
+
+    static final int MAGIC = 0x4C585343;  // "LXSC"
+    static final int VERSION = 1;         // Bump when the layout changes
+    static final int HEADER_SIZE = 8;     // Two ints
+    static final int FOOTER_SIZE = 16;    // A long and two ints
+
+    private final DataOutputStream out;       // Buffered output over the corpus file
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(256);  // Reused per record
+    private final DataOutputStream record = new DataOutputStream(recordBytes);        // Encodes one record
+    private long[] offsets = new long[1024];  // Byte offset of each record written so far
+    private int count;                        // Number of records written
+    private long position;                    // Bytes written so far
+
+    /**
+     * Starts a corpus file. Call add() for each pair, then close() to write the index.
+     * Time complexity: O(1).
+     *
+     * @param file The corpus file to write, replaced if it exists.
+     * @throws IOException If the file cannot be created.
+     */
+    public SentenceCorpusWriter(File file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        position = HEADER_SIZE;
+    }
+
+    /**
+     * Imports a tab-separated text corpus, one "English&lt;TAB&gt;Spanish" pair per line, optionally
+     * followed by a tab and the English word for each Spanish word, separated by semicolons, e.g.,
+     * "I;speak;Spanish" for "Yo hablo español.". Blank lines and lines starting with # are skipped. The corpus is written to a temporary
+     * file and renamed, so a failed import never leaves a partial corpus behind.
+     * Time complexity: O(l), where l is the length of the text.
+     *
+     * @param in   The text to import; closed when done.
+     * @param file The corpus file to write, replaced if it exists.
+     * @return The number of sentence pairs written.
+     * @throws IOException If the text cannot be read, a line is malformed, or the file cannot be written.
+     */
+    public static int importTsv(InputStream in, File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        int count;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             SentenceCorpusWriter writer = new SentenceCorpusWriter(temp)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    throw new IOException("Sentence corpus:" + lineNumber + ": expected English<TAB>Spanish");
+                }
+                int glossTab = line.indexOf('\t', tab + 1);
+                List<String> spanishWords = tokenize(glossTab < 0 ? line.substring(tab + 1) : line.substring(tab + 1, glossTab));
+                List<String> englishWords = glossTab < 0 ? new ArrayList<String>() : splitGlosses(line.substring(glossTab + 1));
+                if (!englishWords.isEmpty() && englishWords.size() != spanishWords.size()) {
+                    throw new IOException("Sentence corpus:" + lineNumber + ": expected one English word per Spanish word");
+                }
+                writer.add(line.substring(0, tab).trim(), spanishWords, englishWords);
+            }
+            count = writer.count;
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        if (!temp.renameTo(file)) {
+            file.delete();
+            if (!temp.renameTo(file)) {
+                throw new IOException("Cannot replace sentence corpus " + file);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits a sentence into words on runs of whitespace. Punctuation stays attached to its
+     * word, as it is shown on the word cards.
+     * Time complexity: O(l), where l is the length of the sentence.
+     *
+     * @param sentence The sentence to split.
+     * @return The words in order, empty if the sentence is blank.
+     */
+    public static List<String> tokenize(String sentence) {
+        String trimmed = sentence.trim();
+        if (trimmed.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(trimmed.split("\\s+")));  // O(l)
+    }
+
+    /**
+     * Splits a semicolon-separated gloss column into words, trimming each.
+     * Time complexity: O(l), where l is the length of the column.
+     */
+    private static List<String> splitGlosses(String column) {
+        List<String> words = new ArrayList<>();
+        if (column.trim().isEmpty()) {
+            return words;
+        }
+        for (String word : column.split(";")) {
+            words.add(word.trim());
+        }
+        return words;
+    }
+
+    /**
+     * Appends a sentence pair, splitting the Spanish sentence into words.
+     * Time complexity: O(l), where l is the length of the pair.
+     *
+     * @param english The English sentence.
+     * @param spanish The Spanish sentence.
+     * @throws IOException If the record cannot be written.
+     */
+    public void add(String english, String spanish) throws IOException {
+        add(english, tokenize(spanish));
+    }
+
+    /**
+     * Appends a sentence pair whose Spanish side is already split into words.
+     * Time complexity: O(l), where l is the length of the pair.
+     *
+     * @param english      The English sentence.
+     * @param spanishWords The Spanish words in order.
+     * @throws IOException If the record cannot be written or has too many words.
+     */
+    public void add(String english, List<String> spanishWords) throws IOException {
+        add(english, spanishWords, new ArrayList<String>());
+    }
+
+    /**
+     * Appends a sentence pair whose Spanish words are glossed with their English words.
+     * Time complexity: O(l), where l is the length of the pair.
+     *
+     * @param english      The English sentence.
+     * @param spanishWords The Spanish words in order.
+     * @param englishWords The English word for each Spanish word, or an empty list.
+     * @throws IOException If the record cannot be written, has too many words, or the glosses do not match the words.
+     */
+    public void add(String english, List<String> spanishWords, List<String> englishWords) throws IOException {
+        if (!englishWords.isEmpty() && englishWords.size() != spanishWords.size()) {
+            throw new IOException("Expected one English word per Spanish word: " + english);
+        }
+        if (spanishWords.size() > Short.MAX_VALUE) {
+            throw new IOException("Too many words in sentence: " + english);
+        }
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);  // Amortized O(1)
+        }
+        recordBytes.reset();
+        record.writeUTF(english);
+        record.writeShort(spanishWords.size());
+        for (String word : spanishWords) {
+            record.writeUTF(word);
+        }
+        record.writeShort(englishWords.size());
+        for (String word : englishWords) {
+            record.writeUTF(word);
+        }
+        offsets[count++] = position;
+        recordBytes.writeTo(out);
+        position += recordBytes.size();  // Tracked as a long, so corpora past 2 GB index correctly
+    }
+
+    /**
+     * Writes the offset index and footer and closes the file.
+     * Time complexity: O(n), where n is the number of sentences.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = position;
+            for (int i = 0; i < count; i++) {
+                out.writeLong(offsets[i]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(count);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SentencePair is one English sentence and the Spanish translation shown word by word
+ * on the sentence sliding screen. The Spanish words were split when the corpus was imported.
+ * A corpus may also gloss each Spanish word with its English word, for the word matching game.
+ */
+public class SentencePair {
+
+    private final String english;             // The English sentence
+    private final List<String> spanishWords;  // The Spanish translation, one entry per word
+    private final List<String> englishWords;  // The English word for each Spanish word, or empty
+
+    /**
+     * Constructor for the SentencePair class.
+     * Time complexity: O(1).
+     *
+     * @param english      The English sentence.
+     * @param spanishWords The Spanish translation, one entry per word; not copied.
+     */
+    public SentencePair(String english, List<String> spanishWords) {
+        this(english, spanishWords, Collections.<String>emptyList());
+    }
+
+    /**
+     * Constructor for a SentencePair whose Spanish words are glossed.
+     * Time complexity: O(1).
+     *
+     * @param english      The English sentence.
+     * @param spanishWords The Spanish translation, one entry per word; not copied.
+     * @param englishWords The English word for each Spanish word, or an empty list; not copied.
+     * @throws IllegalArgumentException If the glosses do not match the Spanish words one to one.
+     */
+    public SentencePair(String english, List<String> spanishWords, List<String> englishWords) {
+        if (!englishWords.isEmpty() && englishWords.size() != spanishWords.size()) {
+            throw new IllegalArgumentException("Expected one English word per Spanish word: " + english);
+        }
+        this.english = english;
+        this.spanishWords = Collections.unmodifiableList(spanishWords);
+        this.englishWords = Collections.unmodifiableList(englishWords);
+    }
+
+    /**
+     * Gets the English sentence.
+     * Time complexity: O(1).
+     *
+     * @return The English sentence.
+     */
+    public String getEnglish() {
+        return english;
+    }
+
+    /**
+     * Gets the words of the Spanish translation, in sentence order.
+     * Time complexity: O(1).
+     *
+     * @return A read-only list of the Spanish words.
+     */
+    public List<String> getSpanishWords() {
+        return spanishWords;
+    }
+
+    /**
+     * Gets the English word for each Spanish word, e.g., "speak" for "hablo".
+     * Time complexity: O(1).
+     *
+     * @return A read-only list parallel to getSpanishWords(), or an empty list if the corpus has no glosses.
+     */
+    public List<String> getEnglishWords() {
+        return englishWords;
+    }
+}
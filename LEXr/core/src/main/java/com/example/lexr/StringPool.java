@@ -0,0 +1,110 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.Arrays;
+
+/**
+ * StringPool keeps one shared copy of each distinct string and numbers them.
+ * Words, translations and conjugates repeat across decks (e.g., "Correr" and "To Run"),
+ * so interning them means each repeat costs a 4-byte id instead of a new String.
+ * Lookups use an open-addressing hash table of ids, so the pool has no per-entry objects
+ * besides the strings themselves.
+ */
+public class StringPool {
+
+    private static final int INITIAL_CAPACITY = 1024;  // Initial number of strings held
+
+    private String[] strings = new String[INITIAL_CAPACITY];        // Canonical strings by id
+    private int[] slots = new int[INITIAL_CAPACITY * 2];            // Hash table of id + 1, 0 if empty
+    private int size;                                               // Number of strings in the pool
+
+    /**
+     * Returns the id of a string, adding the string to the pool if it is new.
+     * Time complexity: O(l) expected, where l is the length of the string (hashing and comparing).
+     *
+     * @param value The string to intern; must not be null.
+     * @return The id of the string in the pool.
+     */
+    public synchronized int intern(String value) {
+        int mask = slots.length - 1;
+        int slot = mix(value.hashCode()) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (strings[id].equals(value)) {
+                return id;  // Already pooled O(l)
+            }
+            slot = (slot + 1) & mask;  // Linear probing O(1) expected
+        }
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);  // Grow the string array O(n), amortized O(1)
+        }
+        int id = size++;
+        strings[id] = value;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);  // Keep the load factor at or below one half
+        }
+        return id;
+    }
+
+    /**
+     * Returns the shared copy of a string, adding it to the pool if it is new.
+     * Time complexity: O(l) expected, where l is the length of the string.
+     *
+     * @param value The string to canonicalize, may be null.
+     * @return The pooled string equal to value, or null if value is null.
+     */
+    public String canonical(String value) {
+        return value == null ? null : get(intern(value));
+    }
+
+    /**
+     * Returns the string with the given id.
+     * Time complexity: O(1) - An array access.
+     *
+     * @param id The id returned by intern().
+     * @return The pooled string.
+     */
+    public synchronized String get(int id) {
+        return strings[id];
+    }
+
+    /**
+     * Returns the number of distinct strings in the pool.
+     * Time complexity: O(1).
+     *
+     * @return The number of strings.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Rebuilds the hash table with a new capacity.
+     * Time complexity: O(n), where n is the number of strings.
+     */
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(strings[id].hashCode()) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    /**
+     * Spreads the bits of a hash code so similar strings do not cluster in the table.
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
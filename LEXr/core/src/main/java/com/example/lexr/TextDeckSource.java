@@ -0,0 +1,235 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TextDeckSource reads decks from tab-separated text files.
+ * The manifest file lists one deck per line as "name, file, cardCount, language, deckName,
+ * difficulty, active", where the columns after file are optional, and each deck file
+ * lists one card per line as "word, conjugates, translation", with the conjugates separated
+ * by semicolons. Blank lines and lines starting with '#' are ignored.
+ * Cards are streamed line by line, so a deck never has to fit in memory as text.
+ */
+public class TextDeckSource implements DeckSource {
+
+    public static final String MANIFEST_FILE = "manifest.tsv";  // Name of the manifest file in a source
+    private static final String COLUMN_SEPARATOR = "\t";      // Separates the columns of a row
+    private static final String CONJUGATE_SEPARATOR = ";";    // Separates the conjugates of a card
+
+    private final StreamOpener opener;  // Opens the manifest and deck files of this source
+
+    /**
+     * Constructor for the TextDeckSource class.
+     * Time complexity: O(1) - Assigning a reference is constant time.
+     *
+     * @param opener Opens files of this source by their relative path.
+     */
+    public TextDeckSource(StreamOpener opener) {
+        this.opener = opener;  // Set the opener used for all reads O(1)
+    }
+
+    /**
+     * Creates a source reading from a directory on disk.
+     * Time complexity: O(1) - Creating the source does not touch the disk.
+     *
+     * @param directory The directory holding the manifest and deck files.
+     * @return A source reading from the directory.
+     */
+    public static TextDeckSource fromDirectory(final File directory) {
+        return new TextDeckSource(path -> new FileInputStream(new File(directory, path)));
+    }
+
+    /**
+     * Creates a source reading Java resources bundled with the app, such as the built-in decks.
+     * Time complexity: O(1) - Creating the source does not touch the resources.
+     *
+     * @param prefix The resource folder holding the manifest and deck files (e.g., "decks/").
+     * @return A source reading from the resource folder.
+     */
+    public static TextDeckSource fromClasspath(final String prefix) {
+        return new TextDeckSource(path -> {
+            InputStream in = TextDeckSource.class.getClassLoader().getResourceAsStream(prefix + path);
+            if (in == null) {
+                throw new FileNotFoundException("Missing deck resource: " + prefix + path);
+            }
+            return in;
+        });
+    }
+
+    /**
+     * Reads all deck manifests from the manifest file.
+     * Time complexity: O(d), where d is the number of decks listed in the manifest.
+     *
+     * @return The manifests of all decks, in file order.
+     * @throws IOException If the manifest cannot be read or a line is malformed.
+     */
+    @Override
+    public List<DeckManifest> loadManifests() throws IOException {
+        List<DeckManifest> manifests = new ArrayList<>();
+        try (BufferedReader reader = open(MANIFEST_FILE)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (isSkipped(line)) {
+                    continue;  // Ignore blank lines and comments O(1)
+                }
+                String[] columns = line.split(COLUMN_SEPARATOR, -1);
+                if (columns.length < 2) {
+                    throw new IOException(MANIFEST_FILE + ":" + lineNumber + ": expected name and file");
+                }
+                int cardCount = columns.length > 2 ? parseCount(columns[2], lineNumber) : 0;
+                DeckManifest manifest = new DeckManifest(columns[0].trim(), columns[1].trim(), cardCount);
+                if (columns.length > 3) {
+                    manifest.setLanguage(columns[3].trim());
+                }
+                if (columns.length > 4) {
+                    manifest.setDeckName(columns[4].trim());
+                }
+                if (columns.length > 5) {
+                    manifest.setDifficultyRating(parseCount(columns[5], lineNumber));
+                }
+                if (columns.length > 6) {
+                    manifest.setActive(Boolean.parseBoolean(columns[6].trim()));
+                }
+                manifests.add(manifest);
+            }
+        }
+        return manifests;
+    }
+
+    /**
+     * Streams the cards of a deck from its file, one line at a time.
+     * Time complexity: O(c), where c is the number of cards read from the deck file.
+     *
+     * @param manifest The manifest of the deck to load.
+     * @param sink     Receives each card as it is parsed.
+     * @throws IOException If the deck file cannot be read or a line is malformed.
+     */
+    @Override
+    public void loadCards(DeckManifest manifest, CardSink sink) throws IOException {
+        try (BufferedReader reader = open(manifest.getFile())) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (isSkipped(line)) {
+                    continue;  // Ignore blank lines and comments O(1)
+                }
+                Card card = parseCard(line);
+                if (card == null) {
+                    throw new IOException(manifest.getFile() + ":" + lineNumber + ": expected word, conjugates and translation");
+                }
+                if (!sink.accept(card)) {
+                    return;  // The sink asked to stop reading O(1)
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses one card row of a deck file.
+     * Time complexity: O(l), where l is the length of the line.
+     *
+     * @param line The row to parse.
+     * @return The parsed card, or null if the row does not have enough columns.
+     */
+    static Card parseCard(String line) {
+        String[] columns = line.split(COLUMN_SEPARATOR, -1);
+        if (columns.length < 3) {
+            return null;
+        }
+        return new Card(columns[0], parseConjugates(columns[1]), columns[2]);
+    }
+
+    /**
+     * Splits the conjugate column of a row into a list.
+     * Time complexity: O(l), where l is the length of the column.
+     *
+     * @param column The semicolon separated conjugates.
+     * @return An unmodifiable list of conjugates, empty if the column is empty.
+     */
+    static List<String> parseConjugates(String column) {
+        if (column.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(column.split(CONJUGATE_SEPARATOR, -1)));
+    }
+
+    /**
+     * Writes one card as a row of a deck file, the inverse of parseCard().
+     * Time complexity: O(m), where m is the number of conjugates of the card.
+     *
+     * @param card The card to format.
+     * @return The row for the card, without a line separator.
+     */
+    static String formatCard(Card card) {
+        return card.getWord() + COLUMN_SEPARATOR + joinConjugates(card.getConjugates())
+                + COLUMN_SEPARATOR + card.getTranslation();
+    }
+
+    /**
+     * Joins conjugates into a single column, the inverse of parseConjugates().
+     * Time complexity: O(m), where m is the number of conjugates.
+     *
+     * @param conjugates The conjugates to join.
+     * @return The semicolon separated conjugates.
+     */
+    static String joinConjugates(List<String> conjugates) {
+        StringBuilder column = new StringBuilder();
+        for (int i = 0; i < conjugates.size(); i++) {
+            if (i > 0) {
+                column.append(CONJUGATE_SEPARATOR);
+            }
+            column.append(conjugates.get(i));
+        }
+        return column.toString();
+    }
+
+    private BufferedReader open(String path) throws IOException {
+        return new BufferedReader(new InputStreamReader(opener.open(path), StandardCharsets.UTF_8));
+    }
+
+    private static boolean isSkipped(String line) {
+        return line.trim().isEmpty() || line.startsWith("#");
+    }
+
+    private static int parseCount(String column, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(column.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException(MANIFEST_FILE + ":" + lineNumber + ": bad number " + column, e);
+        }
+    }
+
+    /**
+     * Opens a file of the source by its path relative to the source root.
+     */
+    public interface StreamOpener {
+
+        /**
+         * Opens the file at the given relative path.
+         *
+         * @param path The path of the file, relative to the source root.
+         * @return A stream over the file's bytes; the caller closes it.
+         * @throws IOException If the file cannot be opened.
+         */
+        InputStream open(String path) throws IOException;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.lexr;
+/*
+ * @author Daniel Sanchez
+ * @version demo
+ * @date last modified 10/17/2026 DRS
+ * CS 458 Team demo: Kyle, Zoe, Daniel
+ */
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * WeightedCardSampler draws cards at random in proportion to a weight, by default the card's
+ * difficulty level, doubled for favorites, so hard and favorite cards come up more often than
+ * trivial ones.
+ * Cards with the same weight form a class, and a Vose alias table over the classes picks a class
+ * in proportion to its total weight; a card is then picked uniformly within the class. Each draw
+ * is O(1), and a changed weight only moves one card between classes and rebuilds the alias table
+ * over the few distinct weights, instead of rebuilding a table over every card.
+ * Draws depend only on the Random given, so a seeded Random repeats the same sequence.
+ * A sampler is not thread-safe; it is used on the thread that owns its screen.
+ */
+public class WeightedCardSampler {
+
+    public static final int FAVORITE_FACTOR = 2;  // Favorites weigh twice as much as their difficulty
+
+    /**
+     * Weighs cards by difficulty level, times FAVORITE_FACTOR for favorites.
+     */
+    public static final Weigher DEFAULT_WEIGHER =
+            card -> card.getDifficultyLevel() * (card.isFavorite() ? FAVORITE_FACTOR : 1);
+
+    private static final int INITIAL_CLASSES = 16;
+
+    private final List<Card> cards;  // The cards sampled, by position
+    private final Weigher weigher;
+    private final int[] weightOf;    // Current weight by position
+    private final int[] classOf;     // Class by position
+    private final int[] slotOf;      // Index of each position within its class's members
+
+    private final Map<Integer, Integer> classByWeight = new HashMap<>();  // Weight -> class
+    private int[] classWeight = new int[INITIAL_CLASSES];     // Weight of every card in a class
+    private int[][] members = new int[INITIAL_CLASSES][];     // Positions in each class, unordered
+    private int[] memberCount = new int[INITIAL_CLASSES];     // Cards in each class
+    private int classCount;
+
+    private double[] probability = new double[INITIAL_CLASSES];  // Chance of keeping a table column's own class
+    private int[] columnClass = new int[INITIAL_CLASSES];        // Class owning each column
+    private int[] alias = new int[INITIAL_CLASSES];              // Class taking the rest of each column
+    private int[] small = new int[INITIAL_CLASSES];              // Work lists of the rebuild, kept to
+    private int[] large = new int[INITIAL_CLASSES];              // avoid allocating on every draw
+    private int columns;                                         // Classes with weight, in the table
+    private long totalWeight;                                    // Sum of all weights
+    private boolean stale = true;                                // Whether weights changed since the table was built
+
+    /**
+     * Creates a sampler weighing cards with DEFAULT_WEIGHER.
+     * Time complexity: O(n), where n is the number of cards.
+     *
+     * @param cards The cards, e.g., a deck snapshot from Deck.getCards(); must not change while sampled.
+     */
+    public WeightedCardSampler(List<Card> cards) {
+        this(cards, DEFAULT_WEIGHER);
+    }
+
+    /**
+     * Creates a sampler.
+     * Time complexity: O(n), where n is the number of cards.
+     *
+     * @param cards   The cards; must not change while sampled.
+     * @param weigher Gives each card's weight; cards of weight 0 or less are never drawn.
+     */
+    public WeightedCardSampler(List<Card> cards, Weigher weigher) {
+        this.cards = cards;
+        this.weigher = weigher;
+        int size = cards.size();
+        weightOf = new int[size];
+        classOf = new int[size];
+        slotOf = new int[size];
+        for (int position = 0; position < size; position++) {
+            int weight = Math.max(0, weigher.weight(cards.get(position)));
+            weightOf[position] = weight;
+            join(position, classFor(weight));  // O(1) amortized
+            totalWeight += weight;
+        }
+    }
+
+    /**
+     * Draws a card position in proportion to its weight.
+     * Time complexity: O(1), plus O(k) to rebuild the table after weights changed, where k is the
+     * number of distinct weights.
+     *
+     * @param random The source of randomness.
+     * @return A position in the cards.
+     * @throws IllegalStateException If no card has any weight.
+     */
+    public int next(Random random) {
+        if (stale) {
+            rebuild();  // O(k)
+        }
+        if (columns == 0) {
+            throw new IllegalStateException("No card can be drawn");
+        }
+        int column = random.nextInt(columns);
+        int drawn = random.nextDouble() < probability[column] ? columnClass[column] : alias[column];  // O(1)
+        return members[drawn][random.nextInt(memberCount[drawn])];  // Uniform within the class O(1)
+    }
+
+    /**
+     * Draws distinct card positions, each in proportion to its weight among the cards not drawn yet,
+     * e.g., the questions of a game. Weights are restored afterwards.
+     * Time complexity: O(m k), where m is count and k the number of distinct weights.
+     *
+     * @param count  The number of cards to draw.
+     * @param random The source of randomness.
+     * @return The positions drawn, fewer than count if fewer cards have weight.
+     */
+    public int[] draw(int count, Random random) {
+        int[] drawn = new int[Math.min(count, cards.size())];
+        int size = 0;
+        while (size < drawn.length && totalWeight > 0) {
+            int position = next(random);  // O(k) to rebuild after the last draw
+            drawn[size++] = position;
+            move(position, 0);  // Out of the running until restored O(1)
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            move(drawn[i], Math.max(0, weigher.weight(cards.get(drawn[i]))));  // O(1)
+        }
+        return size == drawn.length ? drawn : Arrays.copyOf(drawn, size);
+    }
+
+    /**
+     * Orders every card by drawing without replacement, so heavier cards tend to come first.
+     * Cards without weight follow in their original order.
+     * Time complexity: O(n k), where n is the number of cards and k the number of distinct weights.
+     *
+     * @param random The source of randomness.
+     * @return Every position, once.
+     */
+    public int[] order(Random random) {
+        int[] order = draw(cards.size(), random);
+        if (order.length == cards.size()) {
+            return order;
+        }
+        int size = order.length;
+        order = Arrays.copyOf(order, cards.size());
+        for (int position = 0; position < weightOf.length; position++) {
+            if (weightOf[position] == 0) {
+                order[size++] = position;  // O(n)
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Weighs a card again after its difficulty or favorite status changed.
+     * Time complexity: O(1); the table is rebuilt in O(k) by the next draw if the weight changed.
+     *
+     * @param position The position of the card.
+     */
+    public void update(int position) {
+        move(position, Math.max(0, weigher.weight(cards.get(position))));
+    }
+
+    /**
+     * Returns the chance of drawing a card with next().
+     * Time complexity: O(1).
+     *
+     * @param position The position of the card.
+     * @return Its weight over the total weight, or 0 if no card has weight.
+     */
+    public double getProbability(int position) {
+        return totalWeight == 0 ? 0 : (double) weightOf[position] / totalWeight;
+    }
+
+    /**
+     * Returns the number of cards.
+     * Time complexity: O(1).
+     *
+     * @return The number of cards sampled.
+     */
+    public int size() {
+        return cards.size();
+    }
+
+    /**
+     * Gives a card a new weight, moving it to the class of that weight.
+     * Time complexity: O(1) amortized.
+     */
+    private void move(int position, int weight) {
+        int old = weightOf[position];
+        if (old == weight) {
+            return;
+        }
+        leave(position);
+        join(position, classFor(weight));
+        weightOf[position] = weight;
+        totalWeight += weight - old;
+        stale = true;
+    }
+
+    /**
+     * Returns the class of a weight, adding it if it is new.
+     * Time complexity: O(1) amortized.
+     */
+    private int classFor(int weight) {
+        Integer existing = classByWeight.get(weight);
+        if (existing != null) {
+            return existing;
+        }
+        if (classCount == classWeight.length) {
+            int capacity = classCount * 2;
+            classWeight = Arrays.copyOf(classWeight, capacity);
+            members = Arrays.copyOf(members, capacity);
+            memberCount = Arrays.copyOf(memberCount, capacity);
+            probability = new double[capacity];
+            columnClass = new int[capacity];
+            alias = new int[capacity];
+            small = new int[capacity];
+            large = new int[capacity];
+        }
+        int created = classCount++;
+        classWeight[created] = weight;
+        members[created] = new int[16];
+        classByWeight.put(weight, created);
+        stale = true;
+        return created;
+    }
+
+    /**
+     * Appends a position to a class.
+     * Time complexity: O(1) amortized.
+     */
+    private void join(int position, int joined) {
+        int count = memberCount[joined];
+        if (count == members[joined].length) {
+            members[joined] = Arrays.copyOf(members[joined], count * 2);
+        }
+        members[joined][count] = position;
+        memberCount[joined] = count + 1;
+        classOf[position] = joined;
+        slotOf[position] = count;
+        stale = true;
+    }
+
+    /**
+     * Removes a position from its class by moving the class's last member into its slot.
+     * Time complexity: O(1).
+     */
+    private void leave(int position) {
+        int left = classOf[position];
+        int slot = slotOf[position];
+        int last = members[left][--memberCount[left]];
+        members[left][slot] = last;
+        slotOf[last] = slot;
+    }
+
+    /**
+     * Builds the alias table over the classes with weight, with Vose's method: columns whose
+     * class has less than the average weight are topped up from a class with more.
+     * Time complexity: O(k), where k is the number of classes.
+     */
+    private void rebuild() {
+        columns = 0;
+        for (int c = 0; c < classCount; c++) {
+            if (classWeight[c] > 0 && memberCount[c] > 0) {
+                columnClass[columns++] = c;
+            }
+        }
+        stale = false;
+        if (columns == 0) {
+            return;
+        }
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int column = 0; column < columns; column++) {
+            int c = columnClass[column];
+            probability[column] = (double) classWeight[c] * memberCount[c] * columns / totalWeight;  // 1 is the average
+            alias[column] = c;
+            if (probability[column] < 1) {
+                small[smallCount++] = column;
+            } else {
+                large[largeCount++] = column;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int under = small[--smallCount];
+            int over = large[--largeCount];
+            alias[under] = columnClass[over];  // The rest of the column goes to the larger class
+            probability[over] -= 1 - probability[under];
+            if (probability[over] < 1) {
+                small[smallCount++] = over;
+            } else {
+                large[largeCount++] = over;
+            }
+        }
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1;  // Only off by rounding
+        }
+    }
+
+    /**
+     * Gives the weight of a card.
+     */
+    public interface Weigher {
+
+        /**
+         * @param card The card.
+         * @return Its weight; 0 or less means it is never drawn.
+         */
+        int weight(Card card);
+    }
+}
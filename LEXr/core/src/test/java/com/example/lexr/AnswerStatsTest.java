@@ -0,0 +1,216 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the answer log format, recovery from a torn batch, incremental and saved statistics,
+ * percentiles and trends, and GameHistory. Aggregation time over a million answers is measured
+ * by the JMH AnswerStatsBenchmark.
+ */
+public class AnswerStatsTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private File directory;
+    private File logFile;
+    private File snapshotFile;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("answers", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdir());
+        logFile = new File(directory, GameHistory.LOG_FILE);
+        snapshotFile = new File(directory, GameHistory.SNAPSHOT_FILE);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void refreshCountsOnlyNewAnswers() throws IOException {
+        AnswerStats stats = new AnswerStats(logFile);
+        assertEquals(0, stats.refresh());  // No log yet
+
+        try (AnswerLog log = new AnswerLog(logFile, 4)) {
+            log.startSession(1, "SpanishDeck1");
+            log.record(1, 100, "Hablar", "To Speak", true, 1200);
+            log.record(1, 200, "Comer", "To Run", false, 3000);
+            log.record(1, 300, "Hablar", "To Speak", true, 800);
+            assertEquals(3, stats.refresh());  // The first batch of four events is written
+            log.record(1, 400, "Comer", "To Eat", true, 2000);
+            assertEquals(0, stats.refresh());  // Still in the batch
+        }
+        assertEquals(1, stats.refresh());
+        assertEquals(0, stats.refresh());
+
+        AnswerStats.WordStats hablar = stats.getWordStats("Hablar");
+        assertEquals(2, hablar.getAttempts());
+        assertEquals(1.0, hablar.getAccuracy(), 0);
+        assertEquals(1000, hablar.getMeanLatencyMs(), 0);
+        assertEquals(0.5, stats.getWordStats("Comer").getAccuracy(), 0);
+        assertNull(stats.getWordStats("Ver"));
+        assertEquals(0.75, stats.getAccuracy(), 0);
+
+        try (AnswerLog log = new AnswerLog(logFile)) {
+            log.startSession(2, "SpanishDeck2");
+            log.record(2, 500, "Ver", "To See", true, 500);
+        }
+        assertEquals(1, stats.refresh());
+        List<AnswerStats.SessionStats> sessions = stats.getRecentSessions(5);
+        assertEquals(2, sessions.size());
+        assertEquals("SpanishDeck1", sessions.get(0).getDeck());
+        assertEquals(4, sessions.get(0).getAttempts());
+        assertEquals(2, sessions.get(1).getSession());
+        assertEquals(logFile.length(), stats.getOffset());
+    }
+
+    @Test
+    public void tornBatchIsDroppedAndOverwritten() throws IOException {
+        try (AnswerLog log = new AnswerLog(logFile, 1)) {
+            log.record(1, 100, "Hablar", "To Speak", true, 1000);
+            log.record(1, 200, "Comer", "To Eat", true, 1000);
+        }
+        long whole = logFile.length();
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+            file.setLength(whole - 3);  // The last batch lost its end in a crash
+        }
+        AnswerStats stats = new AnswerStats(logFile);
+        assertEquals(1, stats.refresh());
+        assertNull(stats.getWordStats("Comer"));
+
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+            file.seek(whole - 5);
+            file.writeByte(0x7F);  // The last batch has all its bytes, but not the right ones
+            file.setLength(whole);
+        }
+        try (AnswerLog log = new AnswerLog(logFile, 1)) {
+            log.record(1, 300, "Ver", "To See", false, 2000);  // Replaces the torn batch
+        }
+        AnswerStats reread = new AnswerStats(logFile);
+        assertEquals(2, reread.refresh());
+        assertNull(reread.getWordStats("Comer"));
+        assertEquals(1, reread.getWordStats("Ver").getAttempts());
+    }
+
+    @Test
+    public void savedStatisticsResumeFromTheirOffset() throws IOException {
+        writeSyntheticLog(20_000, 7);
+        AnswerStats stats = AnswerStats.load(logFile, snapshotFile);
+        stats.save(snapshotFile);
+
+        try (AnswerLog log = new AnswerLog(logFile)) {
+            log.startSession(1_000_000, "SpanishDeck3");
+            log.record(1_000_000, 1, "Reír", "To Laugh", true, 700);
+        }
+        AnswerStats resumed = AnswerStats.load(logFile, snapshotFile);
+        AnswerStats rebuilt = AnswerStats.load(logFile, new File(directory, "missing"));
+        assertEquals(20_001, resumed.getAnswerCount());
+        assertEquals(rebuilt.getAnswerCount(), resumed.getAnswerCount());
+        assertEquals(rebuilt.getAccuracy(), resumed.getAccuracy(), 0);
+        assertEquals(rebuilt.getLatencyPercentile(90), resumed.getLatencyPercentile(90));
+        assertEquals(rebuilt.getWordCount(), resumed.getWordCount());
+        assertEquals("SpanishDeck3", resumed.getRecentSessions(1).get(0).getDeck());
+        assertEquals(rebuilt.getWeakestWords(5, 1).toString(), resumed.getWeakestWords(5, 1).toString());
+
+        assertTrue(logFile.delete());
+        assertEquals(0, AnswerStats.load(logFile, snapshotFile).getAnswerCount());  // Snapshot ahead of the log
+    }
+
+    @Test
+    public void percentilesAndTrends() throws IOException {
+        try (AnswerLog log = new AnswerLog(logFile)) {
+            for (int latency = 1; latency <= 10_000; latency++) {
+                int session = (latency - 1) / 2_000;  // Five sessions, each more accurate than the last
+                boolean correct = (latency - 1) % 2_000 < 1_000 + session * 200;
+                log.record(session, latency, "Palabra" + latency % 50, "Word", correct, latency);
+            }
+        }
+        AnswerStats stats = AnswerStats.load(logFile, snapshotFile);
+        assertEquals(5_000, stats.getLatencyPercentile(50), 5_000 * 0.07);
+        assertEquals(9_900, stats.getLatencyPercentile(99), 9_900 * 0.07);
+        assertEquals(1, stats.getLatencyPercentile(0));
+        assertEquals(0.1, stats.getAccuracyTrend(10), 1e-9);
+        assertEquals(0.1, stats.getAccuracyTrend(2), 1e-9);
+        assertEquals(0, stats.getAccuracyTrend(1), 0);
+    }
+
+    @Test
+    public void gameHistoryReportsStatisticsWhenASessionFinishes() throws IOException {
+        GameHistory history = new GameHistory(directory, DIRECT);
+        history.startSession(1, "SpanishDeck1");
+        history.record(1, "Hablar", "To Eat", false, 1500);
+        history.record(1, "Comer", "To Eat", true, 900);
+        assertTrue(logFile.length() <= AnswerLog.HEADER_SIZE);  // Still in the batch
+
+        final List<AnswerStats> delivered = new ArrayList<>();
+        history.finishSessionAsync(DIRECT, callback(delivered));
+        assertEquals(1, delivered.size());
+        AnswerStats stats = delivered.get(0);
+        assertEquals(2, stats.getAnswerCount());
+        assertEquals("Hablar", stats.getWeakestWords(1, 1).get(0).getPrompt());
+        assertTrue(snapshotFile.exists());
+
+        history.record(1, "Ver", "To See", true, 600);
+        history.finishSessionAsync(DIRECT, callback(delivered));
+        assertEquals(3, delivered.get(1).getAnswerCount());
+        assertEquals(3, AnswerStats.load(logFile, new File(directory, "missing")).getAnswerCount());
+    }
+
+    /**
+     * Writes answers in sessions of 10, over 2000 words, with latencies around 1.5 seconds.
+     */
+    private void writeSyntheticLog(int events, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (AnswerLog log = new AnswerLog(logFile, 256)) {
+            for (int i = 0; i < events; i++) {
+                long session = i / 10;
+                if (i % 10 == 0) {
+                    log.startSession(session, "SpanishDeck" + (1 + session % 3));
+                }
+                int word = random.nextInt(2_000);
+                int latency = (int) Math.max(100, 1_500 + random.nextGaussian() * 500);
+                log.record(session, 1_700_000_000_000L + i * 2_000L, "Palabra" + word, "Word " + word,
+                        random.nextInt(100) < 60 + word % 40, latency);
+            }
+        }
+    }
+
+    private static DeckLoadTask.Callback<AnswerStats> callback(final List<AnswerStats> delivered) {
+        return new DeckLoadTask.Callback<AnswerStats>() {
+            @Override
+            public void onProgress(int loaded, int total) {
+            }
+
+            @Override
+            public void onLoaded(AnswerStats stats) {
+                delivered.add(stats);
+            }
+
+            @Override
+            public void onLoadFailed(Exception error) {
+                throw new AssertionError(error);
+            }
+        };
+    }
+}
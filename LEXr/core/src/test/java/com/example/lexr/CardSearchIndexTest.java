@@ -0,0 +1,148 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks accent-insensitive, prefix and fuzzy matching, ranking, incremental updates through
+ * Deck.addCard()/removeCard(), and ranking among many cards sharing prefixes. Query time over
+ * 100k cards is measured by the JMH CardSearchIndexBenchmark.
+ */
+public class CardSearchIndexTest {
+
+    private static final int CARDS = 1_000;
+
+    @Test
+    public void accentsAndCaseAreIgnored() {
+        CardSearchIndex index = new CardSearchIndex();
+        Card reir = card("Reír", "To Laugh", "Río", "Ríes", "Ríe");
+        Card correr = card("Correr", "To Run", "Corro", "Corres", "Corre");
+        index.add(reir);
+        index.add(correr);
+
+        assertEquals(Arrays.asList(reir), index.search("rei", 10));
+        assertEquals(Arrays.asList(reir), index.search("rio", 10));
+        assertEquals(Arrays.asList(reir), index.search("RÍE", 10));
+        assertEquals(Arrays.asList("reir", "to", "laugh"), CardSearchIndex.tokenize("Reír (To Laugh)"));
+    }
+
+    @Test
+    public void wordMatchesRankAboveTranslationsAndConjugates() {
+        CardSearchIndex index = new CardSearchIndex();
+        Card viaje = card("Viaje", "Trip");
+        Card viajar = card("Viajar", "To Travel", "Viajo", "Viajas", "Viaja");
+        Card ir = card("Ir", "To Go", "Voy");
+        index.add(viajar);
+        index.add(viaje);
+        index.add(ir);
+
+        List<Card> results = index.search("viaje", 10);
+        assertEquals(viaje, results.get(0));  // Exact word beats the prefix of a conjugate
+        assertEquals(2, results.size());
+        assertEquals(Arrays.asList(viajar), index.search("travel", 10));
+        assertEquals(Arrays.asList(viajar), index.search("to trav", 10));  // Every term must match
+        assertEquals(Arrays.asList(viajar, ir), index.search("to", 10));  // Equal scores keep indexing order
+    }
+
+    @Test
+    public void closeSpellingsMatchFuzzily() {
+        CardSearchIndex index = new CardSearchIndex();
+        Card hablar = card("Hablar", "To Speak", "Hablo", "Hablas", "Habla");
+        index.add(hablar);
+        index.add(card("Comer", "To Eat", "Como", "Comes", "Come"));
+
+        assertEquals(Arrays.asList(hablar), index.search("hablsr", 10));
+        assertTrue(index.search("xyzzy", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void deckChangesUpdateTheIndex() {
+        CardSearchIndex index = new CardSearchIndex();
+        Deck deck = new Deck("SpanishDeck3", "Spanish", "Spanish Verbs 3");
+        deck.setOnCardsChangedListener(index);
+        Card ver = card("Ver", "To See", "Veo");
+        Card tocar = card("Tocar", "To Touch", "Toco");
+        deck.setCards(Arrays.asList(ver, tocar));
+        assertEquals(2, index.size());
+
+        Card cocinar = card("Cocinar", "To Cook", "Cocino");
+        deck.addCard(cocinar);
+        assertEquals(Arrays.asList(cocinar), index.search("coc", 10));
+
+        deck.removeCard(tocar);
+        assertTrue(index.search("tocar", 10).isEmpty());
+        assertEquals(2, index.size());
+
+        deck.setCards(new ArrayList<Card>());
+        assertEquals(0, index.size());
+        assertTrue(index.search("ver", 10).isEmpty());
+    }
+
+    @Test
+    public void removalsCompactTheIndex() {
+        CardSearchIndex index = new CardSearchIndex();
+        List<Card> cards = new ArrayList<>();
+        for (int c = 0; c < 5_000; c++) {
+            Card card = card("Palabra" + c, "Word " + c);
+            cards.add(card);
+            index.add(card);
+        }
+        for (int c = 0; c < 4_000; c++) {
+            assertTrue(index.remove(cards.get(c)));
+        }
+        assertFalse(index.remove(cards.get(0)));
+        assertEquals(1_000, index.size());
+        assertEquals(cards.get(4_321), index.search("palabra4321", 10).get(0));
+        assertFalse(index.search("palabra1234", 10).contains(cards.get(1_234)));
+        assertEquals(10, index.search("palabra", 10).size());
+    }
+
+    @Test
+    public void deckManagerSearchesLoadedDecks() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        assertTrue(manager.search("rei", 5).isEmpty());  // SpanishDeck3 is not loaded yet
+
+        manager.getDeckByName("SpanishDeck3");
+        List<Card> results = manager.search("rei", 5);
+        assertEquals("Reír", results.get(0).getWord());
+        assertEquals("Reír", manager.search("rio", 5).get(0).getWord());
+    }
+
+    @Test
+    public void exactAndCloseSpellingsRankFirstAmongSimilarWords() {
+        CardSearchIndex index = new CardSearchIndex();
+        for (int c = 0; c < CARDS; c++) {
+            String stem = syllables(c);
+            index.add(card(stem + "ar", "To " + stem + " " + c, stem + "o", stem + "as", stem + "a"));
+        }
+        assertEquals(CARDS, index.size());
+
+        assertEquals("badokaar", index.search("badoka", 20).get(0).getWord());  // Card 210
+        assertEquals("badokaar", index.search("badokx", 20).get(0).getWord());  // Close spelling
+        assertEquals(20, index.search("ba", 20).size());
+        assertTrue(index.search("xyz", 20).isEmpty());
+    }
+
+    /**
+     * Spells a number as syllables, so the synthetic words share prefixes and trigrams.
+     */
+    private static String syllables(int n) {
+        String[] parts = {"ba", "do", "ka", "le", "mi", "no", "pu", "re", "si", "tu"};
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append(parts[n % parts.length]);
+            n /= parts.length;
+        } while (n > 0);
+        return word.toString();
+    }
+
+    private static Card card(String word, String translation, String... conjugates) {
+        return new Card(word, new ArrayList<>(Arrays.asList(conjugates)), translation);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that card state survives reopening the file, growing it and a crash while it grows,
+ * that damaged files start over, and that DeckManager restores state into loaded cards. Update
+ * time is measured by the JMH CardStateStoreBenchmark.
+ */
+public class CardStateStoreTest {
+
+    private static final int CARDS = 10_000;
+    private static final int ROUNDS = 3;
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("state", "");
+        assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void stateSurvivesReopening() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (CardStateStore store = new CardStateStore(file)) {
+            store.setFlipped(7, true);
+            store.setFavorite(8, true);
+            store.setFavorite(9, false);
+            store.increment(7, CardStateStore.COUNTER_FLIPS);
+            store.increment(7, CardStateStore.COUNTER_FLIPS);
+            store.increment(8, CardStateStore.COUNTER_VIEWS);
+            store.setFlipped(0, true);  // No id, nothing recorded
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            assertTrue(store.isFlipped(7));
+            assertFalse(store.isFavorite(7));
+            assertTrue(store.isFavorite(8));
+            assertTrue(store.isKnown(9));
+            assertFalse(store.isKnown(10));
+            assertEquals(2, store.getCount(7, CardStateStore.COUNTER_FLIPS));
+            assertEquals(1, store.getCount(8, CardStateStore.COUNTER_VIEWS));
+            assertEquals(0, store.getCount(8, CardStateStore.COUNTER_FLIPS));
+            assertFalse(store.isKnown(0));
+        }
+    }
+
+    @Test
+    public void growingKeepsEveryBitAndCounter() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (CardStateStore store = new CardStateStore(file)) {
+            for (int id = 1; id < CardStateStore.MIN_CAPACITY; id += 3) {
+                store.setFlipped(id, id % 2 == 0);
+                store.increment(id, CardStateStore.COUNTER_VIEWS);
+            }
+            store.setFavorite(50_000, true);  // Grows the file
+            assertTrue(store.getCapacity() > 50_000);
+            for (int id = 1; id < CardStateStore.MIN_CAPACITY; id += 3) {
+                assertEquals("card " + id, id % 2 == 0, store.isFlipped(id));
+                assertEquals(1, store.getCount(id, CardStateStore.COUNTER_VIEWS));
+                assertFalse(store.isKnown(id + 1));
+            }
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            assertTrue(store.isFavorite(50_000));
+            assertTrue(store.isFlipped(4));
+        }
+    }
+
+    @Test
+    public void growingOnlyAppendsSegments() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (CardStateStore store = new CardStateStore(file)) {
+            store.setFavorite(5, true);
+            store.increment(CardStateStore.MIN_CAPACITY - 1, CardStateStore.COUNTER_FLIPS);
+            byte[] before = Files.readAllBytes(file.toPath());
+
+            store.setFlipped(3 * CardStateStore.SEGMENT_CARDS, true);  // Grows the file
+
+            byte[] after = Files.readAllBytes(file.toPath());
+            assertTrue(after.length > before.length);
+            for (int i = 0; i < before.length; i++) {
+                if (i < 8 || i >= 12) {  // Only the capacity in the header changes
+                    assertEquals("byte " + i, before[i], after[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void aCrashWhileGrowingKeepsTheRecordedState() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (CardStateStore store = new CardStateStore(file)) {
+            store.setFavorite(5, true);
+        }
+        try (RandomAccessFile extended = new RandomAccessFile(file, "rw")) {
+            extended.seek(extended.length());
+            byte[] leftovers = new byte[CardStateStore.SEGMENT_SIZE];
+            Arrays.fill(leftovers, (byte) -1);
+            extended.write(leftovers);  // Segments appended, header not updated yet
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            assertEquals(CardStateStore.MIN_CAPACITY, store.getCapacity());
+            assertTrue(store.isFavorite(5));
+            store.setFavorite(CardStateStore.MIN_CAPACITY, true);  // Grows over the leftovers
+            assertTrue(store.isFavorite(5));
+            assertFalse(store.isKnown(CardStateStore.MIN_CAPACITY + 1));
+            assertEquals(0, store.getCount(CardStateStore.MIN_CAPACITY, CardStateStore.COUNTER_VIEWS));
+        }
+    }
+
+    @Test
+    public void countersStopAtTheirLimit() throws IOException {
+        try (CardStateStore store = new CardStateStore(new File(directory, CardStateStore.FILE_NAME))) {
+            for (int i = 0; i < 70_000; i++) {
+                store.increment(3, CardStateStore.COUNTER_VIEWS);
+            }
+            assertEquals(65_535, store.getCount(3, CardStateStore.COUNTER_VIEWS));
+            assertEquals(0, store.getCount(2, CardStateStore.COUNTER_VIEWS));
+        }
+    }
+
+    @Test
+    public void damagedFilesStartOver() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            assertEquals(CardStateStore.MIN_CAPACITY, store.getCapacity());
+            assertFalse(store.isKnown(1));
+        }
+    }
+
+    @Test
+    public void deckManagerRestoresAndRecordsCardState() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Card card = new Card("Palabra" + i, new ArrayList<String>(), "Word " + i);
+            card.setId(i);
+            cards.add(card);
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            store.setFlipped(2, true);
+            store.setFavorite(3, true);
+        }
+        try (CardStateStore store = new CardStateStore(file)) {
+            DeckManager manager = new DeckManager(new ListDeckSource(cards), null, store);
+            Deck deck = manager.getDeckByName("Test");
+            assertSame(store, manager.getCardStateStore());
+            assertFalse(deck.getCards().get(0).isFlipped());
+            assertTrue(deck.getCards().get(1).isFlipped());
+            assertTrue(deck.getCards().get(2).isFavorite());
+
+            deck.getCards().get(0).setFavorite(true);  // Through DeckManager's change listener
+            assertTrue(store.isFavorite(1));
+        }
+    }
+
+    @Test
+    public void repeatedUpdatesCountEveryFlipWithoutGrowingTheFile() throws IOException {
+        File file = new File(directory, CardStateStore.FILE_NAME);
+        try (CardStateStore store = new CardStateStore(file)) {
+            long length = 0;
+            for (int round = 1; round <= ROUNDS; round++) {
+                for (int id = 1; id <= CARDS; id++) {
+                    store.setFlipped(id, (round & 1) == 1);
+                    assertEquals(round, store.increment(id, CardStateStore.COUNTER_FLIPS));
+                }
+                if (round == 1) {
+                    length = file.length();
+                }
+            }
+            assertTrue(store.getCapacity() >= CARDS);
+            assertEquals(length, file.length());  // Updates rewrite the mapped bits and counters in place
+            assertEquals((ROUNDS & 1) == 1, store.isFlipped(CARDS));
+            assertEquals(ROUNDS, store.getCount(1, CardStateStore.COUNTER_FLIPS));
+            assertEquals(0, store.getCount(1, CardStateStore.COUNTER_VIEWS));
+        }
+    }
+
+    /**
+     * A source holding one deck of the given cards.
+     */
+    private static final class ListDeckSource implements DeckSource {
+        private final List<Card> cards;
+
+        ListDeckSource(List<Card> cards) {
+            this.cards = cards;
+        }
+
+        @Override
+        public List<DeckManifest> loadManifests() {
+            List<DeckManifest> manifests = new ArrayList<>();
+            manifests.add(new DeckManifest("Test", "Test.tsv", cards.size()));
+            return manifests;
+        }
+
+        @Override
+        public void loadCards(DeckManifest manifest, CardSink sink) {
+            for (Card card : cards) {
+                if (!sink.accept(card)) {
+                    return;
+                }
+            }
+        }
+    }
+}
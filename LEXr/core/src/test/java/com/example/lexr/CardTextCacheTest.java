@@ -0,0 +1,121 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that card text is rendered once, ahead of its page, and rebuilt when a card's
+ * conjugates change. What the bind path allocates is measured by the JMH CardTextCacheBenchmark.
+ */
+public class CardTextCacheTest {
+
+    private static final Executor DIRECT = Runnable::run;  // Prefetches run inline
+    private static final int BINDS = 1_000;
+
+    @Test
+    public void conjugatesAreJoinedOnceAndRebuiltWhenReplaced() {
+        CardTextCache cache = new CardTextCache(8, 2, DIRECT);
+        Card hablar = card(1);
+        CharSequence text = cache.getConjugates(hablar);
+        assertEquals("Forma1a, Forma1b, Forma1c", text.toString());
+        assertSame(text, cache.getConjugates(hablar));
+
+        hablar.setConjugates(Arrays.asList("Hablo", "Hablas"));
+        assertFalse(cache.isCached(hablar));
+        assertEquals("Hablo, Hablas", cache.getConjugates(hablar).toString());
+        assertEquals("", cache.getConjugates(new Card("Casa", new ArrayList<String>(), "House")).toString());
+    }
+
+    @Test
+    public void prefetchRendersThePagesAroundTheBoundOne() {
+        List<CharSequence> rendered = new ArrayList<>();
+        List<Runnable> queued = new ArrayList<>();
+        CardTextCache cache = new CardTextCache(16, 3, queued::add);
+        cache.setRenderer(text -> {
+            rendered.add(text);
+            return "[" + text + "]";
+        });
+        List<Card> cards = cards(20);
+
+        cache.prefetch(cards, 5);
+        cache.prefetch(cards, 6);  // Served by the run already queued
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+        for (int i = 5; i <= 9; i++) {
+            assertTrue("card " + i, cache.isCached(cards.get(i)));
+        }
+        assertFalse(cache.isCached(cards.get(4)));   // Only the latest request is served
+        assertFalse(cache.isCached(cards.get(10)));
+        assertEquals("[Forma7a, Forma7b, Forma7c]", cache.getConjugates(cards.get(6)).toString());
+        assertEquals(5, rendered.size());
+
+        queued.clear();
+        cache.prefetch(cards, 6);
+        assertTrue(queued.isEmpty());  // Everything around page 6 is ready
+    }
+
+    @Test
+    public void leastRecentlyUsedCardsAreDropped() {
+        CardTextCache cache = new CardTextCache(4, 1, DIRECT);
+        List<Card> cards = cards(6);
+        for (Card card : cards) {
+            cache.getConjugates(card);
+        }
+        assertFalse(cache.isCached(cards.get(0)));
+        assertFalse(cache.isCached(cards.get(1)));
+        assertTrue(cache.isCached(cards.get(5)));
+    }
+
+    @Test
+    public void pagingThroughPrefetchedCardsRendersEachOnce() {
+        List<Card> cards = cards(200);
+        final int[] renders = new int[1];
+        CardTextCache cache = new CardTextCache(CardTextCache.DEFAULT_CAPACITY, CardTextCache.DEFAULT_PREFETCH, DIRECT);
+        cache.setRenderer(text -> {
+            renders[0]++;
+            return text;
+        });
+        bindAll(cache, cards, cards.size());
+        List<CharSequence> bound = new ArrayList<>();
+        for (Card card : cards) {
+            bound.add(cache.getConjugates(card));
+        }
+
+        bindAll(cache, cards, BINDS);
+        assertEquals(cards.size(), renders[0]);
+        for (int i = 0; i < cards.size(); i++) {
+            assertSame(bound.get(i), cache.getConjugates(cards.get(i)));  // Handed out as cached, not rebuilt
+        }
+    }
+
+    /**
+     * Pages through the cards the way CardPagerAdapter.onBindViewHolder() does.
+     */
+    private static int bindAll(CardTextCache cache, List<Card> cards, int binds) {
+        int sink = 0;
+        for (int i = 0; i < binds; i++) {
+            int position = i % cards.size();
+            sink += cache.getConjugates(cards.get(position)).length();
+            cache.prefetch(cards, position);
+        }
+        return sink;
+    }
+
+    private static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            cards.add(card(i));
+        }
+        return cards;
+    }
+
+    private static Card card(int i) {
+        return new Card("Palabra" + i, Arrays.asList("Forma" + i + "a", "Forma" + i + "b", "Forma" + i + "c"), "Word " + i);
+    }
+}
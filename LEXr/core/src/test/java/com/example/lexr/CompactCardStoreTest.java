@@ -0,0 +1,103 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that compacted cards read the same as before and that cards repeating words share one
+ * copy of each string. Compaction time is measured by the JMH CompactCardStoreBenchmark.
+ */
+public class CompactCardStoreTest {
+
+    private static final int CARDS = 1_000;
+    private static final int DISTINCT_WORDS = 20;  // Decks repeat words and translations
+
+    @Test
+    public void compactedCardsReadTheSame() {
+        CompactCardStore store = new CompactCardStore();
+        Card correr1 = new Card("Correr", new ArrayList<>(Arrays.asList("Corro", "Corres", "Corre")), "To Run");
+        Card correr3 = new Card(new String("Correr"), new ArrayList<>(Arrays.asList("Corro", "Corres", "Corre")),
+                new String("To Run"));
+        Card empty = new Card("Lux", new ArrayList<String>(), "Light");
+
+        store.compact(correr1);
+        store.compact(correr3);
+        store.compact(empty);
+
+        assertEquals(Arrays.asList("Corro", "Corres", "Corre"), correr3.getConjugates());
+        assertSame(correr1.getWord(), correr3.getWord());
+        assertSame(correr1.getTranslation(), correr3.getTranslation());
+        assertSame(correr1.getConjugates().get(2), correr3.getConjugates().get(2));
+        assertTrue(empty.getConjugates().isEmpty());
+        assertEquals(6, store.getConjugateCount());
+        assertEquals(7, store.getPool().size());  // Correr, To Run, 3 conjugates, Lux, Light
+
+        store.compact(correr1);  // Compacting twice is a no-op
+        assertEquals(6, store.getConjugateCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void packedConjugatesAreReadOnly() {
+        Card card = new CompactCardStore().compact(
+                new Card("Vivir", new ArrayList<>(Arrays.asList("Vivo", "Vives", "Vive")), "To Live"));
+        card.getConjugates().set(0, "Viva");
+    }
+
+    @Test
+    public void repeatedCardsShareOneCopyOfEachString() {
+        List<Card> plain = buildCards();
+        List<Card> compact = buildCards();
+        CompactCardStore store = new CompactCardStore();
+        for (Card card : compact) {
+            store.compact(card);
+        }
+
+        assertEquals(DISTINCT_WORDS * 5, store.getPool().size());  // Word, translation and 3 conjugates
+        assertEquals(CARDS * 3, store.getConjugateCount());
+        for (int c = 0; c < CARDS; c++) {
+            Card card = compact.get(c);
+            assertEquals(plain.get(c).getWord(), card.getWord());
+            assertEquals(plain.get(c).getConjugates(), card.getConjugates());
+            Card first = compact.get(c % DISTINCT_WORDS);  // The first card with the same word
+            assertSame(first.getWord(), card.getWord());
+            assertSame(first.getTranslation(), card.getTranslation());
+            assertSame(first.getConjugates().get(1), card.getConjugates().get(1));
+        }
+    }
+
+    @Test
+    public void aDeckIsPackedOnce() {
+        List<Card> deck = buildCards();
+        deck.add(deck.get(0));  // The same card twice is packed once
+        CompactCardStore store = new CompactCardStore();
+        store.compact(deck);
+        store.compact(deck);  // Compacting again is a no-op
+
+        assertEquals(CARDS * 3, store.getConjugateCount());
+        assertEquals(DISTINCT_WORDS * 5, store.getPool().size());
+        assertEquals(Arrays.asList("Forma1a", "Forma1b", "Forma1c"), deck.get(1).getConjugates());
+        assertSame(deck.get(1).getConjugates().get(0), deck.get(1 + DISTINCT_WORDS).getConjugates().get(0));
+    }
+
+    /**
+     * Builds cards the way the deck parser does, with fresh strings and lists for every card.
+     */
+    private static List<Card> buildCards() {
+        List<Card> cards = new ArrayList<>(CARDS);
+        for (int c = 0; c < CARDS; c++) {
+            int w = c % DISTINCT_WORDS;
+            List<String> conjugates = new ArrayList<>(3);
+            conjugates.add(new StringBuilder("Forma").append(w).append('a').toString());
+            conjugates.add(new StringBuilder("Forma").append(w).append('b').toString());
+            conjugates.add(new StringBuilder("Forma").append(w).append('c').toString());
+            cards.add(new Card(new StringBuilder("Palabra").append(w).toString(), conjugates,
+                    new StringBuilder("To Word ").append(w).toString()));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks generated forms against every verb of the bundled decks, the spelling rules, stem
+ * changes and irregular forms, the table cache, and that a generated verb set stores no forms.
+ * Memory and table generation time against storing every form are measured by the JMH
+ * ConjugationEngineBenchmark.
+ */
+public class ConjugationEngineTest {
+
+    private static final int VERBS = 200;
+
+    private final ConjugationEngine engine =
+            ConjugationEngine.fromClasspath(ConjugationEngine.SPANISH, ConjugationEngine.LATIN);
+
+    @Test
+    public void generatedPresentFormsMatchEveryBundledVerbDeck() throws IOException {
+        TextDeckSource source = TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS);
+        int checked = 0;
+        for (DeckManifest manifest : source.loadManifests()) {
+            List<Card> cards = new ArrayList<>();
+            source.loadCards(manifest, card -> cards.add(card));
+            for (Card card : cards) {
+                if (DistractorEngine.partOfSpeech(card.getTranslation()) != DistractorEngine.POS_VERB) {
+                    continue;  // The noun deck has no tables to check
+                }
+                ConjugationEngine.Table table = engine.conjugate(manifest.getLanguage(), card.getWord());
+                assertNotNull(card.getWord(), table);
+                List<String> present = table.getTense(ConjugationEngine.PRESENT);
+                assertEquals(manifest.getName() + " " + card.getWord(), card.getConjugates(), present.subList(0, 3));
+                checked++;
+            }
+        }
+        assertEquals(80, checked);  // SpanishDeck1-3 and LatinDeck
+    }
+
+    @Test
+    public void spanishTablesApplySpellingRulesAndStemChanges() {
+        assertEquals(Arrays.asList("hablo", "hablas", "habla", "hablamos", "habláis", "hablan"),
+                tense("hablar", ConjugationEngine.PRESENT));
+        assertEquals("busqué", form("buscar", ConjugationEngine.PRETERITE, 0));
+        assertEquals("pague", form("pagar", ConjugationEngine.SUBJUNCTIVE, 0));
+        assertEquals("recemos", form("rezar", ConjugationEngine.SUBJUNCTIVE, 3));
+        assertEquals("conozco", form("conocer", ConjugationEngine.PRESENT, 0));
+        assertEquals("conozcamos", form("conocer", ConjugationEngine.SUBJUNCTIVE, 3));
+        assertEquals("leyó", form("leer", ConjugationEngine.PRETERITE, 2));
+        assertEquals("creíste", form("creer", ConjugationEngine.PRETERITE, 1));
+        assertEquals("pensamos", form("pensar", ConjugationEngine.PRESENT, 3));
+        assertEquals("piensen", form("pensar", ConjugationEngine.SUBJUNCTIVE, 5));
+        assertEquals("durmió", form("dormir", ConjugationEngine.PRETERITE, 2));
+        assertEquals("durmamos", form("dormir", ConjugationEngine.SUBJUNCTIVE, 3));
+        assertEquals("vivíamos", form("vivir", ConjugationEngine.IMPERFECT, 3));
+        assertEquals("comerían", form("comer", ConjugationEngine.CONDITIONAL, 5));
+    }
+
+    @Test
+    public void irregularFormsOverrideOnlyTheirCells() {
+        assertEquals(Arrays.asList("voy", "vas", "va", "vamos", "vais", "van"), tense("ir", ConjugationEngine.PRESENT));
+        assertEquals("iremos", form("ir", ConjugationEngine.FUTURE, 3));
+        assertEquals("vengo", form("venir", ConjugationEngine.PRESENT, 0));
+        assertEquals("vienes", form("venir", ConjugationEngine.PRESENT, 1));
+        assertEquals("vengamos", form("venir", ConjugationEngine.SUBJUNCTIVE, 3));  // Built on the yo form
+        assertEquals("vendría", form("venir", ConjugationEngine.CONDITIONAL, 0));  // Future stem
+        assertEquals("oigan", form("oir", ConjugationEngine.SUBJUNCTIVE, 5));
+        assertEquals("oyó", form("oír", ConjugationEngine.PRETERITE, 2));
+        assertEquals("reiremos", form("reír", ConjugationEngine.FUTURE, 3));
+        assertEquals("sepa", form("saber", ConjugationEngine.SUBJUNCTIVE, 0));
+    }
+
+    @Test
+    public void latinTablesFollowTheListedConjugation() {
+        assertEquals(Arrays.asList("amo", "amas", "amat", "amamus", "amatis", "amant"),
+                latin("amo", ConjugationEngine.PRESENT));
+        assertEquals("docebam", latin("doceo", ConjugationEngine.IMPERFECT).get(0));
+        assertEquals("legunt", latin("lego", ConjugationEngine.PRESENT).get(5));
+        assertEquals("leget", latin("lego", ConjugationEngine.FUTURE).get(2));
+        assertEquals("capiunt", latin("capio", ConjugationEngine.PRESENT).get(5));
+        assertEquals("audiebant", latin("audio", ConjugationEngine.IMPERFECT).get(5));
+        assertEquals("amabimus", latin("amo", ConjugationEngine.FUTURE).get(3));
+        assertEquals("erunt", latin("sum", ConjugationEngine.FUTURE).get(5));
+        assertFalse(engine.conjugate(ConjugationEngine.LATIN, "amo").hasTense(ConjugationEngine.PRETERITE));
+    }
+
+    @Test
+    public void nonVerbsAndUnknownLanguagesHaveNoTable() {
+        assertNull(engine.conjugate(ConjugationEngine.SPANISH, "Casa"));
+        assertNull(engine.conjugate(ConjugationEngine.SPANISH, "El perro"));
+        assertNull(engine.conjugate("French", "Parler"));
+        assertEquals("Hablo", engine.conjugate(ConjugationEngine.SPANISH, "Hablar").get(ConjugationEngine.PRESENT, 0));
+    }
+
+    @Test
+    public void recentlyShownTablesAreCached() {
+        ConjugationEngine small = new ConjugationEngine.Builder().setCacheSize(2).build();
+        ConjugationEngine.Table hablar = small.conjugate(ConjugationEngine.SPANISH, "Hablar");
+        small.conjugate(ConjugationEngine.SPANISH, "Comer");
+        assertSame(hablar, small.conjugate(ConjugationEngine.SPANISH, "Hablar"));  // Now the most recent
+        small.conjugate(ConjugationEngine.SPANISH, "Vivir");
+        assertTrue(small.isCached(ConjugationEngine.SPANISH, "Hablar"));
+        assertFalse(small.isCached(ConjugationEngine.SPANISH, "Comer"));
+        assertTrue(small.isCached(ConjugationEngine.SPANISH, "Vivir"));
+    }
+
+    @Test
+    public void malformedListsAreRejected() {
+        ConjugationEngine.Builder builder = new ConjugationEngine.Builder();
+        try {
+            builder.add(ConjugationEngine.SPANISH, "Hablar", "ar-xx", "");
+            fail("unknown stem change");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            builder.add(ConjugationEngine.LATIN, "Amo", "1", "preterite=amavi");
+            fail("Latin tables have no preterite");
+        } catch (IllegalArgumentException expected) {
+        }
+        builder.add(ConjugationEngine.SPANISH, "Hablar", "", "").add(ConjugationEngine.SPANISH, "hablar", "", "");
+        try {
+            builder.build();
+            fail("verb listed twice");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void generatedVerbSetStoresOnlyStemsAndParadigms() {
+        ConjugationEngine.Builder builder = new ConjugationEngine.Builder();
+        for (int v = 0; v < VERBS; v++) {
+            builder.add(ConjugationEngine.SPANISH, verb(v), v % 10 == 0 ? "ar-ie" : "", "");  // Stem + paradigm id
+        }
+        ConjugationEngine generated = builder.build();
+
+        assertEquals(VERBS, generated.size());
+        assertEquals(0, generated.getStoredFormCount());
+        for (int v = 0; v < VERBS; v++) {
+            ConjugationEngine.Table table = generated.conjugate(ConjugationEngine.SPANISH, verb(v));
+            assertEquals((v % 10 == 0 ? "piens" : "pens") + v + "o", table.get(ConjugationEngine.PRESENT, 0));
+            assertEquals("pens" + v + "amos", table.get(ConjugationEngine.PRESENT, 3));
+        }
+    }
+
+    private static String verb(int v) {
+        return "pens" + v + "ar";  // Digits only, so the stem change falls on the e of "pens"
+    }
+
+    private List<String> tense(String word, int tense) {
+        return engine.conjugate(ConjugationEngine.SPANISH, word).getTense(tense);
+    }
+
+    private String form(String word, int tense, int person) {
+        return engine.conjugate(ConjugationEngine.SPANISH, word).get(tense, person);
+    }
+
+    private List<String> latin(String word, int tense) {
+        return engine.conjugate(ConjugationEngine.LATIN, word).getTense(tense);
+    }
+}
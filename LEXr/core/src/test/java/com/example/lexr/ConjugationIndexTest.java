@@ -0,0 +1,150 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that conjugated and noun forms lead back to their cards, that deck changes keep the
+ * index current, and that a full conjugation table of 60 forms per verb stays correct. Memory
+ * and lookup time against a HashMap of strings are measured by the JMH ConjugationIndexBenchmark.
+ */
+public class ConjugationIndexTest {
+
+    private static final int VERBS = 500;
+    private static final int FORMS_PER_VERB = 60;
+    private static final String[] ENDINGS = {"o", "as", "a", "amos", "áis", "an"};
+
+    @Test
+    public void conjugatesLeadBackToTheirCard() {
+        ConjugationIndex index = new ConjugationIndex();
+        Card hablar = card("Hablar", "To Speak", "Hablo", "Hablas", "Habla");
+        Card reir = card("Reír", "To Laugh", "Río", "Ríes", "Ríe");
+        index.add(null, hablar);
+        index.add(null, reir);
+
+        assertEquals(Arrays.asList(hablar), index.lookup("hablo"));
+        assertEquals(Arrays.asList(hablar), index.lookup("HABLAS,"));
+        assertEquals(Arrays.asList(hablar), index.lookup("Hablar"));
+        assertEquals(Arrays.asList(reir), index.lookup("rio"));
+        assertTrue(index.lookup("comer").isEmpty());
+        assertTrue(index.lookup("...").isEmpty());
+    }
+
+    @Test
+    public void nounFormsAreFoundWithAndWithoutTheirArticle() {
+        ConjugationIndex index = new ConjugationIndex();
+        Card perro = card("Perro", "Dog (masculine/feminine)", "El perro", "La perra");
+        index.add(null, perro);
+
+        assertEquals(Arrays.asList(perro), index.lookup("La perra"));
+        assertEquals(Arrays.asList(perro), index.lookup("perra"));
+        assertEquals(Arrays.asList(perro), index.lookup("perro"));  // The word and "El perro" stripped count once
+        assertTrue(index.lookup("la").isEmpty());
+    }
+
+    @Test
+    public void sharedFormsListEveryCard() {
+        ConjugationIndex index = new ConjugationIndex();
+        Card ser = card("Ser", "To Be", "Soy", "Eres", "Es", "Fui");
+        Card ir = card("Ir", "To Go", "Voy", "Vas", "Va", "Fui");
+        index.add(null, ser);
+        index.add(null, ir);
+
+        assertEquals(Arrays.asList(ser, ir), index.lookup("fui"));
+        assertTrue(index.remove(ser));
+        assertFalse(index.remove(ser));
+        assertEquals(Arrays.asList(ir), index.lookup("fui"));
+        assertTrue(index.lookup("soy").isEmpty());
+    }
+
+    @Test
+    public void deckChangesUpdateTheIndexAndRecordTheDeck() {
+        ConjugationIndex index = new ConjugationIndex();
+        Deck deck = new Deck("SpanishDeck1", "Spanish", "Spanish Verbs 1");
+        deck.setOnCardsChangedListener(index::onCardsChanged);
+        Card comer = card("Comer", "To Eat", "Como", "Comes", "Come");
+        deck.setCards(Arrays.asList(comer));
+        assertSame(deck, index.getDeck(index.lookup("como").get(0)));
+
+        Card beber = card("Beber", "To Drink", "Bebo", "Bebes", "Bebe");
+        deck.addCard(beber);
+        assertEquals(Arrays.asList(beber), index.lookup("bebes"));
+        deck.removeCard(comer);
+        assertTrue(index.lookup("como").isEmpty());
+        assertNull(index.getDeck(comer));
+        assertEquals(4, index.size());  // Beber, Bebo, Bebes, Bebe
+    }
+
+    @Test
+    public void deckManagerLooksUpLoadedDecks() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        assertTrue(manager.lookupForm("hablo").isEmpty());  // SpanishDeck1 is not loaded yet
+
+        Deck deck = manager.getDeckByName("SpanishDeck1");
+        List<Card> cards = manager.lookupForm("hablo");
+        assertEquals("Hablar", cards.get(0).getWord());
+        assertSame(deck, manager.getConjugationIndex().getDeck(cards.get(0)));
+    }
+
+    @Test
+    public void removedEntriesAreReusedAndTheTableStaysCorrect() {
+        ConjugationIndex index = new ConjugationIndex();
+        List<Card> cards = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int v = 0; v < 2_000; v++) {
+                Card card = verb(v);
+                cards.add(card);
+                index.add(null, card);
+            }
+            for (Card card : cards) {
+                index.remove(card);
+            }
+            cards.clear();
+        }
+        assertEquals(0, index.size());
+        Card last = verb(1_999);
+        index.add(null, last);
+        assertEquals(Arrays.asList(last), index.lookup(last.getConjugates().get(59)));
+    }
+
+    @Test
+    public void everyFormOfAFullConjugationTableFindsItsVerb() {
+        ConjugationIndex index = new ConjugationIndex();
+        List<Card> verbs = new ArrayList<>(VERBS);
+        for (int v = 0; v < VERBS; v++) {
+            Card card = verb(v);
+            verbs.add(card);
+            index.add(null, card);
+        }
+        assertEquals(VERBS * (FORMS_PER_VERB + 1), index.size());
+
+        for (Card card : verbs) {
+            for (String form : card.getConjugates()) {
+                assertEquals(form, Arrays.asList(card), index.lookup(form));
+            }
+        }
+    }
+
+    /**
+     * Builds a verb card with 60 distinct forms, ten tenses of six persons.
+     */
+    private static Card verb(int v) {
+        String stem = "habl" + Integer.toString(v, 36);
+        List<String> forms = new ArrayList<>(FORMS_PER_VERB);
+        for (int tense = 0; tense < FORMS_PER_VERB / ENDINGS.length; tense++) {
+            for (String ending : ENDINGS) {
+                forms.add(stem + (tense == 0 ? "" : "ar" + (char) ('a' + tense)) + ending);
+            }
+        }
+        return new Card(stem + "ar", forms, "To Speak " + v);
+    }
+
+    private static Card card(String word, String translation, String... conjugates) {
+        return new Card(word, new ArrayList<>(Arrays.asList(conjugates)), translation);
+    }
+}
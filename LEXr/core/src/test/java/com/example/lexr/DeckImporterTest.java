@@ -0,0 +1,187 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks CSV quoting and TSV splitting, per-row validation errors with their line numbers,
+ * batches added in file order from parallel workers, and importing a local file. Import speed
+ * is measured by the JMH DeckImporterBenchmark.
+ */
+public class DeckImporterTest {
+
+    private static final int ROWS = 3 * DeckImporter.DEFAULT_CHUNK_ROWS + 17;  // Several chunks and a partial one
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("import", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdir());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void csvQuotesHoldCommasQuotesAndLineBreaks() throws IOException {
+        String csv = "\uFEFFWord,Conjugates,Translation,Difficulty\n"
+                + "hablar,hablo; hablas;habla,to speak,2\n"
+                + "\"decir\",\"digo;dices\",\"to say, to tell\",\n"
+                + "\n"
+                + "# a comment\n"
+                + "citar,,\"to quote \"\"exactly\"\"\"\n"
+                + "escribir,escribo,\"to write\n(a letter)\",5\n";
+        Deck deck = new Deck("Spanish");
+        DeckImporter.Result result = importText(DeckImporter.Format.CSV, csv, deck);
+
+        assertEquals(4, result.getRows());
+        assertEquals(4, result.getImported());
+        assertEquals(0, result.getErrorCount());
+        List<Card> cards = deck.getCards();
+        assertEquals("hablar", cards.get(0).getWord());
+        assertEquals(Arrays.asList("hablo", "hablas", "habla"), cards.get(0).getConjugates());
+        assertEquals(2, cards.get(0).getDifficultyLevel());
+        assertEquals("to say, to tell", cards.get(1).getTranslation());
+        assertEquals(1, cards.get(1).getDifficultyLevel());  // Empty difficulty keeps the default
+        assertTrue(cards.get(2).getConjugates().isEmpty());
+        assertEquals("to quote \"exactly\"", cards.get(2).getTranslation());
+        assertEquals("to write\n(a letter)", cards.get(3).getTranslation());
+        assertEquals(5, cards.get(3).getDifficultyLevel());
+    }
+
+    @Test
+    public void tsvSplitsOnTabsOnly() throws IOException {
+        Deck deck = new Deck("Spanish");
+        DeckImporter.Result result = importText(DeckImporter.Format.TSV,
+                "word\tconjugates\ttranslation\n" + "ir\tvoy;vas\tto go, to leave\n" + "\"ser\"\tsoy\tto be\t3\n", deck);
+
+        assertEquals(2, result.getImported());
+        assertEquals("to go, to leave", deck.getCards().get(0).getTranslation());
+        assertEquals("\"ser\"", deck.getCards().get(1).getWord());  // No quoting in TSV
+        assertEquals(3, deck.getCards().get(1).getDifficultyLevel());
+    }
+
+    @Test
+    public void invalidRowsAreReportedWithTheirLines() throws IOException {
+        String csv = "hablar,hablo,to speak\n"
+                + "comer,como\n"
+                + ",como,to eat\n"
+                + "vivir,vivo,  \n"
+                + "ir,voy;;vas,to go\n"
+                + "ser,soy,to be,six\n"
+                + "estar,estoy,to be,9\n"
+                + "tener,tengo,to have,1,extra\n"
+                + "poder,puedo,to be able\n"
+                + "querer,\"quiero,to want\n"
+                + "saber,se,to know\n";
+        Deck deck = new Deck("Spanish");
+        DeckImporter.Result result = importText(DeckImporter.Format.CSV, csv, deck);
+
+        assertEquals(10, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(8, result.getErrorCount());
+        assertEquals("poder", deck.getCards().get(1).getWord());
+        List<DeckImporter.RowError> errors = result.getErrors();
+        int[] lines = {2, 3, 4, 5, 6, 7, 8, 10};
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(errors.get(i).toString(), lines[i], errors.get(i).getLine());
+        }
+        assertTrue(errors.get(0).getMessage(), errors.get(0).getMessage().contains("found 2 columns"));
+        assertEquals("missing word", errors.get(1).getMessage());
+        assertEquals("missing translation", errors.get(2).getMessage());
+        assertTrue(errors.get(3).getMessage().startsWith("empty conjugate"));
+        assertEquals("difficulty is not a number: six", errors.get(4).getMessage());
+        assertEquals("difficulty must be from 1 to 5, not 9", errors.get(5).getMessage());
+        assertEquals("unterminated quoted field", errors.get(7).getMessage());
+    }
+
+    @Test
+    public void batchesAreAddedInFileOrder() throws IOException {
+        StringBuilder tsv = new StringBuilder();
+        for (int r = 0; r < 10_000; r++) {
+            tsv.append("palabra").append(r).append("\tforma").append(r).append("\tword ").append(r)
+                    .append(r % 100 == 0 ? "\t0" : "").append('\n');  // Every hundredth row is invalid
+        }
+        Deck deck = new Deck("Spanish");
+        final List<Integer> batchSizes = new ArrayList<>();
+        deck.setOnCardsChangedListener((changed, removed, added) -> batchSizes.add(added.size()));
+        final List<Integer> progress = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            DeckImporter importer = new DeckImporter(DeckImporter.Format.TSV, 97, workers, 4, DeckValidator.defaults());
+            DeckImporter.Result result = importer.importStream(
+                    new ByteArrayInputStream(tsv.toString().getBytes(StandardCharsets.UTF_8)), deck,
+                    (rows, imported, errors) -> progress.add(rows));
+            assertEquals(10_000, result.getRows());
+            assertEquals(9_900, result.getImported());
+            assertEquals(100, result.getErrorCount());
+        } finally {
+            workers.shutdown();
+        }
+
+        List<Card> cards = deck.getCards();
+        int expected = 0;
+        for (Card card : cards) {
+            if (expected % 100 == 0) {
+                expected++;
+            }
+            assertEquals("palabra" + expected, card.getWord());
+            expected++;
+        }
+        assertEquals((10_000 + 96) / 97, progress.size());  // One batch per chunk
+        assertEquals(10_000, (int) progress.get(progress.size() - 1));
+        assertEquals(progress.size(), batchSizes.size());
+    }
+
+    @Test
+    public void importsACsvFileOfSeveralChunks() throws IOException {
+        File file = new File(directory, "deck.csv");
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.println("word,conjugates,translation,difficulty");
+            for (int r = 0; r < ROWS; r++) {
+                writer.println("palabra" + r + ",forma" + r + "a;forma" + r + "b;forma" + r + "c,\"word, " + r + "\"," + (r % 5 + 1));
+            }
+        }
+        Deck deck = new Deck("Spanish");
+        DeckImporter.Result result = DeckImporter.importFile(file, deck, null);
+        assertEquals(ROWS, result.getImported());
+        assertEquals(0, result.getErrorCount());
+        assertEquals(ROWS, deck.getCards().size());
+        Card last = deck.getCards().get(ROWS - 1);
+        assertEquals("word, " + (ROWS - 1), last.getTranslation());
+        assertEquals(Arrays.asList("forma" + (ROWS - 1) + "a", "forma" + (ROWS - 1) + "b", "forma" + (ROWS - 1) + "c"),
+                last.getConjugates());
+        assertEquals((ROWS - 1) % 5 + 1, last.getDifficultyLevel());
+    }
+
+    private static DeckImporter.Result importText(DeckImporter.Format format, String text, Deck deck) throws IOException {
+        return new DeckImporter(format).importStream(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), deck, null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that DeckManager starts from the deck manifests alone and reads a deck's cards only
+ * when the deck is first asked for, on a small library written to a temporary directory.
+ * Startup time against eagerly reading every deck is measured by DeckStartupBenchmark.
+ */
+public class DeckLoadingTest {
+
+    private static final int DECKS = 5;
+    private static final int CARDS_PER_DECK = 100;
+
+    private File directory;
+
+    @Before
+    public void writeLibrary() throws IOException {
+        directory = File.createTempFile("decks", "");
+        assertTrue(directory.delete() && directory.mkdir());
+        try (PrintWriter manifest = open(TextDeckSource.MANIFEST_FILE)) {
+            for (int d = 0; d < DECKS; d++) {
+                manifest.println("Deck" + d + "\tDeck" + d + ".tsv\t" + CARDS_PER_DECK);
+                try (PrintWriter cards = open("Deck" + d + ".tsv")) {
+                    for (int c = 0; c < CARDS_PER_DECK; c++) {
+                        cards.println("Palabra" + d + "_" + c + "\tForma" + c + "a;Forma" + c + "b;Forma" + c + "c\tWord " + c);
+                    }
+                }
+            }
+        }
+    }
+
+    @After
+    public void deleteLibrary() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void lazyStartupLoadsOnlyManifests() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromDirectory(directory));
+
+        assertEquals(DECKS, manager.getAllDecks().size());
+        for (int d = 0; d < DECKS; d++) {
+            assertFalse(manager.isDeckLoaded("Deck" + d));
+        }
+        assertEquals(CARDS_PER_DECK, manager.getDeckByName("Deck3").getCards().size());
+        assertTrue(manager.isDeckLoaded("Deck3"));
+        assertFalse(manager.isDeckLoaded("Deck2"));
+    }
+
+    @Test
+    public void builtInDecksMatchPreviousContent() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath("decks/"));
+
+        for (String name : Arrays.asList("SpanishDeck1", "SpanishDeck2", "SpanishDeck3", "SpanishDeck4", "LatinDeck")) {
+            assertEquals(20, manager.getDeckByName(name).getCards().size());
+        }
+        Card reir = manager.getDeckByName("SpanishDeck3").getCards().get(6);
+        assertEquals("Reír", reir.getWord());
+        assertEquals(Arrays.asList("Río", "Ríes", "Ríe"), reir.getConjugates());
+        assertEquals("To Laugh", reir.getTranslation());
+        assertEquals(Arrays.asList("El perro", "La perra"),
+                manager.getDeckByName("SpanishDeck4").getCards().get(1).getConjugates());
+    }
+
+    private PrintWriter open(String name) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(directory, name)), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Starts and loads DeckManager from many threads at once, checking the singleton is created
+ * once, decks are published once, and cancelled loads leave no trace.
+ */
+public class DeckManagerConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final Executor DIRECT = Runnable::run;  // Runs callbacks on the loader thread
+
+    private CountingSource source;
+
+    @Before
+    public void configureSingleton() {
+        DeckManager.resetInstance();
+        source = new CountingSource(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        DeckManager.initialize(source, null);
+    }
+
+    @After
+    public void resetSingleton() {
+        DeckManager.resetInstance();
+    }
+
+    @Test
+    public void createsTheSingletonOnce() throws Exception {
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        final Set<DeckManager> seen = Collections.newSetFromMap(new ConcurrentHashMap<DeckManager, Boolean>());
+        final CountDownLatch done = new CountDownLatch(THREADS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            final boolean async = i % 2 == 0;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+                if (async) {
+                    DeckManager.getInstanceAsync(DIRECT, new RecordingCallback<DeckManager>() {
+                        @Override
+                        public void onLoaded(DeckManager manager) {
+                            seen.add(manager);
+                            done.countDown();
+                        }
+                    });
+                } else {
+                    seen.add(DeckManager.getInstance());
+                    done.countDown();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, seen.size());
+        assertEquals(1, source.manifestReads.get());
+    }
+
+    @Test
+    public void asyncStartReadsTheConjugationEngineBeforeTheCallback() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicInteger loadedEngines = new AtomicInteger();
+        DeckManager.getInstanceAsync(DIRECT, new RecordingCallback<DeckManager>() {
+            @Override
+            public void onLoaded(DeckManager manager) {
+                if (manager.isConjugationEngineLoaded()) {
+                    loadedEngines.incrementAndGet();
+                }
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, loadedEngines.get());
+    }
+
+    @Test
+    public void publishesEachDeckOnce() throws Exception {
+        final CountDownLatch done = new CountDownLatch(THREADS);
+        final Set<Deck> loaded = Collections.newSetFromMap(new ConcurrentHashMap<Deck, Boolean>());
+        for (int i = 0; i < THREADS; i++) {
+            String name = i % 2 == 0 ? "SpanishDeck1" : "Spanish Verbs 2";
+            DeckManager.loadDeckAsync(name, DIRECT, new RecordingCallback<Deck>() {
+                @Override
+                public void onLoaded(Deck deck) {
+                    loaded.add(deck);
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        DeckManager manager = DeckManager.getInstance();
+        assertEquals(2, loaded.size());
+        assertTrue(manager.isDeckLoaded("SpanishDeck1"));
+        assertTrue(manager.isDeckLoaded("SpanishDeck2"));
+        assertEquals(20, manager.getDeckByName("SpanishDeck1").getCards().size());
+        assertEquals(40, manager.getReviewScheduler().size());  // Cards of dropped copies are not tracked
+    }
+
+    @Test
+    public void reportsProgressAndHandlesUnknownDecks() throws Exception {
+        final CountDownLatch done = new CountDownLatch(2);
+        final RecordingCallback<Deck> progress = new RecordingCallback<Deck>() {
+            @Override
+            public void onLoaded(Deck deck) {
+                super.onLoaded(deck);
+                done.countDown();
+            }
+        };
+        final AtomicReference<Deck> missing = new AtomicReference<>(new Deck("placeholder"));
+        DeckManager.loadDeckAsync("LatinDeck", DIRECT, progress);
+        DeckManager.loadDeckAsync("FrenchDeck", DIRECT, new RecordingCallback<Deck>() {
+            @Override
+            public void onLoaded(Deck deck) {
+                missing.set(deck);
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertNull(missing.get());
+        assertEquals(20, progress.lastLoaded.get());
+        assertEquals(20, progress.progressCalls.get());  // Each card is 5% of a 20 card deck
+    }
+
+    @Test
+    public void cancelledLoadsLeaveTheDeckUnloaded() throws Exception {
+        final CountDownLatch halfway = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        DeckManager.resetInstance();
+        DeckManager.initialize(new CountingSource(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS)) {
+            @Override
+            public void loadCards(DeckManifest manifest, final CardSink sink) throws IOException {
+                try {
+                    super.loadCards(manifest, card -> {
+                        boolean more = sink.accept(card);
+                        if (halfway.getCount() > 0 && card.getWord().equals("Leer")) {
+                            halfway.countDown();
+                            await(resume);  // Hold the loader until the test cancels
+                        }
+                        return more;
+                    });
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        }, null);
+        final RecordingCallback<Deck> callback = new RecordingCallback<>();
+
+        DeckLoadTask<Deck> task = DeckManager.loadDeckAsync("SpanishDeck1", DIRECT, callback);
+        assertTrue(halfway.await(10, TimeUnit.SECONDS));
+        task.cancel();
+        resume.countDown();
+
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertTrue(task.isCancelled());
+        assertFalse(task.isDone());
+        assertEquals(0, callback.finished.get());
+        DeckManager manager = DeckManager.getInstance();
+        assertFalse(manager.isDeckLoaded("SpanishDeck1"));
+        assertEquals(20, manager.getDeckByName("SpanishDeck1").getCards().size());  // Read again in full
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Source counting how often the manifests are read.
+     */
+    private static class CountingSource implements DeckSource {
+        final AtomicInteger manifestReads = new AtomicInteger();
+        private final DeckSource delegate;
+
+        CountingSource(DeckSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<DeckManifest> loadManifests() throws IOException {
+            manifestReads.incrementAndGet();
+            return delegate.loadManifests();
+        }
+
+        @Override
+        public void loadCards(DeckManifest manifest, CardSink sink) throws IOException {
+            delegate.loadCards(manifest, sink);
+        }
+    }
+
+    /**
+     * Callback recording what it was told.
+     */
+    private static class RecordingCallback<T> implements DeckLoadTask.Callback<T> {
+        final AtomicInteger progressCalls = new AtomicInteger();
+        final AtomicInteger lastLoaded = new AtomicInteger();
+        final AtomicInteger finished = new AtomicInteger();
+
+        @Override
+        public void onProgress(int loaded, int total) {
+            assertTrue(loaded > lastLoaded.get() && loaded <= total);
+            lastLoaded.set(loaded);
+            progressCalls.incrementAndGet();
+        }
+
+        @Override
+        public void onLoaded(T result) {
+            finished.incrementAndGet();
+        }
+
+        @Override
+        public void onLoadFailed(Exception error) {
+            finished.incrementAndGet();
+            throw new AssertionError(error);
+        }
+    }
+}
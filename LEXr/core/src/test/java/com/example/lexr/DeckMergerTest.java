@@ -0,0 +1,194 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks card fingerprints, sharing canonical cards across and within decks, near duplicates,
+ * merging the built-in decks through DeckManager, on the calling thread and on its loader, and
+ * merging decks that overlap. The time to
+ * merge ten 50k-card decks is measured by the JMH DeckMergeBenchmark.
+ */
+public class DeckMergerTest {
+
+    private static final int DECKS = 10;
+    private static final int CARDS_PER_DECK = 200;
+
+    @Test
+    public void exactFingerprintIgnoresCaseAndWhitespaceOnly() {
+        Card card = card("Correr", "To Run", "Corro", "Corres", "Corre");
+        long fingerprint = CardFingerprint.exact(card);
+        Card same = card("  correr ", "to   run", "corro", "CORRES", "Corre ");
+        assertEquals(fingerprint, CardFingerprint.exact(same));
+        assertTrue(CardFingerprint.sameContent(card, same));
+
+        for (Card other : Arrays.asList(card("Correr", "To Run", "Corro", "Corres"),
+                card("Correr", "To Run", "Corres", "Corro", "Corre"),
+                card("Corrér", "To Run", "Corro", "Corres", "Corre"),
+                card("Correr", "ToRun", "Corro", "Corres", "Corre"),
+                card("CorrerTo", "Run", "Corro", "Corres", "Corre"))) {
+            assertTrue(other.getWord() + "/" + other.getTranslation(), fingerprint != CardFingerprint.exact(other));
+            assertFalse(CardFingerprint.sameContent(card, other));
+        }
+    }
+
+    @Test
+    public void nearFingerprintIgnoresAccentsPunctuationAndInfinitives() {
+        long fingerprint = CardFingerprint.near(card("Correr", "To Run", "Corro"));
+        assertEquals(fingerprint, CardFingerprint.near(card("Corrér", "run!")));
+        assertEquals(fingerprint, CardFingerprint.near(card("correr", " to run")));
+        assertNotEquals(fingerprint, CardFingerprint.near(card("Correr", "To Walk")));
+        assertEquals("nino", CardFingerprint.stripAccents("niño"));
+    }
+
+    @Test
+    public void decksShareCanonicalCards() {
+        Card run = card("Correr", "To Run", "Corro");
+        Card eat = card("Comer", "To Eat", "Como");
+        Card runCopy = card("correr", "to run", "corro");
+        runCopy.setFavorite(true);
+        runCopy.setDifficultyLevel(4);
+        Card eatCopy = card("Comer", "To Eat", "Como");
+        Card walk = card("Caminar", "To Walk", "Camino");
+        Deck first = deck(run, eat);
+        Deck second = deck(walk, runCopy, eatCopy, card("Comer", "To Eat", "Como"));
+
+        DeckMerger merger = new DeckMerger();
+        DeckMerger.Report report = merger.merge(Arrays.asList(first, second));
+
+        assertEquals(6, report.getCards());
+        assertEquals(3, report.getUniqueCards());
+        assertEquals(2, report.getSharedReferences());
+        assertEquals(1, report.getDroppedRepeats());
+        assertEquals(3, report.getReplaced().size());
+        assertEquals(Arrays.asList(run, eat), first.getCards());
+        assertEquals(Arrays.asList(walk, run, eat), second.getCards());
+        assertSame(first.getCards().get(0), second.getCards().get(1));
+        assertTrue(run.isFavorite());  // Passed on from the copy
+        assertEquals(4, run.getDifficultyLevel());
+        assertSame(run, merger.canonicalize(card("CORRER", "To Run", "Corro")));
+
+        DeckMerger.Report again = merger.merge(Arrays.asList(first, second));
+        assertEquals(0, again.getSharedReferences() + again.getDroppedRepeats() + again.getReplaced().size());
+    }
+
+    @Test
+    public void nearDuplicatesAreReportedNotMerged() {
+        Card run = card("Correr", "To Run", "Corro");
+        Card accented = card("Corrér", "Run", "Corro");
+        Deck deck = deck(run, card("Comer", "To Eat"), accented);
+
+        DeckMerger.Report report = new DeckMerger().merge(Collections.singletonList(deck));
+
+        assertEquals(3, deck.getCards().size());
+        assertEquals(1, report.getNearDuplicates().size());
+        assertSame(accented, report.getNearDuplicates().get(0).getCard());
+        assertSame(run, report.getNearDuplicates().get(0).getSimilarTo());
+    }
+
+    @Test
+    public void builtInDecksShareCorrer() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        Card copy = find(manager.getDeckByName("SpanishDeck3"), "Correr");
+        copy.setFavorite(true);
+        assertTrue(manager.getFavoriteCards().contains(copy));
+
+        DeckMerger.Report report = manager.mergeDuplicates();
+
+        Card canonical = find(manager.getDeckByName("SpanishDeck1"), "Correr");
+        assertSame(canonical, find(manager.getDeckByName("SpanishDeck3"), "Correr"));
+        assertTrue(report.getReplaced().contains(copy));
+        assertTrue(canonical.isFavorite());
+        assertEquals(Collections.singletonList(canonical), manager.getFavoriteCards());
+        assertFalse(manager.getReviewScheduler().untrack(copy));  // No longer scheduled
+        assertTrue(manager.search("correr", 10).contains(canonical));
+    }
+
+    @Test
+    public void asyncMergePassesFavoritesOnBeforeTheCallback() throws InterruptedException {
+        DeckManager.resetInstance();
+        DeckManager.initialize(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS), null);
+        try {
+            DeckManager manager = DeckManager.getInstance();
+            Card copy = find(manager.getDeckByName("SpanishDeck3"), "Correr");
+            copy.setFavorite(true);
+            final CountDownLatch done = new CountDownLatch(1);
+            final List<Card> favoritesSeen = new ArrayList<>();
+            DeckManager.mergeDuplicatesAsync(Runnable::run, new DeckLoadTask.Callback<DeckMerger.Report>() {
+                @Override
+                public void onProgress(int loaded, int total) {
+                }
+
+                @Override
+                public void onLoaded(DeckMerger.Report report) {
+                    favoritesSeen.addAll(DeckManager.getInstance().getFavoriteCards());
+                    done.countDown();
+                }
+
+                @Override
+                public void onLoadFailed(Exception error) {
+                    throw new AssertionError(error);
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            assertTrue(manager.isDeckLoaded("SpanishDeck1"));
+            Card canonical = find(manager.getDeckByName("SpanishDeck1"), "Correr");
+            assertSame(canonical, find(manager.getDeckByName("SpanishDeck3"), "Correr"));
+            assertTrue(canonical.isFavorite());
+            assertEquals(Collections.singletonList(canonical), favoritesSeen);
+            assertFalse(manager.getReviewScheduler().untrack(copy));
+        } finally {
+            DeckManager.resetInstance();
+        }
+    }
+
+    @Test
+    public void overlappingDecksShareEachCardOnce() {
+        List<Deck> decks = new ArrayList<>();
+        for (int d = 0; d < DECKS; d++) {
+            Card[] cards = new Card[CARDS_PER_DECK];
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                int word = d * CARDS_PER_DECK / 2 + c;  // Each deck shares half its cards with the next
+                cards[c] = card("Palabra" + word, "Word " + word, "Forma" + word + "a", "Forma" + word + "b");
+            }
+            decks.add(deck(cards));
+        }
+
+        DeckMerger.Report report = new DeckMerger().merge(decks);
+
+        int unique = (DECKS + 1) * CARDS_PER_DECK / 2;
+        assertEquals(DECKS * CARDS_PER_DECK, report.getCards());
+        assertEquals(unique, report.getUniqueCards());
+        assertEquals(DECKS * CARDS_PER_DECK - unique, report.getSharedReferences());
+        assertSame(decks.get(0).getCards().get(CARDS_PER_DECK - 1), decks.get(1).getCards().get(CARDS_PER_DECK / 2 - 1));
+        assertTrue(report.getNearDuplicates().isEmpty());
+    }
+
+    private static Card card(String word, String translation, String... conjugates) {
+        return new Card(word, Arrays.asList(conjugates), translation);
+    }
+
+    private static Deck deck(Card... cards) {
+        Deck deck = new Deck("Spanish");
+        deck.setCards(Arrays.asList(cards));
+        return deck;
+    }
+
+    private static Card find(Deck deck, String word) {
+        for (Card card : deck.getCards()) {
+            if (card.getWord().equals(word)) {
+                return card;
+            }
+        }
+        throw new AssertionError(word + " not in " + deck.getDeckName());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round-trips decks through the binary deck pack format. The time to open a pack against
+ * parsing the same cards from text is measured by the JMH DeckPackBenchmark.
+ */
+public class DeckPackTest {
+
+    private static final int DECKS = 4;
+    private static final int CARDS_PER_DECK = 100;
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("packs", "");
+        assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void roundTripsBuiltInDecks() throws IOException {
+        File pack = new File(directory, "builtin.pack");
+        DeckPackWriter.convert(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS), pack);
+
+        DeckManager expected = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        try (DeckPackReader reader = new DeckPackReader(pack)) {
+            DeckManager actual = new DeckManager(reader);
+            assertEquals(expected.getAllDecks().size(), actual.getAllDecks().size());
+            for (Deck deck : expected.getAllDecks()) {
+                Deck packed = actual.getDeckByName(deck.getId());
+                assertEquals(deck.getLanguage(), packed.getLanguage());
+                assertEquals(deck.getDeckName(), packed.getDeckName());
+                assertEquals(deck.getDifficultyRating(), packed.getDifficultyRating());
+                assertEquals(deck.isActive(), packed.isActive());
+                List<Card> cards = expected.getDeckByName(deck.getId()).getCards();
+                assertEquals(cards.size(), packed.getCards().size());
+                for (int i = 0; i < cards.size(); i++) {
+                    assertEquals(cards.get(i).getWord(), packed.getCards().get(i).getWord());
+                    assertEquals(cards.get(i).getConjugates(), packed.getCards().get(i).getConjugates());
+                    assertEquals(cards.get(i).getTranslation(), packed.getCards().get(i).getTranslation());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsFavoritesAndDifficulty() throws IOException {
+        Card reir = new Card("Reír", Arrays.asList("Río", "Ríes", "Ríe"), "To Laugh");
+        reir.setFavorite(true);
+        reir.setDifficultyLevel(4);
+        Card lux = new Card("Lux", new ArrayList<String>(), "Light");
+        Deck deck = new Deck("Mixed", "Spanish", "Mixed Deck");
+        deck.setCards(new ArrayList<>(Arrays.asList(reir, lux)));
+        deck.setActive(false);
+        File pack = new File(directory, "mixed.pack");
+        DeckPackWriter.write(Arrays.asList(deck), pack);
+
+        try (DeckPackReader reader = new DeckPackReader(pack)) {
+            DeckManifest manifest = reader.loadManifests().get(0);
+            assertEquals(2, manifest.getCardCount());
+            assertEquals(1, manifest.getFavoriteCount());
+            assertFalse(manifest.isActive());
+            Card first = reader.getCard(0);
+            assertTrue(first.isFavorite());
+            assertEquals(4, first.getDifficultyLevel());
+            assertEquals(Arrays.asList("Río", "Ríes", "Ríe"), first.getConjugates());
+            assertEquals(1, first.getId());
+            assertTrue(reader.getCard(1).getConjugates().isEmpty());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFilesThatAreNotPacks() throws IOException {
+        File text = new File(directory, "not.pack");
+        try (PrintWriter out = new PrintWriter(text, "UTF-8")) {
+            out.println("Correr\tCorro;Corres;Corre\tTo Run and some more bytes");
+        }
+        new DeckPackReader(text).close();
+    }
+
+    @Test
+    public void convertsATextLibrary() throws IOException {
+        writeTextLibrary();
+        File pack = new File(directory, "library.pack");
+        DeckPackWriter.convert(TextDeckSource.fromDirectory(directory), pack);
+
+        try (DeckPackReader reader = new DeckPackReader(pack)) {
+            List<DeckManifest> manifests = reader.loadManifests();
+            assertEquals(DECKS, manifests.size());
+            int cards = 0;
+            for (DeckManifest manifest : manifests) {
+                assertEquals(CARDS_PER_DECK, manifest.getCardCount());
+                cards += manifest.getCardCount();
+            }
+            Card last = reader.getCard(cards - 1);  // Read without parsing the cards before it
+            assertEquals("Palabra" + (DECKS - 1) + "_" + (CARDS_PER_DECK - 1), last.getWord());
+            assertEquals(Arrays.asList("Forma99a", "Forma99b", "Forma99c"), last.getConjugates());
+            assertEquals("Word 99", last.getTranslation());
+
+            final List<String> words = new ArrayList<>();
+            reader.loadCards(manifests.get(1), card -> words.add(card.getWord()));
+            assertEquals(CARDS_PER_DECK, words.size());
+            assertEquals("Palabra1_0", words.get(0));
+        }
+    }
+
+    private void writeTextLibrary() throws IOException {
+        try (PrintWriter manifest = open(TextDeckSource.MANIFEST_FILE)) {
+            for (int d = 0; d < DECKS; d++) {
+                manifest.println("Deck" + d + "\tDeck" + d + ".tsv\t" + CARDS_PER_DECK);
+                try (PrintWriter cards = open("Deck" + d + ".tsv")) {
+                    for (int c = 0; c < CARDS_PER_DECK; c++) {
+                        cards.println("Palabra" + d + "_" + c + "\tForma" + c + "a;Forma" + c + "b;Forma" + c + "c\tWord " + c);
+                    }
+                }
+            }
+        }
+    }
+
+    private PrintWriter open(String name) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(directory, name)), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.lexr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DeckRegistryTest {
+
+    private DeckRegistry registry;
+    private Deck verbs1;
+    private Deck verbs3;
+    private Deck nouns;
+    private Deck latin;
+
+    @Before
+    public void registerDecks() {
+        registry = new DeckRegistry();
+        verbs1 = deck("SpanishDeck1", "Spanish", "Spanish Verbs 1", 1);
+        verbs3 = deck("SpanishDeck3", "Spanish", "Spanish Verbs 3", 3);
+        nouns = deck("SpanishDeck4", "Spanish", "Spanish Nouns", 2);
+        latin = deck("LatinDeck", "Latin", "Latin Verbs", 1);
+    }
+
+    @Test
+    public void findsByIdThenByName() {
+        assertSame(verbs3, registry.getById("SpanishDeck3"));
+        assertSame(verbs3, registry.find("SpanishDeck3"));
+        assertSame(nouns, registry.find("Spanish Nouns"));
+        assertNull(registry.find("FrenchDeck"));
+    }
+
+    @Test
+    public void answersLanguageAndDifficultyRanges() {
+        nouns.setActive(false);
+
+        assertEquals(Arrays.asList(verbs1, verbs3), registry.findDecks("Spanish", true, Integer.MIN_VALUE, 3));
+        assertEquals(Arrays.asList(verbs1, nouns, verbs3), registry.findByLanguage("Spanish", false));
+        assertEquals(Arrays.asList(verbs1, latin), registry.findByDifficulty(1, 1));
+        assertEquals(Collections.emptyList(), registry.findDecks("French", false, 0, 10));
+    }
+
+    @Test
+    public void reindexesDecksWhenTheyChange() {
+        verbs1.setDifficultyRating(5);
+        latin.setLanguage("Spanish");
+        verbs3.setDeckName("Spanish Verbs Hard");
+
+        assertEquals(Arrays.asList(latin, nouns, verbs3), registry.findDecks("Spanish", true, 0, 3));
+        assertEquals(Collections.emptyList(), registry.findByLanguage("Latin", false));
+        assertSame(verbs3, registry.find("Spanish Verbs Hard"));
+        assertNull(registry.find("Spanish Verbs 3"));
+
+        assertTrue(registry.unregister(verbs1));
+        assertEquals(Collections.emptyList(), registry.findByDifficulty(5, 5));
+        verbs1.setDifficultyRating(1);  // No longer listened to
+        assertEquals(Collections.singletonList(latin), registry.findByDifficulty(1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDuplicateIds() {
+        registry.register(new Deck("LatinDeck", "Latin", "Another Latin Deck"));
+    }
+
+    @Test
+    public void deckManagerLooksUpBuiltInDecksById() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        Deck deck = manager.getDeckByName("SpanishDeck2");
+
+        assertEquals("SpanishDeck2", deck.getId());
+        assertEquals("Spanish", deck.getLanguage());
+        assertEquals("Spanish Verbs 2", deck.getDeckName());
+        assertSame(deck, manager.getDeckByName("Spanish Verbs 2"));
+
+        List<String> easySpanish = new ArrayList<>();
+        for (Deck match : manager.getDeckRegistry().findDecks("Spanish", true, 1, 2)) {
+            easySpanish.add(match.getId());
+        }
+        assertEquals(Arrays.asList("SpanishDeck1", "SpanishDeck4", "SpanishDeck2"), easySpanish);
+    }
+
+    private Deck deck(String id, String language, String name, int difficulty) {
+        Deck deck = new Deck(id, language, name);
+        deck.setDifficultyRating(difficulty);
+        registry.register(deck);
+        return deck;
+    }
+}
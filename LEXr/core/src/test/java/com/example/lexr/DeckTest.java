@@ -0,0 +1,110 @@
+package com.example.lexr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that Deck hands out immutable snapshots, that shuffled views leave the deck and
+ * other views alone, and that readers see consistent snapshots while a writer edits the deck.
+ */
+public class DeckTest {
+
+    private Deck deck;
+    private List<Card> cards;
+
+    @Before
+    public void fillDeck() {
+        deck = new Deck("SpanishDeck1", "Spanish", "Spanish Verbs 1");
+        cards = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cards.add(new Card("Palabra" + i, Collections.<String>emptyList(), "Word " + i));
+        }
+        deck.setCards(cards);
+    }
+
+    @Test
+    public void snapshotsDoNotChange() {
+        List<Card> before = deck.getCards();
+        Card first = cards.get(0);
+        Card extra = new Card("Extra", Collections.<String>emptyList(), "Extra");
+
+        deck.addCard(extra);
+        deck.removeCard(cards.get(0));
+        cards.clear();  // The deck copied the list it was given
+
+        assertEquals(100, before.size());
+        assertSame(first, before.get(0));
+        assertEquals(100, deck.getCards().size());
+        assertSame(extra, deck.getCards().get(99));
+        assertEquals("Palabra1", deck.getCards().get(0).getWord());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotsAreReadOnly() {
+        deck.getCards().set(0, null);
+    }
+
+    @Test
+    public void shuffledViewsLeaveTheDeckInOrder() {
+        List<Card> ordered = new ArrayList<>(deck.getCards());
+        List<Card> first = deck.shuffledCards(new Random(458));
+        List<Card> second = deck.shuffledCards(new Random(459));
+
+        assertEquals(ordered, deck.getCards());
+        assertEquals(new HashSet<>(ordered), new HashSet<>(first));
+        assertEquals(100, first.size());
+        assertNotEquals(ordered, first);
+        assertNotEquals(first, second);
+        assertEquals(first, deck.shuffledCards(new Random(458)));  // Seeded shuffles repeat
+
+        Deck.CardView view = (Deck.CardView) first;
+        for (int i = 0; i < view.size(); i++) {
+            assertSame(view.get(i), ordered.get(view.deckPosition(i)));
+        }
+    }
+
+    @Test
+    public void readersSeeWholeSnapshotsWhileTheDeckChanges() throws InterruptedException {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2_000; i++) {
+                        List<Card> snapshot = i % 2 == 0 ? deck.getCards() : deck.shuffledCards(new Random(i));
+                        int size = snapshot.size();
+                        for (int c = 0; c < size; c++) {
+                            assertNotNull(snapshot.get(c));
+                        }
+                        assertEquals(size, snapshot.size());
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = 0; i < 2_000; i++) {
+            Card card = new Card("Nueva" + i, Collections.<String>emptyList(), "New " + i);
+            deck.addCard(card);
+            if (i % 2 == 0) {
+                deck.removeCard(card);
+            }
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(1_100, deck.getCards().size());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the default card and deck rules, configuring rules, issue order across parallel slices,
+ * the import and pack gates. The time to validate a million cards is measured by the JMH
+ * DeckValidatorBenchmark.
+ */
+public class DeckValidatorTest {
+
+    @Test
+    public void defaultRulesFindBrokenCards() {
+        Card blankConjugate = card("Hablar", "To Speak", "Hablo", " ");
+        Card noTranslation = card("Comer", "");
+        Card nullConjugates = new Card("Vivir", null, "To Live");
+        Card tooHard = card("Ir", "To Go");
+        tooHard.setDifficultyLevel(ReviewScheduler.MAX_DIFFICULTY + 1);
+        Card padded = card("Ser ", "To Be");
+        Deck deck = deck("SpanishDeck1", "Spanish", card("Correr", "To Run", "Corro"),
+                blankConjugate, noTranslation, nullConjugates, null, tooHard, padded);
+
+        DeckValidator.Report report = DeckValidator.defaults().validate(deck);
+
+        assertEquals(7, report.getCardCount());
+        assertEquals(5, report.getErrorCount());
+        assertEquals(1, report.getWarningCount());
+        List<DeckValidator.Issue> issues = report.getIssues();
+        assertIssue(issues.get(0), DeckValidator.CARD_CONJUGATE_BLANK, 1, "conjugate 2 is blank");
+        assertIssue(issues.get(1), DeckValidator.CARD_TRANSLATION_BLANK, 2, "missing translation");
+        assertIssue(issues.get(2), DeckValidator.CARD_CONJUGATES_NULL, 3, "conjugates are null");
+        assertIssue(issues.get(3), DeckValidator.CARD_NULL, 4, "card is null");
+        assertIssue(issues.get(4), DeckValidator.CARD_DIFFICULTY_RANGE, 5, "difficulty must be from 1 to 5, not 6");
+        assertEquals(DeckValidator.Severity.WARNING, issues.get(5).getSeverity());
+        assertEquals(DeckValidator.CARD_TEXT_PADDED, issues.get(5).getRule());
+        assertSame(padded, issues.get(5).getCard());
+    }
+
+    @Test
+    public void defaultRulesFindShadowedAndIncompleteDecks() {
+        Deck first = deck("SpanishDeck1", "Spanish", card("Correr", "To Run"));
+        Deck sameId = deck("SpanishDeck1", "Spanish", card("Comer", "To Eat"));
+        sameId.setDeckName("Other Verbs");
+        Deck sameName = deck("SpanishDeck2", "Spanish", card("Vivir", "To Live"));
+        sameName.setDeckName(first.getDeckName());
+        Deck noLanguage = deck("LatinDeck", " ");
+
+        DeckValidator.Report report = DeckValidator.defaults().validate(Arrays.asList(first, sameId, sameName, noLanguage));
+
+        assertEquals(4, report.getDeckCount());
+        assertEquals(1, report.getCount(DeckValidator.DECK_ID_DUPLICATE));
+        assertEquals(1, report.getCount(DeckValidator.DECK_NAME_DUPLICATE));
+        assertEquals(1, report.getCount(DeckValidator.DECK_LANGUAGE_BLANK));
+        assertEquals(1, report.getCount(DeckValidator.DECK_EMPTY));
+        assertEquals(2, report.getErrorCount());
+        for (DeckValidator.Issue issue : report.getIssues()) {
+            assertEquals(-1, issue.getPosition());
+        }
+    }
+
+    @Test
+    public void rulesCanBeRemovedAndAdded() {
+        Deck deck = deck("SpanishDeck1", "Spanish", card("correr", "To Run"), card("Comer", ""));
+        DeckValidator validator = new DeckValidator.Builder()
+                .addDefaultRules()
+                .remove(DeckValidator.CARD_TRANSLATION_BLANK)
+                .addCardRule("card.word.capitalized", DeckValidator.Severity.ERROR,
+                        (d, card) -> Character.isUpperCase(card.getWord().charAt(0)) ? null : "word is not capitalized")
+                .build();
+
+        DeckValidator.Report report = validator.validate(deck);
+
+        assertEquals(1, report.getErrorCount());
+        assertEquals("word is not capitalized", report.getIssues().get(0).getMessage());
+        assertEquals(0, report.getCount(DeckValidator.CARD_TRANSLATION_BLANK));
+        assertEquals("word is not capitalized", validator.firstError(deck, card("correr", "To Run")));
+    }
+
+    @Test
+    public void failingRulesAreReportedNotThrown() {
+        DeckValidator validator = new DeckValidator.Builder()
+                .addCardRule("card.broken", DeckValidator.Severity.ERROR, (deck, card) -> {
+                    throw new IllegalStateException("boom");
+                })
+                .build();
+        DeckValidator.Report report = validator.validate(deck("SpanishDeck1", "Spanish", card("Correr", "To Run")));
+        assertEquals(1, report.getErrorCount());
+        assertTrue(report.getIssues().get(0).getMessage().contains("boom"));
+    }
+
+    @Test
+    public void issuesKeepCardOrderAcrossSlices() {
+        List<Deck> decks = new ArrayList<>();
+        for (int d = 0; d < 8; d++) {
+            Card[] cards = new Card[DeckValidator.SLICE_CARDS * 3 + 17];
+            for (int c = 0; c < cards.length; c++) {
+                cards[c] = card("Palabra" + c, c % 1000 == d ? "" : "Word " + c);
+            }
+            decks.add(deck("Deck" + d, "Spanish", cards));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DeckValidator.Report report = new DeckValidator.Builder().addDefaultRules().build(pool).validate(decks);
+            int expected = 8 * 13;  // Positions d, d + 1000, ..., below 12305
+            assertEquals(expected, report.getErrorCount());
+            List<DeckValidator.Issue> issues = report.getIssues();
+            for (int i = 1; i < issues.size(); i++) {
+                DeckValidator.Issue previous = issues.get(i - 1);
+                DeckValidator.Issue issue = issues.get(i);
+                int deckOrder = decks.indexOf(issue.getDeck()) - decks.indexOf(previous.getDeck());
+                assertTrue(deckOrder > 0 || deckOrder == 0 && issue.getPosition() > previous.getPosition());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void issuesBeyondTheCapAreCounted() {
+        Card[] cards = new Card[DeckValidator.MAX_KEPT_ISSUES * 2];
+        for (int c = 0; c < cards.length; c++) {
+            cards[c] = card("Palabra" + c, "");
+        }
+        DeckValidator.Report report = DeckValidator.defaults().validate(deck("Big", "Spanish", cards));
+        assertEquals(cards.length, report.getCount(DeckValidator.CARD_TRANSLATION_BLANK));
+        assertEquals(DeckValidator.MAX_KEPT_ISSUES, report.getIssues().size());
+        assertEquals(DeckValidator.MAX_KEPT_ISSUES - 1, report.getIssues().get(DeckValidator.MAX_KEPT_ISSUES - 1).getPosition());
+    }
+
+    @Test
+    public void builtInDecksAreValid() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        for (Deck deck : manager.getAllDecks()) {
+            manager.getDeckByName(deck.getId());
+        }
+        DeckValidator.Report report = DeckValidator.defaults().validate(manager.getAllDecks());
+        assertFalse(report.toString(), report.hasErrors());
+        assertEquals(100, report.getCardCount());
+    }
+
+    @Test
+    public void importsRejectCardsBreakingErrorRules() throws IOException {
+        DeckValidator validator = new DeckValidator.Builder()
+                .addDefaultRules()
+                .addCardRule("card.word.capitalized", DeckValidator.Severity.ERROR,
+                        (d, card) -> Character.isUpperCase(card.getWord().charAt(0)) ? null : "word is not capitalized")
+                .build();
+        Deck deck = new Deck("Spanish");
+        DeckImporter.Result result = new DeckImporter(DeckImporter.Format.TSV, validator).importStream(
+                new ByteArrayInputStream("Correr\tCorro\tTo Run\ncomer\tcomo\tTo Eat\n".getBytes(StandardCharsets.UTF_8)),
+                deck, null);
+        assertEquals(1, result.getImported());
+        assertEquals("line 2: word is not capitalized", result.getErrors().get(0).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packsAreNotWrittenWithErrors() throws IOException {
+        File pack = File.createTempFile("invalid", ".pack");
+        try {
+            DeckPackWriter.write(Collections.singletonList(deck("SpanishDeck1", "Spanish", card("Comer", ""))), pack);
+        } finally {
+            pack.delete();
+        }
+    }
+
+    private static void assertIssue(DeckValidator.Issue issue, String rule, int position, String message) {
+        assertEquals(issue.toString(), rule, issue.getRule());
+        assertEquals(DeckValidator.Severity.ERROR, issue.getSeverity());
+        assertEquals(position, issue.getPosition());
+        assertEquals(message, issue.getMessage());
+    }
+
+    private static Card card(String word, String translation, String... conjugates) {
+        return new Card(word, Arrays.asList(conjugates), translation);
+    }
+
+    private static Deck deck(String id, String language, Card... cards) {
+        Deck deck = new Deck(id, language, id + " Cards");
+        deck.setCards(Arrays.asList(cards));
+        return deck;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that generated wrong choices are distinct, plausible and drawn from the closest
+ * class. Choices per second over a large library are measured by the JMH DistractorEngineBenchmark.
+ */
+public class DistractorEngineTest {
+
+    @Test
+    public void partOfSpeechAndLengthFollowTheAnswerShape() {
+        assertEquals(DistractorEngine.POS_VERB, DistractorEngine.partOfSpeech("To Speak"));
+        assertEquals(DistractorEngine.POS_NOUN, DistractorEngine.partOfSpeech("House (feminine)"));
+        assertEquals(DistractorEngine.POS_NOUN, DistractorEngine.partOfSpeech("The bread"));
+        assertEquals(DistractorEngine.POS_SENTENCE, DistractorEngine.partOfSpeech("We live in a big house."));
+        assertEquals(DistractorEngine.POS_OTHER, DistractorEngine.partOfSpeech("Here"));
+        assertEquals(DistractorEngine.lengthBucket("To Eat"), DistractorEngine.lengthBucket("To Run"));
+        assertEquals(DistractorEngine.lengthBucket("House (feminine)"), DistractorEngine.lengthBucket("Table (feminine)"));
+        assertTrue(DistractorEngine.lengthBucket("To Understand") > DistractorEngine.lengthBucket("To Eat"));
+    }
+
+    @Test
+    public void distractorsPreferTheSameDeckAndPartOfSpeech() {
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int eat = builder.add("verbs", "To Eat");
+        builder.add("verbs", "To Run");
+        builder.add("verbs", "To See");
+        builder.add("verbs", "To Eat");  // Same text as the answer
+        builder.add("nouns", "House (feminine)");
+        builder.add("nouns", "Table (feminine)");
+        builder.add("other", "To Fly");
+        DistractorEngine engine = builder.build();
+        Random random = new Random(1);
+
+        for (int round = 0; round < 50; round++) {
+            List<String> wrong = engine.distractors(eat, 2, random);
+            assertEquals(2, wrong.size());
+            assertEquals(2, new HashSet<>(wrong).size());
+            for (String answer : wrong) {
+                assertTrue(answer, answer.equals("To Run") || answer.equals("To See"));
+            }
+        }
+        // Asking for more than the deck has falls back to other decks, verbs first
+        List<String> wrong = engine.distractors(eat, 3, random);
+        assertEquals(3, wrong.size());
+        assertEquals("To Fly", wrong.get(2));
+        assertFalse(wrong.contains("To Eat"));
+    }
+
+    @Test
+    public void repeatedTextsAreOneEntryOfTheirClass() {
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int run = builder.add("verbs", "To Run");
+        for (int i = 0; i < 1_000; i++) {
+            builder.add("verbs", "To Run");  // Many cards translated the same way
+        }
+        builder.add("verbs", "To Eat");
+        builder.add("verbs", "To Ski");
+        builder.add("verbs", "To Sit");
+        DistractorEngine engine = builder.build();
+        Random random = new Random(5);
+
+        for (int round = 0; round < 50; round++) {
+            Set<String> wrong = new HashSet<>(engine.distractors(run, 3, random));
+            assertEquals(new HashSet<>(Arrays.asList("To Eat", "To Ski", "To Sit")), wrong);
+        }
+    }
+
+    @Test
+    public void choicesIncludeTheAnswerOnceWhenChoicesRunOut() {
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int only = builder.add("tiny", "Here");
+        builder.add("tiny", "There");
+        DistractorEngine engine = builder.build();
+
+        List<String> choices = engine.choices(only, 2, new Random(3));
+        assertEquals(2, choices.size());
+        assertTrue(choices.contains("Here") && choices.contains("There"));
+    }
+
+    @Test
+    public void deckItemsFollowDeckOrder() {
+        Deck deck = new Deck("SpanishDeck1", "Spanish", "Spanish Verbs 1");
+        List<Card> cards = new ArrayList<>();
+        cards.add(new Card("Hablar", new ArrayList<String>(), "To Speak"));
+        cards.add(new Card("Comer", new ArrayList<String>(), "To Eat"));
+        deck.setCards(cards);
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        builder.add("other", "Here");
+        int first = builder.addDeck(deck);
+        DistractorEngine engine = builder.build();
+
+        assertEquals(3, engine.size());
+        assertEquals("To Eat", engine.getAnswer(first + 1));
+        assertEquals("To Speak", engine.distractors(first + 1, 1, new Random(5)).get(0));
+    }
+
+    @Test
+    public void sentenceWordsFollowSentenceOrder() {
+        List<SentencePair> sentences = new ArrayList<>();
+        sentences.add(new SentencePair("I speak Spanish.", Arrays.asList("Yo", "hablo", "español."),
+                Arrays.asList("I", "speak", "Spanish")));
+        sentences.add(new SentencePair("Not glossed.", Arrays.asList("Sin", "glosa.")));
+        sentences.add(new SentencePair("They eat.", Arrays.asList("Ellos", "comen."), Arrays.asList("They", "eat")));
+        DistractorEngine.Builder builder = new DistractorEngine.Builder();
+        int first = builder.addSentenceWords("Sentences", sentences);
+        DistractorEngine engine = builder.build();
+
+        assertEquals(5, engine.size());
+        assertEquals("speak", engine.getAnswer(first + 1));
+        assertEquals("eat", engine.getAnswer(first + 4));
+        List<String> choices = engine.choices(first + 1, 2, new Random(7));
+        assertEquals(3, new HashSet<>(choices).size());
+        assertTrue(choices.contains("speak"));
+    }
+}
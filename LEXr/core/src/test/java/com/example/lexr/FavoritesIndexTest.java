@@ -0,0 +1,75 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FavoritesIndexTest {
+
+    @Test
+    public void keepsInsertionOrderWithoutDuplicates() {
+        FavoritesIndex index = new FavoritesIndex();
+        Card comer = card("Comer");
+        Card hablar = card("Hablar");
+
+        assertTrue(index.add(comer));
+        assertTrue(index.add(hablar));
+        assertFalse(index.add(comer));
+
+        assertEquals(Arrays.asList(comer, hablar), index.getCards());
+        assertTrue(index.contains(hablar));
+    }
+
+    @Test
+    public void notifiesPositionOfEachChange() {
+        FavoritesIndex index = new FavoritesIndex();
+        final List<String> events = new ArrayList<>();
+        index.addListener(new FavoritesIndex.Listener() {
+            @Override
+            public void onFavoriteInserted(int position, Card card) {
+                events.add("+" + position + " " + card.getWord());
+            }
+
+            @Override
+            public void onFavoriteRemoved(int position, Card card) {
+                events.add("-" + position + " " + card.getWord());
+            }
+        });
+        Card a = card("A");
+        Card b = card("B");
+        Card c = card("C");
+
+        index.add(a);
+        index.add(b);
+        index.add(c);
+        index.remove(b);
+        assertFalse(index.remove(b));
+
+        assertEquals(Arrays.asList("+0 A", "+1 B", "+2 C", "-1 B"), events);
+        assertEquals(Arrays.asList(a, c), index.getCards());
+    }
+
+    @Test
+    public void deckManagerTracksCardFavoriteChanges() {
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        List<Card> favorites = manager.getFavoriteCards();
+        Card ver = manager.getDeckByName("SpanishDeck3").getCards().get(0);
+        Card amo = manager.getDeckByName("LatinDeck").getCards().get(0);
+
+        amo.setFavorite(true);
+        ver.setFavorite(true);
+        assertEquals(Arrays.asList(amo, ver), favorites);  // The list is live, not a copy
+
+        amo.setFavorite(false);
+        assertEquals(Collections.singletonList(ver), manager.getFavoriteCards());
+    }
+
+    private static Card card(String word) {
+        return new Card(word, Collections.<String>emptyList(), word);
+    }
+}
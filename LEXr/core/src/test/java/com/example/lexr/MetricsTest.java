@@ -0,0 +1,132 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks histogram buckets and percentiles, lock-free recording from several threads,
+ * the report and export, and deck load timing through DeckManager. The cost of timing calls
+ * while Metrics is off and on is measured by the JMH MetricsBenchmark.
+ */
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void bucketsKeepValuesWithinASixteenth() {
+        for (int value : new int[]{0, 31, 32, 63, 64, 1000, 65_535, Integer.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket < LatencyHistogram.BUCKETS);
+            assertEquals(value, LatencyHistogram.bucketMiddle(bucket), Math.max(1, value / 16.0));
+        }
+        for (int value = 1; value < 1 << 20; value++) {
+            assertTrue(LatencyHistogram.bucket(value) >= LatencyHistogram.bucket(value - 1));  // Ordered
+        }
+    }
+
+    @Test
+    public void percentilesMeanAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        for (int value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);  // Counts as 0
+        assertEquals(10_001, histogram.getCount());
+        assertEquals(5_000, histogram.getPercentile(50), 5_000 * 0.07);
+        assertEquals(9_900, histogram.getPercentile(99), 9_900 * 0.07);
+        assertEquals(10_000, histogram.getPercentile(100), 10_000 * 0.07);
+        assertTrue(histogram.getPercentile(100) <= histogram.getMax());  // Never above the largest value
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(50_005_000 / 10_001.0, histogram.getMean(), 1e-9);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void threadsRecordWithoutLosingValues() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int perThread = 250_000;
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i % 1000 + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * perThread, histogram.getCount());
+        assertEquals(999 + threads.length - 1, histogram.getMax());
+        assertEquals(499.5 + (threads.length - 1) / 2.0, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void disabledMetricsRecordNothing() {
+        assertFalse(Metrics.isEnabled());
+        long start = Metrics.start();
+        assertEquals(Metrics.NOT_TIMED, start);
+        Metrics.stop(Metrics.CARD_BIND, start);
+        Metrics.record(Metrics.FRAME, 16_000);
+        assertNull(Metrics.get(Metrics.CARD_BIND));
+        assertNull(Metrics.get(Metrics.FRAME));
+        assertEquals("Metrics are off", Metrics.report());
+
+        Metrics.setEnabled(true);
+        Metrics.stop(Metrics.CARD_BIND, start);  // Started while off
+        assertNull(Metrics.get(Metrics.CARD_BIND));
+        assertEquals("Nothing recorded yet", Metrics.report());
+    }
+
+    @Test
+    public void reportAndExportListEveryHistogram() throws IOException {
+        Metrics.setEnabled(true);
+        Metrics.record(Metrics.STARTUP_PREFIX + "MainActivity", 250_000);
+        Metrics.record(Metrics.CARD_BIND, 400);
+        Metrics.record(Metrics.CARD_BIND, 600);
+
+        String report = Metrics.report();
+        assertTrue(report, report.startsWith("bind.card\n  n=2  mean=0.50"));
+        assertTrue(report, report.contains("startup.MainActivity\n  n=1  mean=250.00"));
+
+        File file = File.createTempFile("metrics", ".tsv");
+        try {
+            Metrics.export(file);
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("name\tcount\tmean_ms\tp50_ms\tp90_ms\tp99_ms\tmax_ms", lines.get(0));
+            assertTrue(lines.get(1), lines.get(1).startsWith("bind.card\t2\t0.500\t"));
+            assertTrue(lines.get(2), lines.get(2).endsWith("\t250.000"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void deckLoadsAreTimed() {
+        Metrics.setEnabled(true);
+        DeckManager manager = new DeckManager(TextDeckSource.fromClasspath(DeckManager.BUILT_IN_DECKS));
+        manager.getDeckByName("SpanishDeck1");
+        manager.getDeckByName("SpanishDeck1");  // Already loaded, not timed again
+        assertEquals(1, Metrics.get(Metrics.DECK_LOAD).getCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.lexr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives ReviewScheduler with a simulated clock: SM-2 steps, due order, restoring saved records
+ * and review order within a deck. Throughput is measured by the JMH ReviewSchedulerBenchmark.
+ */
+public class ReviewSchedulerTest {
+
+    private FakeClock clock;
+    private ReviewScheduler scheduler;
+
+    @Before
+    public void createScheduler() {
+        clock = new FakeClock();
+        scheduler = new ReviewScheduler(clock);
+    }
+
+    @Test
+    public void followsSm2Intervals() {
+        Card card = card(1);
+
+        assertEquals(1, scheduler.review(card, ReviewScheduler.GRADE_GOOD).getIntervalDays());
+        assertEquals(6, scheduler.review(card, ReviewScheduler.GRADE_GOOD).getIntervalDays());
+        ReviewRecord record = scheduler.review(card, ReviewScheduler.GRADE_EASY);
+        assertEquals(15, record.getIntervalDays());  // 6 days at ease 2.5
+        assertEquals(2.6f, record.getEase(), 1e-4f);
+        assertEquals(clock.now + 15 * ReviewScheduler.DAY_MS, record.getDueAt());
+        assertEquals(3, record.getRepetitions());
+        assertEquals(1, card.getDifficultyLevel());
+
+        record = scheduler.review(card, ReviewScheduler.GRADE_AGAIN);
+        assertEquals(0, record.getRepetitions());
+        assertEquals(1, record.getLapses());
+        assertEquals(clock.now + ReviewScheduler.RELEARN_DELAY_MS, record.getDueAt());
+    }
+
+    @Test
+    public void hardAnswersLowerEaseAndRaiseDifficulty() {
+        Card card = card(1);
+        for (int i = 0; i < 10; i++) {
+            scheduler.review(card, ReviewScheduler.GRADE_HARD);
+        }
+        assertEquals(ReviewScheduler.MIN_EASE, scheduler.getRecord(card).getEase(), 1e-4f);
+        assertEquals(ReviewScheduler.MAX_DIFFICULTY, card.getDifficultyLevel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsGradesOutsideTheScale() {
+        scheduler.review(card(1), 6);
+    }
+
+    @Test
+    public void returnsDueCardsInDueOrder() {
+        Card first = card(1);
+        Card second = card(2);
+        Card third = card(3);
+        for (Card card : Arrays.asList(first, second, third)) {
+            scheduler.track(card);
+        }
+        assertEquals(Arrays.asList(first, second, third), scheduler.nextDueCards(10));
+
+        scheduler.review(first, ReviewScheduler.GRADE_GOOD);   // Due in a day
+        scheduler.review(second, ReviewScheduler.GRADE_AGAIN);  // Due in 10 minutes
+        assertSame(third, scheduler.nextDueCard());
+        assertEquals(Collections.singletonList(third), scheduler.nextDueCards(10));
+
+        clock.advance(ReviewScheduler.RELEARN_DELAY_MS);
+        assertEquals(Arrays.asList(third, second), scheduler.nextDueCards(10));
+
+        scheduler.review(third, ReviewScheduler.GRADE_EASY);
+        scheduler.review(second, ReviewScheduler.GRADE_GOOD);
+        assertNull(scheduler.nextDueCard());
+        clock.advance(ReviewScheduler.DAY_MS);
+        assertEquals(Arrays.asList(first, second, third), scheduler.nextDueCards(10));
+        assertEquals(Collections.singletonList(first), scheduler.nextDueCards(1));
+
+        assertTrue(scheduler.untrack(first));
+        assertEquals(Arrays.asList(second, third), scheduler.nextDueCards(10));
+    }
+
+    @Test
+    public void restoredRecordsKeepTheirSchedule() {
+        Card card = card(1);
+        long dueAt = clock.now + 6 * ReviewScheduler.DAY_MS;
+        ReviewRecord saved = new ReviewRecord(card, dueAt, 6, 2.2f, 2, 1);
+
+        assertSame(saved, scheduler.restore(saved));
+        assertSame(saved, scheduler.track(card));  // Tracking keeps the restored schedule
+        assertSame(saved, scheduler.restore(new ReviewRecord(card, clock.now, 0, 2.5f, 0, 0)));
+        assertNull(scheduler.nextDueCard());
+
+        clock.advance(6 * ReviewScheduler.DAY_MS);
+        assertSame(card, scheduler.nextDueCard());
+        ReviewRecord record = scheduler.review(card, ReviewScheduler.GRADE_GOOD);
+        assertEquals(Math.round(6 * 2.2f), record.getIntervalDays());
+        assertEquals(3, record.getRepetitions());
+        assertEquals(1, record.getLapses());
+    }
+
+    @Test
+    public void listenerSeesEveryReview() {
+        final List<ReviewRecord> reviewed = new ArrayList<>();
+        scheduler.setOnReviewedListener(reviewed::add);
+        Card card = card(1);
+        scheduler.track(card);
+        assertTrue(reviewed.isEmpty());  // Tracking is not a review
+
+        ReviewRecord first = scheduler.review(card, ReviewScheduler.GRADE_GOOD);
+        scheduler.review(card(2), ReviewScheduler.GRADE_AGAIN);
+        assertEquals(2, reviewed.size());
+        assertSame(first, reviewed.get(0));
+
+        scheduler.setOnReviewedListener(null);
+        scheduler.review(card, ReviewScheduler.GRADE_GOOD);
+        assertEquals(2, reviewed.size());
+    }
+
+    @Test
+    public void reviewOrderPutsDueCardsOfADeckFirst() {
+        Card first = card(1);
+        Card second = card(2);
+        Card third = card(3);
+        Card untracked = card(4);
+        Card otherDeck = card(5);
+        List<Card> deck = Arrays.asList(first, second, third, untracked);
+        for (Card card : Arrays.asList(first, second, third, otherDeck)) {
+            scheduler.track(card);
+        }
+        scheduler.review(first, ReviewScheduler.GRADE_GOOD);    // Due in a day
+        scheduler.review(third, ReviewScheduler.GRADE_AGAIN);   // Due in 10 minutes
+        clock.advance(ReviewScheduler.RELEARN_DELAY_MS);
+
+        assertEquals(Arrays.asList(second, third), scheduler.nextDueCards(deck, 10));
+        assertEquals(Collections.singletonList(second), scheduler.nextDueCards(deck, 1));
+        assertEquals(Arrays.asList(second, third, first, untracked), scheduler.reviewOrder(deck));
+    }
+
+    private static Card card(long id) {
+        Card card = new Card("Palabra" + id, Collections.<String>emptyList(), "Word " + id);
+        card.setId(id);
+        return card;
+    }
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static class FakeClock implements Clock {
+        long now = 1_700_000_000_000L;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        void advance(long millis) {
+            now += millis;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.lexr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the sentence corpus round trip, the bundled corpus read page by page on the loader,
+ * prefetching, and that walking a corpus keeps only a few pages in memory. Walking time is
+ * measured by the JMH SentenceCorpusBenchmark.
+ */
+public class SentenceCorpusTest {
+
+    private static final int LARGE_CORPUS = 10_000;
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("corpus", "");
+        assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void importedSentencesAreTokenizedOnce() throws IOException {
+        String text = "# English\tSpanish\n"
+                + "I speak.\tYo  hablo.\n"
+                + "\n"
+                + "We live here.\tNosotros vivimos aquí.\n";
+        File file = new File(directory, "small.corpus");
+        int count = SentenceCorpusWriter.importTsv(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), file);
+
+        assertEquals(2, count);
+        try (SentenceCorpus corpus = new SentenceCorpus(file, 1, 0, Runnable::run)) {
+            assertEquals(2, corpus.size());
+            assertEquals(2, corpus.getPageCount());
+            assertEquals("I speak.", corpus.get(0).getEnglish());
+            assertEquals(Arrays.asList("Yo", "hablo."), corpus.get(0).getSpanishWords());
+            assertEquals(Arrays.asList("Nosotros", "vivimos", "aquí."), corpus.get(1).getSpanishWords());
+            assertTrue(corpus.get(0).getEnglishWords().isEmpty());
+        }
+    }
+
+    @Test
+    public void bundledCorpusMatchesTheOriginalSentences() throws IOException {
+        File file = new File(directory, "Sentences.corpus");
+        SentenceCorpusWriter.importTsv(
+                getClass().getClassLoader().getResourceAsStream("sentences/Sentences.tsv"), file);
+
+        try (SentenceCorpus corpus = new SentenceCorpus(file)) {
+            assertEquals(3, corpus.size());
+            assertEquals("I speak Spanish with my friend in the park.", corpus.get(0).getEnglish());
+            assertEquals(Arrays.asList("Yo", "hablo", "español", "con", "mi", "amigo", "en", "el", "parque."),
+                    corpus.get(0).getSpanishWords());
+            assertEquals(10, corpus.get(2).getSpanishWords().size());
+            for (int i = 0; i < corpus.size(); i++) {
+                assertEquals(corpus.get(i).getSpanishWords().size(), corpus.get(i).getEnglishWords().size());
+            }
+            assertEquals("speak", corpus.get(0).getEnglishWords().get(1));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void glossesMustMatchTheSpanishWords() throws IOException {
+        SentenceCorpusWriter.importTsv(new ByteArrayInputStream(
+                "I speak.\tYo hablo.\tI;speak;too\n".getBytes(StandardCharsets.UTF_8)),
+                new File(directory, "glossed.corpus"));
+    }
+
+    @Test(expected = IOException.class)
+    public void malformedLineFailsTheImport() throws IOException {
+        File file = new File(directory, "bad.corpus");
+        try {
+            SentenceCorpusWriter.importTsv(
+                    new ByteArrayInputStream("no tab here\n".getBytes(StandardCharsets.UTF_8)), file);
+        } finally {
+            assertFalse(file.exists());
+            assertFalse(new File(directory, "bad.corpus.tmp").exists());
+        }
+    }
+
+    @Test
+    public void sentencesLoadAPageAtATimeOnTheLoader() throws Exception {
+        List<SentencePair> first = loadSentences(0, 2);
+        List<SentencePair> rest = loadSentences(2, 2);
+        try (SentenceCorpus corpus = SentenceCorpus.openBundled(directory, "Sentences")) {
+            assertEquals(2, first.size());
+            assertEquals(corpus.size() - 2, rest.size());  // The corpus ends part way
+            assertEquals(corpus.get(2).getEnglish(), rest.get(0).getEnglish());
+        }
+        assertTrue(loadSentences(first.size() + rest.size(), 2).isEmpty());
+    }
+
+    @Test
+    public void readingAPagePrefetchesTheNextPages() throws IOException {
+        File file = writeSynthetic(new File(directory, "prefetch.corpus"), 100);
+        final List<Runnable> queued = new ArrayList<>();
+        try (SentenceCorpus corpus = new SentenceCorpus(file, 10, 2, queued::add)) {
+            corpus.get(0);
+            assertEquals(2, queued.size());
+            assertFalse(corpus.isCached(1));
+
+            corpus.get(5);  // Same page: pages 1 and 2 are already queued
+            assertEquals(2, queued.size());
+
+            for (Runnable task : queued) {
+                task.run();
+            }
+            assertTrue(corpus.isCached(1));
+            assertTrue(corpus.isCached(2));
+            assertEquals("English sentence 25", corpus.get(25).getEnglish());
+            assertFalse(corpus.isCached(3));
+        }
+    }
+
+    @Test
+    public void walkingACorpusKeepsOnlyAFewPages() throws IOException {
+        File file = writeSynthetic(new File(directory, "large.corpus"), LARGE_CORPUS);
+        int pageSize = 10;
+        int prefetch = 2;
+
+        try (SentenceCorpus corpus = new SentenceCorpus(file, pageSize, prefetch, Runnable::run)) {
+            assertEquals(LARGE_CORPUS, corpus.size());
+            for (int i = 0; i < LARGE_CORPUS; i++) {
+                SentencePair pair = corpus.get(i);
+                assertEquals("English sentence " + i, pair.getEnglish());
+                assertEquals("número" + i, pair.getSpanishWords().get(2));
+            }
+            int cached = 0;
+            for (int page = 0; page < corpus.getPageCount(); page++) {
+                if (corpus.isCached(page)) {
+                    cached++;
+                }
+            }
+            assertTrue("cached " + cached + " pages", cached <= prefetch + 2);  // See the page cache bound
+            assertTrue(corpus.isCached(corpus.getPageCount() - 1));
+            assertFalse(corpus.isCached(0));
+        }
+    }
+
+    /**
+     * Reads sentences of the bundled corpus through DeckManager's loader and waits for them.
+     */
+    private List<SentencePair> loadSentences(int from, int count) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<List<SentencePair>> result = new AtomicReference<>();
+        DeckManager.loadSentencesAsync(directory, "Sentences", from, count, Runnable::run,
+                new DeckLoadTask.Callback<List<SentencePair>>() {
+                    @Override
+                    public void onProgress(int loaded, int total) {
+                    }
+
+                    @Override
+                    public void onLoaded(List<SentencePair> sentences) {
+                        result.set(sentences);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception error) {
+                        done.countDown();
+                    }
+                });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    /**
+     * Writes count synthetic pairs, "English sentence i" and "La frase númeroi está aquí.".
+     */
+    private static File writeSynthetic(File file, int count) throws IOException {
+        try (SentenceCorpusWriter writer = new SentenceCorpusWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.add("English sentence " + i, "La frase número" + i + " está aquí.");
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.lexr;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that draws follow card weights, seeded sequences repeat, weight updates take effect,
+ * draws without replacement and weighted deck orders, and that updated weights match a rebuilt
+ * sampler. Sampling speed at 100k cards is measured by the JMH WeightedSamplerBenchmark.
+ */
+public class WeightedCardSamplerTest {
+
+    private static final int CARDS = 1_000;
+
+    @Test
+    public void drawsFollowTheWeights() {
+        List<Card> cards = cards(5);
+        cards.get(1).setDifficultyLevel(3);
+        cards.get(2).setDifficultyLevel(5);
+        cards.get(3).setFavorite(true);  // 1 doubled
+        cards.get(4).setDifficultyLevel(5);
+        cards.get(4).setFavorite(true);  // 5 doubled
+        WeightedCardSampler sampler = new WeightedCardSampler(cards);
+        int[] weights = {1, 3, 5, 2, 10};
+
+        int draws = 1_000_000;
+        int[] counts = new int[cards.size()];
+        Random random = new Random(458);
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.next(random)]++;
+        }
+        for (int position = 0; position < cards.size(); position++) {
+            double expected = weights[position] / 21.0;
+            assertEquals(expected, sampler.getProbability(position), 1e-12);
+            assertEquals("position " + position, expected, (double) counts[position] / draws, 0.005);
+        }
+    }
+
+    @Test
+    public void seededSamplersRepeat() {
+        List<Card> cards = cards(1000);
+        for (int c = 0; c < cards.size(); c++) {
+            cards.get(c).setDifficultyLevel(c % ReviewScheduler.MAX_DIFFICULTY + 1);
+        }
+        int[] first = sequence(new WeightedCardSampler(cards), new Random(7));
+        assertArrayEquals(first, sequence(new WeightedCardSampler(cards), new Random(7)));
+        assertFalse(Arrays.equals(first, sequence(new WeightedCardSampler(cards), new Random(8))));
+    }
+
+    @Test
+    public void updatesChangeTheWeights() {
+        List<Card> cards = cards(4);
+        WeightedCardSampler sampler = new WeightedCardSampler(cards, card -> card.isFavorite() ? 1 : 0);
+        try {
+            sampler.next(new Random(1));
+            fail("no card has weight");
+        } catch (IllegalStateException expected) {
+        }
+        cards.get(2).setFavorite(true);
+        sampler.update(2);
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2, sampler.next(random));  // The only card with weight
+        }
+        cards.get(0).setFavorite(true);
+        sampler.update(0);
+        assertEquals(0.5, sampler.getProbability(0), 1e-12);
+        assertEquals(0.0, sampler.getProbability(1), 1e-12);
+    }
+
+    @Test
+    public void drawsAreDistinctAndWeightsRestored() {
+        List<Card> cards = cards(50);
+        cards.get(10).setDifficultyLevel(5);
+        WeightedCardSampler sampler = new WeightedCardSampler(cards, card -> card.getDifficultyLevel() == 5 ? 0 : 1);
+
+        int[] drawn = sampler.draw(60, new Random(3));
+        assertEquals(49, drawn.length);  // Card 10 has no weight
+        boolean[] seen = new boolean[cards.size()];
+        for (int position : drawn) {
+            assertFalse(seen[position]);
+            seen[position] = true;
+        }
+        assertEquals(1 / 49.0, sampler.getProbability(0), 1e-12);  // Restored
+
+        int[] order = sampler.order(new Random(3));
+        assertEquals(cards.size(), order.length);
+        assertEquals(10, order[order.length - 1]);  // Cards without weight come last
+    }
+
+    @Test
+    public void weightedDeckOrdersPutHardCardsFirst() {
+        List<Card> cards = cards(1000);
+        for (int c = 0; c < 100; c++) {
+            cards.get(c * 10).setDifficultyLevel(5);
+        }
+        Deck deck = new Deck("Spanish");
+        deck.setCards(cards);
+
+        Deck.CardView view = deck.weightedCards(new Random(11));
+        assertEquals(cards.size(), view.size());
+        int hardInFirstHundred = 0;
+        boolean[] seen = new boolean[cards.size()];
+        for (int i = 0; i < view.size(); i++) {
+            assertSame(cards.get(view.deckPosition(i)), view.get(i));
+            assertFalse(seen[view.deckPosition(i)]);
+            seen[view.deckPosition(i)] = true;
+            if (i < 100 && view.get(i).getDifficultyLevel() == 5) {
+                hardInFirstHundred++;
+            }
+        }
+        // A tenth of the cards weigh 5 times as much, so they are about a third of the early picks
+        assertTrue("hard cards in the first 100: " + hardInFirstHundred, hardInFirstHundred > 25);
+        assertEquals(cards, deck.getCards());  // The deck keeps its order
+    }
+
+    @Test
+    public void updatedSamplerMatchesARebuiltOne() {
+        List<Card> cards = cards(CARDS);
+        Random random = new Random(42);
+        for (Card card : cards) {
+            card.setDifficultyLevel(random.nextInt(ReviewScheduler.MAX_DIFFICULTY) + 1);
+            card.setFavorite(random.nextInt(10) == 0);
+        }
+        WeightedCardSampler sampler = new WeightedCardSampler(cards);
+        for (int i = 0; i < CARDS; i++) {
+            int position = random.nextInt(CARDS);
+            Card card = cards.get(position);
+            card.setFavorite(!card.isFavorite());
+            sampler.update(position);
+        }
+        WeightedCardSampler rebuilt = new WeightedCardSampler(cards);
+        for (int c = 0; c < CARDS; c++) {
+            assertEquals(rebuilt.getProbability(c), sampler.getProbability(c), 1e-9);
+        }
+    }
+
+    private static int[] sequence(WeightedCardSampler sampler, Random random) {
+        int[] sequence = new int[100];
+        for (int i = 0; i < sequence.length; i++) {
+            sequence[i] = sampler.next(random);
+        }
+        return sequence;
+    }
+
+    private static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            cards.add(new Card("Palabra" + c, Arrays.asList("Forma" + c), "Word " + c));
+        }
+        return cards;
+    }
+}